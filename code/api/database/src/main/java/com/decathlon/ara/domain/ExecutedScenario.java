@@ -111,6 +111,14 @@ public class ExecutedScenario implements Comparable<ExecutedScenario> {
     @Column(length = 512)
     private String screenshotUrl;
 
+    /**
+     * The file name of the screenshot (the last segment of its URL), set when the scenario is inserted: unlike the URL,
+     * it does not depend on the configured base URL of the assets, so the retention sweep of the content-addressed
+     * screenshots can look them up by name (and by index).
+     */
+    @Column(length = 128)
+    private String screenshotFileName;
+
     @Column(length = 512)
     private String videoUrl;
 
@@ -0,0 +1,95 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.domain;
+
+import com.decathlon.ara.domain.enumeration.ExecutionIndexingJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.With;
+import org.hibernate.annotations.GenericGenerator;
+
+import javax.persistence.*;
+import java.util.Date;
+
+/**
+ * An uploaded execution zip, stored on disk and waiting in a durable queue to be indexed by a background worker.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@With
+@Entity
+public class ExecutionIndexingJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO, generator = "native")
+    @GenericGenerator(name = "native", strategy = "native")
+    private Long id;
+
+    private long projectId;
+
+    @Column(length = 16)
+    private String branch;
+
+    @Column(length = 16)
+    private String cycle;
+
+    /**
+     * The absolute path of the stored zip to index, deleted once the job is finished.
+     */
+    @Column(length = 512)
+    private String zipPath;
+
+    /**
+     * The name of the ARA node having stored the zip on its local disk: only this node can index it.
+     */
+    @Column(length = 128)
+    private String node;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private ExecutionIndexingJobStatus status;
+
+    /**
+     * The reason why the job FAILED, if it did.
+     */
+    @Column(length = 512)
+    private String errorMessage;
+
+    @Column(name = "creation_date_time")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date creationDateTime;
+
+    @Column(name = "start_date_time")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date startDateTime;
+
+    /**
+     * The last time the node indexing the RUNNING job proved it was still alive: the job is put back in the queue if
+     * this lease is not renewed in time.
+     */
+    @Column(name = "heartbeat_date_time")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date heartbeatDateTime;
+
+    @Column(name = "end_date_time")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date endDateTime;
+
+}
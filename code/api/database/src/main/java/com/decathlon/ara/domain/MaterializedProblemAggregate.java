@@ -0,0 +1,81 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.With;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * The counts and first values of the occurrences of a problem, stored so that listing problems does not need to join
+ * and group all their errors each time. It is refreshed for the problems whose occurrences change (indexing, pattern
+ * back-fill, move and deletion).<br>
+ * Country and type are stored by code: they are resolved once per listed page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@With
+@Entity
+@Table(name = "problem_aggregate")
+public class MaterializedProblemAggregate {
+
+    @Id
+    private Long problemId;
+
+    private long patternCount;
+
+    private long errorCount;
+
+    private long scenarioCount;
+    private String firstScenarioName;
+
+    private long branchCount;
+    private String firstBranch;
+
+    private long releaseCount;
+    private String firstRelease;
+
+    private long versionCount;
+    private String firstVersion;
+
+    private long countryCount;
+    private String firstCountryCode;
+
+    private long typeCount;
+    private String firstTypeCode;
+
+    private long platformCount;
+    private String firstPlatform;
+
+    /**
+     * @param problemId the ID of a problem
+     * @return the aggregate of a problem without any occurrence
+     */
+    public static MaterializedProblemAggregate empty(Long problemId) {
+        MaterializedProblemAggregate aggregate = new MaterializedProblemAggregate();
+        aggregate.setProblemId(problemId);
+        return aggregate;
+    }
+
+}
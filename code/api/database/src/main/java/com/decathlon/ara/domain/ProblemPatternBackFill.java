@@ -0,0 +1,103 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.domain;
+
+import com.decathlon.ara.domain.enumeration.PatternBackFillStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.With;
+import org.hibernate.annotations.GenericGenerator;
+
+import javax.persistence.*;
+import java.util.Date;
+
+/**
+ * The durable state of the background assignment of a new or modified problem pattern to the already indexed errors
+ * of its project: at most one per pattern, replaced each time the pattern is saved again.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@With
+@Entity
+public class ProblemPatternBackFill {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO, generator = "native")
+    @GenericGenerator(name = "native", strategy = "native")
+    private Long id;
+
+    private long projectId;
+
+    private long problemPatternId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private PatternBackFillStatus status;
+
+    /**
+     * The lowest error ID of the project when the back-fill first started (null before).
+     */
+    private Long minErrorId;
+
+    /**
+     * The highest error ID of the project when the back-fill first started (null before): newer errors are matched
+     * against the pattern while being indexed.
+     */
+    private Long maxErrorId;
+
+    /**
+     * The highest error ID of the chunks committed so far (null before the first one): a resumed back-fill goes on
+     * from the next one.
+     */
+    private Long lastErrorId;
+
+    /**
+     * The number of errors assigned to the pattern so far.
+     */
+    private long assignedErrorCount;
+
+    /**
+     * A random ID of the ARA process running the back-fill: a back-fill whose lease expired, and which was resumed
+     * elsewhere, stops on the process still running it.
+     */
+    @Column(length = 36)
+    private String worker;
+
+    @Column(name = "creation_date_time")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date creationDateTime;
+
+    @Column(name = "start_date_time")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date startDateTime;
+
+    /**
+     * The last time the process running the back-fill proved it was still alive: the back-fill is put back in the
+     * queue if this lease is not renewed in time.
+     */
+    @Column(name = "heartbeat_date_time")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date heartbeatDateTime;
+
+    @Column(name = "end_date_time")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date endDateTime;
+
+}
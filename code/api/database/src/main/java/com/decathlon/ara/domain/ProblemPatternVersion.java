@@ -0,0 +1,44 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.With;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+/**
+ * The version of the problem patterns of a project, incremented on each change so that every ARA instance can cheaply
+ * detect that its cached pattern index is outdated.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@With
+@Entity
+public class ProblemPatternVersion {
+
+    @Id
+    private Long projectId;
+
+    private long version;
+
+}
@@ -68,6 +68,8 @@ public class QExecutedScenario extends EntityPathBase<ExecutedScenario> {
 
     public final NumberPath<Long> runId = createNumber("runId", Long.class);
 
+    public final StringPath screenshotFileName = createString("screenshotFileName");
+
     public final StringPath screenshotUrl = createString("screenshotUrl");
 
     public final StringPath seleniumNode = createString("seleniumNode");
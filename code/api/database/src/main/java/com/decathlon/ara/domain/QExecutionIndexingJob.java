@@ -0,0 +1,71 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.domain;
+
+import static com.querydsl.core.types.PathMetadataFactory.*;
+
+import com.querydsl.core.types.dsl.*;
+
+import com.querydsl.core.types.PathMetadata;
+import javax.annotation.Generated;
+import com.querydsl.core.types.Path;
+
+public class QExecutionIndexingJob extends EntityPathBase<ExecutionIndexingJob> {
+
+    private static final long serialVersionUID = -1486315926L;
+
+    public static final QExecutionIndexingJob executionIndexingJob = new QExecutionIndexingJob("executionIndexingJob");
+
+    public final StringPath branch = createString("branch");
+
+    public final DateTimePath<java.util.Date> creationDateTime = createDateTime("creationDateTime", java.util.Date.class);
+
+    public final StringPath cycle = createString("cycle");
+
+    public final DateTimePath<java.util.Date> endDateTime = createDateTime("endDateTime", java.util.Date.class);
+
+    public final StringPath errorMessage = createString("errorMessage");
+
+    public final DateTimePath<java.util.Date> heartbeatDateTime = createDateTime("heartbeatDateTime", java.util.Date.class);
+
+    public final NumberPath<Long> id = createNumber("id", Long.class);
+
+    public final StringPath node = createString("node");
+
+    public final NumberPath<Long> projectId = createNumber("projectId", Long.class);
+
+    public final DateTimePath<java.util.Date> startDateTime = createDateTime("startDateTime", java.util.Date.class);
+
+    public final EnumPath<com.decathlon.ara.domain.enumeration.ExecutionIndexingJobStatus> status = createEnum("status", com.decathlon.ara.domain.enumeration.ExecutionIndexingJobStatus.class);
+
+    public final StringPath zipPath = createString("zipPath");
+
+    public QExecutionIndexingJob(String variable) {
+        super(ExecutionIndexingJob.class, forVariable(variable));
+    }
+
+    public QExecutionIndexingJob(Path<? extends ExecutionIndexingJob> path) {
+        super(path.getType(), path.getMetadata());
+    }
+
+    public QExecutionIndexingJob(PathMetadata metadata) {
+        super(ExecutionIndexingJob.class, metadata);
+    }
+
+}
+
@@ -0,0 +1,77 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.domain;
+
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.types.dsl.EntityPathBase;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.StringPath;
+
+import static com.querydsl.core.types.PathMetadataFactory.forVariable;
+
+public class QMaterializedProblemAggregate extends EntityPathBase<MaterializedProblemAggregate> {
+
+    public static final QMaterializedProblemAggregate materializedProblemAggregate = new QMaterializedProblemAggregate("materializedProblemAggregate");
+
+    public final NumberPath<Long> branchCount = createNumber("branchCount", Long.class);
+
+    public final NumberPath<Long> countryCount = createNumber("countryCount", Long.class);
+
+    public final NumberPath<Long> errorCount = createNumber("errorCount", Long.class);
+
+    public final StringPath firstBranch = createString("firstBranch");
+
+    public final StringPath firstCountryCode = createString("firstCountryCode");
+
+    public final StringPath firstPlatform = createString("firstPlatform");
+
+    public final StringPath firstRelease = createString("firstRelease");
+
+    public final StringPath firstScenarioName = createString("firstScenarioName");
+
+    public final StringPath firstTypeCode = createString("firstTypeCode");
+
+    public final StringPath firstVersion = createString("firstVersion");
+
+    public final NumberPath<Long> patternCount = createNumber("patternCount", Long.class);
+
+    public final NumberPath<Long> platformCount = createNumber("platformCount", Long.class);
+
+    public final NumberPath<Long> problemId = createNumber("problemId", Long.class);
+
+    public final NumberPath<Long> releaseCount = createNumber("releaseCount", Long.class);
+
+    public final NumberPath<Long> scenarioCount = createNumber("scenarioCount", Long.class);
+
+    public final NumberPath<Long> typeCount = createNumber("typeCount", Long.class);
+
+    public final NumberPath<Long> versionCount = createNumber("versionCount", Long.class);
+
+    public QMaterializedProblemAggregate(String variable) {
+        super(MaterializedProblemAggregate.class, forVariable(variable));
+    }
+
+    public QMaterializedProblemAggregate(Path<? extends MaterializedProblemAggregate> path) {
+        super(path.getType(), path.getMetadata());
+    }
+
+    public QMaterializedProblemAggregate(PathMetadata metadata) {
+        super(MaterializedProblemAggregate.class, metadata);
+    }
+}
@@ -0,0 +1,72 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.domain;
+
+import static com.querydsl.core.types.PathMetadataFactory.*;
+
+import com.querydsl.core.types.dsl.*;
+
+import com.querydsl.core.types.PathMetadata;
+import javax.annotation.Generated;
+import com.querydsl.core.types.Path;
+
+public class QProblemPatternBackFill extends EntityPathBase<ProblemPatternBackFill> {
+
+    private static final long serialVersionUID = 1254983187L;
+
+    public static final QProblemPatternBackFill problemPatternBackFill = new QProblemPatternBackFill("problemPatternBackFill");
+
+    public final NumberPath<Long> assignedErrorCount = createNumber("assignedErrorCount", Long.class);
+
+    public final DateTimePath<java.util.Date> creationDateTime = createDateTime("creationDateTime", java.util.Date.class);
+
+    public final DateTimePath<java.util.Date> endDateTime = createDateTime("endDateTime", java.util.Date.class);
+
+    public final DateTimePath<java.util.Date> heartbeatDateTime = createDateTime("heartbeatDateTime", java.util.Date.class);
+
+    public final NumberPath<Long> id = createNumber("id", Long.class);
+
+    public final NumberPath<Long> lastErrorId = createNumber("lastErrorId", Long.class);
+
+    public final NumberPath<Long> maxErrorId = createNumber("maxErrorId", Long.class);
+
+    public final NumberPath<Long> minErrorId = createNumber("minErrorId", Long.class);
+
+    public final NumberPath<Long> problemPatternId = createNumber("problemPatternId", Long.class);
+
+    public final NumberPath<Long> projectId = createNumber("projectId", Long.class);
+
+    public final DateTimePath<java.util.Date> startDateTime = createDateTime("startDateTime", java.util.Date.class);
+
+    public final EnumPath<com.decathlon.ara.domain.enumeration.PatternBackFillStatus> status = createEnum("status", com.decathlon.ara.domain.enumeration.PatternBackFillStatus.class);
+
+    public final StringPath worker = createString("worker");
+
+    public QProblemPatternBackFill(String variable) {
+        super(ProblemPatternBackFill.class, forVariable(variable));
+    }
+
+    public QProblemPatternBackFill(Path<? extends ProblemPatternBackFill> path) {
+        super(path.getType(), path.getMetadata());
+    }
+
+    public QProblemPatternBackFill(PathMetadata metadata) {
+        super(ProblemPatternBackFill.class, metadata);
+    }
+
+}
@@ -0,0 +1,46 @@
+/******************************************************************************
+ * Copyright (C) 2020 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.domain;
+
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.types.dsl.EntityPathBase;
+import com.querydsl.core.types.dsl.NumberPath;
+
+import static com.querydsl.core.types.PathMetadataFactory.forVariable;
+
+public class QProblemPatternVersion extends EntityPathBase<ProblemPatternVersion> {
+
+    public static final QProblemPatternVersion problemPatternVersion = new QProblemPatternVersion("problemPatternVersion");
+
+    public final NumberPath<Long> projectId = createNumber("projectId", Long.class);
+
+    public final NumberPath<Long> version = createNumber("version", Long.class);
+
+    public QProblemPatternVersion(String variable) {
+        super(ProblemPatternVersion.class, forVariable(variable));
+    }
+
+    public QProblemPatternVersion(Path<? extends ProblemPatternVersion> path) {
+        super(path.getType(), path.getMetadata());
+    }
+
+    public QProblemPatternVersion(PathMetadata metadata) {
+        super(ProblemPatternVersion.class, metadata);
+    }
+}
@@ -50,6 +50,8 @@ public class QRun extends EntityPathBase<Run> {
 
     public final NumberPath<Long> executionId = createNumber("executionId", Long.class);
 
+    public final StringPath fingerprint = createString("fingerprint");
+
     public final NumberPath<Long> id = createNumber("id", Long.class);
 
     public final BooleanPath includeInThresholds = createBoolean("includeInThresholds");
@@ -157,6 +157,14 @@ public class Run implements Comparable<Run> {
      */
     private Boolean includeInThresholds;
 
+    /**
+     * A hash of the files the run was indexed from (their paths, sizes and contents), of the indexer version and of the
+     * settings it read: when a job is indexed again, a run whose fingerprint did not change keeps its executed scenarios
+     * instead of parsing its reports again. Null for a run to be parsed again in any case.
+     */
+    @Column(length = 64)
+    private String fingerprint;
+
     @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY, mappedBy = "run", orphanRemoval = true)
     @OnDelete(action = OnDeleteAction.CASCADE)
     @SortNatural
@@ -182,6 +190,20 @@ public class Run implements Comparable<Run> {
         }
     }
 
+    /**
+     * Make this new version of a run replace its persisted version, while keeping the persisted executed scenarios
+     * (and their errors) of the latter: saving the execution then updates the run without deleting nor inserting any
+     * of its scenarios.<br>
+     * The scenarios are copied in a new set: the persisted collection is left to its owner, for Hibernate to merge the
+     * scenarios into it (sharing it would make it orphaned, and the merge fail).
+     *
+     * @param previousRun the persisted version of this run, managed by the current persistence context
+     */
+    public void keepExecutedScenariosOf(Run previousRun) {
+        this.id = previousRun.getId();
+        this.executedScenarios = new TreeSet<>(previousRun.getExecutedScenarios());
+    }
+
     @SuppressWarnings("squid:S2250") // Collection methods with O(n) performance should be used carefully
     public void removeExecutedScenario(ExecutedScenario executedScenario) {
         executedScenarios.remove(executedScenario);
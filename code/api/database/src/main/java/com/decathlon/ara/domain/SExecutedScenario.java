@@ -64,6 +64,8 @@ public class SExecutedScenario extends com.querydsl.sql.RelationalPathBase<SExec
 
     public final NumberPath<Long> runId = createNumber("runId", Long.class);
 
+    public final StringPath screenshotFileName = createString("screenshotFileName");
+
     public final StringPath screenshotUrl = createString("screenshotUrl");
 
     public final StringPath seleniumNode = createString("seleniumNode");
@@ -123,6 +125,7 @@ public class SExecutedScenario extends com.querydsl.sql.RelationalPathBase<SExec
         addMetadata(logsUrl, ColumnMetadata.named("logs_url").withIndex(15).ofType(Types.VARCHAR).withSize(512));
         addMetadata(name, ColumnMetadata.named("name").withIndex(8).ofType(Types.VARCHAR).withSize(512).notNull());
         addMetadata(runId, ColumnMetadata.named("run_id").withIndex(2).ofType(Types.BIGINT).withSize(19).notNull());
+        addMetadata(screenshotFileName, ColumnMetadata.named("screenshot_file_name").withIndex(22).ofType(Types.VARCHAR).withSize(128));
         addMetadata(screenshotUrl, ColumnMetadata.named("screenshot_url").withIndex(13).ofType(Types.VARCHAR).withSize(512));
         addMetadata(seleniumNode, ColumnMetadata.named("selenium_node").withIndex(21).ofType(Types.VARCHAR).withSize(128));
         addMetadata(severity, ColumnMetadata.named("severity").withIndex(7).ofType(Types.VARCHAR).withSize(32).notNull());
@@ -0,0 +1,104 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.domain;
+
+import static com.querydsl.core.types.PathMetadataFactory.*;
+
+import com.querydsl.core.types.dsl.*;
+
+import com.querydsl.core.types.PathMetadata;
+import javax.annotation.Generated;
+import com.querydsl.core.types.Path;
+
+import com.querydsl.sql.ColumnMetadata;
+import java.sql.Types;
+
+public class SExecutionIndexingJob extends com.querydsl.sql.RelationalPathBase<SExecutionIndexingJob> {
+
+    private static final long serialVersionUID = 1172306481;
+
+    public static final SExecutionIndexingJob executionIndexingJob = new SExecutionIndexingJob("execution_indexing_job");
+
+    public final StringPath branch = createString("branch");
+
+    public final DateTimePath<java.sql.Timestamp> creationDateTime = createDateTime("creationDateTime", java.sql.Timestamp.class);
+
+    public final StringPath cycle = createString("cycle");
+
+    public final DateTimePath<java.sql.Timestamp> endDateTime = createDateTime("endDateTime", java.sql.Timestamp.class);
+
+    public final StringPath errorMessage = createString("errorMessage");
+
+    public final DateTimePath<java.sql.Timestamp> heartbeatDateTime = createDateTime("heartbeatDateTime", java.sql.Timestamp.class);
+
+    public final NumberPath<Long> id = createNumber("id", Long.class);
+
+    public final StringPath node = createString("node");
+
+    public final NumberPath<Long> projectId = createNumber("projectId", Long.class);
+
+    public final DateTimePath<java.sql.Timestamp> startDateTime = createDateTime("startDateTime", java.sql.Timestamp.class);
+
+    public final StringPath status = createString("status");
+
+    public final StringPath zipPath = createString("zipPath");
+
+    public final com.querydsl.sql.PrimaryKey<SExecutionIndexingJob> primary = createPrimaryKey(id);
+
+    public SExecutionIndexingJob(String variable) {
+        super(SExecutionIndexingJob.class, forVariable(variable), "null", "execution_indexing_job");
+        addMetadata();
+    }
+
+    public SExecutionIndexingJob(String variable, String schema, String table) {
+        super(SExecutionIndexingJob.class, forVariable(variable), schema, table);
+        addMetadata();
+    }
+
+    public SExecutionIndexingJob(String variable, String schema) {
+        super(SExecutionIndexingJob.class, forVariable(variable), schema, "execution_indexing_job");
+        addMetadata();
+    }
+
+    public SExecutionIndexingJob(Path<? extends SExecutionIndexingJob> path) {
+        super(path.getType(), path.getMetadata(), "null", "execution_indexing_job");
+        addMetadata();
+    }
+
+    public SExecutionIndexingJob(PathMetadata metadata) {
+        super(SExecutionIndexingJob.class, metadata, "null", "execution_indexing_job");
+        addMetadata();
+    }
+
+    public void addMetadata() {
+        addMetadata(branch, ColumnMetadata.named("branch").withIndex(3).ofType(Types.VARCHAR).withSize(16));
+        addMetadata(creationDateTime, ColumnMetadata.named("creation_date_time").withIndex(8).ofType(Types.TIMESTAMP).withSize(19));
+        addMetadata(cycle, ColumnMetadata.named("cycle").withIndex(4).ofType(Types.VARCHAR).withSize(16));
+        addMetadata(endDateTime, ColumnMetadata.named("end_date_time").withIndex(10).ofType(Types.TIMESTAMP).withSize(19));
+        addMetadata(errorMessage, ColumnMetadata.named("error_message").withIndex(7).ofType(Types.VARCHAR).withSize(512));
+        addMetadata(heartbeatDateTime, ColumnMetadata.named("heartbeat_date_time").withIndex(12).ofType(Types.TIMESTAMP).withSize(19));
+        addMetadata(id, ColumnMetadata.named("id").withIndex(1).ofType(Types.BIGINT).withSize(19).notNull());
+        addMetadata(node, ColumnMetadata.named("node").withIndex(11).ofType(Types.VARCHAR).withSize(128));
+        addMetadata(projectId, ColumnMetadata.named("project_id").withIndex(2).ofType(Types.BIGINT).withSize(19).notNull());
+        addMetadata(startDateTime, ColumnMetadata.named("start_date_time").withIndex(9).ofType(Types.TIMESTAMP).withSize(19));
+        addMetadata(status, ColumnMetadata.named("status").withIndex(6).ofType(Types.VARCHAR).withSize(16));
+        addMetadata(zipPath, ColumnMetadata.named("zip_path").withIndex(5).ofType(Types.VARCHAR).withSize(512));
+    }
+
+}
+
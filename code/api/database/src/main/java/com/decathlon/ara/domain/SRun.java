@@ -46,6 +46,8 @@ public class SRun extends com.querydsl.sql.RelationalPathBase<SRun> {
 
     public final NumberPath<Long> executionId = createNumber("executionId", Long.class);
 
+    public final StringPath fingerprint = createString("fingerprint");
+
     public final NumberPath<Long> id = createNumber("id", Long.class);
 
     public final BooleanPath includeInThresholds = createBoolean("includeInThresholds");
@@ -106,6 +108,7 @@ public class SRun extends com.querydsl.sql.RelationalPathBase<SRun> {
         addMetadata(duration, ColumnMetadata.named("duration").withIndex(11).ofType(Types.BIGINT).withSize(19));
         addMetadata(estimatedDuration, ColumnMetadata.named("estimated_duration").withIndex(10).ofType(Types.BIGINT).withSize(19));
         addMetadata(executionId, ColumnMetadata.named("execution_id").withIndex(2).ofType(Types.BIGINT).withSize(19));
+        addMetadata(fingerprint, ColumnMetadata.named("fingerprint").withIndex(16).ofType(Types.VARCHAR).withSize(64));
         addMetadata(id, ColumnMetadata.named("id").withIndex(1).ofType(Types.BIGINT).withSize(19).notNull());
         addMetadata(includeInThresholds, ColumnMetadata.named("include_in_thresholds").withIndex(8).ofType(Types.BIT).withSize(1));
         addMetadata(jobLink, ColumnMetadata.named("job_link").withIndex(14).ofType(Types.VARCHAR).withSize(256));
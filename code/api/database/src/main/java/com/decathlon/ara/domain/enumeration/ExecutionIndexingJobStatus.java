@@ -0,0 +1,42 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.domain.enumeration;
+
+public enum ExecutionIndexingJobStatus {
+
+    /**
+     * The uploaded zip is stored and waits for a worker to index it.
+     */
+    PENDING,
+
+    /**
+     * A worker claimed the job and is indexing the executions of the zip.
+     */
+    RUNNING,
+
+    /**
+     * All executions of the zip have been indexed (individual execution indexing problems are only logged, as for synchronous uploads).
+     */
+    DONE,
+
+    /**
+     * The zip could not be read or unzipped: see the error message of the job.
+     */
+    FAILED
+
+}
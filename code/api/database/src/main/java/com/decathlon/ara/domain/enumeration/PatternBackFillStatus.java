@@ -0,0 +1,43 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.domain.enumeration;
+
+public enum PatternBackFillStatus {
+
+    /**
+     * The back-fill waits for a worker: the pattern was just saved, or the node running the back-fill died and it
+     * will be resumed from its last committed error ID.
+     */
+    PENDING,
+
+    /**
+     * Error ID ranges are being scanned.
+     */
+    RUNNING,
+
+    /**
+     * All existing errors matching the pattern are assigned to it.
+     */
+    DONE,
+
+    /**
+     * The back-fill stopped on an unexpected error: errors scanned so far are assigned, the others are not.
+     */
+    FAILED
+
+}
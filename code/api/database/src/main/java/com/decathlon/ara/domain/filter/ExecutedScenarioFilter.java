@@ -0,0 +1,54 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.domain.filter;
+
+import com.decathlon.ara.domain.enumeration.Handling;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.With;
+
+/**
+ * Input of the executed-scenario filtering repository query.<br>
+ * Text criteria are case-insensitive "contains" matches; null or empty criteria are not applied.
+ */
+@Data
+@With
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecutedScenarioFilter {
+
+    private long executionId;
+
+    private boolean withSucceed;
+
+    private String severity;
+
+    private Handling handling;
+
+    private String feature;
+
+    private String scenario;
+
+    private String step;
+
+    private String exception;
+
+    private Long problemId;
+
+}
@@ -0,0 +1,78 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.domain.projection;
+
+import com.decathlon.ara.domain.Error;
+import com.decathlon.ara.domain.ProblemPattern;
+import com.decathlon.ara.domain.QError;
+import com.querydsl.core.types.ConstructorExpression;
+import com.querydsl.core.types.Projections;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.With;
+
+/**
+ * A flattened view of an {@link Error} with all the attributes of its scenario, run and execution that a
+ * {@link ProblemPattern} can match: lets patterns be evaluated in memory without querying the database for each of them.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@With
+public class MatchableError {
+
+    private Long id;
+
+    private String featureFile;
+    private String featureName;
+    private String scenarioName;
+
+    private String step;
+    private String stepDefinition;
+    private String exception;
+
+    private String release;
+    private String countryCode;
+    private String typeCode;
+    private boolean typeIsBrowser;
+    private boolean typeIsMobile;
+    private String platform;
+
+    // Keep synced with fields in order
+    public static ConstructorExpression<MatchableError> projectionOf(QError error) {
+        return Projections.constructor(MatchableError.class,
+                error.id,
+
+                error.executedScenario.featureFile,
+                error.executedScenario.featureName,
+                error.executedScenario.name,
+
+                error.step,
+                error.stepDefinition,
+                error.exception,
+
+                error.executedScenario.run.execution.release,
+                error.executedScenario.run.country.code,
+                error.executedScenario.run.type.code,
+                error.executedScenario.run.type.isBrowser,
+                error.executedScenario.run.type.isMobile,
+                error.executedScenario.run.platform);
+    }
+
+}
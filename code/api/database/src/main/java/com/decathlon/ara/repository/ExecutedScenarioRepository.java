@@ -19,6 +19,7 @@ package com.decathlon.ara.repository;
 
 import com.decathlon.ara.domain.ExecutedScenario;
 import com.decathlon.ara.repository.custom.ExecutedScenarioRepositoryCustom;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -51,6 +52,15 @@ public interface ExecutedScenarioRepository extends JpaRepository<ExecutedScenar
             "ORDER BY executedScenario.name")
     List<String> findDistinctNameByProjectId(long projectId);
 
+    /**
+     * @param screenshotFileNames screenshot file names
+     * @return the given screenshot file names that are referenced by at least one executed scenario
+     */
+    @Query("SELECT DISTINCT executedScenario.screenshotFileName " +
+            "FROM ExecutedScenario executedScenario " +
+            "WHERE executedScenario.screenshotFileName IN ?1")
+    List<String> findReferencedScreenshotFileNames(Collection<String> screenshotFileNames);
+
     @Query("SELECT es " +
             "FROM ExecutedScenario es " +
             "WHERE es.run.execution.cycleDefinition.projectId = ?1 " +
@@ -0,0 +1,75 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.repository;
+
+import com.decathlon.ara.domain.ExecutionIndexingJob;
+import com.decathlon.ara.domain.enumeration.ExecutionIndexingJobStatus;
+import com.decathlon.ara.repository.custom.ExecutionIndexingJobRepositoryCustom;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Spring Data JPA repository for the ExecutionIndexingJob entity.
+ */
+@Repository
+public interface ExecutionIndexingJobRepository extends JpaRepository<ExecutionIndexingJob, Long>, ExecutionIndexingJobRepositoryCustom {
+
+    Optional<ExecutionIndexingJob> findByProjectIdAndId(long projectId, long id);
+
+    /**
+     * @param node   the name of the ARA node having stored the zips of the jobs
+     * @param status the status of the jobs to return
+     * @return the jobs of the node having the given status, in the order they were uploaded
+     */
+    List<ExecutionIndexingJob> findAllByNodeAndStatusOrderById(String node, ExecutionIndexingJobStatus status);
+
+    /**
+     * Extend the lease of the RUNNING jobs being indexed by a node, proving the node is still alive.
+     *
+     * @param ids the IDs of the jobs being indexed
+     * @param now the new beginning of their lease
+     * @return the number of jobs whose lease was renewed
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ExecutionIndexingJob job SET job.heartbeatDateTime = ?2 " +
+            "WHERE job.id IN ?1 AND job.status = com.decathlon.ara.domain.enumeration.ExecutionIndexingJobStatus.RUNNING")
+    int renewLeases(Collection<Long> ids, Date now);
+
+    /**
+     * Put back in the queue the RUNNING jobs whose worker died (eg. the server was restarted while indexing).
+     *
+     * @param heartbeatBefore jobs whose lease was not renewed since this date-time are considered abandoned
+     * @return the number of jobs put back in the queue
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ExecutionIndexingJob job " +
+            "SET job.status = com.decathlon.ara.domain.enumeration.ExecutionIndexingJobStatus.PENDING, job.startDateTime = NULL, job.heartbeatDateTime = NULL " +
+            "WHERE job.status = com.decathlon.ara.domain.enumeration.ExecutionIndexingJobStatus.RUNNING AND job.heartbeatDateTime < ?1")
+    int requeueRunningJobsWithHeartbeatBefore(Date heartbeatBefore);
+
+}
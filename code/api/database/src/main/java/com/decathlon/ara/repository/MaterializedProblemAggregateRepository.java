@@ -0,0 +1,43 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.repository;
+
+import com.decathlon.ara.domain.MaterializedProblemAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import javax.persistence.LockModeType;
+
+/**
+ * Spring Data JPA repository for the MaterializedProblemAggregate entity.
+ */
+@Repository
+public interface MaterializedProblemAggregateRepository extends JpaRepository<MaterializedProblemAggregate, Long> {
+
+    /**
+     * @param problemIds the IDs of some problems
+     * @return the stored aggregates of these problems, read with a locking read: rows committed by another transaction
+     * since the start of the current one are returned too
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<MaterializedProblemAggregate> findAllByProblemIdIn(Collection<Long> problemIds);
+
+}
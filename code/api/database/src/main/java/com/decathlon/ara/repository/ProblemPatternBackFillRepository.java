@@ -0,0 +1,156 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.repository;
+
+import com.decathlon.ara.domain.ProblemPatternBackFill;
+import com.decathlon.ara.domain.enumeration.PatternBackFillStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Spring Data JPA repository for the ProblemPatternBackFill entity.<br>
+ * The updates of a RUNNING back-fill are conditioned by the worker having claimed it: they change nothing (and return
+ * 0) once the back-fill was replaced, removed or resumed by another worker, telling the former worker to stop.
+ */
+@Repository
+public interface ProblemPatternBackFillRepository extends JpaRepository<ProblemPatternBackFill, Long> {
+
+    Optional<ProblemPatternBackFill> findByProjectIdAndProblemPatternId(long projectId, long problemPatternId);
+
+    /**
+     * @param status the status of the back-fills to return
+     * @return the back-fills having the given status, in the order they were scheduled
+     */
+    List<ProblemPatternBackFill> findAllByStatusOrderById(PatternBackFillStatus status);
+
+    /**
+     * Delete the back-fill of a pattern right away (not at flush time), so that a new one can be inserted in the same
+     * transaction.
+     *
+     * @param problemPatternId the ID of the pattern being modified or removed
+     * @return the number of deleted back-fills
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ProblemPatternBackFill backFill WHERE backFill.problemPatternId = ?1")
+    int deleteByProblemPatternId(long problemPatternId);
+
+    /**
+     * Atomically mark a PENDING back-fill as RUNNING, so that only one worker (of only one ARA node) runs it.
+     *
+     * @param id     the ID of the back-fill to claim
+     * @param worker the ID of the claiming worker
+     * @param now    the start date-time of the back-fill, and the beginning of its lease
+     * @return 1 if the back-fill was claimed, 0 if it is not PENDING anymore
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ProblemPatternBackFill backFill " +
+            "SET backFill.status = com.decathlon.ara.domain.enumeration.PatternBackFillStatus.RUNNING, backFill.worker = ?2, " +
+            "backFill.startDateTime = ?3, backFill.heartbeatDateTime = ?3 " +
+            "WHERE backFill.id = ?1 AND backFill.status = com.decathlon.ara.domain.enumeration.PatternBackFillStatus.PENDING")
+    int claim(long id, String worker, Date now);
+
+    /**
+     * Record the range of error IDs to scan, when the back-fill first starts.
+     *
+     * @param id         the ID of the RUNNING back-fill
+     * @param worker     the ID of the worker running it
+     * @param minErrorId the lowest error ID of the project
+     * @param maxErrorId the highest error ID of the project
+     * @param now        the new beginning of its lease
+     * @return 1 if recorded, 0 if the worker must stop
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ProblemPatternBackFill backFill " +
+            "SET backFill.minErrorId = ?3, backFill.maxErrorId = ?4, backFill.heartbeatDateTime = ?5 " +
+            "WHERE backFill.id = ?1 AND backFill.worker = ?2 " +
+            "AND backFill.status = com.decathlon.ara.domain.enumeration.PatternBackFillStatus.RUNNING")
+    int startScan(long id, String worker, Long minErrorId, Long maxErrorId, Date now);
+
+    /**
+     * Record the progress of a back-fill once a chunk of error IDs is committed.
+     *
+     * @param id                 the ID of the RUNNING back-fill
+     * @param worker             the ID of the worker running it
+     * @param lastErrorId        the highest error ID of the committed chunk
+     * @param assignedErrorCount the number of errors assigned to the pattern so far
+     * @param now                the new beginning of its lease
+     * @return 1 if recorded, 0 if the worker must stop
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ProblemPatternBackFill backFill " +
+            "SET backFill.lastErrorId = ?3, backFill.assignedErrorCount = ?4, backFill.heartbeatDateTime = ?5 " +
+            "WHERE backFill.id = ?1 AND backFill.worker = ?2 " +
+            "AND backFill.status = com.decathlon.ara.domain.enumeration.PatternBackFillStatus.RUNNING")
+    int advance(long id, String worker, long lastErrorId, long assignedErrorCount, Date now);
+
+    /**
+     * @param id     the ID of the RUNNING back-fill
+     * @param worker the ID of the worker running it
+     * @param status the final status of the back-fill
+     * @param now    the end date-time of the back-fill
+     * @return 1 if finished, 0 if the back-fill was replaced, removed or resumed by another worker meanwhile
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ProblemPatternBackFill backFill SET backFill.status = ?3, backFill.endDateTime = ?4 " +
+            "WHERE backFill.id = ?1 AND backFill.worker = ?2 " +
+            "AND backFill.status = com.decathlon.ara.domain.enumeration.PatternBackFillStatus.RUNNING")
+    int finish(long id, String worker, PatternBackFillStatus status, Date now);
+
+    /**
+     * Extend the lease of the RUNNING back-fills of a worker, proving the worker is still alive.
+     *
+     * @param ids    the IDs of the back-fills being run
+     * @param worker the ID of the worker running them
+     * @param now    the new beginning of their lease
+     * @return the number of back-fills whose lease was renewed
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ProblemPatternBackFill backFill SET backFill.heartbeatDateTime = ?3 " +
+            "WHERE backFill.id IN ?1 AND backFill.worker = ?2 " +
+            "AND backFill.status = com.decathlon.ara.domain.enumeration.PatternBackFillStatus.RUNNING")
+    int renewLeases(Collection<Long> ids, String worker, Date now);
+
+    /**
+     * Put back in the queue the RUNNING back-fills whose worker died (eg. the server was restarted while running them):
+     * they will be resumed from their last committed error ID.
+     *
+     * @param heartbeatBefore back-fills whose lease was not renewed since this date-time are considered abandoned
+     * @return the number of back-fills put back in the queue
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ProblemPatternBackFill backFill " +
+            "SET backFill.status = com.decathlon.ara.domain.enumeration.PatternBackFillStatus.PENDING, backFill.worker = NULL, backFill.heartbeatDateTime = NULL " +
+            "WHERE backFill.status = com.decathlon.ara.domain.enumeration.PatternBackFillStatus.RUNNING AND backFill.heartbeatDateTime < ?1")
+    int requeueRunningBackFillsWithHeartbeatBefore(Date heartbeatBefore);
+
+}
@@ -34,6 +34,17 @@ public interface ProblemPatternRepository extends JpaRepository<ProblemPattern,
             "WHERE problemPattern.problem.projectId = ?1")
     List<ProblemPattern> findAllByProjectId(long projectId);
 
+    /**
+     * @param projectId the ID of the project in which to work
+     * @return all patterns of the project, with their country and type already loaded: ready to be matched in memory
+     */
+    @Query("SELECT problemPattern " +
+            "FROM ProblemPattern problemPattern " +
+            "LEFT JOIN FETCH problemPattern.country " +
+            "LEFT JOIN FETCH problemPattern.type " +
+            "WHERE problemPattern.problem.projectId = ?1")
+    List<ProblemPattern> findAllWithCountryAndTypeByProjectId(long projectId);
+
     @Query("SELECT problemPattern " +
             "FROM ProblemPattern problemPattern " +
             "WHERE problemPattern.problem.projectId = ?1 " +
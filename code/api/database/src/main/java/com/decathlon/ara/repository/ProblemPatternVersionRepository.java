@@ -0,0 +1,54 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.repository;
+
+import com.decathlon.ara.domain.ProblemPatternVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Spring Data JPA repository for the ProblemPatternVersion entity.
+ */
+@Repository
+public interface ProblemPatternVersionRepository extends JpaRepository<ProblemPatternVersion, Long> {
+
+    /**
+     * @param projectId the ID of the project
+     * @return the current version of the problem patterns of the project, read from the database (not from the
+     * persistence context)
+     */
+    @Query("SELECT v.version FROM ProblemPatternVersion v WHERE v.projectId = ?1")
+    Optional<Long> findVersion(long projectId);
+
+    /**
+     * Atomically increment the version of the problem patterns of a project.
+     *
+     * @param projectId the ID of the project
+     * @return 1 if the version was incremented, 0 if the project has no version row
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ProblemPatternVersion v SET v.version = v.version + 1 WHERE v.projectId = ?1")
+    int incrementVersion(long projectId);
+
+}
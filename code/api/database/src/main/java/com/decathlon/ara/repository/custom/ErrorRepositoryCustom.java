@@ -23,7 +23,9 @@ import com.decathlon.ara.domain.ProblemPattern;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import org.apache.commons.lang3.Range;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -31,7 +33,24 @@ public interface ErrorRepositoryCustom {
 
     Page<Error> findMatchingErrors(long projectId, ProblemPattern pattern, Pageable pageable);
 
-    void assignPatternToErrors(long projectId, ProblemPattern pattern);
+    /**
+     * @param projectId the ID of the project in which to work
+     * @return the lowest and highest IDs of the errors of the project, to walk the error table by ID ranges (empty if
+     * the project has no error at all)
+     */
+    Optional<Range<Long>> findIdRangeByProjectId(long projectId);
+
+    /**
+     * Assign the pattern to all the matching errors whose ID is in the given range, in its own transaction: called
+     * repeatedly on consecutive ranges, this back-fills a new or modified pattern without holding one huge transaction.
+     *
+     * @param projectId   the ID of the project in which to work
+     * @param patternId   the ID of the pattern to assign to matching errors
+     * @param fromErrorId the lowest error ID to consider (inclusive)
+     * @param toErrorId   the highest error ID to consider (exclusive)
+     * @return the number of errors newly assigned to the pattern (0 if the pattern does not exist anymore)
+     */
+    long assignPatternToErrors(long projectId, long patternId, long fromErrorId, long toErrorId);
 
     // NO projectId: errors is already restrained to the correct project
     Map<Error, List<Problem>> getErrorsProblems(Collection<Error> errors);
@@ -18,8 +18,12 @@
 package com.decathlon.ara.repository.custom;
 
 import com.decathlon.ara.domain.ExecutedScenario;
+import com.decathlon.ara.domain.filter.ExecutedScenarioFilter;
 import com.decathlon.ara.domain.projection.ExecutedScenarioWithErrorAndProblemJoin;
+import com.decathlon.ara.domain.projection.MatchingExecutedScenario;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public interface ExecutedScenarioRepositoryCustom {
@@ -33,4 +37,29 @@ public interface ExecutedScenarioRepositoryCustom {
     // NO projectId: runIds is already restrained to the correct project
     List<ExecutedScenarioWithErrorAndProblemJoin> findAllErrorAndProblemCounts(Set<Long> runIds);
 
+    /**
+     * @param executionIds the IDs of the Executions where to find ExecutedScenarios
+     * @return all executed-scenario of the runs of the executions, with minimal information (id, runId, name,
+     * severity) and count of errors and problem-patterns, indexed by execution ID (executions without any scenario
+     * are absent from the map)
+     */
+    // NO projectId: executionIds is already restrained to the correct project
+    Map<Long, List<ExecutedScenarioWithErrorAndProblemJoin>> findAllErrorAndProblemCountsByExecutionIds(Collection<Long> executionIds);
+
+    /**
+     * @param filter the search terms (including the executionId in which to restrain the search)
+     * @return the ID, run ID and name of the executed-scenarios matching the filter, ordered like in their run
+     */
+    // NO projectId: filter.executionId is already restrained to the correct project
+    List<MatchingExecutedScenario> findMatchingExecutedScenarios(ExecutedScenarioFilter filter);
+
+    /**
+     * @param executionId the ID of the Execution where to find ExecutedScenarios
+     * @param teamId the ID of the team blamed by problems
+     * @return the IDs of the executed-scenarios of the execution having at least one error assigned to a problem blamed
+     * on the given team
+     */
+    // NO projectId: executionId is already restrained to the correct project
+    Set<Long> findIdsWithProblemsBlamedOnTeam(long executionId, long teamId);
+
 }
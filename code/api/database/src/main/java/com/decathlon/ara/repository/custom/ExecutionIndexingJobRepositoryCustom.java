@@ -0,0 +1,39 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.repository.custom;
+
+import com.decathlon.ara.domain.ExecutionIndexingJob;
+
+import java.util.Date;
+
+public interface ExecutionIndexingJobRepositoryCustom {
+
+    /**
+     * Atomically mark a PENDING job as RUNNING, so that only one worker (of only one ARA node) indexes it, and only if
+     * its project and its cycle have room for one more running job, whatever the ARA node running the other jobs.
+     *
+     * @param job                      the job to claim
+     * @param node                     the name of the ARA node claiming the job: it must be the one having stored it
+     * @param maxConcurrencyPerProject the maximum number of RUNNING jobs of a same project
+     * @param now                      the start date-time of the job, and the beginning of its lease
+     * @return true if the job was claimed, false if it is not PENDING anymore (claimed by another worker) or if its
+     * project or its cycle is busy
+     */
+    boolean claim(ExecutionIndexingJob job, String node, int maxConcurrencyPerProject, Date now);
+
+}
@@ -18,6 +18,7 @@
 package com.decathlon.ara.repository.custom;
 
 import com.decathlon.ara.domain.Execution;
+import com.decathlon.ara.domain.projection.LatestCycleExecution;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
@@ -26,7 +27,13 @@ import java.util.List;
 @Repository
 public interface ExecutionRepositoryCustom {
 
-    List<Execution> findTop10ByProjectIdAndBranchAndNameOrderByTestDateTimeDesc(long projectId, String branch, String name);
+    /**
+     * @param cycleDefinitionIds the IDs of the cycles whose latest executions to return
+     * @param count              the maximum number of executions to return per cycle
+     * @return for all the given cycles, their latest executions (in no particular order), fetched in one query
+     */
+    // NO projectId: cycleDefinitionIds are already restrained to the correct project
+    List<LatestCycleExecution> findLatestExecutionsOfCycles(Collection<Long> cycleDefinitionIds, int count);
 
     List<Execution> findLatestOfEachCycleByProjectId(long projectId);
 
@@ -18,13 +18,16 @@
 package com.decathlon.ara.repository.custom;
 
 import com.decathlon.ara.domain.Execution;
+import com.decathlon.ara.domain.MaterializedProblemAggregate;
 import com.decathlon.ara.domain.Problem;
 import com.decathlon.ara.domain.filter.ProblemFilter;
-import com.decathlon.ara.domain.projection.ProblemAggregate;
 import com.decathlon.ara.domain.projection.FirstAndLastProblemOccurrence;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.commons.lang3.Range;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -56,12 +59,14 @@ public interface ProblemRepositoryCustom {
     Page<Problem> findMatchingProblems(ProblemFilter filter, Pageable pageable);
 
     /**
-     * @param projectId  the ID of the project in which to work
+     * Compute the aggregates of the given problems from their current occurrences, in one grouped query. Problems
+     * without any occurrence are not returned.
+     *
      * @param problemIds a list of IDs of problems
-     * @return for each problem ID, an aggregate object listing various counts and statistics about this problem
+     * @return for each problem having occurrences, an aggregate listing various counts and statistics about this problem
      */
     // NO projectId: problemIds are already restrained to the correct project
-    Map<Long, ProblemAggregate> findProblemAggregates(long projectId, List<Long> problemIds);
+    List<MaterializedProblemAggregate> computeProblemAggregates(Collection<Long> problemIds);
 
     /**
      * For a list of problems, return the problem IDs with the date and time of their first and last
@@ -72,6 +77,45 @@ public interface ProblemRepositoryCustom {
      */
     List<FirstAndLastProblemOccurrence> findFirstAndLastProblemOccurrences(Collection<Problem> problems);
 
+    /**
+     * @param projectId the ID of the project in which to work
+     * @return the lowest and highest IDs of the problems of the project, or empty if the project has no problem
+     */
+    Optional<Range<Long>> findIdRangeByProjectId(long projectId);
+
+    /**
+     * @param projectId     the ID of the project in which to work
+     * @param fromProblemId the lowest problem ID to return (inclusive)
+     * @param toProblemId   the highest problem ID to return (exclusive)
+     * @return the IDs of the problems of the project in the given ID range
+     */
+    List<Long> findIdsByProjectIdAndIdRange(long projectId, long fromProblemId, long toProblemId);
+
+    /**
+     * @param errorIds the IDs of some errors
+     * @return the IDs of the problems having an occurrence in any of these errors
+     */
+    Set<Long> findIdsByErrorIds(Collection<Long> errorIds);
+
+    /**
+     * Lock the rows of the given problems until the end of the current transaction (in ascending ID order, so that
+     * two transactions locking overlapping sets of problems cannot deadlock).
+     *
+     * @param problemIds the IDs of the problems to lock
+     */
+    void lockByIds(Collection<Long> problemIds);
+
+    /**
+     * Recompute the firstSeenDateTime and lastSeenDateTime of the problems of a project in the given ID range, in one
+     * UPDATE statement.
+     *
+     * @param projectId     the ID of the project in which to work
+     * @param fromProblemId the lowest problem ID to update (inclusive)
+     * @param toProblemId   the highest problem ID to update (exclusive)
+     * @return the number of updated problems
+     */
+    int updateFirstAndLastSeenDateTimes(long projectId, long fromProblemId, long toProblemId);
+
     /**
      * @param projectId the ID of the project in which to work
      * @return all problems with an assigned defect
@@ -24,14 +24,20 @@ import com.decathlon.ara.domain.QError;
 import com.decathlon.ara.domain.QProblem;
 import com.decathlon.ara.domain.QProblemPattern;
 import com.decathlon.ara.domain.SProblemOccurrence;
+import com.decathlon.ara.domain.projection.MatchableError;
 import com.decathlon.ara.repository.ErrorRepository;
 import com.decathlon.ara.repository.ProblemPatternRepository;
+import com.decathlon.ara.repository.ProblemRepository;
 import com.decathlon.ara.repository.custom.ErrorRepositoryCustom;
 import com.decathlon.ara.repository.custom.util.JpaCacheManager;
+import com.decathlon.ara.repository.custom.util.ProblemPatternIndex;
+import com.decathlon.ara.repository.custom.util.ProblemPatternIndexCache;
+import com.decathlon.ara.repository.custom.util.ProblemPatternMatcher;
 import com.decathlon.ara.repository.custom.util.TransactionAppenderUtil;
 import com.querydsl.core.Tuple;
 import com.querydsl.core.types.ExpressionUtils;
 import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import com.querydsl.sql.SQLQueryFactory;
 import com.querydsl.sql.dml.SQLInsertClause;
@@ -40,10 +46,11 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
-import javax.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.Range;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -51,6 +58,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 @Component
 @Slf4j
@@ -62,9 +70,6 @@ public class ErrorRepositoryImpl implements ErrorRepositoryCustom {
 
     private static final String LIKE_MARK = "%";
 
-    @Autowired
-    private EntityManager entityManager;
-
     // Cannot use constructor injection: would cause circular dependency injection
     @Autowired
     private ErrorRepository errorRepository;
@@ -75,9 +80,15 @@ public class ErrorRepositoryImpl implements ErrorRepositoryCustom {
     @Autowired
     private SQLQueryFactory sqlQueryFactory;
 
+    @Autowired
+    private ProblemRepository problemRepository;
+
     @Autowired
     private ProblemPatternRepository problemPatternRepository;
 
+    @Autowired
+    private ProblemPatternIndexCache problemPatternIndexCache;
+
     @Autowired
     private JpaCacheManager jpaCacheManager;
 
@@ -197,13 +208,42 @@ public class ErrorRepositoryImpl implements ErrorRepositoryCustom {
     }
 
     @Override
-    public void assignPatternToErrors(long projectId, ProblemPattern pattern) {
-        // If the pattern has just been inserted by Hibernate, issue the real SQL command, because we will issue direct-SQL queries with F.K.
-        entityManager.flush();
+    public Optional<Range<Long>> findIdRangeByProjectId(long projectId) {
+        Tuple range = jpaQueryFactory.select(QError.error.id.min(), QError.error.id.max())
+                .from(QError.error)
+                .where(QError.error.executedScenario.run.execution.cycleDefinition.projectId.eq(Long.valueOf(projectId)))
+                .fetchOne();
+        if (range == null || range.get(0, Long.class) == null) {
+            return Optional.empty();
+        }
+        return Optional.of(Range.between(range.get(0, Long.class), range.get(1, Long.class)));
+    }
+
+    @Override
+    @Transactional
+    public long assignPatternToErrors(long projectId, long patternId, long fromErrorId, long toErrorId) {
+        ProblemPattern pattern = problemPatternRepository.findByProjectIdAndId(projectId, patternId);
+        if (pattern == null) {
+            // Removed since the assignment began
+            return 0;
+        }
 
+        // Errors already linked to the pattern (by the indexer, or by a previous back-fill of the same pattern) are
+        // skipped: inserting them again would violate the primary key of problem_occurrence
+        QError linkedError = new QError("linkedError");
+        QProblemPattern linkedPattern = new QProblemPattern("linkedPattern");
         List<Long> matchingErrorIds = jpaQueryFactory.select(QError.error.id)
                 .from(QError.error)
-                .where(toPredicate(projectId, QError.error, pattern)).fetch();
+                .where(QError.error.id.goe(Long.valueOf(fromErrorId)))
+                .where(QError.error.id.lt(Long.valueOf(toErrorId)))
+                .where(toPredicate(projectId, QError.error, pattern))
+                .where(JPAExpressions.selectOne()
+                        .from(linkedError)
+                        .join(linkedError.problemPatterns, linkedPattern)
+                        .where(linkedError.id.eq(QError.error.id))
+                        .where(linkedPattern.id.eq(pattern.getId()))
+                        .notExists())
+                .fetch();
 
         SProblemOccurrence problemOccurrence = SProblemOccurrence.problemOccurrence;
         SQLInsertClause insert = sqlQueryFactory.insert(problemOccurrence);
@@ -220,7 +260,10 @@ public class ErrorRepositoryImpl implements ErrorRepositoryCustom {
 
         long insertedRows = (insert.getBatchCount() > 0 ? insert.execute() : 0);
 
-        log.info("Inserted {} problemOccurrences", Long.valueOf(insertedRows));
+        log.debug("Inserted {} problemOccurrences for errors {} to {}",
+                Long.valueOf(insertedRows), Long.valueOf(fromErrorId), Long.valueOf(toErrorId));
+
+        return insertedRows;
     }
 
     @Override
@@ -250,26 +293,32 @@ public class ErrorRepositoryImpl implements ErrorRepositoryCustom {
      */
     @Override
     public Set<Problem> autoAssignProblemsToNewErrors(long projectId, List<Long> errorIds) {
-        SProblemOccurrence problemOccurrence = SProblemOccurrence.problemOccurrence;
-        SQLInsertClause insert = sqlQueryFactory.insert(problemOccurrence);
+        if (errorIds.isEmpty()) {
+            return new HashSet<>();
+        }
 
-        Set<Problem> updatedProblems = new HashSet<>();
+        // Load the new errors once, and match them in memory against the project's cached pattern index,
+        // instead of issuing one query per pattern
+        List<MatchableError> errors = jpaQueryFactory.select(MatchableError.projectionOf(QError.error))
+                .from(QError.error)
+                .where(QError.error.id.in(errorIds))
+                .where(QError.error.executedScenario.run.execution.cycleDefinition.projectId.eq(Long.valueOf(projectId)))
+                .fetch();
+
+        ProblemPatternIndex patternIndex = problemPatternIndexCache.get(projectId);
 
-        for (ProblemPattern pattern : problemPatternRepository.findAllByProjectId(projectId)) {
-            List<Long> matchingErrorIds = jpaQueryFactory.select(QError.error.id)
-                    .from(QError.error)
-                    .where(QError.error.id.in(errorIds))
-                    .where(toPredicate(projectId, QError.error, pattern)).fetch();
+        SProblemOccurrence problemOccurrence = SProblemOccurrence.problemOccurrence;
+        SQLInsertClause insert = sqlQueryFactory.insert(problemOccurrence);
 
-            if (!matchingErrorIds.isEmpty()) {
-                updatedProblems.add(pattern.getProblem());
+        Set<Long> updatedProblemIds = new HashSet<>();
 
-                for (Long errorId : matchingErrorIds) {
-                    insert
-                            .set(problemOccurrence.errorId, errorId)
-                            .set(problemOccurrence.problemPatternId, pattern.getId())
-                            .addBatch();
-                }
+        for (MatchableError error : errors) {
+            for (ProblemPatternMatcher pattern : patternIndex.findMatchingPatterns(error)) {
+                updatedProblemIds.add(pattern.getProblemId());
+                insert
+                        .set(problemOccurrence.errorId, error.getId())
+                        .set(problemOccurrence.problemPatternId, pattern.getPatternId())
+                        .addBatch();
             }
         }
 
@@ -277,7 +326,8 @@ public class ErrorRepositoryImpl implements ErrorRepositoryCustom {
 
         log.info("Inserted {} problemOccurrences", Long.valueOf(insertedRows));
 
-        return updatedProblems;
+        // The index only caches pattern criteria: return problems managed by the current transaction
+        return new HashSet<>(problemRepository.findAllById(updatedProblemIds));
     }
 
 }
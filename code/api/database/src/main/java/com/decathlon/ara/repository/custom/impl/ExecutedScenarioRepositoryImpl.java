@@ -24,17 +24,30 @@ import com.decathlon.ara.domain.QExecution;
 import com.decathlon.ara.domain.QProblem;
 import com.decathlon.ara.domain.QProblemPattern;
 import com.decathlon.ara.domain.QRun;
+import com.decathlon.ara.domain.enumeration.Handling;
 import com.decathlon.ara.domain.enumeration.ProblemStatus;
+import com.decathlon.ara.domain.filter.ExecutedScenarioFilter;
 import com.decathlon.ara.domain.projection.ExecutedScenarioWithErrorAndProblemJoin;
+import com.decathlon.ara.domain.projection.MatchingExecutedScenario;
 import com.decathlon.ara.repository.custom.ExecutedScenarioRepositoryCustom;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.core.types.dsl.CaseBuilder;
 import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
@@ -90,6 +103,38 @@ public class ExecutedScenarioRepositoryImpl implements ExecutedScenarioRepositor
      */
     @Override
     public List<ExecutedScenarioWithErrorAndProblemJoin> findAllErrorAndProblemCounts(Set<Long> runIds) {
+        return errorAndProblemCountsQuery(QExecutedScenario.executedScenario.runId.in(runIds))
+                .fetch()
+                .stream()
+                .map(tuple -> tuple.get(1, ExecutedScenarioWithErrorAndProblemJoin.class))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @param executionIds the IDs of the Executions where to find ExecutedScenarios
+     * @return all executed-scenario of the runs of the executions, with minimal information (id, runId, name,
+     * severity) and count of errors and problem-patterns, indexed by execution ID (executions without any scenario
+     * are absent from the map)
+     */
+    @Override
+    public Map<Long, List<ExecutedScenarioWithErrorAndProblemJoin>> findAllErrorAndProblemCountsByExecutionIds(Collection<Long> executionIds) {
+        if (executionIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return errorAndProblemCountsQuery(QRun.run.executionId.in(executionIds))
+                .fetch()
+                .stream()
+                .collect(Collectors.groupingBy(
+                        tuple -> tuple.get(0, Long.class),
+                        Collectors.mapping(tuple -> tuple.get(1, ExecutedScenarioWithErrorAndProblemJoin.class), Collectors.toList())));
+    }
+
+    /**
+     * @param restriction the predicate restricting the executed-scenarios to count
+     * @return a query selecting the execution ID and the {@link ExecutedScenarioWithErrorAndProblemJoin} of each
+     * executed-scenario matching the restriction
+     */
+    private JPAQuery<Tuple> errorAndProblemCountsQuery(Predicate restriction) {
         // The selected entity
         final QExecutedScenario executedScenario = QExecutedScenario.executedScenario;
 
@@ -103,13 +148,14 @@ public class ExecutedScenarioRepositoryImpl implements ExecutedScenarioRepositor
         final QExecution execution = QExecution.execution;
 
         return jpaQueryFactory
-                .select(Projections.constructor(ExecutedScenarioWithErrorAndProblemJoin.class,
-                        executedScenario.id,
-                        executedScenario.runId,
-                        executedScenario.severity,
-                        executedScenario.name,
-                        unhandledCount(execution, error, problem),
-                        handledCount(execution, problem)))
+                .select(run.executionId,
+                        Projections.constructor(ExecutedScenarioWithErrorAndProblemJoin.class,
+                                executedScenario.id,
+                                executedScenario.runId,
+                                executedScenario.severity,
+                                executedScenario.name,
+                                unhandledCount(execution, error, problem),
+                                handledCount(execution, problem)))
                 .from(executedScenario)
 
                 // Downward joins
@@ -121,11 +167,160 @@ public class ExecutedScenarioRepositoryImpl implements ExecutedScenarioRepositor
                 .leftJoin(executedScenario.run, run)
                 .leftJoin(run.execution, execution)
 
-                .where(executedScenario.runId.in(runIds))
-                .groupBy(executedScenario.id)
+                .where(restriction)
+                .groupBy(executedScenario.id, run.executionId);
+    }
+
+    /**
+     * @param filter the search terms (including the executionId in which to restrain the search)
+     * @return the ID, run ID and name of the executed-scenarios matching the filter, ordered like in their run
+     */
+    @Override
+    public List<MatchingExecutedScenario> findMatchingExecutedScenarios(ExecutedScenarioFilter filter) {
+        final QExecutedScenario executedScenario = QExecutedScenario.executedScenario;
+        final QRun run = QRun.run;
+        final QExecution execution = QExecution.execution;
+
+        return jpaQueryFactory
+                .select(Projections.constructor(MatchingExecutedScenario.class,
+                        executedScenario.id,
+                        executedScenario.runId,
+                        executedScenario.name))
+                .from(executedScenario)
+                .join(executedScenario.run, run)
+                .join(run.execution, execution)
+                .where(toPredicate(executedScenario, execution, filter))
+                .orderBy(executedScenario.featureFile.asc(), executedScenario.name.asc(), executedScenario.line.asc())
                 .fetch();
     }
 
+    /**
+     * @param executionId the ID of the Execution where to find ExecutedScenarios
+     * @param teamId the ID of the team blamed by problems
+     * @return the IDs of the executed-scenarios of the execution having at least one error assigned to a problem blamed
+     * on the given team
+     */
+    @Override
+    public Set<Long> findIdsWithProblemsBlamedOnTeam(long executionId, long teamId) {
+        final QExecutedScenario executedScenario = QExecutedScenario.executedScenario;
+        final QError error = QError.error;
+        final QProblemPattern problemPattern = QProblemPattern.problemPattern;
+
+        return new HashSet<>(jpaQueryFactory
+                .selectDistinct(executedScenario.id)
+                .from(executedScenario)
+                .join(executedScenario.errors, error)
+                .join(error.problemPatterns, problemPattern)
+                .where(executedScenario.run.executionId.eq(Long.valueOf(executionId)))
+                .where(problemPattern.problem.blamedTeam.id.eq(Long.valueOf(teamId)))
+                .fetch());
+    }
+
+    private Predicate toPredicate(QExecutedScenario executedScenario, QExecution execution, ExecutedScenarioFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        predicates.add(execution.id.eq(Long.valueOf(filter.getExecutionId())));
+
+        if (!filter.isWithSucceed()) {
+            predicates.add(executedScenario.errors.isNotEmpty());
+        }
+
+        if (StringUtils.isNotEmpty(filter.getSeverity())) {
+            predicates.add(computeSeverityPredicate(executedScenario, filter.getSeverity()));
+        }
+
+        if (filter.getHandling() != null) {
+            predicates.add(computeHandlingPredicate(executedScenario, execution, filter.getHandling()));
+        }
+
+        if (StringUtils.isNotEmpty(filter.getFeature())) {
+            predicates.add(executedScenario.featureName.containsIgnoreCase(filter.getFeature()));
+        }
+
+        if (StringUtils.isNotEmpty(filter.getScenario())) {
+            predicates.add(executedScenario.name.containsIgnoreCase(filter.getScenario()));
+        }
+
+        if (StringUtils.isNotEmpty(filter.getStep())) {
+            final QError error = new QError("stepError");
+            predicates.add(JPAExpressions.selectOne()
+                    .from(error)
+                    .where(error.executedScenarioId.eq(executedScenario.id))
+                    .where(error.step.containsIgnoreCase(filter.getStep()))
+                    .exists());
+        }
+
+        if (StringUtils.isNotEmpty(filter.getException())) {
+            // Scenarios without error are kept: the exception only restrains failed scenarios
+            final QError error = new QError("exceptionError");
+            predicates.add(executedScenario.errors.isEmpty().or(JPAExpressions.selectOne()
+                    .from(error)
+                    .where(error.executedScenarioId.eq(executedScenario.id))
+                    .where(error.exception.containsIgnoreCase(filter.getException()))
+                    .exists()));
+        }
+
+        if (filter.getProblemId() != null) {
+            final QError error = new QError("problemError");
+            final QProblemPattern problemPattern = new QProblemPattern("problemProblemPattern");
+            predicates.add(JPAExpressions.selectOne()
+                    .from(error)
+                    .join(error.problemPatterns, problemPattern)
+                    .where(error.executedScenarioId.eq(executedScenario.id))
+                    .where(problemPattern.problem.id.eq(filter.getProblemId()))
+                    .exists());
+        }
+
+        return ExpressionUtils.allOf(predicates);
+    }
+
+    /**
+     * @param executedScenario the executed-scenario table variable to use in the query
+     * @param severity the severity code to match: "none" and "medium" also match scenarios without severity
+     * @return a predicate to use in a QueryDsl request
+     */
+    private static Predicate computeSeverityPredicate(QExecutedScenario executedScenario, String severity) {
+        final BooleanExpression sameSeverity = executedScenario.severity.eq(severity);
+        if ("none".equals(severity) || "medium".equals(severity)) {
+            return sameSeverity
+                    .or(executedScenario.severity.isNull())
+                    .or(executedScenario.severity.isEmpty())
+                    .or(executedScenario.severity.eq("&"));
+        }
+        return sameSeverity;
+    }
+
+    /**
+     * Compute a predicate to filter executed-scenarios by their handling, with the same rules as the handled and
+     * unhandled counts of {@link #findAllErrorAndProblemCounts(Set)}.
+     *
+     * @param executedScenario the executed-scenario table variable to use in the query
+     * @param execution the execution table variable of the executed-scenario, to detect reappeared problems
+     * @param handling the handling of the scenarios to keep
+     * @return a predicate to use in a QueryDsl request
+     */
+    private Predicate computeHandlingPredicate(QExecutedScenario executedScenario, QExecution execution, Handling handling) {
+        if (handling == Handling.SUCCESS) {
+            return executedScenario.errors.isEmpty();
+        }
+
+        final QError error = new QError("handledError");
+        final QProblemPattern problemPattern = new QProblemPattern("handledProblemPattern");
+        final QProblem problem = new QProblem("handledProblem");
+        final BooleanExpression hasHandledError = JPAExpressions.selectOne()
+                .from(error)
+                .join(error.problemPatterns, problemPattern)
+                .join(problemPattern.problem, problem)
+                .where(error.executedScenarioId.eq(executedScenario.id))
+                .where(isHandled(execution, problem))
+                .exists();
+
+        if (handling == Handling.HANDLED) {
+            return hasHandledError;
+        }
+        return executedScenario.errors.isNotEmpty().and(hasHandledError.not());
+    }
+
     private NumberExpression<Long> unhandledCount(QExecution execution, QError error, QProblem problem) {
         final BooleanExpression thereIsAnError = error.id.isNotNull();
         final BooleanExpression theErrorHasNoProblem = problem.id.isNull();
@@ -140,6 +335,14 @@ public class ExecutedScenarioRepositoryImpl implements ExecutedScenarioRepositor
     }
 
     private NumberExpression<Long> handledCount(QExecution execution, QProblem problem) {
+        return new CaseBuilder()
+                .when(isHandled(execution, problem))
+                .then(1L)
+                .otherwise(0L)
+                .sum();
+    }
+
+    private BooleanExpression isHandled(QExecution execution, QProblem problem) {
         final BooleanExpression thereIsAProblem = problem.id.isNotNull();
         final BooleanExpression theProblemIsOpen = problem.status.eq(ProblemStatus.OPEN);
         final BooleanExpression closingDateIsNullOrAfterTestDate = problem.closingDateTime.isNull()
@@ -147,11 +350,7 @@ public class ExecutedScenarioRepositoryImpl implements ExecutedScenarioRepositor
         final BooleanExpression theProblemIsClosedAndDidNotReappear = problem.status.eq(ProblemStatus.CLOSED)
                 .and(closingDateIsNullOrAfterTestDate);
 
-        return new CaseBuilder()
-                .when(thereIsAProblem.and(theProblemIsOpen.or(theProblemIsClosedAndDidNotReappear)))
-                .then(1L)
-                .otherwise(0L)
-                .sum();
+        return thereIsAProblem.and(theProblemIsOpen.or(theProblemIsClosedAndDidNotReappear));
     }
 
 }
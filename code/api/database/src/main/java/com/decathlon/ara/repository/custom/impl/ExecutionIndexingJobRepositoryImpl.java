@@ -0,0 +1,83 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.repository.custom.impl;
+
+import com.decathlon.ara.domain.ExecutionIndexingJob;
+import com.decathlon.ara.domain.QExecutionIndexingJob;
+import com.decathlon.ara.domain.QProject;
+import com.decathlon.ara.domain.enumeration.ExecutionIndexingJobStatus;
+import com.decathlon.ara.repository.custom.ExecutionIndexingJobRepositoryCustom;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import java.util.Date;
+import javax.persistence.LockModeType;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ExecutionIndexingJobRepositoryImpl implements ExecutionIndexingJobRepositoryCustom {
+
+    @NonNull
+    private final JPAQueryFactory jpaQueryFactory;
+
+    @Override
+    @Transactional
+    public boolean claim(ExecutionIndexingJob job, String node, int maxConcurrencyPerProject, Date now) {
+        final QExecutionIndexingJob indexingJob = QExecutionIndexingJob.executionIndexingJob;
+        final Long projectId = Long.valueOf(job.getProjectId());
+
+        // Claims of the jobs of a project are serialized by locking the project row: the RUNNING jobs counted below
+        // cannot change until this claim is committed, whatever the ARA node claiming another job of the project
+        jpaQueryFactory.selectFrom(QProject.project)
+                .where(QProject.project.id.eq(projectId))
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .fetchOne();
+
+        final long runningJobsOfProject = jpaQueryFactory.selectFrom(indexingJob)
+                .where(indexingJob.projectId.eq(projectId))
+                .where(indexingJob.status.eq(ExecutionIndexingJobStatus.RUNNING))
+                .fetchCount();
+        if (runningJobsOfProject >= maxConcurrencyPerProject) {
+            return false;
+        }
+
+        // Jobs of a same cycle are unzipped in the same folder, so they must not run concurrently
+        final long runningJobsOfCycle = jpaQueryFactory.selectFrom(indexingJob)
+                .where(indexingJob.projectId.eq(projectId))
+                .where(indexingJob.branch.eq(job.getBranch()))
+                .where(indexingJob.cycle.eq(job.getCycle()))
+                .where(indexingJob.status.eq(ExecutionIndexingJobStatus.RUNNING))
+                .fetchCount();
+        if (runningJobsOfCycle > 0) {
+            return false;
+        }
+
+        return jpaQueryFactory.update(indexingJob)
+                .set(indexingJob.status, ExecutionIndexingJobStatus.RUNNING)
+                .set(indexingJob.startDateTime, now)
+                .set(indexingJob.heartbeatDateTime, now)
+                .where(indexingJob.id.eq(job.getId()))
+                .where(indexingJob.status.eq(ExecutionIndexingJobStatus.PENDING))
+                .where(indexingJob.node.eq(node))
+                .execute() == 1;
+    }
+
+}
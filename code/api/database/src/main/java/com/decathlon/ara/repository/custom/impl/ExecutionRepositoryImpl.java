@@ -19,18 +19,23 @@ package com.decathlon.ara.repository.custom.impl;
 
 import com.decathlon.ara.domain.Execution;
 import com.decathlon.ara.domain.QExecution;
+import com.decathlon.ara.domain.SExecution;
 import com.decathlon.ara.domain.enumeration.ExecutionAcceptance;
 import com.decathlon.ara.domain.enumeration.JobStatus;
 import com.decathlon.ara.domain.enumeration.QualityStatus;
+import com.decathlon.ara.domain.projection.LatestCycleExecution;
 import com.decathlon.ara.repository.custom.ExecutionRepositoryCustom;
 import com.querydsl.core.Tuple;
+import com.querydsl.core.types.SubQueryExpression;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.JPQLQuery;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.sql.SQLQueryFactory;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -50,18 +55,38 @@ public class ExecutionRepositoryImpl implements ExecutionRepositoryCustom {
     @NonNull
     private final JPAQueryFactory jpaQueryFactory;
 
+    @NonNull
+    private final SQLQueryFactory sqlQueryFactory;
+
+    /**
+     * MySQL 5.7 has no window function: the latest executions of each cycle are read by one LIMITed sub-query per cycle
+     * (an index range scan on cycle_definition_id and test_date_time), all sent in one UNION ALL query.
+     */
     @Override
-    public List<Execution> findTop10ByProjectIdAndBranchAndNameOrderByTestDateTimeDesc(long projectId, String branch, String name) {
-        QExecution execution = QExecution.execution;
-        return jpaQueryFactory
-                .select(execution)
-                .from(execution)
-                .where(execution.cycleDefinition.projectId.eq(Long.valueOf(projectId)))
-                .where(execution.cycleDefinition.branch.eq(branch))
-                .where(execution.cycleDefinition.name.eq(name))
-                .orderBy(execution.testDateTime.desc())
-                .limit(10)
-                .fetch();
+    public List<LatestCycleExecution> findLatestExecutionsOfCycles(Collection<Long> cycleDefinitionIds, int count) {
+        if (cycleDefinitionIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        SExecution execution = SExecution.execution;
+        List<SubQueryExpression<Tuple>> latestExecutionsPerCycle = cycleDefinitionIds.stream()
+                .<SubQueryExpression<Tuple>>map(cycleDefinitionId -> sqlQueryFactory
+                        .select(execution.cycleDefinitionId, execution.id, execution.testDateTime)
+                        .from(execution)
+                        .where(execution.cycleDefinitionId.eq(cycleDefinitionId))
+                        .orderBy(execution.testDateTime.desc())
+                        .limit(count))
+                .collect(Collectors.toList());
+
+        return sqlQueryFactory.query()
+                .unionAll(latestExecutionsPerCycle)
+                .fetch()
+                .stream()
+                .map(tuple -> new LatestCycleExecution(
+                        tuple.get(execution.cycleDefinitionId),
+                        tuple.get(execution.id),
+                        tuple.get(execution.testDateTime)))
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -18,6 +18,7 @@
 package com.decathlon.ara.repository.custom.impl;
 
 import com.decathlon.ara.domain.Execution;
+import com.decathlon.ara.domain.MaterializedProblemAggregate;
 import com.decathlon.ara.domain.Problem;
 import com.decathlon.ara.domain.QExecution;
 import com.decathlon.ara.domain.QError;
@@ -27,13 +28,9 @@ import com.decathlon.ara.domain.QRun;
 import com.decathlon.ara.domain.enumeration.ProblemStatus;
 import com.decathlon.ara.domain.enumeration.ProblemStatusFilter;
 import com.decathlon.ara.domain.filter.ProblemFilter;
-import com.decathlon.ara.domain.projection.ProblemAggregate;
 import com.decathlon.ara.domain.projection.FirstAndLastProblemOccurrence;
-import com.decathlon.ara.repository.CountryRepository;
 import com.decathlon.ara.repository.ProblemRepository;
-import com.decathlon.ara.repository.TypeRepository;
 import com.decathlon.ara.repository.custom.ProblemRepositoryCustom;
-import com.querydsl.core.QueryResults;
 import com.querydsl.core.Tuple;
 import com.querydsl.core.types.ExpressionUtils;
 import com.querydsl.core.types.Predicate;
@@ -42,17 +39,25 @@ import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import org.apache.commons.lang3.Range;
 import org.apache.commons.lang3.StringUtils;
+import org.hibernate.query.NativeQuery;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 @Component
 public class ProblemRepositoryImpl implements ProblemRepositoryCustom {
@@ -60,18 +65,33 @@ public class ProblemRepositoryImpl implements ProblemRepositoryCustom {
     private static final Sort PROBLEM_CREATION_DATE_TIME_DESC =
             Sort.by(Sort.Direction.DESC, QProblem.problem.creationDateTime.getMetadata().getName());
 
+    /**
+     * The date-time of the first or last occurrence of the updated problem, for an UPDATE of the problem table.
+     * "UPDATE ... FROM" and "UPDATE ... JOIN" are not portable between MySQL and H2: correlated sub-queries are.
+     */
+    private static final String OCCURRENCE_TEST_DATE_TIME_SUB_QUERY = "(SELECT %s(execution.test_date_time)" +
+            " FROM problem_pattern" +
+            " JOIN problem_occurrence ON problem_occurrence.problem_pattern_id = problem_pattern.id" +
+            " JOIN error ON error.id = problem_occurrence.error_id" +
+            " JOIN executed_scenario ON executed_scenario.id = error.executed_scenario_id" +
+            " JOIN run ON run.id = executed_scenario.run_id" +
+            " JOIN execution ON execution.id = run.execution_id" +
+            " WHERE problem_pattern.problem_id = problem.id)";
+
+    private static final String UPDATE_FIRST_AND_LAST_SEEN_DATE_TIMES = "UPDATE problem" +
+            " SET first_seen_date_time = " + String.format(OCCURRENCE_TEST_DATE_TIME_SUB_QUERY, "MIN") + "," +
+            " last_seen_date_time = " + String.format(OCCURRENCE_TEST_DATE_TIME_SUB_QUERY, "MAX") +
+            " WHERE problem.project_id = ?1 AND problem.id >= ?2 AND problem.id < ?3";
+
     // Cannot use constructor injection: would cause circular dependency injection
     @Autowired
     private ProblemRepository problemRepository;
 
     @Autowired
-    private CountryRepository countryRepository;
-
-    @Autowired
-    private TypeRepository typeRepository;
+    private JPAQueryFactory jpaQueryFactory;
 
     @Autowired
-    private JPAQueryFactory jpaQueryFactory;
+    private EntityManager entityManager;
 
     private static Predicate toPredicate(QProblem problem, ProblemFilter filter) {
         List<Predicate> predicates = new ArrayList<>();
@@ -200,13 +220,19 @@ public class ProblemRepositoryImpl implements ProblemRepositoryCustom {
     }
 
     /**
-     * @param projectId the ID of the project in which to work
+     * Compute the aggregates of the given problems from their current occurrences, in one grouped query. Problems
+     * without any occurrence are not returned.
+     *
      * @param problemIds a list of IDs of problems
-     * @return for each problem ID, an aggregate object listing various counts and statistics about this problem
+     * @return for each problem having occurrences, an aggregate listing various counts and statistics about this problem
      */
     @Override
-    public Map<Long, ProblemAggregate> findProblemAggregates(long projectId, List<Long> problemIds) {
-        QueryResults<Tuple> results = jpaQueryFactory.select(
+    public List<MaterializedProblemAggregate> computeProblemAggregates(Collection<Long> problemIds) {
+        if (problemIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Tuple> results = jpaQueryFactory.select(
                 QProblem.problem.id,
 
                 QProblemPattern.problemPattern.countDistinct(),
@@ -240,13 +266,13 @@ public class ProblemRepositoryImpl implements ProblemRepositoryCustom {
                 .join(QRun.run.execution, QExecution.execution)
                 .where(QProblem.problem.id.in(problemIds))
                 .groupBy(QProblem.problem.id)
-                .fetchResults();
+                .fetch();
 
-        Map<Long, ProblemAggregate> aggregates = new HashMap<>();
+        List<MaterializedProblemAggregate> aggregates = new ArrayList<>(results.size());
 
-        for (Tuple result : results.getResults()) {
-            ProblemAggregate aggregate = new ProblemAggregate();
-            aggregates.put(result.get(QProblem.problem.id), aggregate);
+        for (Tuple result : results) {
+            MaterializedProblemAggregate aggregate = MaterializedProblemAggregate.empty(result.get(QProblem.problem.id));
+            aggregates.add(aggregate);
 
             aggregate.setPatternCount(result.get(QProblemPattern.problemPattern.countDistinct()).longValue());
             aggregate.setErrorCount(result.get(QError.error.countDistinct()).longValue());
@@ -264,10 +290,10 @@ public class ProblemRepositoryImpl implements ProblemRepositoryCustom {
             aggregate.setFirstVersion(result.get(QExecution.execution.version.min()));
 
             aggregate.setCountryCount(result.get(QRun.run.country.countDistinct()).longValue());
-            aggregate.setFirstCountry(countryRepository.findByProjectIdAndCode(projectId, result.get(QRun.run.country.code.min())));
+            aggregate.setFirstCountryCode(result.get(QRun.run.country.code.min()));
 
             aggregate.setTypeCount(result.get(QRun.run.type.countDistinct()).longValue());
-            aggregate.setFirstType(typeRepository.findByProjectIdAndCode(projectId, result.get(QRun.run.type.code.min())));
+            aggregate.setFirstTypeCode(result.get(QRun.run.type.code.min()));
 
             aggregate.setPlatformCount(result.get(QRun.run.platform.countDistinct()).longValue());
             aggregate.setFirstPlatform(result.get(QRun.run.platform.min()));
@@ -302,6 +328,67 @@ public class ProblemRepositoryImpl implements ProblemRepositoryCustom {
                 .fetch();
     }
 
+    @Override
+    public Optional<Range<Long>> findIdRangeByProjectId(long projectId) {
+        Tuple range = jpaQueryFactory.select(QProblem.problem.id.min(), QProblem.problem.id.max())
+                .from(QProblem.problem)
+                .where(QProblem.problem.projectId.eq(Long.valueOf(projectId)))
+                .fetchOne();
+        if (range == null || range.get(0, Long.class) == null) {
+            return Optional.empty();
+        }
+        return Optional.of(Range.between(range.get(0, Long.class), range.get(1, Long.class)));
+    }
+
+    @Override
+    public List<Long> findIdsByProjectIdAndIdRange(long projectId, long fromProblemId, long toProblemId) {
+        return jpaQueryFactory.select(QProblem.problem.id)
+                .from(QProblem.problem)
+                .where(QProblem.problem.projectId.eq(Long.valueOf(projectId)))
+                .where(QProblem.problem.id.goe(Long.valueOf(fromProblemId)))
+                .where(QProblem.problem.id.lt(Long.valueOf(toProblemId)))
+                .orderBy(QProblem.problem.id.asc())
+                .fetch();
+    }
+
+    @Override
+    public Set<Long> findIdsByErrorIds(Collection<Long> errorIds) {
+        if (errorIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(jpaQueryFactory.select(QProblemPattern.problemPattern.problem.id)
+                .distinct()
+                .from(QError.error)
+                .join(QError.error.problemPatterns, QProblemPattern.problemPattern)
+                .where(QError.error.id.in(errorIds))
+                .fetch());
+    }
+
+    @Override
+    public void lockByIds(Collection<Long> problemIds) {
+        if (problemIds.isEmpty()) {
+            return;
+        }
+        jpaQueryFactory.selectFrom(QProblem.problem)
+                .where(QProblem.problem.id.in(problemIds))
+                .orderBy(QProblem.problem.id.asc())
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .fetch();
+    }
+
+    @Override
+    @Transactional
+    public int updateFirstAndLastSeenDateTimes(long projectId, long fromProblemId, long toProblemId) {
+        return entityManager.createNativeQuery(UPDATE_FIRST_AND_LAST_SEEN_DATE_TIMES)
+                .setParameter(1, Long.valueOf(projectId))
+                .setParameter(2, Long.valueOf(fromProblemId))
+                .setParameter(3, Long.valueOf(toProblemId))
+                .unwrap(NativeQuery.class)
+                // Only invalidate the cached problems, not the whole second-level cache
+                .addSynchronizedEntityClass(Problem.class)
+                .executeUpdate();
+    }
+
     /**
      * @param projectId the ID of the project in which to work
      * @return all problems with an assigned defect
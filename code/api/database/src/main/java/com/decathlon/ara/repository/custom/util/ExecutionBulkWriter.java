@@ -0,0 +1,212 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.repository.custom.util;
+
+import com.decathlon.ara.domain.Error;
+import com.decathlon.ara.domain.ExecutedScenario;
+import com.decathlon.ara.domain.Execution;
+import com.decathlon.ara.domain.Run;
+import com.decathlon.ara.domain.SError;
+import com.decathlon.ara.domain.SExecutedScenario;
+import com.decathlon.ara.domain.SRun;
+import com.decathlon.ara.repository.ExecutionRepository;
+import com.querydsl.core.types.Path;
+import com.querydsl.sql.RelationalPath;
+import com.querydsl.sql.SQLQueryFactory;
+import com.querydsl.sql.dml.SQLInsertClause;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Save an indexed execution with JDBC batches instead of cascading Hibernate inserts: an execution can have tens of
+ * thousands of executed scenarios and errors, each with large contents.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ExecutionBulkWriter {
+
+    /**
+     * Number of rows sent in one JDBC batch (with MySQL, the driver rewrites each batch into multi-row INSERT
+     * statements, split to fit max_allowed_packet).
+     */
+    static final int BATCH_SIZE = 1000;
+
+    @NonNull
+    private final EntityManager entityManager;
+
+    @NonNull
+    private final SQLQueryFactory sqlQueryFactory;
+
+    @NonNull
+    private final ExecutionRepository executionRepository;
+
+    /**
+     * Save an execution, as ExecutionRepository.save() would do.<br>
+     * The execution itself, its country deployments and its already persisted runs are saved by JPA. New runs (without
+     * id), their executed scenarios and errors are inserted by JDBC batches: their ids are set on the given objects.
+     * Finally, the execution is loaded back in the persistence context, with the new runs in its (lazy) collections.
+     *
+     * @param execution the execution to save (new, or already persisted by a previous indexing)
+     * @return the managed saved execution
+     */
+    @Transactional
+    public Execution save(Execution execution) {
+        List<Run> newRuns = execution.getRuns().stream()
+                .filter(run -> run.getId() == null)
+                .collect(Collectors.toList());
+        execution.getRuns().removeAll(newRuns);
+
+        Execution savedExecution = executionRepository.save(execution);
+        // Apply the deletions of the replaced runs before inserting their new versions
+        entityManager.flush();
+
+        List<ExecutedScenario> executedScenarios = insertRuns(savedExecution.getId(), newRuns);
+        List<Error> errors = insertExecutedScenarios(executedScenarios);
+        insertErrors(errors);
+        log.info("Bulk-inserted {} runs, {} executed scenarios and {} errors", newRuns.size(), executedScenarios.size(), errors.size());
+
+        // The inserted rows are not known by the persistence context: reload the execution to attach them
+        entityManager.detach(savedExecution);
+        execution.getRuns().addAll(newRuns);
+        return entityManager.find(Execution.class, savedExecution.getId());
+    }
+
+    private List<ExecutedScenario> insertRuns(Long executionId, List<Run> runs) {
+        final SRun run = SRun.run;
+        insert(run, run.id, runs, (insert, entity) -> insert
+                        .set(run.comment, entity.getComment())
+                        .set(run.countryId, entity.getCountry().getId())
+                        .set(run.countryTags, entity.getCountryTags())
+                        .set(run.duration, entity.getDuration())
+                        .set(run.estimatedDuration, entity.getEstimatedDuration())
+                        .set(run.executionId, executionId)
+                        .set(run.fingerprint, entity.getFingerprint())
+                        .set(run.includeInThresholds, entity.getIncludeInThresholds())
+                        .set(run.jobLink, entity.getJobLink())
+                        .set(run.jobUrl, entity.getJobUrl())
+                        .set(run.platform, entity.getPlatform())
+                        .set(run.severityTags, entity.getSeverityTags())
+                        .set(run.startDateTime, toTimestamp(entity.getStartDateTime()))
+                        .set(run.status, entity.getStatus() == null ? null : entity.getStatus().name())
+                        .set(run.typeId, entity.getType().getId()),
+                Run::setId);
+        return runs.stream()
+                .flatMap(entity -> {
+                    // Only the foreign-key changes: the sorting of the scenarios of the run is kept
+                    entity.getExecutedScenarios().forEach(executedScenario -> executedScenario.setRun(entity));
+                    return entity.getExecutedScenarios().stream();
+                })
+                .collect(Collectors.toList());
+    }
+
+    private List<Error> insertExecutedScenarios(List<ExecutedScenario> executedScenarios) {
+        final SExecutedScenario executedScenario = SExecutedScenario.executedScenario;
+        insert(executedScenario, executedScenario.id, executedScenarios, (insert, entity) -> insert
+                        .set(executedScenario.apiServer, entity.getApiServer())
+                        .set(executedScenario.content, entity.getContent())
+                        .set(executedScenario.cucumberId, entity.getCucumberId())
+                        .set(executedScenario.cucumberReportUrl, entity.getCucumberReportUrl())
+                        .set(executedScenario.diffReportUrl, entity.getDiffReportUrl())
+                        .set(executedScenario.featureFile, entity.getFeatureFile())
+                        .set(executedScenario.featureName, entity.getFeatureName())
+                        .set(executedScenario.featureTags, entity.getFeatureTags())
+                        .set(executedScenario.httpRequestsUrl, entity.getHttpRequestsUrl())
+                        .set(executedScenario.javaScriptErrorsUrl, entity.getJavaScriptErrorsUrl())
+                        .set(executedScenario.line, entity.getLine())
+                        .set(executedScenario.logsUrl, entity.getLogsUrl())
+                        .set(executedScenario.name, entity.getName())
+                        .set(executedScenario.runId, entity.getRun().getId())
+                        .set(executedScenario.screenshotFileName, getFileName(entity.getScreenshotUrl()))
+                        .set(executedScenario.screenshotUrl, entity.getScreenshotUrl())
+                        .set(executedScenario.seleniumNode, entity.getSeleniumNode())
+                        .set(executedScenario.severity, entity.getSeverity())
+                        .set(executedScenario.startDateTime, toTimestamp(entity.getStartDateTime()))
+                        .set(executedScenario.tags, entity.getTags())
+                        .set(executedScenario.videoUrl, entity.getVideoUrl()),
+                ExecutedScenario::setId);
+        return executedScenarios.stream()
+                .flatMap(entity -> {
+                    // Only the foreign-key changes: the sorting of the errors of the scenario is kept
+                    entity.getErrors().forEach(error -> error.setExecutedScenario(entity));
+                    return entity.getErrors().stream();
+                })
+                .collect(Collectors.toList());
+    }
+
+    private void insertErrors(List<Error> errors) {
+        final SError error = SError.error;
+        insert(error, error.id, errors, (insert, entity) -> insert
+                        .set(error.exception, entity.getException())
+                        .set(error.executedScenarioId, entity.getExecutedScenario().getId())
+                        .set(error.step, entity.getStep())
+                        .set(error.stepDefinition, entity.getStepDefinition())
+                        .set(error.stepLine, entity.getStepLine()),
+                Error::setId);
+    }
+
+    /**
+     * Insert entities by batches of {@link #BATCH_SIZE} rows, and set the generated ids on the entities.
+     *
+     * @param table     the table to insert rows into
+     * @param id        the auto-incremented id column of the table
+     * @param entities  the entities to insert
+     * @param setValues sets the column values of one entity in the insert clause (always the same columns, in the same
+     *                  order, for the batch to be sent as one statement)
+     * @param setId     sets the generated id on an entity
+     * @param <T>       the type of the entities
+     */
+    private <T> void insert(RelationalPath<?> table, Path<Long> id, List<T> entities,
+                            BiConsumer<SQLInsertClause, T> setValues, BiConsumer<T, Long> setId) {
+        for (int start = 0; start < entities.size(); start += BATCH_SIZE) {
+            List<T> batch = entities.subList(start, Math.min(start + BATCH_SIZE, entities.size()));
+            SQLInsertClause insert = sqlQueryFactory.insert(table);
+            for (T entity : batch) {
+                setValues.accept(insert, entity);
+                insert.addBatch();
+            }
+            List<Long> ids = insert.executeWithKeys(id);
+            if (ids.size() != batch.size()) {
+                throw new IllegalStateException(String.format("Inserted %d rows in %s, but got %d generated ids",
+                        Integer.valueOf(batch.size()), table.getTableName(), Integer.valueOf(ids.size())));
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                setId.accept(batch.get(i), ids.get(i));
+            }
+        }
+    }
+
+    private static String getFileName(String url) {
+        return url == null ? null : url.substring(url.lastIndexOf('/') + 1);
+    }
+
+    private static Timestamp toTimestamp(Date date) {
+        return date == null ? null : new Timestamp(date.getTime());
+    }
+
+}
@@ -0,0 +1,223 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.repository.custom.util;
+
+import com.decathlon.ara.domain.ProblemPattern;
+import com.decathlon.ara.domain.projection.MatchableError;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * An immutable index of all {@link ProblemPattern}s of a project (only their criteria are kept, not the entities), to only evaluate against an error the patterns that
+ * have a chance to match it.<br>
+ * Each pattern is filed once, under its most discriminating criterion: exact-match criteria are hashed, and starts-with
+ * criteria are stored in prefix tries keyed by their literal prefix (up to the first LIKE wildcard). Patterns without
+ * any usable criterion are candidates for every error.<br>
+ * Keys are case-folded, as patterns are matched case-insensitively.
+ */
+public class ProblemPatternIndex {
+
+    /**
+     * Exact criteria are preferred over prefixes shorter than this: eg. a "java." exception prefix is shared by too
+     * many errors to be discriminating.
+     */
+    private static final int MIN_DISCRIMINATING_PREFIX_LENGTH = 16;
+
+    private final List<ProblemPatternMatcher> unindexed = new ArrayList<>();
+
+    private final Map<ExactKey, Map<String, List<ProblemPatternMatcher>>> exactIndexes = new EnumMap<>(ExactKey.class);
+
+    private final Map<PrefixKey, PrefixTrie> prefixIndexes = new EnumMap<>(PrefixKey.class);
+
+    /**
+     * Most discriminating exact criteria first: the order is used to choose under which key to file each pattern.
+     */
+    @AllArgsConstructor
+    private enum ExactKey {
+        SCENARIO_NAME(p -> p.isScenarioNameStartsWith() ? null : p.getScenarioName(), MatchableError::getScenarioName),
+        STEP(p -> p.isStepStartsWith() ? null : p.getStep(), MatchableError::getStep),
+        STEP_DEFINITION(p -> p.isStepDefinitionStartsWith() ? null : p.getStepDefinition(), MatchableError::getStepDefinition),
+        FEATURE_FILE(ProblemPattern::getFeatureFile, MatchableError::getFeatureFile),
+        FEATURE_NAME(ProblemPattern::getFeatureName, MatchableError::getFeatureName),
+        PLATFORM(ProblemPattern::getPlatform, MatchableError::getPlatform),
+        RELEASE(ProblemPattern::getRelease, MatchableError::getRelease),
+        TYPE(p -> p.getType() == null ? null : p.getType().getCode(), MatchableError::getTypeCode),
+        COUNTRY(p -> p.getCountry() == null ? null : p.getCountry().getCode(), MatchableError::getCountryCode);
+
+        private final Function<ProblemPattern, String> patternValue;
+        private final Function<MatchableError, String> errorValue;
+    }
+
+    @AllArgsConstructor
+    private enum PrefixKey {
+        SCENARIO_NAME(p -> p.isScenarioNameStartsWith() ? p.getScenarioName() : null, MatchableError::getScenarioName),
+        STEP(p -> p.isStepStartsWith() ? p.getStep() : null, MatchableError::getStep),
+        STEP_DEFINITION(p -> p.isStepDefinitionStartsWith() ? p.getStepDefinition() : null, MatchableError::getStepDefinition),
+        EXCEPTION(ProblemPattern::getException, MatchableError::getException);
+
+        private final Function<ProblemPattern, String> patternValue;
+        private final Function<MatchableError, String> errorValue;
+    }
+
+    /**
+     * @param patterns all patterns of a project, with their country and type loaded
+     */
+    public ProblemPatternIndex(Collection<ProblemPattern> patterns) {
+        for (ProblemPattern pattern : patterns) {
+            add(pattern);
+        }
+    }
+
+    private void add(ProblemPattern pattern) {
+        ProblemPatternMatcher matcher = new ProblemPatternMatcher(pattern);
+
+        // Long prefixes (typically, exception messages) discriminate better than feature or type criteria
+        PrefixKey bestPrefixKey = null;
+        String bestPrefix = "";
+        for (PrefixKey key : PrefixKey.values()) {
+            String criterion = key.patternValue.apply(pattern);
+            String prefix = (StringUtils.isEmpty(criterion) ? "" : ProblemPatternMatcher.literalPrefix(criterion));
+            if (prefix.length() > bestPrefix.length()) {
+                bestPrefixKey = key;
+                bestPrefix = prefix;
+            }
+        }
+        if (bestPrefix.length() >= MIN_DISCRIMINATING_PREFIX_LENGTH) {
+            prefixIndexes.computeIfAbsent(bestPrefixKey, k -> new PrefixTrie()).put(bestPrefix, matcher);
+            return;
+        }
+
+        for (ExactKey key : ExactKey.values()) {
+            String criterion = key.patternValue.apply(pattern);
+            if (StringUtils.isNotEmpty(criterion)) {
+                exactIndexes.computeIfAbsent(key, k -> new HashMap<>())
+                        .computeIfAbsent(fold(criterion), k -> new ArrayList<>())
+                        .add(matcher);
+                return;
+            }
+        }
+
+        if (bestPrefixKey != null) {
+            prefixIndexes.computeIfAbsent(bestPrefixKey, k -> new PrefixTrie()).put(bestPrefix, matcher);
+        } else {
+            unindexed.add(matcher);
+        }
+    }
+
+    /**
+     * @param error an error of the project
+     * @return the patterns sharing at least their most discriminating criterion with the error: they still need to be
+     * fully {@link ProblemPatternMatcher#matches(MatchableError) matched}, but the other patterns cannot match
+     */
+    List<ProblemPatternMatcher> getCandidates(MatchableError error) {
+        List<ProblemPatternMatcher> candidates = new ArrayList<>(unindexed);
+        for (Map.Entry<ExactKey, Map<String, List<ProblemPatternMatcher>>> entry : exactIndexes.entrySet()) {
+            String value = entry.getKey().errorValue.apply(error);
+            if (value != null) {
+                candidates.addAll(entry.getValue().getOrDefault(fold(value), Collections.emptyList()));
+            }
+        }
+        for (Map.Entry<PrefixKey, PrefixTrie> entry : prefixIndexes.entrySet()) {
+            String value = entry.getKey().errorValue.apply(error);
+            if (value != null) {
+                entry.getValue().collect(value, candidates);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * @param error an error of the project
+     * @return the matchers of all patterns of the project matching the error, giving the pattern and problem IDs
+     */
+    public List<ProblemPatternMatcher> findMatchingPatterns(MatchableError error) {
+        return getCandidates(error).stream()
+                .filter(matcher -> matcher.matches(error))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @param value a text criterion or value
+     * @return the text with each character case-folded (keeping its length, unlike {@link String#toLowerCase()})
+     */
+    private static String fold(String value) {
+        StringBuilder folded = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            folded.append(fold(value.charAt(i)));
+        }
+        return folded.toString();
+    }
+
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * A character trie, to find all patterns whose literal prefix is a prefix of a value in O(value length).
+     */
+    private static class PrefixTrie {
+
+        private final Node root = new Node();
+
+        void put(String prefix, ProblemPatternMatcher matcher) {
+            Node node = root;
+            for (int i = 0; i < prefix.length(); i++) {
+                if (node.children == null) {
+                    node.children = new HashMap<>();
+                }
+                node = node.children.computeIfAbsent(Character.valueOf(fold(prefix.charAt(i))), c -> new Node());
+            }
+            if (node.matchers == null) {
+                node.matchers = new ArrayList<>();
+            }
+            node.matchers.add(matcher);
+        }
+
+        void collect(String value, List<ProblemPatternMatcher> candidates) {
+            Node node = root;
+            for (int i = 0; node != null; i++) {
+                if (node.matchers != null) {
+                    candidates.addAll(node.matchers);
+                }
+                if (i == value.length() || node.children == null) {
+                    break;
+                }
+                node = node.children.get(Character.valueOf(fold(value.charAt(i))));
+            }
+        }
+
+    }
+
+    private static class Node {
+
+        private Map<Character, Node> children;
+
+        private List<ProblemPatternMatcher> matchers;
+
+    }
+
+}
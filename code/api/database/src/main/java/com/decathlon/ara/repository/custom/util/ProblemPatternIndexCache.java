@@ -0,0 +1,101 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.repository.custom.util;
+
+import com.decathlon.ara.domain.ProblemPattern;
+import com.decathlon.ara.domain.ProblemPatternVersion;
+import com.decathlon.ara.repository.ProblemPatternRepository;
+import com.decathlon.ara.repository.ProblemPatternVersionRepository;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps one {@link ProblemPatternIndex} per project, built on first use.<br>
+ * Each index is tagged with the version of the patterns of its project, and is rebuilt when the version in database
+ * changed: services creating, updating, moving or deleting {@link ProblemPattern}s MUST call {@link #evict(long)}, which
+ * increments this version in the current transaction, so every ARA instance notices the change once it is committed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ProblemPatternIndexCache {
+
+    @NonNull
+    private final ProblemPatternRepository problemPatternRepository;
+
+    @NonNull
+    private final ProblemPatternVersionRepository problemPatternVersionRepository;
+
+    @NonNull
+    private final TransactionAppenderUtil transactionAppenderUtil;
+
+    private final ConcurrentMap<Long, VersionedIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * @param projectId the ID of the project in which to work
+     * @return the index of all the patterns of the project, as of the current version of its patterns
+     */
+    public ProblemPatternIndex get(long projectId) {
+        final Long key = Long.valueOf(projectId);
+        // Version read first: a change committed in between makes the built index look outdated, never up to date
+        final long version = problemPatternVersionRepository.findVersion(projectId).orElse(Long.valueOf(0)).longValue();
+        VersionedIndex cached = indexes.get(key);
+        if (cached == null || cached.version != version) {
+            cached = new VersionedIndex(version,
+                    new ProblemPatternIndex(problemPatternRepository.findAllWithCountryAndTypeByProjectId(projectId)));
+            indexes.put(key, cached);
+            log.debug("Built problem pattern index of project {} at version {}", key, Long.valueOf(version));
+        }
+        return cached.index;
+    }
+
+    /**
+     * Mark the patterns of a project as changed: the version is incremented in the current transaction (so all ARA
+     * instances rebuild their index once it is committed), and the local index is forgotten once committed.
+     *
+     * @param projectId the ID of the project whose patterns changed
+     */
+    public void evict(long projectId) {
+        final Long key = Long.valueOf(projectId);
+        if (problemPatternVersionRepository.incrementVersion(projectId) == 0) {
+            // Projects are created with their version row: only a project inserted by hand can lack it
+            problemPatternVersionRepository.save(new ProblemPatternVersion(key, 1));
+        }
+        indexes.remove(key);
+        transactionAppenderUtil.doAfterCommit(() -> indexes.remove(key));
+    }
+
+    /**
+     * An index, with the version of the patterns it was built from.
+     */
+    @AllArgsConstructor
+    private static class VersionedIndex {
+
+        private final long version;
+
+        private final ProblemPatternIndex index;
+
+    }
+
+}
@@ -0,0 +1,190 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.repository.custom.util;
+
+import com.decathlon.ara.domain.ProblemPattern;
+import com.decathlon.ara.domain.projection.MatchableError;
+import java.util.regex.Pattern;
+import lombok.Getter;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * In-memory equivalent of the SQL predicate built by {@code ErrorRepositoryImpl.toPredicate()} for one
+ * {@link ProblemPattern}: the pattern's criteria are parsed once, and can then be evaluated against any number of
+ * {@link MatchableError}s without issuing any database query.<br>
+ * Text criteria follow the SQL LIKE semantic used by the database: '%' matches any sequence of characters, '_' matches
+ * exactly one character, and '\' escapes the next character.<br>
+ * Like the case-insensitive collation of the database, all text comparisons ignore case.
+ */
+public class ProblemPatternMatcher {
+
+    private static final char LIKE_ANY_SEQUENCE = '%';
+    private static final char LIKE_ANY_CHARACTER = '_';
+    private static final char LIKE_ESCAPE = '\\';
+
+    /**
+     * The {@link ProblemPattern#getId() ID} of the matched pattern.
+     */
+    @Getter
+    private final Long patternId;
+
+    /**
+     * The ID of the problem of the matched pattern.
+     */
+    @Getter
+    private final Long problemId;
+
+    private final String featureFile;
+    private final String featureName;
+    private final TextMatcher scenarioNameMatcher;
+    private final TextMatcher stepMatcher;
+    private final TextMatcher stepDefinitionMatcher;
+    private final TextMatcher exceptionMatcher;
+    private final String release;
+    private final String countryCode;
+    private final String platform;
+    private final String typeCode;
+    private final Boolean typeIsBrowser;
+    private final Boolean typeIsMobile;
+
+    /**
+     * Copy the criteria of a pattern: the matcher does not keep any reference to the entity nor to its problem.
+     *
+     * @param pattern the pattern to match errors against: its country and type must be loaded if they are not null
+     */
+    public ProblemPatternMatcher(ProblemPattern pattern) {
+        this.patternId = pattern.getId();
+        this.problemId = (pattern.getProblem() == null ? null : pattern.getProblem().getId());
+        this.featureFile = pattern.getFeatureFile();
+        this.featureName = pattern.getFeatureName();
+        this.scenarioNameMatcher = TextMatcher.of(pattern.getScenarioName(), pattern.isScenarioNameStartsWith());
+        this.stepMatcher = TextMatcher.of(pattern.getStep(), pattern.isStepStartsWith());
+        this.stepDefinitionMatcher = TextMatcher.of(pattern.getStepDefinition(), pattern.isStepDefinitionStartsWith());
+        this.exceptionMatcher = TextMatcher.of(pattern.getException(), true);
+        this.release = pattern.getRelease();
+        this.countryCode = (pattern.getCountry() == null ? null : pattern.getCountry().getCode());
+        this.platform = pattern.getPlatform();
+        this.typeCode = (pattern.getType() == null ? null : pattern.getType().getCode());
+        this.typeIsBrowser = pattern.getTypeIsBrowser();
+        this.typeIsMobile = pattern.getTypeIsMobile();
+    }
+
+    /**
+     * @param error an error of the same project as the pattern
+     * @return true if all the criteria of the pattern are satisfied by the error
+     */
+    public boolean matches(MatchableError error) {
+        return equalsIfSet(featureFile, error.getFeatureFile()) &&
+                equalsIfSet(featureName, error.getFeatureName()) &&
+                scenarioNameMatcher.matches(error.getScenarioName()) &&
+                stepMatcher.matches(error.getStep()) &&
+                stepDefinitionMatcher.matches(error.getStepDefinition()) &&
+                exceptionMatcher.matches(error.getException()) &&
+                equalsIfSet(release, error.getRelease()) &&
+                equalsIfSet(countryCode, error.getCountryCode()) &&
+                equalsIfSet(platform, error.getPlatform()) &&
+                equalsIfSet(typeCode, error.getTypeCode()) &&
+                (typeIsBrowser == null || typeIsBrowser.booleanValue() == error.isTypeIsBrowser()) &&
+                (typeIsMobile == null || typeIsMobile.booleanValue() == error.isTypeIsMobile());
+    }
+
+    private static boolean equalsIfSet(String criterion, String value) {
+        // Like in SQL, a NULL value never equals anything
+        return StringUtils.isEmpty(criterion) || (value != null && criterion.equalsIgnoreCase(value));
+    }
+
+    /**
+     * @param likeExpression a SQL LIKE expression (eg. "Start%")
+     * @return true if the expression contains a wildcard or escape character, and thus cannot be compared literally
+     */
+    static boolean hasWildcards(String likeExpression) {
+        return StringUtils.containsAny(likeExpression, LIKE_ANY_SEQUENCE, LIKE_ANY_CHARACTER, LIKE_ESCAPE);
+    }
+
+    /**
+     * @param likeExpression a SQL LIKE expression (eg. "Start%", "a_c", "100\%")
+     * @return the literal text any matching value must start with (eg. "Start", "a", "100%"): can be empty
+     */
+    static String literalPrefix(String likeExpression) {
+        StringBuilder prefix = new StringBuilder();
+        for (int i = 0; i < likeExpression.length(); i++) {
+            char c = likeExpression.charAt(i);
+            if (c == LIKE_ESCAPE && i + 1 < likeExpression.length()) {
+                prefix.append(likeExpression.charAt(++i));
+            } else if (c == LIKE_ANY_SEQUENCE || c == LIKE_ANY_CHARACTER) {
+                break;
+            } else {
+                prefix.append(c);
+            }
+        }
+        return prefix.toString();
+    }
+
+    /**
+     * @param likeExpression a SQL LIKE expression (eg. "Start%", "a_c", "100\%")
+     * @return the equivalent case-insensitive regular expression, to be fully matched against a text
+     */
+    static Pattern toRegex(String likeExpression) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < likeExpression.length(); i++) {
+            char c = likeExpression.charAt(i);
+            if (c == LIKE_ESCAPE && i + 1 < likeExpression.length()) {
+                literal.append(likeExpression.charAt(++i));
+            } else if (c == LIKE_ANY_SEQUENCE || c == LIKE_ANY_CHARACTER) {
+                if (literal.length() > 0) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == LIKE_ANY_SEQUENCE ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL | Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    }
+
+    /**
+     * Matches a text criterion of a pattern, either exactly or as a LIKE-prefix.
+     */
+    private interface TextMatcher {
+
+        TextMatcher ANY = value -> true;
+
+        boolean matches(String value);
+
+        static TextMatcher of(String criterion, boolean startsWith) {
+            if (StringUtils.isEmpty(criterion)) {
+                return ANY;
+            }
+            if (!startsWith) {
+                return value -> value != null && criterion.equalsIgnoreCase(value);
+            }
+            if (!hasWildcards(criterion)) {
+                return value -> StringUtils.startsWithIgnoreCase(value, criterion);
+            }
+            final Pattern regex = toRegex(criterion + LIKE_ANY_SEQUENCE);
+            return value -> value != null && regex.matcher(value).matches();
+        }
+
+    }
+
+}
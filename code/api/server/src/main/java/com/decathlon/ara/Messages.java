@@ -31,12 +31,14 @@ public final class Messages {
     public static final String NOT_FOUND_DEFECT = "The work item does not exist: please verify the ID, or it has perhaps been removed.";
     public static final String NOT_FOUND_ERROR = "The error does not exist: it has perhaps been removed.";
     public static final String NOT_FOUND_EXECUTION = "The execution does not exist: it has perhaps been removed.";
+    public static final String NOT_FOUND_EXECUTION_INDEXING_JOB = "The execution upload does not exist: it has perhaps been purged.";
     public static final String NOT_FOUND_FUNCTIONALITY = "The functionality does not exist: it has perhaps been removed.";
     public static final String NOT_FOUND_FUNCTIONALITY_FOLDER = "The folder does not exist: it has perhaps been removed.";
     public static final String NOT_FOUND_FUNCTIONALITY_OR_FOLDER = "The functionality or folder does not exist: it has perhaps been removed.";
     public static final String NOT_FOUND_FUNCTIONALITY_OR_FOLDER_REFERENCE = "The functionality or folder where to insert does not exist: it has perhaps been removed.";
     public static final String NOT_FOUND_FUNCTIONALITY_OR_FOLDER_TO_MOVE = "The functionality or folder to move does not exist: it has perhaps been removed.";
     public static final String NOT_FOUND_PATTERN = "The pattern does not exist: it has perhaps been removed.";
+    public static final String NOT_FOUND_PATTERN_BACK_FILL = "No assignment of errors was scheduled for this pattern.";
     public static final String NOT_FOUND_PATTERN_TO_MOVE = "The pattern to move does not exist: it has perhaps been removed.";
     public static final String NOT_FOUND_PROBLEM = "The problem does not exist: it has perhaps been removed.";
     public static final String NOT_FOUND_PROBLEM_DESTINATION = "The problem where to move the pattern does not exist: it has perhaps been removed.";
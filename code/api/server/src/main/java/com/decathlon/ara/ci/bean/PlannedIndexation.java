@@ -24,6 +24,7 @@ import lombok.NoArgsConstructor;
 import lombok.With;
 
 import java.io.File;
+import java.nio.file.Path;
 
 @Data
 @With
@@ -35,4 +36,10 @@ public class PlannedIndexation {
 
     private File executionFolder;
 
+    /**
+     * When set, the execution files are read from this folder (e.g. of a zip file system opened on the uploaded
+     * archive) instead of the executionFolder, which then only gives the execution its link.
+     */
+    private Path executionArchiveFolder;
+
 }
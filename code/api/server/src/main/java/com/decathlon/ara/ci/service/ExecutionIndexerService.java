@@ -20,12 +20,17 @@ package com.decathlon.ara.ci.service;
 import com.decathlon.ara.ci.bean.PlannedIndexation;
 import com.decathlon.ara.domain.CycleDefinition;
 import com.decathlon.ara.domain.Error;
+import com.decathlon.ara.domain.ExecutedScenario;
 import com.decathlon.ara.domain.Execution;
 import com.decathlon.ara.domain.Problem;
+import com.decathlon.ara.domain.Run;
 import com.decathlon.ara.domain.enumeration.JobStatus;
 import com.decathlon.ara.repository.ErrorRepository;
 import com.decathlon.ara.repository.ExecutionRepository;
+import com.decathlon.ara.repository.ProblemRepository;
+import com.decathlon.ara.repository.custom.util.ExecutionBulkWriter;
 import com.decathlon.ara.repository.custom.util.TransactionAppenderUtil;
+import com.decathlon.ara.scenario.cucumber.asset.AssetService;
 import com.decathlon.ara.service.ExecutionFilesProcessorService;
 import com.decathlon.ara.service.ProblemDenormalizationService;
 import lombok.NonNull;
@@ -48,12 +53,18 @@ public class ExecutionIndexerService {
     @NonNull
     private final ExecutionRepository executionRepository;
 
+    @NonNull
+    private final ExecutionBulkWriter executionBulkWriter;
+
     @NonNull
     private final ExecutionFilesProcessorService executionFilesProcessorService;
 
     @NonNull
     private final ErrorRepository errorRepository;
 
+    @NonNull
+    private final ProblemRepository problemRepository;
+
     @NonNull
     private final QualityEmailService qualityEmailService;
 
@@ -63,6 +74,9 @@ public class ExecutionIndexerService {
     @NonNull
     private final TransactionAppenderUtil transactionAppenderUtil;
 
+    @NonNull
+    private final AssetService assetService;
+
     /**
      * Index the execution of a test cycle.<br>
      * Can come from a continuous integration build (with possibly sub-builds).
@@ -107,17 +121,39 @@ public class ExecutionIndexerService {
             return;
         }
 
-        final Execution savedExecution = executionRepository.save(processedExecution.get());
+        // The runs, with the ids set by the bulk writer: no need to load them back from the database
+        final List<Run> indexedRuns = new ArrayList<>(processedExecution.get().getRuns());
+        awaitAssetWrites(indexedRuns);
 
-        List<Long> newErrorIds = getErrorIds(Optional.of(savedExecution));
+        // The errors of the replaced runs are deleted with their occurrences: find their problems while still linked
+        final Set<Long> keptErrorIds = getErrorIds(indexedRuns).stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        final List<Long> deletedErrorIds = existingErrorIds.stream()
+                .filter(id -> !keptErrorIds.contains(id))
+                .collect(Collectors.toList());
+        final Set<Long> problemIdsOfDeletedErrors = new HashSet<>(problemRepository.findIdsByErrorIds(deletedErrorIds));
+
+        final Execution savedExecution = executionBulkWriter.save(processedExecution.get());
+
+        List<Long> newErrorIds = getErrorIds(indexedRuns);
         newErrorIds.removeAll(existingErrorIds);
+        final Set<Problem> updatedProblems = new HashSet<>();
         if (!newErrorIds.isEmpty()) {
-            final Set<Problem> updatedProblems = errorRepository.autoAssignProblemsToNewErrors(projectId, newErrorIds);
-            problemDenormalizationService.updateFirstAndLastSeenDateTimes(updatedProblems);
+            updatedProblems.addAll(errorRepository.autoAssignProblemsToNewErrors(projectId, newErrorIds));
+            updatedProblems.forEach(problem -> problemIdsOfDeletedErrors.remove(problem.getId()));
+        }
+        if (!problemIdsOfDeletedErrors.isEmpty()) {
+            updatedProblems.addAll(problemRepository.findAllById(problemIdsOfDeletedErrors));
+        }
+        // Refreshed at once: their rows are locked in one go, in ID order
+        if (!updatedProblems.isEmpty()) {
+            problemDenormalizationService.updateDenormalizedFields(updatedProblems);
         }
 
         if (JobStatus.DONE.equals(savedExecution.getStatus())) {
-            transactionAppenderUtil.doAfterCommit(() -> safelySendQualityEmail(savedExecution));
+            final Long savedExecutionId = savedExecution.getId();
+            transactionAppenderUtil.doAfterCommit(() -> safelySendQualityEmail(projectId, savedExecutionId));
         }
 
         String url = processedExecution.get().getJobUrl();
@@ -125,22 +161,63 @@ public class ExecutionIndexerService {
     }
 
     /**
-     * @param execution send the quality email for this execution without throwing any exception (errors are logged):
-     *                  an email failure is not a problem for the remaining of business logic
+     * @param projectId   the project of the execution
+     * @param executionId send the quality email for this execution without throwing any exception (errors are logged):
+     *                    an email failure is not a problem for the remaining of business logic
      */
-    private void safelySendQualityEmail(Execution execution) {
+    private void safelySendQualityEmail(Long projectId, Long executionId) {
         try {
-            qualityEmailService.sendQualityEmail(execution.getCycleDefinition().getProjectId(), execution.getId());
+            qualityEmailService.sendQualityEmail(projectId, executionId);
         } catch (Exception e) {
             log.error("Uncaught exception while sending quality email (continuing normally)", e);
         }
     }
 
+    /**
+     * Wait for the screenshots and HTTP logs of the newly indexed runs to be written, and remove the URLs of the assets
+     * that could not be written from their executed scenarios. The fingerprints of their runs are removed too, for
+     * these runs to be parsed again (and their assets written again) on the next indexing of the execution.
+     *
+     * @param runs the runs of the indexed execution: runs that were already indexed (with an ID) are ignored
+     */
+    void awaitAssetWrites(Collection<Run> runs) {
+        final List<Run> newRuns = runs.stream()
+                .filter(run -> run.getId() == null)
+                .collect(Collectors.toList());
+        final List<ExecutedScenario> executedScenarios = newRuns.stream()
+                .flatMap(run -> run.getExecutedScenarios().stream())
+                .collect(Collectors.toList());
+        final List<String> urls = executedScenarios.stream()
+                .flatMap(executedScenario -> Arrays.asList(executedScenario.getScreenshotUrl(), executedScenario.getHttpRequestsUrl()).stream())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        final Set<String> failedUrls = assetService.awaitWrites(urls);
+        if (!failedUrls.isEmpty()) {
+            log.warn("{} assets could not be written: their URLs are not stored", Integer.valueOf(failedUrls.size()));
+            for (Run run : newRuns) {
+                for (ExecutedScenario executedScenario : run.getExecutedScenarios()) {
+                    if (failedUrls.contains(executedScenario.getScreenshotUrl())) {
+                        executedScenario.setScreenshotUrl(null);
+                        run.setFingerprint(null);
+                    }
+                    if (failedUrls.contains(executedScenario.getHttpRequestsUrl())) {
+                        executedScenario.setHttpRequestsUrl(null);
+                        run.setFingerprint(null);
+                    }
+                }
+            }
+        }
+    }
+
     List<Long> getErrorIds(Optional<Execution> execution) {
         if (!execution.isPresent()) {
             return Collections.emptyList();
         }
-        return execution.get().getRuns().stream()
+        return getErrorIds(execution.get().getRuns());
+    }
+
+    List<Long> getErrorIds(Collection<Run> runs) {
+        return runs.stream()
                 .flatMap(run -> run.getExecutedScenarios().stream())
                 .flatMap(executedScenario -> executedScenario.getErrors().stream())
                 .map(Error::getId)
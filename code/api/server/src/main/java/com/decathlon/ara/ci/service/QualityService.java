@@ -68,6 +68,17 @@ public class QualityService {
      * @param execution the execution to study in order to compute its quality(ies) and in which to store the result
      */
     public void computeQuality(Execution execution) {
+        computeQuality(execution, severityRepository.findAllByProjectIdOrderByPosition(execution.getCycleDefinition().getProjectId()));
+    }
+
+    /**
+     * Compute and set {@link Execution#qualityStatus} and {@link Execution#qualitySeverities}, like
+     * {@link #computeQuality(Execution)}, with the severities of the project already loaded.
+     *
+     * @param execution     the execution to study in order to compute its quality(ies) and in which to store the result
+     * @param allSeverities all the severities of the execution's project, ordered by position
+     */
+    public void computeQuality(Execution execution, List<Severity> allSeverities) {
         // This method will downgrade the quality at any time requiring it: the quality cannot upgrade at any place here
         QualityStatus globalQualityStatus = QualityStatus.PASSED;
 
@@ -83,7 +94,7 @@ public class QualityService {
         List<QualitySeverityDTO> qualitySeverities = new ArrayList<>();
 
         // Compute quality for each active severity
-        for (Severity severity : getActiveSeverities(execution)) {
+        for (Severity severity : getActiveSeverities(execution, allSeverities)) {
             final QualityThreshold threshold = (qualityThresholds == null ? null : qualityThresholds.get(severity.getCode()));
 
             QualitySeverityDTO qualitySeverity = computeQualityOfSeverity(execution, severity, threshold);
@@ -126,7 +137,15 @@ public class QualityService {
      * @return the sorted set of active severities (in Run#severityTags, could be equal to "all" or empty to mean "all") for all active runs of this execution, depending on
      */
     SortedSet<Severity> getActiveSeverities(Execution execution) {
-        final List<Severity> allSeverities = severityRepository.findAllByProjectIdOrderByPosition(execution.getCycleDefinition().getProjectId());
+        return getActiveSeverities(execution, severityRepository.findAllByProjectIdOrderByPosition(execution.getCycleDefinition().getProjectId()));
+    }
+
+    /**
+     * @param execution     with a list of runs, some may have includeInQuality, others not
+     * @param allSeverities all the severities of the execution's project, ordered by position
+     * @return the sorted set of active severities for all active runs of this execution (see {@link #getActiveSeverities(Execution)})
+     */
+    SortedSet<Severity> getActiveSeverities(Execution execution, List<Severity> allSeverities) {
 
         SortedSet<Severity> activeSeverities = new TreeSet<>(new Severity.SeverityPositionComparator());
         final Set<Run> runsToIncludeInQuality = getRunsToIncludeInQuality(execution);
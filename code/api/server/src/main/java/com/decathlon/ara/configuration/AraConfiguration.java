@@ -89,6 +89,22 @@ public class AraConfiguration {
      */
     private String sshHttpLogsSubFolder;
 
+    /**
+     * For SshAssetService: the maximum number of SSH connections opened at the same time to the SSH server (they are
+     * pooled and reused between uploads).
+     */
+    private int sshMaxConnectionsPerHost;
+
+    /**
+     * For SshAssetService: the delay after which an unused pooled SSH connection is closed.
+     */
+    private int sshIdleTimeoutInSeconds;
+
+    /**
+     * For SshAssetService: the interval between two keep-alive messages sent on pooled SSH connections.
+     */
+    private int sshKeepAliveIntervalInSeconds;
+
     /**
      * For FileAssetService: the absolute folder path in which all asserts will be written (screenshots, HTTP logs).
      */
@@ -135,4 +151,127 @@ public class AraConfiguration {
      */
     private Integer minExecutionsToKeepPerCycle;
 
+    /**
+     * Number of consecutive error IDs scanned (and committed) at once when assigning a new or modified problem pattern
+     * to the already indexed errors, in background.
+     */
+    private int patternBackFillChunkSize;
+
+    /**
+     * Number of workers assigning new or modified problem patterns to the already indexed errors, all projects
+     * included.
+     */
+    private int patternBackFillWorkerCount;
+
+    /**
+     * Delay between two polls of the queue of pattern back-fills (new back-fills are also dispatched right away).
+     */
+    private long patternBackFillPollingDelayInMilliseconds;
+
+    /**
+     * A RUNNING pattern back-fill whose lease was not renewed during this delay is considered abandoned by a dead worker
+     * (eg. server restarted while running it) and is put back in the queue, to be resumed from its last committed error
+     * ID. Leases are renewed at each chunk and at each poll of the queue, so this delay must be far longer than
+     * {@link #patternBackFillPollingDelayInMilliseconds}.
+     */
+    private int patternBackFillTimeoutInMinutes;
+
+    /**
+     * Number of consecutive problem IDs recomputed (and committed) at once when recomputing the first and last seen
+     * date-times and the aggregates of all problems.
+     */
+    private int problemRecomputeChunkSize;
+
+    /**
+     * Number of runs of an execution (one per country and test type) whose reports are parsed concurrently while
+     * indexing the execution. 0 or less to use the number of available processors.
+     */
+    private int runIndexingThreadCount;
+
+    /**
+     * Number of run reports (Newman reports of the Postman runs, Cucumber reports of the Cypress specs) parsed and
+     * post-processed concurrently, all runs included. 0 or less to use the number of available processors.
+     */
+    private int reportParsingThreadCount;
+
+    /**
+     * Size (in bytes) up to which a response body of a Newman report is kept in memory until the report is
+     * post-processed: bigger bodies are spilled to temporary files.
+     */
+    private int newmanResponseBodyMemoryThresholdInBytes;
+
+    /**
+     * Maximum number of bytes of response bodies kept in memory per Newman report being processed: once reached, the
+     * next bodies of the report are spilled to temporary files, whatever their size.
+     */
+    private long newmanResponseBodyMemoryBudgetInBytes;
+
+    /**
+     * Number of workers indexing the uploaded execution zips waiting in the queue, all projects included.
+     */
+    private int indexingJobWorkerCount;
+
+    /**
+     * Maximum number of uploaded execution zips of the same project being indexed at the same time.
+     */
+    private int indexingJobMaxConcurrencyPerProject;
+
+    /**
+     * Delay between two polls of the queue of uploaded execution zips (new uploads are also dispatched right away).
+     */
+    private long indexingJobPollingDelayInMilliseconds;
+
+    /**
+     * Delay between two checks of the versions of the technology settings, evicting from the cache the ones changed by
+     * another ARA instance.
+     */
+    private long technologySettingVersionPollingDelayInMilliseconds;
+
+    /**
+     * A RUNNING queued execution zip whose lease was not renewed during this delay is considered abandoned by a dead
+     * worker (eg. server restarted while indexing) and is put back in the queue. Leases are renewed at each poll of the
+     * queue, so this delay must be far longer than {@link #indexingJobPollingDelayInMilliseconds}.
+     */
+    private int indexingJobTimeoutInMinutes;
+
+    /**
+     * The name of this ARA node, recorded with the execution zips it stores on its local disk: only this node can
+     * index them. Empty to use the host name, which is stable across restarts of the node.
+     */
+    private String indexingJobNodeName;
+
+    /**
+     * Number of threads writing assets (screenshots, HTTP logs) in background while executions are being indexed.
+     */
+    private int assetWritingThreadCount;
+
+    /**
+     * Maximum number of assets waiting to be written in background: when reached, indexing threads write the assets
+     * themselves, which also bounds the memory held by pending assets.
+     */
+    private int assetWritingQueueCapacity;
+
+    /**
+     * Number of times an asset is tried to be written before giving up (its URL is then not stored).
+     */
+    private int assetWritingMaxAttempts;
+
+    /**
+     * True to name screenshots after the hash of their content instead of the date and scenario name: an identical
+     * screenshot is then stored only once, and screenshots no longer referenced by any executed scenario are
+     * periodically deleted.
+     */
+    private boolean assetContentAddressed;
+
+    /**
+     * Delay between two deletions of the content-addressed screenshots no longer referenced by any executed scenario.
+     */
+    private long assetRetentionSweepDelayInMilliseconds;
+
+    /**
+     * Content-addressed screenshots used (written or reused) during this period are never deleted, even if not
+     * referenced yet: they may belong to an execution being indexed.
+     */
+    private int assetRetentionGracePeriodInHours;
+
 }
@@ -19,6 +19,7 @@ package com.decathlon.ara.configuration;
 
 import java.util.concurrent.Executor;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -38,6 +39,100 @@ public class AsyncConfiguration implements AsyncConfigurer {
         return executor;
     }
 
+    /**
+     * @param araConfiguration the configuration giving the number of threads to use
+     * @return the bounded pool on which the runs of an execution are parsed concurrently while being indexed
+     */
+    @Bean
+    public ThreadPoolTaskExecutor runIndexingExecutor(AraConfiguration araConfiguration) {
+        int threadCount = araConfiguration.getRunIndexingThreadCount();
+        if (threadCount <= 0) {
+            threadCount = Runtime.getRuntime().availableProcessors();
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threadCount);
+        executor.setMaxPoolSize(threadCount);
+        executor.setThreadNamePrefix("RunIndexing-");
+        return executor;
+    }
+
+    /**
+     * @param araConfiguration the configuration giving the number of threads to use
+     * @return the bounded pool on which the reports of the Postman and Cypress runs are parsed concurrently: distinct from
+     * {@link #runIndexingExecutor(AraConfiguration)}, whose threads wait for these reports
+     */
+    @Bean
+    public ThreadPoolTaskExecutor reportParsingExecutor(AraConfiguration araConfiguration) {
+        int threadCount = araConfiguration.getReportParsingThreadCount();
+        if (threadCount <= 0) {
+            threadCount = Runtime.getRuntime().availableProcessors();
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threadCount);
+        executor.setMaxPoolSize(threadCount);
+        executor.setThreadNamePrefix("ReportParsing-");
+        return executor;
+    }
+
+    /**
+     * @param araConfiguration the configuration giving the number of workers to use
+     * @return the bounded pool of workers indexing the uploaded execution zips waiting in the queue
+     */
+    @Bean
+    public ThreadPoolTaskExecutor indexingJobExecutor(AraConfiguration araConfiguration) {
+        int workerCount = Math.max(1, araConfiguration.getIndexingJobWorkerCount());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerCount);
+        executor.setMaxPoolSize(workerCount);
+        executor.setThreadNamePrefix("IndexingJob-");
+        return executor;
+    }
+
+    /**
+     * @param araConfiguration the configuration giving the number of workers to use
+     * @return the bounded pool of workers assigning new or modified problem patterns to the already indexed errors
+     */
+    @Bean
+    public ThreadPoolTaskExecutor patternBackFillExecutor(AraConfiguration araConfiguration) {
+        int workerCount = Math.max(1, araConfiguration.getPatternBackFillWorkerCount());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerCount);
+        executor.setMaxPoolSize(workerCount);
+        executor.setThreadNamePrefix("PatternBackFill-");
+        return executor;
+    }
+
+    /**
+     * @return the pool recomputing the problems of all projects (see ProblemRecomputeRunner): distinct from the default
+     * {@code @Async} pool, so a long recomputation does not delay other background tasks, nor is delayed by them
+     */
+    @Bean
+    public ThreadPoolTaskExecutor problemRecomputeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("ProblemRecompute-");
+        return executor;
+    }
+
+    /**
+     * @param araConfiguration the configuration giving the number of threads and the size of the queue to use
+     * @return the bounded pool writing assets (screenshots, HTTP logs) in background: when its queue is full, the
+     * submitting thread writes the asset itself
+     */
+    @Bean
+    public ThreadPoolTaskExecutor assetWritingExecutor(AraConfiguration araConfiguration) {
+        int threadCount = Math.max(1, araConfiguration.getAssetWritingThreadCount());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threadCount);
+        executor.setMaxPoolSize(threadCount);
+        executor.setQueueCapacity(Math.max(1, araConfiguration.getAssetWritingQueueCapacity()));
+        // Unlike CallerRunsPolicy, also runs the task once the pool is shut down: nobody waits forever for an asset
+        executor.setRejectedExecutionHandler((task, pool) -> task.run());
+        executor.setThreadNamePrefix("AssetWriting-");
+        return executor;
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return null; // Spring will instantiate a SimpleAsyncUncaughtExceptionHandler
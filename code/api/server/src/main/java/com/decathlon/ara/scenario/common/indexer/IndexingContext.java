@@ -0,0 +1,120 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.scenario.common.indexer;
+
+import com.decathlon.ara.domain.Country;
+import com.decathlon.ara.domain.Severity;
+import com.decathlon.ara.domain.Type;
+import com.decathlon.ara.domain.enumeration.Technology;
+import com.decathlon.ara.scenario.common.settings.AvailableTechnologySettings;
+import lombok.Getter;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.*;
+
+/**
+ * Immutable snapshot of everything an execution indexing needs from the database (project and technology settings,
+ * countries, types and severities), loaded once per planned indexation and shared by all its runs and their
+ * {@link ScenariosIndexer}s, whatever the thread parsing them.
+ */
+public class IndexingContext {
+
+    @Getter
+    private final Long projectId;
+
+    private final Map<String, String> settings;
+
+    private final Map<Technology, Map<String, String>> technologySettings;
+
+    private final Map<String, Country> countriesByCode = new HashMap<>();
+
+    private final Map<String, Type> typesByCode = new HashMap<>();
+
+    /**
+     * All the severities of the project, ordered by position
+     */
+    @Getter
+    private final List<Severity> severities;
+
+    /**
+     * @param projectId the project being indexed
+     * @param settings the project settings used while indexing, by code (values already defaulted)
+     * @param technologySettings the technology settings, by technology and code (values already defaulted)
+     * @param countries the countries of the project, ordered by code
+     * @param types the types of the project, ordered by code
+     * @param severities the severities of the project, ordered by position
+     */
+    public IndexingContext(Long projectId, Map<String, String> settings, Map<Technology, Map<String, String>> technologySettings, List<Country> countries, List<Type> types, List<Severity> severities) {
+        this.projectId = projectId;
+        this.settings = Collections.unmodifiableMap(new HashMap<>(settings));
+        Map<Technology, Map<String, String>> technologySettingsCopy = new EnumMap<>(Technology.class);
+        technologySettings.forEach((technology, values) -> technologySettingsCopy.put(technology, Collections.unmodifiableMap(new HashMap<>(values))));
+        this.technologySettings = Collections.unmodifiableMap(technologySettingsCopy);
+        countries.stream()
+                .filter(country -> StringUtils.isNotBlank(country.getCode()))
+                .forEach(country -> countriesByCode.putIfAbsent(country.getCode().toLowerCase(), country));
+        types.stream()
+                .filter(type -> StringUtils.isNotBlank(type.getCode()))
+                .forEach(type -> typesByCode.putIfAbsent(type.getCode().toLowerCase(), type));
+        this.severities = Collections.unmodifiableList(new ArrayList<>(severities));
+    }
+
+    /**
+     * @param code the code of a project setting
+     * @return the value of the setting, or its default value if not set (null if none)
+     */
+    public String getSetting(String code) {
+        return settings.get(code);
+    }
+
+    /**
+     * @param availableTechnologySettings the technology setting
+     * @return the saved value of the setting, or its default value, if any
+     */
+    public Optional<String> getTechnologySettingValue(AvailableTechnologySettings availableTechnologySettings) {
+        Map<String, String> values = technologySettings.getOrDefault(availableTechnologySettings.getTechnology(), Collections.emptyMap());
+        return Optional.ofNullable(values.get(availableTechnologySettings.getCode()));
+    }
+
+    /**
+     * @param technology the technology of a run
+     * @return a stable description of the project settings and of the settings of the technology, as read by the
+     * indexer of the run: part of the fingerprint of the run, for it to be parsed again when a setting changes
+     */
+    public String getIndexingSettings(Technology technology) {
+        return new TreeMap<>(settings) + "\n" +
+                technology + "=" + new TreeMap<>(technologySettings.getOrDefault(technology, Collections.emptyMap()));
+    }
+
+    /**
+     * @param code the code of a country (case insensitive)
+     * @return the country of the project having this code, if any
+     */
+    public Optional<Country> getCountry(String code) {
+        return Optional.ofNullable(countriesByCode.get(code.toLowerCase()));
+    }
+
+    /**
+     * @param code the code of a type (case insensitive)
+     * @return the type of the project having this code, if any
+     */
+    public Optional<Type> getType(String code) {
+        return Optional.ofNullable(typesByCode.get(code.toLowerCase()));
+    }
+
+}
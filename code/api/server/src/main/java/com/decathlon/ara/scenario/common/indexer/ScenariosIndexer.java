@@ -3,8 +3,17 @@ package com.decathlon.ara.scenario.common.indexer;
 import com.decathlon.ara.domain.ExecutedScenario;
 import com.decathlon.ara.domain.Run;
 
+import org.apache.commons.io.FileUtils;
+
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ScenariosIndexer {
 
@@ -13,8 +22,44 @@ public interface ScenariosIndexer {
      * @param parentFolder the run folder containing all the files needed to create the {@link List} of {@link ExecutedScenario}
      *                     For instance the folder api for POSTMAN or the folder firefox-desktop for CUCUMBER
      * @param run the {@link Run} for which the {@link List} of {@link ExecutedScenario} are requested.
-     * @param projectId the project id
+     * @param context the settings and referential data of the project, loaded once for the whole execution indexing
+     * @return the executed tests scenarios
+     */
+    List<ExecutedScenario> getExecutedScenarios(File parentFolder, Run run, IndexingContext context);
+
+    /**
+     * Create the executed tests scenarios from a run folder of any file system, e.g. a folder of a zip file system opened
+     * on the uploaded execution archive.<br>
+     * Indexers able to read their reports straight out of such a folder override this method. By default, the run
+     * folder is copied to a temporary directory (only when it is not on the default file system) and given to
+     * {@link #getExecutedScenarios(File, Run, IndexingContext)}.
+     * @param parentFolder the run folder containing all the files needed to create the {@link List} of {@link ExecutedScenario}
+     * @param run the {@link Run} for which the {@link List} of {@link ExecutedScenario} are requested.
+     * @param context the settings and referential data of the project, loaded once for the whole execution indexing
      * @return the executed tests scenarios
      */
-    List<ExecutedScenario> getExecutedScenarios(File parentFolder, Run run, Long projectId);
+    default List<ExecutedScenario> getExecutedScenarios(Path parentFolder, Run run, IndexingContext context) {
+        if (parentFolder.getFileSystem() == FileSystems.getDefault()) {
+            return getExecutedScenarios(parentFolder.toFile(), run, context);
+        }
+        File extractedFolder = null;
+        try {
+            extractedFolder = Files.createTempDirectory("ara_run_").toFile();
+            try (Stream<Path> walker = Files.walk(parentFolder)) {
+                for (Path source : (Iterable<Path>) walker::iterator) {
+                    Path target = extractedFolder.toPath().resolve(parentFolder.relativize(source).toString());
+                    if (Files.isDirectory(source)) {
+                        Files.createDirectories(target);
+                    } else {
+                        Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                }
+            }
+            return getExecutedScenarios(extractedFolder, run, context);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot extract the run folder " + parentFolder.toUri(), e);
+        } finally {
+            FileUtils.deleteQuietly(extractedFolder);
+        }
+    }
 }
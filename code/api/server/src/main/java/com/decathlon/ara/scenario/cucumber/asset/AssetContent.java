@@ -0,0 +1,36 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.scenario.cucumber.asset;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The content of an asset, read as a stream instead of being fully held in memory (eg. a screenshot decoded from its
+ * base64 report embedding while being written).
+ */
+@FunctionalInterface
+public interface AssetContent {
+
+    /**
+     * @return a new stream of the content, to be closed by the caller (the content can be opened several times)
+     * @throws IOException if the content cannot be read
+     */
+    InputStream open() throws IOException;
+
+}
@@ -0,0 +1,115 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.scenario.cucumber.asset;
+
+import com.decathlon.ara.ci.service.DateService;
+import com.decathlon.ara.configuration.AraConfiguration;
+import com.decathlon.ara.repository.ExecutedScenarioRepository;
+import java.io.IOException;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.ListUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Delete the content-addressed screenshots that no executed scenario references anymore (their executions have been
+ * deleted, or re-indexed).
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class AssetRetentionService {
+
+    /**
+     * Number of screenshot file names whose references are counted in one query.
+     */
+    static final int CHUNK_SIZE = 1000;
+
+    @NonNull
+    private final AraConfiguration araConfiguration;
+
+    @NonNull
+    private final AssetStorage assetStorage;
+
+    @NonNull
+    private final FileNameService fileNameService;
+
+    @NonNull
+    private final ExecutedScenarioRepository executedScenarioRepository;
+
+    @NonNull
+    private final DateService dateService;
+
+    /**
+     * Periodically delete the unreferenced content-addressed screenshots, if this mode is enabled.
+     */
+    @Scheduled(fixedDelayString = "${ara.assetRetentionSweepDelayInMilliseconds}",
+            initialDelayString = "${ara.assetRetentionSweepDelayInMilliseconds}")
+    public void scheduledDeleteUnreferencedScreenshots() {
+        if (araConfiguration.isAssetContentAddressed()) {
+            try {
+                deleteUnreferencedScreenshots();
+            } catch (IOException e) {
+                log.error("Cannot delete unreferenced screenshots: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Delete the content-addressed screenshots not referenced by any executed scenario. Screenshots used during the
+     * grace period are kept: they may belong to an execution being indexed.
+     *
+     * @return the number of deleted screenshots
+     * @throws IOException if the screenshots cannot be listed
+     */
+    public int deleteUnreferencedScreenshots() throws IOException {
+        final long gracePeriod = TimeUnit.HOURS.toMillis(araConfiguration.getAssetRetentionGracePeriodInHours());
+        final Date modifiedBefore = new Date(dateService.now().getTime() - gracePeriod);
+        final List<String> fileNames = assetStorage.listScreenshots(modifiedBefore).stream()
+                .filter(fileNameService::isContentFileName)
+                .collect(Collectors.toList());
+
+        int deletedCount = 0;
+        for (List<String> chunk : ListUtils.partition(fileNames, CHUNK_SIZE)) {
+            // Looked up by file name: the stored URLs start with the asset base URL configured when they were indexed
+            final Set<String> referencedFileNames = new HashSet<>(executedScenarioRepository.findReferencedScreenshotFileNames(chunk));
+            for (String fileName : chunk) {
+                if (!referencedFileNames.contains(fileName)) {
+                    try {
+                        assetStorage.deleteScreenshot(fileName);
+                        deletedCount++;
+                    } catch (IOException e) {
+                        log.warn("Cannot delete unreferenced screenshot {}: {}", fileName, e.getMessage());
+                    }
+                }
+            }
+        }
+        log.info("Deleted {} unreferenced screenshots out of {} content-addressed ones", Integer.valueOf(deletedCount), Integer.valueOf(fileNames.size()));
+        return deletedCount;
+    }
+
+}
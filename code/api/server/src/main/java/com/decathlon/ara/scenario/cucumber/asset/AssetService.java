@@ -17,6 +17,11 @@
 
 package com.decathlon.ara.scenario.cucumber.asset;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+
 /**
  * Save (write to disk, upload to SSH, etc.) part of the data from Cucumber and Postman reports (Cucumber screenshots
  * and Postman HTTP logs), and return URLs where they can be accessed.
@@ -34,6 +39,16 @@ public interface AssetService {
      */
     String saveScreenshot(byte[] screenshot, String scenarioName);
 
+    /**
+     * Save a Cucumber scenario screenshot read as a stream, without holding the whole screenshot in memory.
+     *
+     * @param screenshot   the PNG content of the screenshot
+     * @param scenarioName the name of the scenario for which the screenshot was taken (date is prepended, and png
+     *                     extension is appended to generate file name)
+     * @return the complete URL of the file having been saved, or null if save failed
+     */
+    String saveScreenshot(AssetContent screenshot, String scenarioName);
+
     /**
      * Save a Postman HTTP logs: they are extracted as an HTML from reports for them to be accessible by other
      * applications by a simple URL.
@@ -41,6 +56,29 @@ public interface AssetService {
      * @param html the HTML representing the HTTP logs
      * @return the complete URL of the file having been saved, or null if save failed
      */
-    String saveHttpLogs(String html);
+    default String saveHttpLogs(String html) {
+        return saveHttpLogs(output -> output.write(html.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Save a Postman HTTP logs rendered while being written, without holding the whole HTML in memory.<br>
+     * The HTML is written before this method returns: the writer can use resources released right after.
+     *
+     * @param html the writer of the HTML representing the HTTP logs (it can be called again if a write is retried)
+     * @return the complete URL of the file having been saved, or null if save failed
+     */
+    String saveHttpLogs(AssetWriter html);
+
+    /**
+     * Wait for the given assets to be written, if they are written asynchronously: their URLs have been returned before
+     * the files were actually written.
+     *
+     * @param urls the URLs returned while saving the assets to wait for (can contain null or unknown URLs, ignored)
+     * @return the URLs of the given assets that could not be written, and should not be referenced (empty by default:
+     * synchronous implementations return null URLs on failure)
+     */
+    default Set<String> awaitWrites(Collection<String> urls) {
+        return Collections.emptySet();
+    }
 
 }
@@ -0,0 +1,86 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.scenario.cucumber.asset;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The storage behind an AssetService (a disk folder, a SSH server...), writing assets under file names chosen by the
+ * caller: URLs of assets can then be known before the assets are written.
+ */
+public interface AssetStorage {
+
+    /**
+     * @param fileName the name of a screenshot file, as generated by {@link FileNameService}
+     * @return the complete URL where the screenshot will be accessible once written
+     */
+    String getScreenshotUrl(String fileName);
+
+    /**
+     * @param fileName   the name of the screenshot file, as generated by {@link FileNameService}
+     * @param screenshot the PNG bytes of the screenshot
+     * @throws IOException if the screenshot could not be written
+     */
+    void writeScreenshot(String fileName, byte[] screenshot) throws IOException;
+
+    /**
+     * @param fileName   the name of the screenshot file, as generated by {@link FileNameService}
+     * @param screenshot the PNG content of the screenshot, streamed to the storage
+     * @throws IOException if the screenshot could not be read or written
+     */
+    void writeScreenshot(String fileName, AssetContent screenshot) throws IOException;
+
+    /**
+     * Mark a screenshot as still in use, if it exists: its modification date is set to now, so a retention sweep
+     * running meanwhile does not delete it.
+     *
+     * @param fileName the name of the screenshot file
+     * @return true if the screenshot exists (it was touched), false if it does not exist
+     * @throws IOException if the screenshot could not be checked or touched
+     */
+    boolean touchScreenshot(String fileName) throws IOException;
+
+    /**
+     * @param modifiedBefore only list the screenshots not modified since this date
+     * @return the names of the screenshot files
+     * @throws IOException if the screenshots could not be listed
+     */
+    List<String> listScreenshots(Date modifiedBefore) throws IOException;
+
+    /**
+     * @param fileName the name of the screenshot file to delete (nothing happens if it does not exist)
+     * @throws IOException if the screenshot could not be deleted
+     */
+    void deleteScreenshot(String fileName) throws IOException;
+
+    /**
+     * @param fileName the name of an HTTP logs file, as generated by {@link FileNameService}
+     * @return the complete URL where the HTTP logs will be accessible once written
+     */
+    String getHttpLogsUrl(String fileName);
+
+    /**
+     * @param fileName the name of the HTTP logs file, as generated by {@link FileNameService}
+     * @param html     the writer of the HTML representing the HTTP logs, streaming it to the file
+     * @throws IOException if the HTTP logs could not be written
+     */
+    void writeHttpLogs(String fileName, AssetWriter html) throws IOException;
+
+}
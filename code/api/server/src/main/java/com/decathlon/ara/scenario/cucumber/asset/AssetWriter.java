@@ -0,0 +1,36 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.scenario.cucumber.asset;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * The content of an asset, written incrementally to the stream supplied by the asset storage instead of being fully
+ * held in memory (eg. the HTML of Postman HTTP logs, rendered while being written).
+ */
+@FunctionalInterface
+public interface AssetWriter {
+
+    /**
+     * @param output the stream where to write the content (not to be closed: it is closed by the asset storage)
+     * @throws IOException if the content cannot be read or written
+     */
+    void writeTo(OutputStream output) throws IOException;
+
+}
@@ -0,0 +1,262 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.scenario.cucumber.asset;
+
+import com.decathlon.ara.configuration.AraConfiguration;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Decorate the configured asset storage (disk, SSH...) to write assets in background while reports are being indexed.
+ * <p>
+ * The final URL of an asset is computed and returned right away, and its content is handed to a bounded pool of
+ * writers: when the pool's queue is full, the indexing thread writes the asset itself (back-pressure). Failed writes
+ * are retried. The indexing waits for the writes of its assets only once, with {@link #awaitWrites(Collection)}.
+ * </p>
+ * <p>
+ * In content-addressed mode, screenshots are named after the hash of their content, and are not written again if
+ * they already exist.
+ * </p>
+ */
+@Service
+@Primary
+@Slf4j
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class AsyncAssetService implements AssetService {
+
+    /**
+     * Delay before the first retry of a failed write, doubled for each next retry.
+     */
+    private static final long RETRY_DELAY_IN_MILLISECONDS = 500;
+
+    /**
+     * How long a failed write is remembered if no indexing awaits it (eg. the indexing failed before awaiting its
+     * assets).
+     */
+    private static final long FAILED_WRITE_RETENTION_IN_MILLISECONDS = 60 * 60 * 1000L;
+
+    @NonNull
+    private final AssetStorage assetStorage;
+
+    @NonNull
+    private final FileNameService fileNameService;
+
+    @NonNull
+    private final AraConfiguration araConfiguration;
+
+    @NonNull
+    private final TaskExecutor assetWritingExecutor;
+
+    /**
+     * The writes not finished yet, by URL of the asset being written: each write removes its entry once done.
+     */
+    private final Map<String, CompletableFuture<Void>> pendingWrites = new ConcurrentHashMap<>();
+
+    /**
+     * The URLs of the assets that could not be written, with the time of the failure, until reported by
+     * {@link #awaitWrites(Collection)} or forgotten after {@link #FAILED_WRITE_RETENTION_IN_MILLISECONDS}.
+     */
+    private final Map<String, Long> failedWrites = new ConcurrentHashMap<>();
+
+    /**
+     * Write a Cucumber scenario screenshot in background.
+     *
+     * @param screenshot   the PNG bytes of the screenshot
+     * @param scenarioName the name of the scenario for which the screenshot was taken (date is prepended, and png
+     *                     extension is appended to generate file name)
+     * @return the complete URL where the screenshot will be accessible, once written
+     */
+    @Override
+    public String saveScreenshot(byte[] screenshot, String scenarioName) {
+        return saveScreenshot(() -> new ByteArrayInputStream(screenshot), scenarioName);
+    }
+
+    /**
+     * Write a Cucumber scenario screenshot in background, streaming its content when written.<br>
+     * The content is kept (not decoded) while waiting for a writer: the bounded queue of writers limits their number.
+     *
+     * @param screenshot   the PNG content of the screenshot
+     * @param scenarioName the name of the scenario for which the screenshot was taken (date is prepended, and png
+     *                     extension is appended to generate file name)
+     * @return the complete URL where the screenshot will be accessible, once written, or null if the screenshot could
+     * not be read to compute its content-addressed name
+     */
+    @Override
+    public String saveScreenshot(AssetContent screenshot, String scenarioName) {
+        if (araConfiguration.isAssetContentAddressed()) {
+            return saveContentAddressedScreenshot(screenshot);
+        }
+        final String fileName = fileNameService.generateReportFileName(scenarioName, "png");
+        final String url = assetStorage.getScreenshotUrl(fileName);
+        write(url, () -> assetStorage.writeScreenshot(fileName, screenshot));
+        return url;
+    }
+
+    /**
+     * Write a Cucumber scenario screenshot in background, named after the hash of its content: the same screenshot
+     * (taken by several scenarios or executions) is only written once, and all scenarios get the same URL.
+     *
+     * @param screenshot the PNG content of the screenshot
+     * @return the complete URL where the screenshot will be accessible, once written, or null if the screenshot could
+     * not be read
+     */
+    private String saveContentAddressedScreenshot(AssetContent screenshot) {
+        final String fileName;
+        try {
+            fileName = fileNameService.generateContentFileName(screenshot, "png");
+        } catch (IOException e) {
+            log.error("Screenshot reading failed: {}", e.getMessage(), e);
+            return null;
+        }
+        final String url = assetStorage.getScreenshotUrl(fileName);
+        if (!pendingWrites.containsKey(url)) {
+            write(url, () -> {
+                // Touching an existing screenshot also protects it from a retention sweep running meanwhile
+                if (!assetStorage.touchScreenshot(fileName)) {
+                    assetStorage.writeScreenshot(fileName, screenshot);
+                }
+            });
+        }
+        return url;
+    }
+
+    /**
+     * Write a Postman HTTP logs in background.
+     *
+     * @param html the HTML representing the HTTP logs
+     * @return the complete URL where the HTTP logs will be accessible, once written
+     */
+    @Override
+    public String saveHttpLogs(String html) {
+        final String fileName = fileNameService.generateReportFileName("http-log", "html");
+        final String url = assetStorage.getHttpLogsUrl(fileName);
+        write(url, () -> assetStorage.writeHttpLogs(fileName, output -> output.write(html.getBytes(StandardCharsets.UTF_8))));
+        return url;
+    }
+
+    /**
+     * Write a Postman HTTP logs rendered while being written, with retries.<br>
+     * Unlike other assets, it is written by the calling thread: the writer reads resources (response bodies) that the
+     * caller releases as soon as this method returns.
+     *
+     * @param html the writer of the HTML representing the HTTP logs
+     * @return the complete URL of the written HTTP logs, or null if they could not be written
+     */
+    @Override
+    public String saveHttpLogs(AssetWriter html) {
+        final String fileName = fileNameService.generateReportFileName("http-log", "html");
+        final String url = assetStorage.getHttpLogsUrl(fileName);
+        return writeWithRetries(url, () -> assetStorage.writeHttpLogs(fileName, html)) ? url : null;
+    }
+
+    @Override
+    public Set<String> awaitWrites(Collection<String> urls) {
+        Set<String> failedUrls = new HashSet<>();
+        for (String url : urls) {
+            if (url == null) {
+                continue;
+            }
+            CompletableFuture<Void> pendingWrite = pendingWrites.get(url);
+            if (pendingWrite != null) {
+                pendingWrite.join();
+            }
+            if (failedWrites.remove(url) != null) {
+                failedUrls.add(url);
+            }
+        }
+        return failedUrls;
+    }
+
+    private void write(String url, AssetWrite assetWrite) {
+        CompletableFuture<Void> write = new CompletableFuture<>();
+        // Two assets generated during the same millisecond for the same scenario name share the same URL
+        pendingWrites.merge(url, write, (previous, next) -> CompletableFuture.allOf(previous, next));
+        assetWritingExecutor.execute(() -> {
+            try {
+                if (!writeWithRetries(url, assetWrite)) {
+                    addFailedWrite(url);
+                }
+            } finally {
+                write.complete(null);
+                // Also removes the combination of merged writes, once all of them are done
+                pendingWrites.computeIfPresent(url, (key, pending) -> pending.isDone() ? null : pending);
+            }
+        });
+    }
+
+    private void addFailedWrite(String url) {
+        final long now = System.currentTimeMillis();
+        failedWrites.values().removeIf(failedAt -> now - failedAt.longValue() > FAILED_WRITE_RETENTION_IN_MILLISECONDS);
+        failedWrites.put(url, Long.valueOf(now));
+    }
+
+    /**
+     * @return the number of writes not finished yet (one per URL)
+     */
+    int getPendingWriteCount() {
+        return pendingWrites.size();
+    }
+
+    private boolean writeWithRetries(String url, AssetWrite assetWrite) {
+        final int maxAttempts = Math.max(1, araConfiguration.getAssetWritingMaxAttempts());
+        long retryDelay = RETRY_DELAY_IN_MILLISECONDS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                assetWrite.write();
+                return true;
+            } catch (IOException | RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    log.error("Asset writing failed after {} attempt(s) for {}: {}", Integer.valueOf(attempt), url, e.getMessage(), e);
+                    return false;
+                }
+                log.warn("Asset writing failed for {} (attempt {}/{}), retrying: {}",
+                        url, Integer.valueOf(attempt), Integer.valueOf(maxAttempts), e.getMessage());
+            }
+            try {
+                Thread.sleep(retryDelay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.error("Asset writing interrupted for {}", url);
+                return false;
+            }
+            retryDelay *= 2;
+        }
+    }
+
+    @FunctionalInterface
+    private interface AssetWrite {
+
+        void write() throws IOException;
+
+    }
+
+}
@@ -18,9 +18,17 @@
 package com.decathlon.ara.scenario.cucumber.asset;
 
 import com.decathlon.ara.configuration.AraConfiguration;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -37,7 +45,7 @@ import org.springframework.stereotype.Service;
 @Slf4j
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 @ConditionalOnProperty(name = "ara.adapter.asset.name", havingValue = "file", matchIfMissing = true)
-public class FileAssetService implements AssetService {
+public class FileAssetService implements AssetService, AssetStorage {
 
     @NonNull
     private final AraConfiguration araConfiguration;
@@ -56,18 +64,29 @@ public class FileAssetService implements AssetService {
     @Override
     public String saveScreenshot(byte[] screenshot, String scenarioName) {
         try {
-            // fileHomeFolder is something like /opt/assets
-            // subFolder is something like /screenshots
-            // The full path of the folder is then something like /opt/assets/screenshots
-            final String subFolder = araConfiguration.getFileScreenshotSubFolder();
-            final String absoluteFolderPath = araConfiguration.getFileHomeFolder() + subFolder;
             final String fileName = fileNameService.generateReportFileName(scenarioName, "png");
-            final File file = new File(absoluteFolderPath + File.separator + fileName);
-
-            // Will create directories if they do not exist
-            FileUtils.writeByteArrayToFile(file, screenshot);
+            writeScreenshot(fileName, screenshot);
+            return getScreenshotUrl(fileName);
+        } catch (IOException e) {
+            log.error("Screenshot saving failed: {}", e.getMessage(), e);
+            return null;
+        }
+    }
 
-            return araConfiguration.getFileHttpAccess() + subFolder + "/" + fileName;
+    /**
+     * Write a Cucumber scenario screenshot to disk, streaming its content.
+     *
+     * @param screenshot   the PNG content of the screenshot
+     * @param scenarioName the name of the scenario for which the screenshot was taken (date is prepended, and png
+     *                     extension is appended to generate file name)
+     * @return the complete URL of the file having been saved, or null if write failed
+     */
+    @Override
+    public String saveScreenshot(AssetContent screenshot, String scenarioName) {
+        try {
+            final String fileName = fileNameService.generateReportFileName(scenarioName, "png");
+            writeScreenshot(fileName, screenshot);
+            return getScreenshotUrl(fileName);
         } catch (IOException e) {
             log.error("Screenshot saving failed: {}", e.getMessage(), e);
             return null;
@@ -75,30 +94,102 @@ public class FileAssetService implements AssetService {
     }
 
     /**
-     * Write a Postman HTTP logs to disk.
+     * Write a Postman HTTP logs to disk, streaming its content.
      *
-     * @param html the HTML representing the HTTP logs
+     * @param html the writer of the HTML representing the HTTP logs
      * @return the complete URL of the file having been saved, or null if write failed
      */
     @Override
-    public String saveHttpLogs(String html) {
+    public String saveHttpLogs(AssetWriter html) {
         try {
-            // fileHomeFolder is something like /opt/assets
-            // subFolder is something like /http-logs
-            // The full path of the folder is then something like /opt/assets/http-logs
-            final String subFolder = araConfiguration.getFileHttpLogsSubFolder();
-            final String absoluteFolderPath = araConfiguration.getFileHomeFolder() + subFolder;
             final String fileName = fileNameService.generateReportFileName("http-log", "html");
-            final File file = new File(absoluteFolderPath + File.separator + fileName);
-
-            // Will create directories if they do not exist
-            FileUtils.write(file, html, StandardCharsets.UTF_8);
-
-            return araConfiguration.getFileHttpAccess() + subFolder + "/" + fileName;
+            writeHttpLogs(fileName, html);
+            return getHttpLogsUrl(fileName);
         } catch (IOException e) {
             log.error("HTTP log saving failed: {}", e.getMessage(), e);
             return null;
         }
     }
 
+    @Override
+    public String getScreenshotUrl(String fileName) {
+        return araConfiguration.getFileHttpAccess() + araConfiguration.getFileScreenshotSubFolder() + "/" + fileName;
+    }
+
+    @Override
+    public void writeScreenshot(String fileName, byte[] screenshot) throws IOException {
+        // Will create directories if they do not exist
+        FileUtils.writeByteArrayToFile(getScreenshotFile(fileName), screenshot);
+    }
+
+    @Override
+    public void writeScreenshot(String fileName, AssetContent screenshot) throws IOException {
+        try (InputStream content = screenshot.open()) {
+            // Will create directories if they do not exist
+            FileUtils.copyInputStreamToFile(content, getScreenshotFile(fileName));
+        }
+    }
+
+    @Override
+    public boolean touchScreenshot(String fileName) throws IOException {
+        final File file = getScreenshotFile(fileName);
+        if (!file.isFile()) {
+            return false;
+        }
+        if (!file.setLastModified(System.currentTimeMillis())) {
+            throw new IOException("Cannot touch " + file);
+        }
+        return true;
+    }
+
+    @Override
+    public List<String> listScreenshots(Date modifiedBefore) throws IOException {
+        final File folder = getScreenshotFolder();
+        if (!folder.isDirectory()) {
+            return Collections.emptyList();
+        }
+        final File[] files = folder.listFiles(file -> file.isFile() && file.lastModified() < modifiedBefore.getTime());
+        if (files == null) {
+            throw new IOException("Cannot list " + folder);
+        }
+        return Arrays.stream(files)
+                .map(File::getName)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void deleteScreenshot(String fileName) throws IOException {
+        Files.deleteIfExists(getScreenshotFile(fileName).toPath());
+    }
+
+    @Override
+    public String getHttpLogsUrl(String fileName) {
+        return araConfiguration.getFileHttpAccess() + araConfiguration.getFileHttpLogsSubFolder() + "/" + fileName;
+    }
+
+    @Override
+    public void writeHttpLogs(String fileName, AssetWriter html) throws IOException {
+        // fileHomeFolder is something like /opt/assets
+        // subFolder is something like /http-logs
+        // The full path of the folder is then something like /opt/assets/http-logs
+        final String absoluteFolderPath = araConfiguration.getFileHomeFolder() + araConfiguration.getFileHttpLogsSubFolder();
+        final File file = new File(absoluteFolderPath + File.separator + fileName);
+
+        // Will create directories if they do not exist
+        try (OutputStream output = new BufferedOutputStream(FileUtils.openOutputStream(file))) {
+            html.writeTo(output);
+        }
+    }
+
+    private File getScreenshotFolder() {
+        // fileHomeFolder is something like /opt/assets
+        // subFolder is something like /screenshots
+        // The full path of the folder is then something like /opt/assets/screenshots
+        return new File(araConfiguration.getFileHomeFolder() + araConfiguration.getFileScreenshotSubFolder());
+    }
+
+    private File getScreenshotFile(String fileName) {
+        return new File(getScreenshotFolder(), fileName);
+    }
+
 }
@@ -18,7 +18,13 @@
 package com.decathlon.ara.scenario.cucumber.asset;
 
 import com.decathlon.ara.ci.service.DateService;
+import com.decathlon.ara.common.NotGonnaHappenException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.SimpleDateFormat;
+import java.util.regex.Pattern;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
@@ -36,6 +42,13 @@ public class FileNameService {
      */
     private static final int MAX_SCENARIO_NAME_LENGTH = 128;
 
+    private static final String CONTENT_HASH_ALGORITHM = "SHA-256";
+
+    /**
+     * A SHA-256 hexadecimal hash, optionally followed by an extension.
+     */
+    private static final Pattern CONTENT_FILE_NAME = Pattern.compile("[0-9a-f]{64}(\\.[a-zA-Z0-9]+)?");
+
     @NonNull
     private final DateService dateService;
 
@@ -52,4 +65,46 @@ public class FileNameService {
         return formattedDate + "-" + safeScenarioName + (StringUtils.isEmpty(extension) ? "" : ("." + extension));
     }
 
+    /**
+     * @param content   the content of the file, hashed while being read
+     * @param extension file extension without the dot; can be null or empty to generate a file name without extension
+     * @return a file name made of the hash of the content: files with the same content get the same name
+     * @throws IOException if the content cannot be read
+     */
+    String generateContentFileName(final AssetContent content, final String extension) throws IOException {
+        final MessageDigest digest = newContentDigest();
+        try (InputStream input = content.open()) {
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return toContentFileName(digest, extension);
+    }
+
+    /**
+     * @param fileName a file name
+     * @return true if the file name has been generated by {@link #generateContentFileName(AssetContent, String)}
+     */
+    boolean isContentFileName(final String fileName) {
+        return fileName != null && CONTENT_FILE_NAME.matcher(fileName).matches();
+    }
+
+    private static MessageDigest newContentDigest() {
+        try {
+            return MessageDigest.getInstance(CONTENT_HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new NotGonnaHappenException(CONTENT_HASH_ALGORITHM + " is available on every Java platform", e);
+        }
+    }
+
+    private static String toContentFileName(final MessageDigest digest, final String extension) {
+        final StringBuilder fileName = new StringBuilder();
+        for (byte b : digest.digest()) {
+            fileName.append(String.format("%02x", Byte.valueOf(b)));
+        }
+        return fileName + (StringUtils.isEmpty(extension) ? "" : ("." + extension));
+    }
+
 }
@@ -18,8 +18,15 @@
 package com.decathlon.ara.scenario.cucumber.asset;
 
 import com.decathlon.ara.scenario.cucumber.asset.ssh.SshClientHelper;
+import com.decathlon.ara.scenario.cucumber.asset.ssh.SshConnectionPool;
 import com.decathlon.ara.scenario.cucumber.asset.ssh.SshException;
 import com.decathlon.ara.configuration.AraConfiguration;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -34,7 +41,7 @@ import org.springframework.stereotype.Service;
 @Slf4j
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 @ConditionalOnProperty(name = "ara.adapter.asset.name", havingValue = "ssh")
-public class SshAssetService implements AssetService {
+public class SshAssetService implements AssetService, AssetStorage {
 
     @NonNull
     private final AraConfiguration araConfiguration;
@@ -42,9 +49,8 @@ public class SshAssetService implements AssetService {
     @NonNull
     private final FileNameService fileNameService;
 
-    // Not thread-safe booleans, but we're good: they protect a lazy-loaded idempotent process (directory creation)
-    private boolean screenshotsFolderCreated;
-    private boolean httpLogsFolderCreated;
+    @NonNull
+    private final SshConnectionPool sshConnectionPool;
 
     /**
      * Upload a Cucumber scenario screenshot to a SSH server.
@@ -56,60 +62,145 @@ public class SshAssetService implements AssetService {
      */
     @Override
     public String saveScreenshot(byte[] screenshot, String scenarioName) {
-        try (SshClientHelper sshClient = connect()) {
-            // sshRemoteHomeFolder is something like /opt/assets
-            // subFolder is something like /screenshots
-            // The full path of the folder is then something like /opt/assets/screenshots
-            final String subFolder = araConfiguration.getSshScreenshotSubFolder();
-            String absoluteFolderPath = araConfiguration.getSshRemoteHomeFolder() + subFolder;
-
-            if (!screenshotsFolderCreated) {
-                sshClient.mkdirRecursively(absoluteFolderPath);
-                screenshotsFolderCreated = true;
-            }
-
+        try {
             String fileName = fileNameService.generateReportFileName(scenarioName, "png");
-            sshClient.put(absoluteFolderPath + "/" + fileName, screenshot);
+            writeScreenshot(fileName, screenshot);
+            return getScreenshotUrl(fileName);
+        } catch (IOException e) {
+            log.error("Screenshot upload failed: {}", e.getMessage(), e);
+            return null;
+        }
+    }
 
-            return araConfiguration.getSshHttpAccess() + subFolder + "/" + fileName;
-        } catch (SshException e) {
+    /**
+     * Upload a Cucumber scenario screenshot to a SSH server, streaming its content.
+     *
+     * @param screenshot   the PNG content of the screenshot
+     * @param scenarioName the name of the scenario for which the screenshot was taken (date is prepended, and png
+     *                     extension is appended to generate file name)
+     * @return the complete URL of the file having been saved, or null if upload failed
+     */
+    @Override
+    public String saveScreenshot(AssetContent screenshot, String scenarioName) {
+        try {
+            String fileName = fileNameService.generateReportFileName(scenarioName, "png");
+            writeScreenshot(fileName, screenshot);
+            return getScreenshotUrl(fileName);
+        } catch (IOException e) {
             log.error("Screenshot upload failed: {}", e.getMessage(), e);
             return null;
         }
     }
 
     /**
-     * Upload a Postman HTTP logs to a SSH server.
+     * Upload a Postman HTTP logs to a SSH server, streaming its content.
      *
-     * @param html the HTML representing the HTTP logs
+     * @param html the writer of the HTML representing the HTTP logs
      * @return the complete URL of the file having been saved, or null if upload failed
      */
     @Override
-    public String saveHttpLogs(String html) {
+    public String saveHttpLogs(AssetWriter html) {
+        try {
+            String fileName = fileNameService.generateReportFileName("http-log", "html");
+            writeHttpLogs(fileName, html);
+            return getHttpLogsUrl(fileName);
+        } catch (IOException e) {
+            log.error("HTTP log upload failed: {}", e.getMessage(), e);
+            return null;
+        }
+    }
+
+    @Override
+    public String getScreenshotUrl(String fileName) {
+        return araConfiguration.getSshHttpAccess() + araConfiguration.getSshScreenshotSubFolder() + "/" + fileName;
+    }
+
+    @Override
+    public void writeScreenshot(String fileName, byte[] screenshot) throws IOException {
+        try (SshClientHelper sshClient = connect()) {
+            String absoluteFolderPath = getScreenshotFolder();
+
+            // Only checked on the server the first time: the pool remembers the folders known to exist
+            sshClient.mkdirRecursively(absoluteFolderPath);
+            sshClient.put(absoluteFolderPath + "/" + fileName, screenshot);
+        } catch (SshException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void writeScreenshot(String fileName, AssetContent screenshot) throws IOException {
+        try (SshClientHelper sshClient = connect(); InputStream content = screenshot.open()) {
+            String absoluteFolderPath = getScreenshotFolder();
+
+            // Only checked on the server the first time: the pool remembers the folders known to exist
+            sshClient.mkdirRecursively(absoluteFolderPath);
+            sshClient.put(absoluteFolderPath + "/" + fileName, content);
+        } catch (SshException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean touchScreenshot(String fileName) throws IOException {
+        try (SshClientHelper sshClient = connect()) {
+            return sshClient.touch(getScreenshotFolder() + "/" + fileName);
+        } catch (SshException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<String> listScreenshots(Date modifiedBefore) throws IOException {
+        try (SshClientHelper sshClient = connect()) {
+            return sshClient.listFiles(getScreenshotFolder()).entrySet().stream()
+                    .filter(file -> file.getValue().before(modifiedBefore))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+        } catch (SshException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void deleteScreenshot(String fileName) throws IOException {
+        try (SshClientHelper sshClient = connect()) {
+            sshClient.rm(getScreenshotFolder() + "/" + fileName);
+        } catch (SshException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String getHttpLogsUrl(String fileName) {
+        return araConfiguration.getSshHttpAccess() + araConfiguration.getSshHttpLogsSubFolder() + "/" + fileName;
+    }
+
+    @Override
+    public void writeHttpLogs(String fileName, AssetWriter html) throws IOException {
         try (SshClientHelper sshClient = connect()) {
             // sshRemoteHomeFolder is something like /opt/assets
             // subFolder is something like /http-logs
             // The full path of the folder is then something like /opt/assets/http-logs
-            final String subFolder = araConfiguration.getSshHttpLogsSubFolder();
-            String absoluteFolderPath = araConfiguration.getSshRemoteHomeFolder() + subFolder;
-
-            if (!httpLogsFolderCreated) {
-                sshClient.mkdirRecursively(absoluteFolderPath);
-                httpLogsFolderCreated = true;
-            }
-
-            String fileName = fileNameService.generateReportFileName("http-log", "html");
-            sshClient.echo(absoluteFolderPath + "/" + fileName, html);
+            String absoluteFolderPath = araConfiguration.getSshRemoteHomeFolder() + araConfiguration.getSshHttpLogsSubFolder();
 
-            return araConfiguration.getSshHttpAccess() + subFolder + "/" + fileName;
+            // Only checked on the server the first time: the pool remembers the folders known to exist
+            sshClient.mkdirRecursively(absoluteFolderPath);
+            sshClient.put(absoluteFolderPath + "/" + fileName, html);
         } catch (SshException e) {
-            log.error("HTTP log upload failed: {}", e.getMessage(), e);
-            return null;
+            throw new IOException(e.getMessage(), e);
         }
     }
 
+    private String getScreenshotFolder() {
+        // sshRemoteHomeFolder is something like /opt/assets
+        // subFolder is something like /screenshots
+        // The full path of the folder is then something like /opt/assets/screenshots
+        return araConfiguration.getSshRemoteHomeFolder() + araConfiguration.getSshScreenshotSubFolder();
+    }
+
     SshClientHelper connect() throws SshException {
-        return new SshClientHelper(
+        return sshConnectionPool.borrow(
                 araConfiguration.getSshHost(),
                 araConfiguration.getSshPort(),
                 araConfiguration.getSshUser(),
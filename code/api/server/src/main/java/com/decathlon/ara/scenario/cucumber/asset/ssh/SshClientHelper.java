@@ -17,6 +17,7 @@
 
 package com.decathlon.ara.scenario.cucumber.asset.ssh;
 
+import com.decathlon.ara.scenario.cucumber.asset.AssetWriter;
 import com.jcraft.jsch.Channel;
 import com.jcraft.jsch.ChannelSftp;
 import com.jcraft.jsch.JSch;
@@ -27,13 +28,23 @@ import com.jcraft.jsch.SftpException;
 import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
+import java.util.Date;
 import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Holds an SSH and SFTP connection and provide simple accesses.
+ * Holds an SSH and SFTP connection and provide simple accesses.<br>
+ * Connections borrowed from a {@link SshConnectionPool} go back to the pool when closed, with their warm SFTP channel.
  */
 @Slf4j
 public class SshClientHelper implements Closeable {
@@ -42,8 +53,33 @@ public class SshClientHelper implements Closeable {
 
     private final Session session;
 
+    /**
+     * The pool to give the connection back to when closed, or null to disconnect on close.
+     */
+    private final SshConnectionPool pool;
+
+    /**
+     * The key of the server in the pool (user@host:port), or null if not pooled.
+     */
+    private final String poolKey;
+
+    /**
+     * The folders known to exist on the server, shared by all the connections to this server.
+     */
+    private final Set<String> knownDirectories;
+
     private ChannelSftp sftpChannel;
 
+    /**
+     * True when an SSH operation failed on this connection: it is not given back to the pool.
+     */
+    private boolean broken;
+
+    /**
+     * The time (in milliseconds since the epoch) at which the connection went back to the pool for the last time.
+     */
+    private long lastReleaseTime;
+
     /**
      * Connect to the given machine by SSH.
      *
@@ -54,20 +90,55 @@ public class SshClientHelper implements Closeable {
      * @throws SshException on connection failure
      */
     public SshClientHelper(final String host, final int port, final String user, final String password) throws SshException {
+        this(openSession(host, port, user, password, 0), null, null, new HashSet<>());
+    }
+
+    /**
+     * @param session          a connected SSH session
+     * @param pool             the pool to give the connection back to when closed, or null to disconnect on close
+     * @param poolKey          the key of the server in the pool, or null if not pooled
+     * @param knownDirectories the folders known to exist on the server (can be shared between connections)
+     */
+    SshClientHelper(final Session session, final SshConnectionPool pool, final String poolKey, final Set<String> knownDirectories) {
+        this.session = session;
+        this.pool = pool;
+        this.poolKey = poolKey;
+        this.knownDirectories = knownDirectories;
+    }
+
+    /**
+     * Open a new SSH session to the given machine.
+     *
+     * @param host                      machine's hostname
+     * @param port                      machine's port (usually 22)
+     * @param user                      username
+     * @param password                  user's password
+     * @param keepAliveIntervalInMillis the interval between two keep-alive messages sent to the server, or 0 to not
+     *                                  send any
+     * @return the connected session
+     * @throws SshException on connection failure
+     */
+    static Session openSession(final String host, final int port, final String user, final String password,
+                               final int keepAliveIntervalInMillis) throws SshException {
         try {
             // TODO JSch.setHostKeyRepository() instead of StrictHostKeyChecking=no?
             // LIKE http://wiki.jsch.org/index.php?Manual/Examples/SftpFileCopyExample
-            session = new JSch().getSession(user, host, port);
+            final Session session = new JSch().getSession(user, host, port);
             session.setPassword(password);
             session.setConfig("StrictHostKeyChecking", "no");
+            if (keepAliveIntervalInMillis > 0) {
+                session.setServerAliveInterval(keepAliveIntervalInMillis);
+            }
             session.connect();
+            return session;
         } catch (JSchException e) {
             throw new SshException("Cannot connect to " + user + "@" + host + ":" + port + BECAUSE + e.getMessage(), e);
         }
     }
 
     /**
-     * Create folders recursively.
+     * Create folders recursively. Folders known to exist (created or checked by a previous call on any connection to
+     * the same server) are not checked again.
      *
      * @param remotePath the full path to create (all intermediary folders will be created too if they do not exist yet)
      * @throws SshException when something goes wrong while interacting with the server
@@ -82,6 +153,9 @@ public class SshClientHelper implements Closeable {
         }
         while (!files.isEmpty()) {
             String poppedFile = files.pop().toString().replace('\\', '/');
+            if (knownDirectories.contains(poppedFile)) {
+                continue;
+            }
             SftpATTRS stat = null;
             try {
                 stat = getSftpChannel().stat(poppedFile);
@@ -95,9 +169,11 @@ public class SshClientHelper implements Closeable {
                 try {
                     getSftpChannel().mkdir(poppedFile);
                 } catch (SftpException e) {
+                    broken = true;
                     throw new SshException("Cannot make directory " + poppedFile + BECAUSE + e.getMessage(), e);
                 }
             }
+            knownDirectories.add(poppedFile);
         }
     }
 
@@ -122,15 +198,135 @@ public class SshClientHelper implements Closeable {
      * @throws SshException when something goes wrong while interacting with the server
      */
     public void put(final String remoteFile, final byte[] bytes) throws SshException {
+        put(remoteFile, new ByteArrayInputStream(bytes));
+    }
+
+    /**
+     * Upload a binary file from a stream.
+     *
+     * @param remoteFile the remote file (to be created or updated) full path (absolute folder + file name) where to put
+     *                   the file content
+     * @param content    a binary file content, read until its end (not closed)
+     * @throws SshException when something goes wrong while interacting with the server
+     */
+    public void put(final String remoteFile, final InputStream content) throws SshException {
+        try {
+            getSftpChannel().put(content, remoteFile, ChannelSftp.OVERWRITE);
+        } catch (SftpException e) {
+            broken = true;
+            // The folder may have been removed on the server: check it again next time
+            knownDirectories.clear();
+            throw new SshException("Cannot upload to " + remoteFile + BECAUSE + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Upload a file written as a stream.
+     *
+     * @param remoteFile the remote file (to be created or updated) full path (absolute folder + file name) where to put
+     *                   the file content
+     * @param content    the writer of the file content
+     * @throws SshException when something goes wrong while interacting with the server
+     * @throws IOException  when the content cannot be written (the upload then stops)
+     */
+    public void put(final String remoteFile, final AssetWriter content) throws SshException, IOException {
+        final OutputStream output;
         try {
-            getSftpChannel().put(new ByteArrayInputStream(bytes), remoteFile, ChannelSftp.OVERWRITE);
+            output = getSftpChannel().put(remoteFile, ChannelSftp.OVERWRITE);
         } catch (SftpException e) {
+            broken = true;
+            // The folder may have been removed on the server: check it again next time
+            knownDirectories.clear();
             throw new SshException("Cannot upload to " + remoteFile + BECAUSE + e.getMessage(), e);
         }
+        try (OutputStream remoteOutput = output) {
+            content.writeTo(remoteOutput);
+        } catch (IOException e) {
+            // The channel state is unknown after an interrupted transfer
+            broken = true;
+            throw e;
+        }
     }
 
+    /**
+     * Set the modification date of a file to now, if it exists.
+     *
+     * @param remoteFile the remote file full path (absolute folder + file name)
+     * @return true if the file exists (it was touched), false if it does not exist
+     * @throws SshException when something goes wrong while interacting with the server
+     */
+    public boolean touch(final String remoteFile) throws SshException {
+        try {
+            getSftpChannel().setMtime(remoteFile, (int) TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+            return true;
+        } catch (SftpException e) {
+            if (e.id == ChannelSftp.SSH_FX_NO_SUCH_FILE) {
+                return false;
+            }
+            broken = true;
+            throw new SshException("Cannot touch " + remoteFile + BECAUSE + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * List the files of a folder.
+     *
+     * @param remoteFolder the remote folder full path
+     * @return the modification dates of the files (not the sub-folders) of the folder, by file name (empty if the
+     * folder does not exist)
+     * @throws SshException when something goes wrong while interacting with the server
+     */
+    public Map<String, Date> listFiles(final String remoteFolder) throws SshException {
+        final Map<String, Date> files = new HashMap<>();
+        try {
+            for (Object entry : getSftpChannel().ls(remoteFolder)) {
+                final ChannelSftp.LsEntry lsEntry = (ChannelSftp.LsEntry) entry;
+                if (lsEntry.getAttrs().isReg()) {
+                    files.put(lsEntry.getFilename(), new Date(TimeUnit.SECONDS.toMillis(lsEntry.getAttrs().getMTime())));
+                }
+            }
+        } catch (SftpException e) {
+            if (e.id != ChannelSftp.SSH_FX_NO_SUCH_FILE) {
+                broken = true;
+                throw new SshException("Cannot list " + remoteFolder + BECAUSE + e.getMessage(), e);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Delete a file, if it exists.
+     *
+     * @param remoteFile the remote file full path (absolute folder + file name)
+     * @throws SshException when something goes wrong while interacting with the server
+     */
+    public void rm(final String remoteFile) throws SshException {
+        try {
+            getSftpChannel().rm(remoteFile);
+        } catch (SftpException e) {
+            if (e.id != ChannelSftp.SSH_FX_NO_SUCH_FILE) {
+                broken = true;
+                throw new SshException("Cannot delete " + remoteFile + BECAUSE + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Give the connection back to its pool, or disconnect it if it is not pooled or if it failed.
+     */
     @Override
     public void close() {
+        if (pool == null) {
+            disconnect();
+        } else {
+            pool.release(this);
+        }
+    }
+
+    /**
+     * Close the SFTP channel and the SSH session, whether the connection is pooled or not.
+     */
+    void disconnect() {
         if (sftpChannel != null) {
             sftpChannel.disconnect();
         }
@@ -139,6 +335,28 @@ public class SshClientHelper implements Closeable {
         }
     }
 
+    /**
+     * @return true if no SSH operation failed on this connection, and its session and SFTP channel are still
+     * connected: the connection can then be reused
+     */
+    boolean isReusable() {
+        return !broken &&
+                session.isConnected() &&
+                (sftpChannel == null || sftpChannel.isConnected());
+    }
+
+    String getPoolKey() {
+        return poolKey;
+    }
+
+    long getLastReleaseTime() {
+        return lastReleaseTime;
+    }
+
+    void setLastReleaseTime(long lastReleaseTime) {
+        this.lastReleaseTime = lastReleaseTime;
+    }
+
     /**
      * @return an SFTP channel, to use all SFTP available methods (a new one the first time it is called, the same one
      * on next calls)
@@ -151,6 +369,7 @@ public class SshClientHelper implements Closeable {
                 channel.connect();
                 sftpChannel = (ChannelSftp) channel;
             } catch (JSchException e) {
+                broken = true;
                 throw new SshException("Cannot open SFTP channel" + BECAUSE + e.getMessage(), e);
             }
         }
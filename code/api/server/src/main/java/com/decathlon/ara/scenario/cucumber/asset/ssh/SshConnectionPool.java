@@ -0,0 +1,200 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.scenario.cucumber.asset.ssh;
+
+import com.decathlon.ara.configuration.AraConfiguration;
+import com.jcraft.jsch.Session;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pool of SSH/SFTP connections, for assets to be uploaded on warm connections instead of doing the TCP, SSH and
+ * authentication handshakes for each file.
+ * <p>
+ * Connections are kept alive while idle, idle connections are closed after a while, and the number of connections to
+ * the same server is capped. Borrowed connections go back to the pool when closed, unless an operation failed on them.
+ * </p>
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@ConditionalOnProperty(name = "ara.adapter.asset.name", havingValue = "ssh")
+public class SshConnectionPool {
+
+    /**
+     * Maximum time to wait for a connection when all connections to the server are in use.
+     */
+    private static final long BORROW_TIMEOUT_IN_SECONDS = 60;
+
+    @NonNull
+    private final AraConfiguration araConfiguration;
+
+    /**
+     * The connections and permits of each server, by user@host:port.
+     */
+    private final Map<String, ServerPool> serverPools = new ConcurrentHashMap<>();
+
+    /**
+     * Borrow a connection to the given machine: an idle one if any, or a new one if the cap of connections to this
+     * machine is not reached yet. Close the returned connection to give it back to the pool.
+     *
+     * @param host     machine's hostname
+     * @param port     machine's port (usually 22)
+     * @param user     username
+     * @param password user's password
+     * @return a connected SSH client
+     * @throws SshException on connection failure, or if no connection became available in time
+     */
+    public SshClientHelper borrow(final String host, final int port, final String user, final String password) throws SshException {
+        final String key = user + "@" + host + ":" + port;
+        final ServerPool serverPool = serverPools.computeIfAbsent(key, k -> new ServerPool(Math.max(1, araConfiguration.getSshMaxConnectionsPerHost())));
+        acquire(serverPool, key);
+        try {
+            SshClientHelper connection;
+            while ((connection = serverPool.getIdleConnections().pollFirst()) != null) {
+                if (connection.isReusable() && !isExpired(connection, System.currentTimeMillis())) {
+                    return connection;
+                }
+                connection.disconnect();
+            }
+            final int keepAliveInterval = (int) TimeUnit.SECONDS.toMillis(araConfiguration.getSshKeepAliveIntervalInSeconds());
+            final Session session = openSession(host, port, user, password, keepAliveInterval);
+            log.debug("Opened a new SSH connection to {}", key);
+            return new SshClientHelper(session, this, key, serverPool.getKnownDirectories());
+        } catch (SshException | RuntimeException e) {
+            serverPool.getPermits().release();
+            throw e;
+        }
+    }
+
+    /**
+     * Give a borrowed connection back to the pool: it is disconnected instead if it cannot be reused.
+     *
+     * @param connection the connection borrowed from this pool
+     */
+    void release(final SshClientHelper connection) {
+        final ServerPool serverPool = serverPools.get(connection.getPoolKey());
+        if (serverPool == null) {
+            // The pool has been closed meanwhile
+            connection.disconnect();
+            return;
+        }
+        if (connection.isReusable()) {
+            connection.setLastReleaseTime(System.currentTimeMillis());
+            // Most recently used connections are borrowed first, so the least used ones expire
+            serverPool.getIdleConnections().offerFirst(connection);
+        } else {
+            connection.disconnect();
+        }
+        serverPool.getPermits().release();
+    }
+
+    /**
+     * Disconnect the connections having been idle for too long.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evictIdleConnections() {
+        final long now = System.currentTimeMillis();
+        for (ServerPool serverPool : serverPools.values()) {
+            final Iterator<SshClientHelper> iterator = serverPool.getIdleConnections().descendingIterator();
+            while (iterator.hasNext()) {
+                final SshClientHelper connection = iterator.next();
+                if ((isExpired(connection, now) || !connection.isReusable()) && serverPool.getIdleConnections().removeLastOccurrence(connection)) {
+                    connection.disconnect();
+                }
+            }
+        }
+    }
+
+    /**
+     * Disconnect all idle connections: borrowed connections are disconnected when given back.
+     */
+    @PreDestroy
+    public void close() {
+        for (ServerPool serverPool : serverPools.values()) {
+            SshClientHelper connection;
+            while ((connection = serverPool.getIdleConnections().pollFirst()) != null) {
+                connection.disconnect();
+            }
+        }
+        serverPools.clear();
+    }
+
+    Session openSession(final String host, final int port, final String user, final String password,
+                        final int keepAliveIntervalInMillis) throws SshException {
+        return SshClientHelper.openSession(host, port, user, password, keepAliveIntervalInMillis);
+    }
+
+    private boolean isExpired(SshClientHelper connection, long now) {
+        return now - connection.getLastReleaseTime() > TimeUnit.SECONDS.toMillis(araConfiguration.getSshIdleTimeoutInSeconds());
+    }
+
+    private static void acquire(ServerPool serverPool, String key) throws SshException {
+        try {
+            if (!serverPool.getPermits().tryAcquire(BORROW_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS)) {
+                throw new SshException("No SSH connection to " + key + " became available in " + BORROW_TIMEOUT_IN_SECONDS + " seconds", null);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SshException("Interrupted while waiting for an SSH connection to " + key, e);
+        }
+    }
+
+    /**
+     * The connections to one server.
+     */
+    @Getter
+    private static class ServerPool {
+
+        /**
+         * One permit per connection that can still be borrowed.
+         */
+        private final Semaphore permits;
+
+        /**
+         * The connections waiting to be borrowed again, the most recently released first.
+         */
+        private final Deque<SshClientHelper> idleConnections = new LinkedBlockingDeque<>();
+
+        /**
+         * The folders known to exist on the server.
+         */
+        private final Set<String> knownDirectories = ConcurrentHashMap.newKeySet();
+
+        ServerPool(int maxConnections) {
+            this.permits = new Semaphore(maxConnections, true);
+        }
+
+    }
+
+}
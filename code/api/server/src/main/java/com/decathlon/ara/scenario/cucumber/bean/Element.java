@@ -18,6 +18,7 @@
 package com.decathlon.ara.scenario.cucumber.bean;
 
 import com.decathlon.ara.lib.embed.consumer.StructuredEmbeddingsHolder;
+import com.decathlon.ara.scenario.cucumber.asset.AssetContent;
 import com.decathlon.ara.scenario.cucumber.support.ResultsWithMatch;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.Data;
@@ -95,10 +96,10 @@ public class Element {
     /**
      * @return the extracted screenshot found in one of the steps of the scenario (usually the last one), if any
      */
-    public Optional<byte[]> extractScreenshot() {
+    public Optional<AssetContent> extractScreenshot() {
         if (steps != null) {
             for (final Step step : steps) {
-                Optional<byte[]> screenshot = step.extractScreenshot();
+                Optional<AssetContent> screenshot = step.extractScreenshot();
                 if (screenshot.isPresent()) {
                     return screenshot;
                 }
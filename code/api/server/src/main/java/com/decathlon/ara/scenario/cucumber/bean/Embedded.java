@@ -19,9 +19,11 @@ package com.decathlon.ara.scenario.cucumber.bean;
 
 import com.decathlon.ara.lib.embed.consumer.StructuredEmbeddingsExtractor;
 import com.decathlon.ara.lib.embed.consumer.StructuredEmbeddingsHolder;
+import com.decathlon.ara.scenario.cucumber.asset.AssetContent;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
+import org.apache.commons.io.input.CharSequenceInputStream;
 import org.apache.commons.lang3.StringUtils;
 
 import java.nio.charset.StandardCharsets;
@@ -46,11 +48,13 @@ public class Embedded {
     }
 
     /**
-     * @return the extracted screenshot, if the embedding is an image
+     * @return the extracted screenshot, if the embedding is an image: it is decoded from base64 while being read, and
+     * is never fully held in memory
      */
-    public Optional<byte[]> extractScreenshot() {
-        if ("image/png".equals(mimeType)) {
-            return getDecodedDataAsBytes();
+    public Optional<AssetContent> extractScreenshot() {
+        if ("image/png".equals(mimeType) && StringUtils.isNotEmpty(data)) {
+            final String base64Data = data;
+            return Optional.of(() -> Base64.getDecoder().wrap(new CharSequenceInputStream(base64Data, StandardCharsets.US_ASCII)));
         }
         return Optional.empty();
     }
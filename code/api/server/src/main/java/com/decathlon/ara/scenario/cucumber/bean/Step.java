@@ -18,6 +18,7 @@
 package com.decathlon.ara.scenario.cucumber.bean;
 
 import com.decathlon.ara.lib.embed.consumer.StructuredEmbeddingsHolder;
+import com.decathlon.ara.scenario.cucumber.asset.AssetContent;
 import com.decathlon.ara.scenario.cucumber.support.ResultsWithMatch;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -46,10 +47,10 @@ public class Step implements ResultsWithMatch {
     /**
      * @return the extracted screenshot, if the step contains an embedding that is a video URL
      */
-    public Optional<byte[]> extractScreenshot() {
+    public Optional<AssetContent> extractScreenshot() {
         if (embeddings != null) {
             for (Embedded embedding : embeddings) {
-                final Optional<byte[]> screenshot = embedding.extractScreenshot();
+                final Optional<AssetContent> screenshot = embedding.extractScreenshot();
                 if (screenshot.isPresent()) {
                     return screenshot;
                 }
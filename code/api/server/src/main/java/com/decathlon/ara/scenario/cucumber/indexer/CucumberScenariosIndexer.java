@@ -19,12 +19,15 @@ package com.decathlon.ara.scenario.cucumber.indexer;
 
 import com.decathlon.ara.domain.ExecutedScenario;
 import com.decathlon.ara.domain.Run;
+import com.decathlon.ara.scenario.common.indexer.IndexingContext;
 import com.decathlon.ara.scenario.common.indexer.ScenariosIndexer;
 import com.decathlon.ara.scenario.cucumber.bean.Feature;
 import com.decathlon.ara.scenario.cucumber.service.ExecutedScenarioExtractorService;
 import com.decathlon.ara.scenario.cucumber.settings.CucumberSettings;
+import com.decathlon.ara.scenario.cucumber.support.StepDefinitionMatcher;
+import com.decathlon.ara.scenario.cucumber.util.CucumberReportUtil;
 import com.decathlon.ara.service.FileProcessorService;
-import com.decathlon.ara.service.TechnologySettingService;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -33,9 +36,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -51,9 +55,6 @@ public class CucumberScenariosIndexer implements ScenariosIndexer {
     @NonNull
     private final ExecutedScenarioExtractorService executedScenarioExtractorService;
 
-    @NonNull
-    private final TechnologySettingService technologySettingService;
-
     @NonNull
     private final FileProcessorService fileProcessorService;
 
@@ -61,33 +62,60 @@ public class CucumberScenariosIndexer implements ScenariosIndexer {
      * Get the Cucumber executed scenarios
      * @param cucumberFolder the Cucumber report folder
      * @param run the run
-     * @param projectId the project id
+     * @param context the settings of the project, loaded once for the whole execution indexing
      * @return the Cucumber executed scenarios
      */
     @Override
-    public List<ExecutedScenario> getExecutedScenarios(File cucumberFolder, Run run, Long projectId) {
-        List<Feature> features = new ArrayList<>();
-        List<String> stepDefinitions = new ArrayList<>();
+    public List<ExecutedScenario> getExecutedScenarios(File cucumberFolder, Run run, IndexingContext context) {
+        return getExecutedScenarios(cucumberFolder.toPath(), run, context);
+    }
 
-        String reportFileName = technologySettingService.getSettingValue(projectId, CucumberSettings.REPORT_PATH).orElse("");
-        Optional<File> cucumberReportFile = fileProcessorService.getMatchingSimpleFile(cucumberFolder, reportFileName);
-        if (cucumberReportFile.isPresent()) {
-            features = getCucumberFeaturesFromReport(cucumberReportFile.get());
-        }
+    /**
+     * Get the Cucumber executed scenarios, reading the reports straight from the folder's file system (no extraction
+     * needed when it is a folder of a zip file system)
+     * @param cucumberFolder the Cucumber report folder
+     * @param run the run
+     * @param context the settings of the project, loaded once for the whole execution indexing
+     * @return the Cucumber executed scenarios
+     */
+    @Override
+    public List<ExecutedScenario> getExecutedScenarios(Path cucumberFolder, Run run, IndexingContext context) {
+        List<String> stepDefinitions = new ArrayList<>();
 
-        String stepDefinitionsFileName = technologySettingService.getSettingValue(projectId, CucumberSettings.STEP_DEFINITIONS_PATH).orElse("");
+        String stepDefinitionsFileName = context.getTechnologySettingValue(CucumberSettings.STEP_DEFINITIONS_PATH).orElse("");
 
-        Optional<File> stepDefinitionsFile = fileProcessorService.getMatchingSimpleFile(cucumberFolder, stepDefinitionsFileName);
+        Optional<Path> stepDefinitionsFile = fileProcessorService.getMatchingSimplePath(cucumberFolder, stepDefinitionsFileName);
         if (stepDefinitionsFile.isPresent()) {
             stepDefinitions = getCucumberStepDefinitions(stepDefinitionsFile.get());
         }
 
-        List<ExecutedScenario> executedScenarios = executedScenarioExtractorService.extractExecutedScenarios(
-                features,
-                stepDefinitions,
-                run.getJobUrl()
-        );
+        String reportFileName = context.getTechnologySettingValue(CucumberSettings.REPORT_PATH).orElse("");
+        Optional<Path> cucumberReportFile = fileProcessorService.getMatchingSimplePath(cucumberFolder, reportFileName);
+        if (!cucumberReportFile.isPresent()) {
+            return new ArrayList<>();
+        }
+
+        return getExecutedScenariosFromReport(cucumberReportFile.get(), stepDefinitions, run.getJobUrl());
+    }
 
+    /**
+     * Stream the Cucumber report file, extracting the executed scenarios of each feature as soon as it is read, so that
+     * only one feature of the report is held in memory at a time
+     * @param cucumberReport the Cucumber report file
+     * @param stepDefinitions the Cucumber step definitions
+     * @param runJobUrl the continuous integration job URL of the run
+     * @return the Cucumber executed scenarios (none if the report cannot be read)
+     */
+    private List<ExecutedScenario> getExecutedScenariosFromReport(Path cucumberReport, List<String> stepDefinitions, String runJobUrl) {
+        StepDefinitionMatcher stepDefinitionMatcher = new StepDefinitionMatcher(stepDefinitions);
+        List<ExecutedScenario> executedScenarios = new ArrayList<>();
+        try (InputStream input = Files.newInputStream(cucumberReport); JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            CucumberReportUtil.streamReportJson(objectMapper, parser, feature ->
+                    executedScenarios.addAll(executedScenarioExtractorService.extractExecutedScenarios(feature, stepDefinitionMatcher, runJobUrl)));
+        } catch (IOException e) {
+            log.info("Cannot download report file in {}", cucumberReport.toUri(), e);
+            return new ArrayList<>();
+        }
         return executedScenarios;
     }
 
@@ -97,12 +125,23 @@ public class CucumberScenariosIndexer implements ScenariosIndexer {
      * @return the Cucumber features
      */
     public List<Feature> getCucumberFeaturesFromReport(File cucumberReport) {
-        try (InputStream input = new FileInputStream(cucumberReport)) {
-            return objectMapper.readValue(input, objectMapper.getTypeFactory().constructCollectionType(List.class, Feature.class));
+        return getCucumberFeaturesFromReport(cucumberReport.toPath());
+    }
+
+    /**
+     * Get the features from the Cucumber report file, from any file system
+     * @param cucumberReport the Cucumber report file
+     * @return the Cucumber features
+     */
+    public List<Feature> getCucumberFeaturesFromReport(Path cucumberReport) {
+        List<Feature> features = new ArrayList<>();
+        try (InputStream input = Files.newInputStream(cucumberReport); JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            CucumberReportUtil.streamReportJson(objectMapper, parser, features::add);
         } catch (IOException e) {
-            log.info("Cannot download report file in {}", cucumberReport.getPath(), e);
+            log.info("Cannot download report file in {}", cucumberReport.toUri(), e);
             return new ArrayList<>();
         }
+        return features;
     }
 
     /**
@@ -111,10 +150,19 @@ public class CucumberScenariosIndexer implements ScenariosIndexer {
      * @return all the extracted Cucumber step definitions
      */
     public List<String> getCucumberStepDefinitions(File stepDefinitionsFile) {
-        try (InputStream input = new FileInputStream(stepDefinitionsFile)) {
+        return getCucumberStepDefinitions(stepDefinitionsFile.toPath());
+    }
+
+    /**
+     * Get Cucumber step definitions from the step definitions file, from any file system
+     * @param stepDefinitionsFile the file defining the Cucumber step definitions
+     * @return all the extracted Cucumber step definitions
+     */
+    public List<String> getCucumberStepDefinitions(Path stepDefinitionsFile) {
+        try (InputStream input = Files.newInputStream(stepDefinitionsFile)) {
             return objectMapper.readValue(input, objectMapper.getTypeFactory().constructCollectionType(List.class, String.class));
         } catch (IOException e) {
-            log.info("Cannot download the step definitions file in {}", stepDefinitionsFile.getPath(), e);
+            log.info("Cannot download the step definitions file in {}", stepDefinitionsFile.toUri(), e);
             log.info("Please check your (technology) settings again");
             return new ArrayList<>();
         }
@@ -23,6 +23,7 @@ import com.decathlon.ara.scenario.cucumber.asset.AssetService;
 import com.decathlon.ara.scenario.cucumber.bean.Element;
 import com.decathlon.ara.scenario.cucumber.bean.Feature;
 import com.decathlon.ara.scenario.cucumber.bean.Tag;
+import com.decathlon.ara.scenario.cucumber.support.StepDefinitionMatcher;
 import com.decathlon.ara.scenario.cucumber.util.CucumberReportUtil;
 import com.decathlon.ara.scenario.cucumber.util.ErrorExtractorUtil;
 import com.decathlon.ara.scenario.cucumber.util.ScenarioExtractorUtil;
@@ -58,30 +59,45 @@ public class ExecutedScenarioExtractorService {
      * @return a list of executed-scenarios, with errors for failed scenarios; screenshots have been uploaded; all errors have no Run associated with
      */
     public List<ExecutedScenario> extractExecutedScenarios(List<Feature> features, List<String> stepDefinitions, String runJobUrl) {
+        final StepDefinitionMatcher stepDefinitionMatcher = new StepDefinitionMatcher(stepDefinitions);
         final List<ExecutedScenario> executedScenarios = new ArrayList<>();
-        ExecutedScenario lastBackground = null;
         for (Feature feature : features) {
-            for (Element element : feature.getElements()) {
-                if (element.isBackground()) {
-                    lastBackground = extractBackground(stepDefinitions, element);
-                } else if (element.isScenario()) {
-                    executedScenarios.add(extractExecutedScenario(stepDefinitions, feature, element, runJobUrl, lastBackground));
-                    lastBackground = null;
-                }
+            executedScenarios.addAll(extractExecutedScenarios(feature, stepDefinitionMatcher, runJobUrl));
+        }
+        return executedScenarios;
+    }
+
+    /**
+     * Extract the executed-scenarios of one feature: backgrounds do not span features, so reports can be processed
+     * feature by feature while being streamed.
+     *
+     * @param feature         a feature of a parsed Cucumber's report.json file/stream
+     * @param stepDefinitions the matcher of a parsed stepDefinitions.json file/stream (build it once for all the features of a report)
+     * @param runJobUrl       the continuous integration job URL of the run of this feature
+     * @return a list of executed-scenarios, with errors for failed scenarios; screenshots have been uploaded; all errors have no Run associated with
+     */
+    public List<ExecutedScenario> extractExecutedScenarios(Feature feature, StepDefinitionMatcher stepDefinitions, String runJobUrl) {
+        final List<ExecutedScenario> executedScenarios = new ArrayList<>();
+        ExecutedScenario lastBackground = null;
+        for (Element element : feature.getElements()) {
+            if (element.isBackground()) {
+                lastBackground = extractBackground(stepDefinitions, element);
+            } else if (element.isScenario()) {
+                executedScenarios.add(extractExecutedScenario(stepDefinitions, feature, element, runJobUrl, lastBackground));
+                lastBackground = null;
             }
-            lastBackground = null;
         }
         return executedScenarios;
     }
 
-    private ExecutedScenario extractBackground(List<String> stepDefinitions, Element element) {
+    private ExecutedScenario extractBackground(StepDefinitionMatcher stepDefinitions, Element element) {
         ExecutedScenario background = new ExecutedScenario();
         background.setContent(CucumberReportUtil.extractScenarioContent(element, null));
         background.addErrors(ErrorExtractorUtil.extractErrors(stepDefinitions, element.getSteps(), null));
         return background;
     }
 
-    private ExecutedScenario extractExecutedScenario(List<String> stepDefinitions, Feature feature, Element scenario, String runJobUrl, ExecutedScenario lastBackground) {
+    private ExecutedScenario extractExecutedScenario(StepDefinitionMatcher stepDefinitions, Feature feature, Element scenario, String runJobUrl, ExecutedScenario lastBackground) {
         Set<String> featureTags = Tag.names(feature.getTags());
         Set<String> scenarioTags = Tag.names(scenario.getTags());
         Set<String> allTags = Sets.union(featureTags, scenarioTags);
@@ -125,7 +141,7 @@ public class ExecutedScenarioExtractorService {
         return structuredEmbeddings
                 .flatMap(e -> e.extractStringData("screenshotUrl"))
                 .orElseGet(() -> scenario.extractScreenshot()
-                        .map(bytes -> assetService.saveScreenshot(bytes, scenario.getName()))
+                        .map(screenshot -> assetService.saveScreenshot(screenshot, scenario.getName()))
                         .orElse(null));
     }
 
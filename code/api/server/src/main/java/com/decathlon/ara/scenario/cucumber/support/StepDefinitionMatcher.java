@@ -0,0 +1,164 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.scenario.cucumber.support;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Finds the step definitions (regular expressions) matching step texts, for all steps of a run.<br>
+ * Built once per stepDefinitions.json: patterns are compiled only once, and bucketed by the literal text they must
+ * start with, so that a step is only fully matched against the few step definitions sharing its beginning.
+ * Results are cached by step text, as the same steps fail again and again in a run.
+ */
+@Slf4j
+public class StepDefinitionMatcher {
+
+    private static final String REGEX_SPECIAL_CHARACTERS = "\\^$.|?*+()[]{}";
+
+    private static final String REGEX_QUANTIFIERS = "?*+{";
+
+    /**
+     * Step definitions indexed by the literal prefix any matching step must start with (maybe empty)
+     */
+    private final Map<String, List<CompiledStepDefinition>> stepDefinitionsByPrefix = new HashMap<>();
+
+    /**
+     * The distinct lengths of the keys of {@link #stepDefinitionsByPrefix}
+     */
+    private final TreeSet<Integer> prefixLengths = new TreeSet<>();
+
+    private final Map<String, List<String>> matchesByStep = new ConcurrentHashMap<>();
+
+    /**
+     * @param stepDefinitions the list of step definitions extracted from Cucumber, in their order of priority
+     */
+    public StepDefinitionMatcher(List<String> stepDefinitions) {
+        for (int i = 0; i < stepDefinitions.size(); i++) {
+            String stepDefinition = stepDefinitions.get(i);
+            Pattern pattern;
+            try {
+                pattern = Pattern.compile(stepDefinition);
+            } catch (PatternSyntaxException e) {
+                log.error("Ignoring invalid step definition \"{}\"", stepDefinition, e);
+                continue;
+            }
+            String prefix = literalPrefix(stepDefinition);
+            stepDefinitionsByPrefix.computeIfAbsent(prefix, k -> new ArrayList<>())
+                    .add(new CompiledStepDefinition(i, stepDefinition, pattern));
+            prefixLengths.add(Integer.valueOf(prefix.length()));
+        }
+    }
+
+    /**
+     * @param stepName eg. "User goes to the product details page of product \"NrtP01\" model \"NrtP01M3\""
+     * @return all step definitions fully matching the step, in their order of priority (empty if none)
+     */
+    public List<String> getMatchingStepDefinitions(String stepName) {
+        return matchesByStep.computeIfAbsent(stepName, this::computeMatchingStepDefinitions);
+    }
+
+    private List<String> computeMatchingStepDefinitions(String stepName) {
+        List<CompiledStepDefinition> candidates = new ArrayList<>();
+        for (Integer prefixLength : prefixLengths.headSet(Integer.valueOf(stepName.length()), true)) {
+            List<CompiledStepDefinition> bucket = stepDefinitionsByPrefix.get(stepName.substring(0, prefixLength.intValue()));
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+        candidates.sort(Comparator.comparingInt(CompiledStepDefinition::getOrder));
+
+        List<String> matchingStepDefinitions = new ArrayList<>();
+        for (CompiledStepDefinition candidate : candidates) {
+            if (candidate.getPattern().matcher(stepName).matches()) {
+                matchingStepDefinitions.add(candidate.getStepDefinition());
+            }
+        }
+        return Collections.unmodifiableList(matchingStepDefinitions);
+    }
+
+    /**
+     * @param stepDefinition a regular expression, to be fully matched against step texts
+     * @return the literal text any text fully matched by the regular expression must start with (empty if unknown)
+     */
+    static String literalPrefix(String stepDefinition) {
+        if (hasAlternation(stepDefinition)) {
+            return "";
+        }
+        StringBuilder prefix = new StringBuilder();
+        int i = (stepDefinition.startsWith("^") ? 1 : 0);
+        while (i < stepDefinition.length()) {
+            char c = stepDefinition.charAt(i);
+            int next = i + 1;
+            if (c == '\\') {
+                if (next >= stepDefinition.length() || Character.isLetterOrDigit(stepDefinition.charAt(next))) {
+                    break; // Character class (\d, \w...), back-reference, \Q... quoting: not a plain literal
+                }
+                c = stepDefinition.charAt(next);
+                next++;
+            } else if (REGEX_SPECIAL_CHARACTERS.indexOf(c) >= 0) {
+                break;
+            }
+            if (next < stepDefinition.length() && REGEX_QUANTIFIERS.indexOf(stepDefinition.charAt(next)) >= 0) {
+                break; // The character is optional or repeated
+            }
+            prefix.append(c);
+            i = next;
+        }
+        return prefix.toString();
+    }
+
+    /**
+     * @param stepDefinition a regular expression
+     * @return true if the expression contains an unescaped '|' (conservatively, even if enclosed in a group or a character class)
+     */
+    private static boolean hasAlternation(String stepDefinition) {
+        for (int i = 0; i < stepDefinition.length(); i++) {
+            char c = stepDefinition.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '|') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Value
+    private static class CompiledStepDefinition {
+
+        int order;
+
+        String stepDefinition;
+
+        Pattern pattern;
+
+    }
+
+}
@@ -22,10 +22,13 @@ import com.decathlon.ara.scenario.cucumber.bean.Feature;
 import com.decathlon.ara.scenario.cucumber.bean.Hook;
 import com.decathlon.ara.scenario.cucumber.bean.Row;
 import com.decathlon.ara.scenario.cucumber.bean.Step;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.util.List;
+import java.util.function.Consumer;
 import lombok.experimental.UtilityClass;
 import org.apache.commons.lang3.StringUtils;
 
@@ -50,6 +53,32 @@ public class CucumberReportUtil {
         return features;
     }
 
+    /**
+     * Stream a report.json, handing each *.feature file to the consumer as soon as it has been read: only one feature
+     * (with its scenarios, steps, hooks and embeddings) is held in memory at a time, whatever the size of the report.
+     *
+     * @param objectMapper    the mapper to use to read each feature
+     * @param parser          the parser, pointing to an open stream, ready to parse the report.json as produced by Cucumber
+     * @param featureConsumer called with each feature, in the order they appear in the report
+     * @throws IOException on streaming error, or if the stream does not contain a JSON array of features
+     */
+    public static void streamReportJson(ObjectMapper objectMapper, JsonParser parser, Consumer<Feature> featureConsumer) throws IOException {
+        if (parser.isClosed() || parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IOException("JSON stream does not contain a root array: no Cucumber report to parse");
+        }
+        while (!parser.isClosed()) {
+            JsonToken jsonToken = parser.nextToken();
+            if (jsonToken == JsonToken.END_ARRAY || jsonToken == null) {
+                break;
+            }
+            if (jsonToken == JsonToken.START_OBJECT) {
+                featureConsumer.accept(objectMapper.readValue(parser, Feature.class));
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
     /**
      * @param scenario          a scenario from a parsed report.json Cucumber report of an execution
      * @param backgroundContent optional background content to append after @Before and before real scenario content
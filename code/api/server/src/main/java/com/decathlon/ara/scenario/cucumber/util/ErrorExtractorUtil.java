@@ -21,6 +21,7 @@ import com.decathlon.ara.domain.Error;
 import com.decathlon.ara.scenario.cucumber.bean.Status;
 import com.decathlon.ara.scenario.cucumber.bean.Step;
 import com.decathlon.ara.scenario.cucumber.support.ResultsWithMatch;
+import com.decathlon.ara.scenario.cucumber.support.StepDefinitionMatcher;
 import lombok.experimental.UtilityClass;
 import org.apache.commons.lang3.StringUtils;
 
@@ -33,7 +34,7 @@ import java.util.List;
 @UtilityClass
 public class ErrorExtractorUtil {
 
-    public static List<Error> extractErrors(List<String> stepDefinitions, ResultsWithMatch[] stepsOrHooks, String hookName) {
+    public static List<Error> extractErrors(StepDefinitionMatcher stepDefinitions, ResultsWithMatch[] stepsOrHooks, String hookName) {
         final List<Error> errors = new ArrayList<>();
         if (stepsOrHooks != null) {
             for (int i = 0; i < stepsOrHooks.length; i++) {
@@ -47,7 +48,7 @@ public class ErrorExtractorUtil {
         return errors;
     }
 
-    private static Error extractError(List<String> stepDefinitions, final ResultsWithMatch stepOrHook, String hookName, int hookIndex) {
+    private static Error extractError(StepDefinitionMatcher stepDefinitions, final ResultsWithMatch stepOrHook, String hookName, int hookIndex) {
         final String errorMessage = extractErrorMessage(stepOrHook);
         if (StringUtils.isEmpty(errorMessage)) {
             return null;
@@ -21,6 +21,7 @@ import com.decathlon.ara.scenario.cucumber.bean.Argument;
 import com.decathlon.ara.scenario.cucumber.bean.Match;
 import com.decathlon.ara.scenario.cucumber.bean.Step;
 import com.decathlon.ara.scenario.cucumber.support.ResultsWithMatch;
+import com.decathlon.ara.scenario.cucumber.support.StepDefinitionMatcher;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.experimental.UtilityClass;
@@ -30,7 +31,6 @@ import org.apache.commons.lang3.StringUtils;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Pattern;
 
 /**
  * A set of static functions with no dependency nor side-effect (no download, upload, database access...) that parse a stepDefinitions.json or manipulate the parsed result.
@@ -57,10 +57,10 @@ public class StepDefinitionUtil {
     /**
      * @param stepOrHook      the step or hook for which to compute the step definition
      * @param hookName        optional hook name to use as step definition if stepOrHook is a hook and therefore has no step definition
-     * @param stepDefinitions the parsed list of step definitions extracted from Cucumber
+     * @param stepDefinitions the matcher of the parsed list of step definitions extracted from Cucumber
      * @return the step definition of the step or the hook class+method of the hook
      */
-    public static String extractStepDefinition(ResultsWithMatch stepOrHook, String hookName, List<String> stepDefinitions) {
+    public static String extractStepDefinition(ResultsWithMatch stepOrHook, String hookName, StepDefinitionMatcher stepDefinitions) {
         String stepDefinition;
         Match match = stepOrHook.getMatch();
         if (StringUtils.isEmpty(hookName)) {
@@ -73,18 +73,13 @@ public class StepDefinitionUtil {
     }
 
     /**
-     * @param stepDefinitions the list of step definitions extracted from Cucumber
+     * @param stepDefinitions the matcher of the list of step definitions extracted from Cucumber
      * @param stepName        eg. "User goes to the product details page of product \"NrtP01\" model \"NrtP01M3\""
      * @param arguments       eg. [ { "val": "NrtP01", "offset": 50 }, { "val": "NrtP01M3", "offset": 65 } ]
      * @return the match in stepDefinitions, or a simulated one (eg. "User goes to the product details page of product \"*\" model \"*\"")
      */
-    private static String getMatchingStepDefinition(List<String> stepDefinitions, String stepName, Argument[] arguments) {
-        List<String> matchingStepDefinitions = new ArrayList<>();
-        for (String stepDefinition : stepDefinitions) {
-            if (Pattern.compile(stepDefinition).matcher(stepName).matches()) {
-                matchingStepDefinitions.add(stepDefinition);
-            }
-        }
+    private static String getMatchingStepDefinition(StepDefinitionMatcher stepDefinitions, String stepName, Argument[] arguments) {
+        List<String> matchingStepDefinitions = stepDefinitions.getMatchingStepDefinitions(stepName);
 
         if (matchingStepDefinitions.isEmpty()) {
             log.error("Cannot find any matching step definition for \"{}\"", stepName);
@@ -19,24 +19,29 @@ package com.decathlon.ara.scenario.cypress.indexer;
 
 import com.decathlon.ara.domain.ExecutedScenario;
 import com.decathlon.ara.domain.Run;
+import com.decathlon.ara.scenario.common.indexer.IndexingContext;
 import com.decathlon.ara.scenario.common.indexer.ScenariosIndexer;
+import com.decathlon.ara.scenario.cucumber.bean.Feature;
 import com.decathlon.ara.scenario.cucumber.indexer.CucumberScenariosIndexer;
 import com.decathlon.ara.scenario.cucumber.service.ExecutedScenarioExtractorService;
 import com.decathlon.ara.scenario.cypress.bean.media.CypressMedia;
+import com.decathlon.ara.scenario.cypress.bean.media.CypressSnapshot;
 import com.decathlon.ara.scenario.cypress.bean.media.CypressVideo;
 import com.decathlon.ara.scenario.cypress.settings.CypressSettings;
 import com.decathlon.ara.service.FileProcessorService;
-import com.decathlon.ara.service.TechnologySettingService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Component;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 @Component
@@ -47,9 +52,6 @@ public class CypressScenariosIndexer implements ScenariosIndexer {
     @NonNull
     private final ObjectMapper objectMapper;
 
-    @NonNull
-    private final TechnologySettingService technologySettingService;
-
     @NonNull
     private final FileProcessorService fileProcessorService;
 
@@ -59,18 +61,21 @@ public class CypressScenariosIndexer implements ScenariosIndexer {
     @NonNull
     private final ExecutedScenarioExtractorService executedScenarioExtractorService;
 
+    @NonNull
+    private final AsyncTaskExecutor reportParsingExecutor;
+
     @Override
-    public List<ExecutedScenario> getExecutedScenarios(File parentFolder, Run run, Long projectId) {
+    public List<ExecutedScenario> getExecutedScenarios(File parentFolder, Run run, IndexingContext context) {
         List<ExecutedScenario> executedScenarios = new ArrayList<>();
 
-        String cucumberReportsFolderPath = technologySettingService.getSettingValue(projectId, CypressSettings.CUCUMBER_REPORTS_FOLDER_PATHS).orElse("");
+        String cucumberReportsFolderPath = context.getTechnologySettingValue(CypressSettings.CUCUMBER_REPORTS_FOLDER_PATHS).orElse("");
         Optional<File> cucumberFolder = fileProcessorService.getMatchingDirectory(parentFolder, cucumberReportsFolderPath);
 
         if (!cucumberFolder.isPresent()) {
             return executedScenarios;
         }
 
-        String cucumberSuffixValue = technologySettingService.getSettingValue(projectId, CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE).orElse("");
+        String cucumberSuffixValue = context.getTechnologySettingValue(CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE).orElse("");
         String cucumberReportFileNameSuffix = String.format(".%s.json", cucumberSuffixValue);
         File[] cucumberFolderContent = cucumberFolder.get().listFiles();
         List<File> cucumberReportFiles = Arrays.stream(cucumberFolderContent)
@@ -82,12 +87,12 @@ public class CypressScenariosIndexer implements ScenariosIndexer {
             return executedScenarios;
         }
 
-        String stepDefinitionsFolderPath = technologySettingService.getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FOLDER_PATH).orElse("");
+        String stepDefinitionsFolderPath = context.getTechnologySettingValue(CypressSettings.STEP_DEFINITIONS_FOLDER_PATH).orElse("");
         Optional<File> stepDefinitionFolder = fileProcessorService.getMatchingDirectory(parentFolder, stepDefinitionsFolderPath);
         final List<File> stepDefinitionFiles = stepDefinitionFolder
                 .map(File::listFiles)
                 .map(files -> {
-                    String stepDefinitionsSuffixValue = technologySettingService.getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FILE_NAME_SUFFIX_VALUE).orElse("");
+                    String stepDefinitionsSuffixValue = context.getTechnologySettingValue(CypressSettings.STEP_DEFINITIONS_FILE_NAME_SUFFIX_VALUE).orElse("");
                     String stepDefinitionFileNameSuffix = String.format(".%s.json", stepDefinitionsSuffixValue);
                     return Arrays.stream(files)
                             .filter(File::isFile)
@@ -96,24 +101,21 @@ public class CypressScenariosIndexer implements ScenariosIndexer {
                 })
                 .orElse(new ArrayList<>());
 
-        executedScenarios = cucumberReportFiles.stream()
-                .map(file -> Pair.of(file, getStepDefinitionsFile(file, stepDefinitionFiles)))
-                .map(pair ->
-                        Pair.of(
-                                cucumberScenariosIndexer.getCucumberFeaturesFromReport(pair.getFirst()),
-                                pair.getSecond().isPresent() ? cucumberScenariosIndexer.getCucumberStepDefinitions(pair.getSecond().get()) : new ArrayList<String>()
-                        )
-                )
-                .map(pair -> executedScenarioExtractorService.extractExecutedScenarios(pair.getFirst(), pair.getSecond(), run.getJobUrl()))
-                .flatMap(Collection::stream)
+        Map<String, List<File>> stepDefinitionFilesByPrefix = stepDefinitionFiles.stream()
+                .collect(Collectors.groupingBy(this::getPrefixFromFile, LinkedHashMap::new, Collectors.toList()));
+        List<Future<List<ExecutedScenario>>> reportExtractions = cucumberReportFiles.stream()
+                .map(file -> reportParsingExecutor.submit(() -> extractExecutedScenarios(file, getStepDefinitionsFile(file, stepDefinitionFilesByPrefix), run)))
                 .collect(Collectors.toList());
 
-        String mediaPath = technologySettingService.getSettingValue(projectId, CypressSettings.MEDIA_FILE_PATH).orElse("");
+        String mediaPath = context.getTechnologySettingValue(CypressSettings.MEDIA_FILE_PATH).orElse("");
         List<CypressMedia> medias = fileProcessorService.getMappedObjectListFromFile(parentFolder, mediaPath, CypressMedia.class);
+        Map<String, CypressMedia> mediasByFeature = new HashMap<>();
+        medias.forEach(media -> mediasByFeature.putIfAbsent(media.getFeature(), media));
+        Map<String, Map<String, String>> snapshotUrlsByFeature = new HashMap<>();
 
-        executedScenarios = executedScenarios.stream()
+        executedScenarios = collectExecutedScenarios(reportExtractions).stream()
                 .map(scenario -> {
-                    Optional<Pair<Optional<String>, String>> mediaUrls = getSnapshotAndVideoUrls(scenario, medias);
+                    Optional<Pair<Optional<String>, String>> mediaUrls = getSnapshotAndVideoUrls(scenario, mediasByFeature, snapshotUrlsByFeature);
                     mediaUrls.ifPresent(pair -> {
                         pair.getFirst().ifPresent(scenario::setScreenshotUrl);
                         scenario.setVideoUrl(pair.getSecond());
@@ -125,17 +127,55 @@ public class CypressScenariosIndexer implements ScenariosIndexer {
         return executedScenarios;
     }
 
+    /**
+     * Parse a Cucumber report and its step definitions file (if any), then extract its executed scenarios
+     * @param cucumberReportFile the Cucumber report file
+     * @param stepDefinitionsFile the matching step definitions file, if any
+     * @param run the run
+     * @return the executed scenarios of the report
+     */
+    private List<ExecutedScenario> extractExecutedScenarios(File cucumberReportFile, Optional<File> stepDefinitionsFile, Run run) {
+        List<Feature> features = cucumberScenariosIndexer.getCucumberFeaturesFromReport(cucumberReportFile);
+        List<String> stepDefinitions = stepDefinitionsFile.isPresent() ? cucumberScenariosIndexer.getCucumberStepDefinitions(stepDefinitionsFile.get()) : new ArrayList<>();
+        return executedScenarioExtractorService.extractExecutedScenarios(features, stepDefinitions, run.getJobUrl());
+    }
+
+    /**
+     * Wait for the Cucumber reports to be parsed (in parallel) and concatenate their executed scenarios, in the order
+     * of the reports. If a report fails, the reports not parsed yet are cancelled.
+     * @param reportExtractions the pending extraction of each Cucumber report, in report order
+     * @return the executed scenarios of all the reports
+     */
+    private List<ExecutedScenario> collectExecutedScenarios(List<Future<List<ExecutedScenario>>> reportExtractions) {
+        List<ExecutedScenario> executedScenarios = new ArrayList<>();
+        try {
+            for (Future<List<ExecutedScenario>> reportExtraction : reportExtractions) {
+                executedScenarios.addAll(reportExtraction.get());
+            }
+        } catch (InterruptedException e) {
+            reportExtractions.forEach(extraction -> extraction.cancel(false));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while parsing the Cucumber reports", e);
+        } catch (ExecutionException e) {
+            reportExtractions.forEach(extraction -> extraction.cancel(false));
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Failed to parse a Cucumber report", e.getCause());
+        }
+        return executedScenarios;
+    }
+
     /**
      * Get the matching step definitions file from a Cucumber report, if found
      * @param cucumberReportFile the Cucumber report file
-     * @param stepDefinitionsFiles all the step definitions files
+     * @param stepDefinitionsFilesByPrefix all the step definitions files, grouped by prefix (in listing order)
      * @return a step definitions file, if any
      */
-    private Optional<File> getStepDefinitionsFile(File cucumberReportFile, List<File> stepDefinitionsFiles) {
-        Optional<File> matchingStepDefinition = stepDefinitionsFiles.stream()
+    private Optional<File> getStepDefinitionsFile(File cucumberReportFile, Map<String, List<File>> stepDefinitionsFilesByPrefix) {
+        return stepDefinitionsFilesByPrefix.getOrDefault(getPrefixFromFile(cucumberReportFile), Collections.emptyList()).stream()
                 .filter(stepDefinitionsFile -> filesHaveTheSamePrefix(cucumberReportFile, stepDefinitionsFile))
                 .findFirst();
-        return matchingStepDefinition;
     }
 
     /**
@@ -170,21 +210,35 @@ public class CypressScenariosIndexer implements ScenariosIndexer {
     /**
      * Get the snapshots and videos urls matching an executed scenario, if found
      * @param executedScenario the executed scenario
-     * @param availableMedias all the available videos and snapshots details
+     * @param mediasByFeature all the available videos and snapshots details, by feature (the first one of each feature)
+     * @param snapshotUrlsByFeature the snapshot urls by id of the features already looked up, filled on demand
      * @return a pair of snapshot and video urls, if any
      */
-    private Optional<Pair<Optional<String>, String>> getSnapshotAndVideoUrls(ExecutedScenario executedScenario, List<CypressMedia> availableMedias) {
-        return availableMedias.stream()
-                .filter(media -> executedScenario.getFeatureFile().equals(media.getFeature()))
-                .findFirst()
+    private Optional<Pair<Optional<String>, String>> getSnapshotAndVideoUrls(ExecutedScenario executedScenario, Map<String, CypressMedia> mediasByFeature, Map<String, Map<String, String>> snapshotUrlsByFeature) {
+        String feature = executedScenario.getFeatureFile();
+        return Optional.ofNullable(feature)
+                .map(mediasByFeature::get)
                 .map(media -> {
-                    Optional<String> snapshotUrl = media.getSnapshots().stream()
-                            .filter(image -> executedScenario.getCucumberId().equals(image.getId()))
-                            .map(image -> image.getUrl())
-                            .findFirst();
+                    Map<String, String> snapshotUrls = snapshotUrlsByFeature.computeIfAbsent(feature, key -> getSnapshotUrlsById(media));
+                    Optional<String> snapshotUrl = Optional.ofNullable(executedScenario.getCucumberId()).map(snapshotUrls::get);
                     CypressVideo video = media.getVideo();
                     String videoUrl = video.getUrl();
                     return Pair.of(snapshotUrl, videoUrl);
                 });
     }
+
+    /**
+     * Index the snapshots of a media by id
+     * @param media the videos and snapshots details of a feature
+     * @return the snapshot urls by id (the first snapshot of each id)
+     */
+    private Map<String, String> getSnapshotUrlsById(CypressMedia media) {
+        Map<String, String> snapshotUrls = new HashMap<>();
+        for (CypressSnapshot snapshot : media.getSnapshots()) {
+            if (!snapshotUrls.containsKey(snapshot.getId())) {
+                snapshotUrls.put(snapshot.getId(), snapshot.getUrl());
+            }
+        }
+        return snapshotUrls;
+    }
 }
@@ -17,8 +17,9 @@
 
 package com.decathlon.ara.scenario.postman.bean;
 
+import com.decathlon.ara.scenario.postman.model.ResponseBodyBuffer;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import java.io.File;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -33,16 +34,17 @@ public class Stream {
 
     /**
      * The body of an HTTP response (or request) as a stream of bytes.<br>
-     * Can potentially be big, so while streaming the JSON file, the data is saved to a temporary file on disk and the field is set to false to avoid OutOfMemoryErrors. The file can then be removed (if request was a success) or uploaded (if the request was an error and we need the response stream data to debug it).<br>
+     * Can potentially be big, so while streaming the JSON file, the data is moved to a {@link #body} buffer (spilling big bodies to disk) and the field is set to null to avoid OutOfMemoryErrors. The buffer can then be released (if request was a success) or uploaded (if the request was an error and we need the response stream data to debug it).<br>
      * There is a "type":"Buffer" in the Stream object, but it might be for future expansion, as there is currently no other values.
      */
     private byte[] data;
 
     /**
-     * Temporary file used to temporarily dump the stream from {@code data}.
+     * Buffer keeping the stream from {@code data}, in memory or in a temporary file depending on its size.
      *
      * @see #data data for more detailed documentation of the process
      */
-    private File tempFile;
+    @JsonIgnore
+    private ResponseBodyBuffer body;
 
 }
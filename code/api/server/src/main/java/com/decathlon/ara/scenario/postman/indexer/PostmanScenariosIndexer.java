@@ -20,27 +20,35 @@ package com.decathlon.ara.scenario.postman.indexer;
 import com.decathlon.ara.ci.util.JsonParserConsumer;
 import com.decathlon.ara.domain.ExecutedScenario;
 import com.decathlon.ara.domain.Run;
+import com.decathlon.ara.scenario.common.indexer.IndexingContext;
 import com.decathlon.ara.scenario.common.indexer.ScenariosIndexer;
 import com.decathlon.ara.scenario.postman.model.NewmanParsingResult;
 import com.decathlon.ara.scenario.postman.service.PostmanService;
 import com.decathlon.ara.scenario.postman.settings.PostmanSettings;
 import com.decathlon.ara.service.FileProcessorService;
-import com.decathlon.ara.service.TechnologySettingService;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Component;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
@@ -54,69 +62,155 @@ public class PostmanScenariosIndexer implements ScenariosIndexer {
     private final JsonFactory jsonFactory;
 
     @NonNull
-    private final TechnologySettingService technologySettingService;
+    private final FileProcessorService fileProcessorService;
 
     @NonNull
-    private final FileProcessorService fileProcessorService;
+    private final AsyncTaskExecutor reportParsingExecutor;
 
     /**
      * Get the Postman executed scenarios
      * @param postmanFolder the folder containing all the Postman related files
      * @param run the run
-     * @param projectId the project id
+     * @param context the settings of the project, loaded once for the whole execution indexing
+     * @return the Postman executed scenarios
+     */
+    @Override
+    public List<ExecutedScenario> getExecutedScenarios(File postmanFolder, Run run, IndexingContext context) {
+        return getExecutedScenarios(postmanFolder.toPath(), run, context);
+    }
+
+    /**
+     * Get the Postman executed scenarios, streaming the Newman reports straight from the folder's file system (no
+     * extraction needed when it is a folder of a zip file system)
+     * @param postmanFolder the folder containing all the Postman related files
+     * @param run the run
+     * @param context the settings of the project, loaded once for the whole execution indexing
      * @return the Postman executed scenarios
      */
     @Override
-    public List<ExecutedScenario> getExecutedScenarios(File postmanFolder, Run run, Long projectId) {
-        List<List<ExecutedScenario>> allExecutedScenarios = new ArrayList<>();
-        String postmanReportFolderName = technologySettingService.getSettingValue(projectId, PostmanSettings.REPORTS_PATH).orElse("");
-        List<File> postmanReports = getNewmanReportFiles(postmanFolder, postmanReportFolderName);
-        String resultFileName = technologySettingService.getSettingValue(projectId, PostmanSettings.RESULT_FILE_NAME).orElse("").toLowerCase();
+    public List<ExecutedScenario> getExecutedScenarios(Path postmanFolder, Run run, IndexingContext context) {
+        String postmanReportFolderName = context.getTechnologySettingValue(PostmanSettings.REPORTS_PATH).orElse("");
+        List<Path> postmanReports = getNewmanReportFiles(postmanFolder, postmanReportFolderName);
+        String resultFileName = context.getTechnologySettingValue(PostmanSettings.RESULT_FILE_NAME).orElse("").toLowerCase();
         Boolean containsResult = postmanReports.stream()
-                .anyMatch(file -> resultFileName.equals(file.getName().toLowerCase()));
-        if (containsResult) {
-            List<File> postmanReportsWithoutResultFile = postmanReports.stream()
-                    .filter(file -> !resultFileName.equals(file.getName().toLowerCase()))
-                    .collect(Collectors.toList());
+                .anyMatch(file -> resultFileName.equals(getFileName(file).toLowerCase()));
+        if (!containsResult) {
+            return new ArrayList<>();
+        }
+        List<Future<Optional<NewmanReportScenarios>>> reportProcessings = postmanReports.stream()
+                .filter(file -> !resultFileName.equals(getFileName(file).toLowerCase()))
+                .map(postmanReportFile -> reportParsingExecutor.submit(() -> processNewmanReport(postmanReportFile, run)))
+                .collect(Collectors.toList());
+        return numberExecutedScenarios(reportProcessings);
+    }
 
+    /**
+     * Parse and post-process one Newman report, numbering its executed scenarios from 1 (they are renumbered across
+     * the whole run by {@link #numberExecutedScenarios(List)}). The response bodies of the report are always released.
+     * @param postmanReportFile the Newman report file
+     * @param run the run
+     * @return the executed scenarios of the report, or empty if the report could not be read
+     */
+    private Optional<NewmanReportScenarios> processNewmanReport(Path postmanReportFile, Run run) {
+        final NewmanParsingResult newmanParsingResult = new NewmanParsingResult();
+        try {
+            JsonParserConsumer consumer = jsonParser -> postmanService.parse(jsonParser, newmanParsingResult);
+            try (InputStream input = Files.newInputStream(postmanReportFile); JsonParser parser = jsonFactory.createParser(input)) {
+                consumer.accept(parser);
+            } catch (IOException e) {
+                log.error("Error while handling the postman report file {}", postmanReportFile.toUri(), e);
+                return Optional.empty();
+            }
             AtomicInteger requestPosition = new AtomicInteger(0);
+            List<ExecutedScenario> executedScenarios = postmanService.postProcess(run, newmanParsingResult, getFileName(postmanReportFile), requestPosition);
+            return Optional.of(new NewmanReportScenarios(executedScenarios, requestPosition.get()));
+        } finally {
+            postmanService.releaseResponseBodies(newmanParsingResult);
+        }
+    }
 
-            for (File postmanReportFile : postmanReportsWithoutResultFile) {
-                final NewmanParsingResult newmanParsingResult = new NewmanParsingResult();
-                try {
-                    JsonParserConsumer consumer = jsonParser -> postmanService.parse(jsonParser, newmanParsingResult);
-                    try (InputStream input = new FileInputStream(postmanReportFile); JsonParser parser = jsonFactory.createParser(input)) {
-                        consumer.accept(parser);
-                    } catch (IOException e) {
-                        log.error("Error while handling the postman report file {}", postmanReportFile.getPath(), e);
-                        return new ArrayList<>();
-                    }
-                    List<ExecutedScenario> currentFileExecutedScenarios = postmanService.postProcess(run, newmanParsingResult, postmanReportFile.getName(), requestPosition);
-                    allExecutedScenarios.add(currentFileExecutedScenarios);
-                } finally {
-                    postmanService.deleteTempFiles(newmanParsingResult);
+    /**
+     * Wait for the Newman reports to be processed (in parallel) and shift the line of their executed scenarios, in
+     * the (sorted) order of the reports, so each line is unique across the run and does not depend on thread
+     * scheduling.<br>
+     * If a report could not be read, no scenario is returned for the run: the reports not processed yet are cancelled,
+     * and the ones being processed release their own response bodies.
+     * @param reportProcessings the pending processing of each Newman report, in report order
+     * @return the executed scenarios of all the reports, or an empty list if a report could not be read
+     */
+    private List<ExecutedScenario> numberExecutedScenarios(List<Future<Optional<NewmanReportScenarios>>> reportProcessings) {
+        List<ExecutedScenario> allExecutedScenarios = new ArrayList<>();
+        int requestOffset = 0;
+        try {
+            for (Future<Optional<NewmanReportScenarios>> reportProcessing : reportProcessings) {
+                Optional<NewmanReportScenarios> reportScenarios = reportProcessing.get();
+                if (!reportScenarios.isPresent()) {
+                    reportProcessings.forEach(processing -> processing.cancel(false));
+                    return new ArrayList<>();
+                }
+                for (ExecutedScenario executedScenario : reportScenarios.get().getExecutedScenarios()) {
+                    executedScenario.setLine(requestOffset + executedScenario.getLine());
+                    allExecutedScenarios.add(executedScenario);
                 }
+                requestOffset += reportScenarios.get().getRequestCount();
             }
+        } catch (InterruptedException e) {
+            reportProcessings.forEach(processing -> processing.cancel(false));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while processing the Newman reports", e);
+        } catch (ExecutionException e) {
+            reportProcessings.forEach(processing -> processing.cancel(false));
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Failed to process a Newman report", e.getCause());
         }
-        return allExecutedScenarios.stream()
-                .flatMap(Collection::stream)
-                .collect(Collectors.toList());
+        return allExecutedScenarios;
     }
 
     /**
-     * Extract the Newman report files, i.e. files in the reports folder
+     * Extract the Newman report files, i.e. files in the reports folder (sorted by name, to keep the request positions
+     * independent of the file system listing order)
      * @param newmanFolder the newman folder
      * @param newmanReportFolderName the name (or relative path) of the folder containing the reports
      * @return all the report files
      */
-    private List<File> getNewmanReportFiles(File newmanFolder, String newmanReportFolderName) {
-        List<File> newmanReportFiles = new ArrayList<>();
-        final Optional<File> newmanReportFolder = fileProcessorService.getMatchingDirectory(newmanFolder, newmanReportFolderName);
+    private List<Path> getNewmanReportFiles(Path newmanFolder, String newmanReportFolderName) {
+        List<Path> newmanReportFiles = new ArrayList<>();
+        final Optional<Path> newmanReportFolder = fileProcessorService.getMatchingDirectoryPath(newmanFolder, newmanReportFolderName);
         if (newmanReportFolder.isPresent()) {
-            final File reportFolder = newmanReportFolder.get();
-            final File[] allReportFolderContent = reportFolder.listFiles();
-            newmanReportFiles = Arrays.asList(Arrays.stream(allReportFolderContent).filter(File::isFile).toArray(File[]::new));
+            try (Stream<Path> allReportFolderContent = Files.list(newmanReportFolder.get())) {
+                newmanReportFiles = allReportFolderContent
+                        .filter(Files::isRegularFile)
+                        .sorted(Comparator.comparing(this::getFileName))
+                        .collect(Collectors.toList());
+            } catch (IOException e) {
+                log.error("Cannot list the Newman reports in {}", newmanReportFolder.get().toUri(), e);
+            }
         }
         return newmanReportFiles;
     }
+
+    /**
+     * @param path a file or directory, from any file system
+     * @return the name of the file or directory (without the trailing separator some zip file systems keep on directories)
+     */
+    private String getFileName(Path path) {
+        return StringUtils.removeEnd(String.valueOf(path.getFileName()), "/");
+    }
+
+    /**
+     * The executed scenarios of one Newman report, with their lines numbered from 1 to the number of requests of the
+     * report's collection (items that did not execute also consume a line number)
+     */
+    @Getter
+    @AllArgsConstructor
+    private static class NewmanReportScenarios {
+
+        private final List<ExecutedScenario> executedScenarios;
+
+        private final int requestCount;
+
+    }
+
 }
@@ -40,4 +40,9 @@ public class NewmanParsingResult {
 
     private List<Failure> failures;
 
+    /**
+     * The number of bytes of the response bodies kept in memory so far, bounded by the memory budget of a report.
+     */
+    private long bufferedBytes;
+
 }
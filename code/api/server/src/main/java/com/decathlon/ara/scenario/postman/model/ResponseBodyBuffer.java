@@ -0,0 +1,127 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.scenario.postman.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import lombok.Getter;
+import org.apache.commons.io.FileUtils;
+
+/**
+ * The body of an HTTP response of a Newman report, kept until the report is post-processed: small bodies are kept in
+ * memory, big ones are spilled to a temporary file to avoid OutOfMemoryErrors.<br>
+ * Most bodies are released without ever being read (the request passed), so keeping them in memory spares the
+ * creation and deletion of a file per request.
+ */
+public class ResponseBodyBuffer implements Closeable {
+
+    /**
+     * The body, while it is kept in memory (null if it is spilled to disk or released).
+     */
+    private byte[] bytes;
+
+    /**
+     * The temporary file where the body is spilled (null if it is kept in memory or released).
+     */
+    private File file;
+
+    /**
+     * The length of the body, in bytes.
+     */
+    @Getter
+    private final long length;
+
+    private ResponseBodyBuffer(byte[] bytes, File file, long length) {
+        this.bytes = bytes;
+        this.file = file;
+        this.length = length;
+    }
+
+    /**
+     * @param data the body of an HTTP response (kept as is: it must not be modified afterward)
+     * @return a buffer keeping the body in memory
+     */
+    public static ResponseBodyBuffer inMemory(byte[] data) {
+        return new ResponseBodyBuffer(data, null, data.length);
+    }
+
+    /**
+     * @param data the body of an HTTP response
+     * @return a buffer keeping the body in a temporary file
+     * @throws IOException if the temporary file cannot be written (it is then deleted)
+     */
+    public static ResponseBodyBuffer spilled(byte[] data) throws IOException {
+        File file = File.createTempFile("ara_execution_response_stream_", ".bin");
+        file.deleteOnExit();
+        try {
+            FileUtils.writeByteArrayToFile(file, data);
+        } catch (IOException e) {
+            FileUtils.deleteQuietly(file);
+            throw e;
+        }
+        return new ResponseBodyBuffer(null, file, data.length);
+    }
+
+    /**
+     * @return true if the body is kept in a temporary file, false if it is kept in memory or released
+     */
+    public boolean isSpilled() {
+        return file != null;
+    }
+
+    /**
+     * @return a new stream of the body (to be closed by the caller): the body can be read several times until released
+     * @throws IOException if the body was released or its temporary file cannot be read
+     */
+    public InputStream openStream() throws IOException {
+        if (bytes != null) {
+            return new ByteArrayInputStream(bytes);
+        } else if (file != null) {
+            return Files.newInputStream(file.toPath());
+        }
+        throw new IOException("The response body has already been released");
+    }
+
+    /**
+     * Release the body: drop it from memory or delete its temporary file. Does nothing if already released.
+     *
+     * @throws IOException if the temporary file cannot be deleted (the body is released anyway)
+     */
+    @Override
+    public void close() throws IOException {
+        bytes = null;
+        if (file != null) {
+            final File spilledFile = file;
+            file = null;
+            Files.deleteIfExists(spilledFile.toPath());
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (file != null) {
+            return "response body of " + length + " bytes in " + file;
+        }
+        return "response body of " + length + " bytes" + (bytes == null ? " (released)" : " in memory");
+    }
+
+}
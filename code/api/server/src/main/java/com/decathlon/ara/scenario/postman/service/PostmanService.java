@@ -17,6 +17,7 @@
 
 package com.decathlon.ara.scenario.postman.service;
 
+import com.decathlon.ara.configuration.AraConfiguration;
 import com.decathlon.ara.domain.ExecutedScenario;
 import com.decathlon.ara.domain.Run;
 import com.decathlon.ara.domain.Source;
@@ -25,17 +26,22 @@ import com.decathlon.ara.scenario.postman.bean.Error;
 import com.decathlon.ara.scenario.postman.bean.*;
 import com.decathlon.ara.scenario.postman.model.NewmanParsingResult;
 import com.decathlon.ara.scenario.postman.model.NewmanScenario;
+import com.decathlon.ara.scenario.postman.model.ResponseBodyBuffer;
+import com.decathlon.ara.scenario.postman.util.HtmlEscapingWriter;
 import com.decathlon.ara.scenario.cucumber.asset.AssetService;
 import com.decathlon.ara.scenario.cucumber.bean.Status;
 import com.decathlon.ara.scenario.cucumber.bean.Tag;
 import com.decathlon.ara.scenario.cucumber.util.ScenarioExtractorUtil;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
@@ -44,11 +50,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
@@ -89,6 +98,9 @@ public class PostmanService {
     @NonNull
     private final AssetService assetService;
 
+    @NonNull
+    private final AraConfiguration araConfiguration;
+
     /**
      * <p>Newman reports are very huge.<br>
      * Streaming it in order to avoid OutOfMemoryException.</p>
@@ -207,9 +219,8 @@ public class PostmanService {
 
             if (startingArray && "executions".equals(fieldName)) {
                 log.debug("[json:$.run] found executions: parsing it");
-                List<Execution> executions = new ArrayList<>();
-                result.setExecutions(executions);
-                parseExecutions(parser, executions);
+                result.setExecutions(new ArrayList<>());
+                parseExecutions(parser, result);
 
             } else if (startingArray && "failures".equals(fieldName)) {
                 log.debug("[json:$.run] found failures: parsing it");
@@ -223,13 +234,13 @@ public class PostmanService {
     }
 
     /**
-     * Parse the "executions" array, one value at a time, saving the response body streams to files on the go (to free up some RAM).
+     * Parse the "executions" array, one value at a time, buffering the response body streams on the go (spilling the big ones to files, to free up some RAM).
      *
-     * @param parser     the parser, pointing to the START_ARRAY of the "executions" array of an open stream
-     * @param executions the list where to put the read executions
+     * @param parser the parser, pointing to the START_ARRAY of the "executions" array of an open stream
+     * @param result the object where to put the read executions, and accounting for the response bodies kept in memory
      * @throws IOException if something goes wrong (streaming or parsing error)
      */
-    private void parseExecutions(JsonParser parser, List<Execution> executions) throws IOException {
+    private void parseExecutions(JsonParser parser, NewmanParsingResult result) throws IOException {
         while (!parser.isClosed()) {
             JsonToken jsonToken = parser.nextToken();
             if (jsonToken == JsonToken.END_ARRAY) {
@@ -239,20 +250,21 @@ public class PostmanService {
             if (jsonToken == JsonToken.START_OBJECT) {
                 log.debug("[json:$.run.executions] found execution: parsing it");
                 Execution execution = objectMapper.readValue(parser, Execution.class);
-                executions.add(execution); // Add BEFORE saving to file: if write fails (no space left), the "half-"file can be deleted
-                saveExecutionStreamToFile(execution);
+                result.getExecutions().add(execution); // Add BEFORE buffering: all buffered bodies are released even if a later one fails
+                bufferExecutionStream(execution, result);
             }
         }
     }
 
     /**
-     * Save the HTTP response body stream to file, if any, and set it to null (to free up some RAM).<br>
-     * While setting stream data to null, the stream tempFile is set.
+     * Move the HTTP response body stream, if any, to a buffer and set the stream data to null.<br>
+     * The body stays in memory if it is small and the memory budget of the report is not exhausted: it is spilled to a temporary file otherwise (to free up some RAM).
      *
      * @param execution the execution (may not contain any response not any stream data)
+     * @param result    the report being parsed, accounting for the response bodies kept in memory
      * @throws IOException if something goes wrong (streaming or parsing error)
      */
-    void saveExecutionStreamToFile(Execution execution) throws IOException {
+    void bufferExecutionStream(Execution execution, NewmanParsingResult result) throws IOException {
         if (execution.getResponse() == null ||
                 execution.getResponse().getStream() == null ||
                 execution.getResponse().getStream().getData() == null) {
@@ -260,11 +272,15 @@ public class PostmanService {
         }
 
         final Stream stream = execution.getResponse().getStream();
+        final byte[] data = stream.getData();
 
-        File file = File.createTempFile("ara_execution_response_stream_", ".bin");
-        file.deleteOnExit();
-        FileUtils.writeByteArrayToFile(file, stream.getData());
-        stream.setTempFile(file);
+        if (data.length <= araConfiguration.getNewmanResponseBodyMemoryThresholdInBytes() &&
+                result.getBufferedBytes() + data.length <= araConfiguration.getNewmanResponseBodyMemoryBudgetInBytes()) {
+            stream.setBody(ResponseBodyBuffer.inMemory(data));
+            result.setBufferedBytes(result.getBufferedBytes() + data.length);
+        } else {
+            stream.setBody(ResponseBodyBuffer.spilled(data));
+        }
         stream.setData(null);
     }
 
@@ -667,7 +683,7 @@ public class PostmanService {
         // We will only upload HTTP logs for failed requests, to not overload the server with too much details
         for (NewmanScenario newmanScenario : newmanScenarios) {
             if (newmanScenario.getFailures().isEmpty()) {
-                deleteTempFile(newmanScenario.getExecution().getResponse());
+                releaseResponseBody(newmanScenario.getExecution().getResponse());
             }
         }
 
@@ -687,42 +703,43 @@ public class PostmanService {
     }
 
     /**
-     * Delete the temporary file generated for a Newman request (removing the HTTP response body file),
-     * after having processed the file or after an exception was thrown during report processing, to clean up the server's temporary folder.
+     * Release the buffer of the HTTP response body of a Newman request (freeing its memory or deleting its temporary file),
+     * after having processed the body or after an exception was thrown during report processing, to clean up the server's temporary folder.
      *
-     * @param response an HTTP response (can be null, with or without a body stream, itself with or without temporary file)
+     * @param response an HTTP response (can be null, with or without a body stream, itself with or without buffer)
      */
-    void deleteTempFile(Response response) {
+    void releaseResponseBody(Response response) {
         if (response != null && response.getStream() != null) {
             Stream stream = response.getStream();
-            final File tempFile = stream.getTempFile();
-            if (tempFile != null) {
+            final ResponseBodyBuffer body = stream.getBody();
+            if (body != null) {
                 try {
-                    Files.delete(Paths.get(tempFile.getPath()));
+                    body.close();
                 } catch (IOException e) {
-                    log.error("Cannot delete temporary file {}", tempFile, e);
+                    log.error("Cannot delete the temporary file of the {}", body, e);
                 }
-                stream.setTempFile(null);
+                stream.setBody(null);
             }
         }
     }
 
     /**
-     * Delete all temporary files generated for the Newman requests (removing all HTTP response body files),
-     * after having processed the files or after an exception was thrown, to clean up the server's temporary folder.
+     * Release the buffers of all HTTP response bodies of the Newman requests (freeing their memory and deleting their temporary files),
+     * after having processed the bodies or after an exception was thrown, to clean up the server's temporary folder.
      *
      * @param newmanParsingResult the whole Newman parsing result from a Newman JSON report
      */
-    public void deleteTempFiles(NewmanParsingResult newmanParsingResult) {
+    public void releaseResponseBodies(NewmanParsingResult newmanParsingResult) {
         if (newmanParsingResult.getExecutions() != null) {
             for (Execution execution : newmanParsingResult.getExecutions()) {
-                deleteTempFile(execution.getResponse());
+                releaseResponseBody(execution.getResponse());
             }
         }
     }
 
     /**
      * If the given Postman request did execute AND did fail its assertions, generate an HTML log of the request+response, upload it and return the URL of the uploaded HTML debug information.<br>
+     * The HTML is rendered while being uploaded, never as a whole in memory.<br>
      * Otherwise, do nothing and return null.
      *
      * @param newmanScenario containing an execution of the request by Newman
@@ -730,26 +747,36 @@ public class PostmanService {
      */
     String uploadHttpLog(NewmanScenario newmanScenario) {
         if (!newmanScenario.getFailures().isEmpty()) {
-            String html = generateHttpLogHtml(newmanScenario);
-
             try {
-                return assetService.saveHttpLogs(html);
+                return assetService.saveHttpLogs(output -> writeHttpLogHtml(newmanScenario, output));
             } finally {
-                deleteTempFile(newmanScenario.getExecution().getResponse());
+                releaseResponseBody(newmanScenario.getExecution().getResponse());
             }
         }
         return null;
     }
 
     /**
-     * Format the actual execution of a Postman request by presenting the request (URL+headers+body) and response (status code + headers + body) in a user-friendly way.
+     * Write the HTML log of the request+response of a Newman request, encoded as UTF-8.
      *
      * @param newmanScenario containing an execution of the request by Newman
-     * @return the HTML with all information of the request and its response
+     * @param output         the stream where to write the HTML (flushed but not closed)
+     * @throws IOException if the HTML cannot be written
      */
-    String generateHttpLogHtml(NewmanScenario newmanScenario) {
-        StringBuilder html = new StringBuilder();
+    void writeHttpLogHtml(NewmanScenario newmanScenario, OutputStream output) throws IOException {
+        Writer html = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        appendHttpLogHtml(html, newmanScenario);
+        html.flush();
+    }
 
+    /**
+     * Format the actual execution of a Postman request by presenting the request (URL+headers+body) and response (status code + headers + body) in a user-friendly way.
+     *
+     * @param html           the Writer in which to write the HTML with all information of the request and its response
+     * @param newmanScenario containing an execution of the request by Newman
+     * @throws IOException if the HTML cannot be written
+     */
+    void appendHttpLogHtml(Writer html, NewmanScenario newmanScenario) throws IOException {
         html.append("<style>\n" +
                 "  body { font-family: 'Avenir', Helvetica, Arial, sans-serif; background-color: #F5F7F9; color: #2c3e50; margin: 16px; }\n" +
                 "  body, th, td { font-size: 12px; }\n" +
@@ -781,15 +808,13 @@ public class PostmanService {
             html.append("<p>Request Not Executed").append(PARAGRAPH_AND_LINE_END);
             html.append(CONTENT_DIV_BEGIN_AND_LINE_END);
         } else {
-            html.append("<p>").append(response.getCode()).append(" ").append(escapeHtml(response.getStatus())).append(PARAGRAPH_AND_LINE_END);
+            html.append("<p>").append(String.valueOf(response.getCode())).append(" ").append(escapeHtml(response.getStatus())).append(PARAGRAPH_AND_LINE_END);
             html.append(CONTENT_DIV_BEGIN_AND_LINE_END);
             appendKeyValues(html, response.getHeader());
             appendResponseBody(html, response.getStream(), getContentType(response.getHeader()));
         }
         html.append(DIV_END_AND_LINE_END);
         html.append(DIV_END_AND_LINE_END);
-
-        return html.toString();
     }
 
     /**
@@ -805,12 +830,13 @@ public class PostmanService {
     }
 
     /**
-     * If any, append a table with all key/value couples into the StringBuilder.
+     * If any, append a table with all key/value couples into the Writer.
      *
-     * @param html      the StringBuilder in which to append the table
+     * @param html      the Writer in which to append the table
      * @param keyValues a list of key/value couples (can be null or empty: nothing will then be appended to html)
+     * @throws IOException if the HTML cannot be written
      */
-    void appendKeyValues(StringBuilder html, KeyValue[] keyValues) {
+    void appendKeyValues(Writer html, KeyValue[] keyValues) throws IOException {
         if (keyValues != null && keyValues.length != 0) {
             html.append("<table>\n");
             for (KeyValue header : keyValues) {
@@ -823,12 +849,13 @@ public class PostmanService {
     }
 
     /**
-     * If any, append the body content of the HTTP request to the StringBuilder, with HTML formatting depending on the mode of request defined in Postman.
+     * If any, append the body content of the HTTP request to the Writer, with HTML formatting depending on the mode of request defined in Postman.
      *
-     * @param html the StringBuilder in which to append the body
+     * @param html the Writer in which to append the body
      * @param body the HTTP request body (can be null or have no mode: nothing will then be appended to html)
+     * @throws IOException if the HTML cannot be written
      */
-    void appendRequestBody(StringBuilder html, Body body) {
+    void appendRequestBody(Writer html, Body body) throws IOException {
         if (body == null || body.getMode() == null) {
             return;
         }
@@ -859,46 +886,94 @@ public class PostmanService {
     }
 
     /**
-     * If any, reads the temp file containing the HTTP response body and append it as String (prettyified if JSON) in the build HTML.
+     * If any, streams the buffer containing the HTTP response body to the HTML, escaped (and prettyified if it is a well-formed JSON).<br>
+     * The body is never read as a whole: a JSON body is read twice, to check it is well-formed before indenting it.
      *
-     * @param html        the StringBuilder in which to append the body
-     * @param stream      only tmpFile is used (but it is NOT deleted by this method, to allow several retry attempts)
-     * @param contentType the content type of the file (charset is assumed UTF-8)
+     * @param html        the Writer in which to append the body
+     * @param stream      only body is used (but it is NOT released by this method, to allow several retry attempts)
+     * @param contentType the content type of the body (charset is assumed UTF-8)
+     * @throws IOException if the HTML cannot be written
      */
-    void appendResponseBody(StringBuilder html, Stream stream, String contentType) {
-        if (stream.getTempFile() != null) {
-            String fileContent;
-            try {
-                fileContent = FileUtils.readFileToString(stream.getTempFile(), StandardCharsets.UTF_8);
-                fileContent = prettyPrint(fileContent, contentType);
-            } catch (IOException e) {
-                log.error("Cannot read temporary file {}", stream.getTempFile(), e);
-                fileContent = "Error in ARA while reading the content of the response received by Newman:\n" +
-                        ExceptionUtils.getStackTrace(e);
+    void appendResponseBody(Writer html, Stream stream, String contentType) throws IOException {
+        final ResponseBodyBuffer body = stream.getBody();
+        if (body != null) {
+            html.append("<pre>");
+            try (Writer escapedHtml = new HtmlEscapingWriter(html)) {
+                final Optional<Reader> content = openResponseBody(body, escapedHtml);
+                if (content.isPresent()) {
+                    try (Reader reader = content.get()) {
+                        if (isJson(contentType) && isWellFormedJson(body)) {
+                            writePrettyJson(reader, escapedHtml);
+                        } else {
+                            IOUtils.copy(reader, escapedHtml);
+                        }
+                    }
+                }
             }
+            html.append("</pre>\n");
+        }
+    }
+
+    /**
+     * @param body        the buffer containing an HTTP response body
+     * @param escapedHtml where to write an error message if the body cannot be read
+     * @return a reader of the body, or empty if it cannot be read
+     * @throws IOException if the error message cannot be written
+     */
+    private Optional<Reader> openResponseBody(ResponseBodyBuffer body, Writer escapedHtml) throws IOException {
+        try {
+            return Optional.of(new InputStreamReader(body.openStream(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            log.error("Cannot read the {}", body, e);
+            escapedHtml.write("Error in ARA while reading the content of the response received by Newman:\n" +
+                    ExceptionUtils.getStackTrace(e));
+            return Optional.empty();
+        }
+    }
 
-            html.append("<pre>").append(escapeHtml(fileContent)).append("</pre>\n");
+    /**
+     * @param body the buffer containing an HTTP response body, tokenized without being held in memory
+     * @return true if the body is a well-formed JSON
+     * @throws IOException if the body cannot be read
+     */
+    boolean isWellFormedJson(ResponseBodyBuffer body) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(new InputStreamReader(body.openStream(), StandardCharsets.UTF_8))) {
+            while (parser.nextToken() != null) {
+                parser.skipChildren(); // Skipped children are still tokenized, hence checked
+            }
+            return true;
+        } catch (@SuppressWarnings(
+                "squid:S1166") JsonProcessingException e) { // Exception handlers should preserve the original exceptions
+            // Ignore exception because it is a user malformed object, and we gracefully fallback by not indenting it
+            return false;
         }
     }
 
     /**
-     * Indent JSON in a pretty format, or return the content as is if the content is not a JSON or cannot be parsed.
+     * Indent JSON in a pretty format, token by token, with a streaming parser and generator (the JSON is never held in memory).
      *
-     * @param fileContent data to format prettyly if it is a valid JSON
-     * @param contentType the content type of the data
-     * @return the content itself, or a nicely-indented JSON if it is a JSON and can be parsed
+     * @param json   a well-formed JSON
+     * @param output where to write the nicely-indented JSON (not closed)
+     * @throws IOException if the JSON cannot be read or written
      */
-    String prettyPrint(String fileContent, String contentType) {
-        if (MediaType.APPLICATION_JSON_VALUE.equals(contentType) || StringUtils.startsWith(contentType, MediaType.APPLICATION_JSON_VALUE + ";")) {
-            try {
-                Object json = objectMapper.readValue(fileContent, Object.class);
-                return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(json);
-            } catch (@SuppressWarnings(
-                    "squid:S1166") IOException e) { // Exception handlers should preserve the original exceptions
-                // Ignore exception because it is a user malformed object, and we gracefully fallback by not indenting it
+    void writePrettyJson(Reader json, Writer output) throws IOException {
+        final JsonFactory jsonFactory = objectMapper.getFactory();
+        try (JsonParser parser = jsonFactory.createParser(json);
+             JsonGenerator generator = jsonFactory.createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.useDefaultPrettyPrinter();
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
             }
         }
-        return fileContent;
+    }
+
+    /**
+     * @param contentType the content type of some data (can be null)
+     * @return true if the data is JSON, whatever its charset
+     */
+    boolean isJson(String contentType) {
+        return MediaType.APPLICATION_JSON_VALUE.equals(contentType) || StringUtils.startsWith(contentType, MediaType.APPLICATION_JSON_VALUE + ";");
     }
 
     /**
@@ -0,0 +1,83 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.scenario.postman.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import org.apache.commons.text.StringEscapeUtils;
+
+/**
+ * Writer escaping all the characters written to it (as XML 1.0, safe to include in HTML) before passing them to an
+ * underlying writer.<br>
+ * A surrogate pair can be split between two writes: a trailing high surrogate is kept until the next write, as the
+ * escaping would remove it if unpaired.<br>
+ * Closing this writer flushes it but does NOT close the underlying writer, so content can still be appended to it.
+ */
+public class HtmlEscapingWriter extends Writer {
+
+    private final Writer out;
+
+    private boolean pendingHighSurrogate;
+
+    private char highSurrogate;
+
+    public HtmlEscapingWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) throws IOException {
+        if (length == 0) {
+            return;
+        }
+        StringBuilder unescaped = new StringBuilder(length + 1);
+        if (pendingHighSurrogate) {
+            unescaped.append(highSurrogate);
+            pendingHighSurrogate = false;
+        }
+        unescaped.append(chars, offset, length);
+        final int lastIndex = unescaped.length() - 1;
+        if (Character.isHighSurrogate(unescaped.charAt(lastIndex))) {
+            highSurrogate = unescaped.charAt(lastIndex);
+            pendingHighSurrogate = true;
+            unescaped.setLength(lastIndex);
+        }
+        out.write(StringEscapeUtils.escapeXml10(unescaped.toString()));
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * Write the pending high surrogate, if any (as it stays unpaired, the escaping removes it), and flush the
+     * underlying writer without closing it.
+     *
+     * @throws IOException if the underlying writer fails
+     */
+    @Override
+    public void close() throws IOException {
+        if (pendingHighSurrogate) {
+            pendingHighSurrogate = false;
+            out.write(StringEscapeUtils.escapeXml10(String.valueOf(highSurrogate)));
+        }
+        flush();
+    }
+
+}
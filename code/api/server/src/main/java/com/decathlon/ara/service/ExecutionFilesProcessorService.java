@@ -31,7 +31,9 @@ import com.decathlon.ara.domain.enumeration.Technology;
 import com.decathlon.ara.repository.CountryRepository;
 import com.decathlon.ara.repository.ExecutionCompletionRequestRepository;
 import com.decathlon.ara.repository.ExecutionRepository;
+import com.decathlon.ara.repository.SeverityRepository;
 import com.decathlon.ara.repository.TypeRepository;
+import com.decathlon.ara.scenario.common.indexer.IndexingContext;
 import com.decathlon.ara.scenario.common.indexer.ScenariosIndexer;
 import com.decathlon.ara.scenario.common.strategy.ScenariosIndexerStrategy;
 import com.decathlon.ara.service.support.Settings;
@@ -42,14 +44,21 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -57,6 +66,13 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ExecutionFilesProcessorService {
 
+    /**
+     * The project settings read while indexing an execution (see {@link IndexingContext#getSetting(String)})
+     */
+    private static final List<String> INDEXING_SETTING_CODES = Arrays.asList(
+            Settings.EXECUTION_INDEXER_FILE_BUILD_INFORMATION_PATH,
+            Settings.EXECUTION_INDEXER_FILE_CYCLE_DEFINITION_PATH);
+
     @NonNull
     private final SettingService settingService;
 
@@ -84,6 +100,18 @@ public class ExecutionFilesProcessorService {
     @NonNull
     private final FileProcessorService fileProcessorService;
 
+    @NonNull
+    private final AsyncTaskExecutor runIndexingExecutor;
+
+    @NonNull
+    private final RunFingerprintService runFingerprintService;
+
+    @NonNull
+    private final TechnologySettingService technologySettingService;
+
+    @NonNull
+    private final SeverityRepository severityRepository;
+
     /**
      * Create an execution from the planned indexation
      * @param plannedIndexation contains the folder containing all the execution files and the cycle definition
@@ -104,11 +132,48 @@ public class ExecutionFilesProcessorService {
             return Optional.empty();
         }
 
-        Long projectId = cycleDefinition.getProjectId();
-        String buildInformationFilePath = settingService.get(projectId, Settings.EXECUTION_INDEXER_FILE_BUILD_INFORMATION_PATH);
-        Optional<Build> build = getBuildFromFile(rawExecutionFile, buildInformationFilePath);
+        IndexingContext context = getIndexingContext(cycleDefinition.getProjectId());
+        Path executionArchiveFolder = plannedIndexation.getExecutionArchiveFolder();
+        if (executionArchiveFolder != null) {
+            return getExecution(new ArchiveFolderReader(executionArchiveFolder, rawExecutionFile), executionArchiveFolder, cycleDefinition, context);
+        }
+        return getExecution(new DiskFolderReader(), rawExecutionFile, cycleDefinition, context);
+    }
+
+    /**
+     * Load the settings and referential data of a project, once for the whole indexing of one of its executions: the
+     * runs (and their indexers, whatever the thread they run on) then read them without any database access
+     * @param projectId the project id
+     * @return the indexing context of the project
+     */
+    private IndexingContext getIndexingContext(Long projectId) {
+        Map<String, String> settings = new HashMap<>();
+        for (String code : INDEXING_SETTING_CODES) {
+            settings.put(code, settingService.get(projectId, code));
+        }
+        return new IndexingContext(
+                projectId,
+                settings,
+                technologySettingService.getAllValues(projectId),
+                countryRepository.findAllByProjectIdOrderByCode(projectId),
+                typeRepository.findAllByProjectIdOrderByCode(projectId),
+                severityRepository.findAllByProjectIdOrderByPosition(projectId));
+    }
+
+    /**
+     * Create an execution from its folder
+     * @param reader the reader of the execution folders
+     * @param rawExecutionFolder the folder containing all the execution files
+     * @param cycleDefinition the cycle definition
+     * @param context the settings and referential data of the project
+     * @param <F> the type of the execution folders
+     * @return the created (indexed) execution
+     */
+    private <F> Optional<Execution> getExecution(ExecutionFolderReader<F> reader, F rawExecutionFolder, CycleDefinition cycleDefinition, IndexingContext context) {
+        String buildInformationFilePath = context.getSetting(Settings.EXECUTION_INDEXER_FILE_BUILD_INFORMATION_PATH);
+        Optional<Build> build = getBuildFromFolder(reader, rawExecutionFolder, buildInformationFilePath);
         if (!build.isPresent()) {
-            log.info("The build information file ({}) in [{}] couldn't be processed", buildInformationFilePath, rawExecutionFile.getAbsolutePath());
+            log.info("The build information file ({}) in [{}] couldn't be processed", buildInformationFilePath, reader.getLocation(rawExecutionFolder));
             return Optional.empty();
         }
 
@@ -122,8 +187,8 @@ public class ExecutionFilesProcessorService {
             return Optional.empty();
         }
 
-        String cycleDefinitionFilePath = settingService.get(projectId, Settings.EXECUTION_INDEXER_FILE_CYCLE_DEFINITION_PATH);
-        Optional<CycleDef> cycleDef = fileProcessorService.getMappedObjectFromFile(rawExecutionFile, cycleDefinitionFilePath, CycleDef.class);
+        String cycleDefinitionFilePath = context.getSetting(Settings.EXECUTION_INDEXER_FILE_CYCLE_DEFINITION_PATH);
+        Optional<CycleDef> cycleDef = reader.getMappedObject(rawExecutionFolder, cycleDefinitionFilePath, CycleDef.class);
         if (!cycleDef.isPresent()) {
             if (JobStatus.DONE.equals(execution.get().getStatus()) || completionRequest.isPresent()) {
                 log.info("Cycle-run's cycle-definition JSON not found in done job (cycle deeply broken): indexing it as failed");
@@ -137,7 +202,8 @@ public class ExecutionFilesProcessorService {
         String qualityThresholds = getQualityThresholdsFromCycleDefinition(cycleDef.get());
         execution.get().setQualityThresholds(qualityThresholds);
 
-        Pair<List<CountryDeployment>, List<Run>> countryDeploymentsAndRuns = getCountryDeploymentsAndRunsPair(rawExecutionFile, cycleDef.get(), projectId, execution.get().getStatus(), buildInformationFilePath);
+        Map<String, Run> previousRuns = getPreviousRuns(execution.get());
+        Pair<List<CountryDeployment>, List<Run>> countryDeploymentsAndRuns = getCountryDeploymentsAndRunsPair(reader, rawExecutionFolder, cycleDef.get(), context, execution.get().getStatus(), buildInformationFilePath, previousRuns);
 
         Set<CountryDeployment> countryDeployments = new TreeSet<>(countryDeploymentsAndRuns.getFirst());
         execution.get().addCountryDeployments(countryDeployments);
@@ -145,7 +211,7 @@ public class ExecutionFilesProcessorService {
         Set<Run> runs = new TreeSet<>(countryDeploymentsAndRuns.getSecond());
         execution.get().addRuns(runs);
 
-        qualityService.computeQuality(execution.get());
+        qualityService.computeQuality(execution.get(), context.getSeverities());
 
         Boolean executionIsIncomplete = !executionIsComplete(execution.get(), cycleDef.get());
         if (executionIsIncomplete) {
@@ -156,14 +222,16 @@ public class ExecutionFilesProcessorService {
     }
 
     /**
-     * Create a build object from the file (folder) containing the build information file (if found and processed correctly)
+     * Create a build object from the folder containing the build information file (if found and processed correctly)
+     * @param reader the reader of the execution folders
      * @param buildInformationParentDirectory the build information file parent folder
      * @param buildInformationPath the relative path to the build information file
+     * @param <F> the type of the execution folders
      * @return the build
      */
-    private Optional<Build> getBuildFromFile(File buildInformationParentDirectory, String buildInformationPath) {
-        Optional<Build> build = fileProcessorService.getMappedObjectFromFile(buildInformationParentDirectory, buildInformationPath, Build.class);
-        build.ifPresent(b -> b.setLink(buildInformationParentDirectory.getPath() + File.separator));
+    private <F> Optional<Build> getBuildFromFolder(ExecutionFolderReader<F> reader, F buildInformationParentDirectory, String buildInformationPath) {
+        Optional<Build> build = reader.getMappedObject(buildInformationParentDirectory, buildInformationPath, Build.class);
+        build.ifPresent(b -> b.setLink(reader.getLink(buildInformationParentDirectory)));
         return build;
     }
 
@@ -256,26 +324,26 @@ public class ExecutionFilesProcessorService {
 
     /**
      * Create a pair of country deployments and runs
-     * @param rawExecutionFile the root execution folder
+     * @param reader the reader of the execution folders
+     * @param rawExecutionFolder the root execution folder
      * @param cycleDef the cycleDef
-     * @param projectId the project id
+     * @param context the settings and referential data of the project
      * @param executionJobStatus the execution job status
      * @param buildInformationPath the relative path to the build information file
+     * @param previousRuns the runs of the previous indexing of this execution, by country and type (see {@link #getRunKey(Run)})
+     * @param <F> the type of the execution folders
      * @return country deployments and runs
      */
-    private Pair<List<CountryDeployment>, List<Run>> getCountryDeploymentsAndRunsPair(File rawExecutionFile, CycleDef cycleDef, Long projectId, JobStatus executionJobStatus, String buildInformationPath) {
+    private <F> Pair<List<CountryDeployment>, List<Run>> getCountryDeploymentsAndRunsPair(ExecutionFolderReader<F> reader, F rawExecutionFolder, CycleDef cycleDef, IndexingContext context, JobStatus executionJobStatus, String buildInformationPath, Map<String, Run> previousRuns) {
         List<CountryDeployment> countryDeployments = new ArrayList<>();
         List<Run> runs = new ArrayList<>();
-        final File[] allExecutionFolderContents = rawExecutionFile.listFiles();
-        final File[] countryJobDirectories = Arrays.stream(allExecutionFolderContents).filter(File::isDirectory).toArray(File[]::new);
+        List<Pair<Run, Future<Optional<List<ExecutedScenario>>>>> runIndexations = new ArrayList<>();
+        final List<F> countryJobDirectories = reader.getSubFolders(rawExecutionFolder);
 
-        if (countryJobDirectories == null || countryJobDirectories.length == 0) {
-            log.info("The folder {} doesn't contain any country", rawExecutionFile.getAbsolutePath());
+        if (countryJobDirectories.isEmpty()) {
+            log.info("The folder {} doesn't contain any country", reader.getLocation(rawExecutionFolder));
         }
 
-        final List<Country> allCountries = countryRepository.findAllByProjectIdOrderByCode(projectId);
-        final List<Type> allTypes = typeRepository.findAllByProjectIdOrderByCode(projectId);
-
         final Map<String, List<PlatformRule>> platformsRules = cycleDef.getPlatformsRules();
         for (final Entry<String, List<PlatformRule>> entry: platformsRules.entrySet()) {
             final String platformName = entry.getKey();
@@ -285,36 +353,35 @@ public class ExecutionFilesProcessorService {
                     .collect(Collectors.toList());
             for (final PlatformRule rule : enabledRules) {
                 final String countryCode = rule.getCountry().toLowerCase();
-                final Optional<Country> country = getCountryFromCodeAndCountries(countryCode, allCountries);
+                final Optional<Country> country = context.getCountry(countryCode);
 
                 if (!country.isPresent()) {
                     log.info("The country {} is not known. Please check your database", countryCode);
                     continue;
                 }
 
-                final Optional<File> countryJobFolder = Arrays.stream(countryJobDirectories)
-                        .filter(file -> countryCode.equals(file.getName().toLowerCase()))
+                final Optional<F> countryJobFolder = countryJobDirectories.stream()
+                        .filter(folder -> countryCode.equals(reader.getName(folder).toLowerCase()))
                         .findFirst();
 
                 CountryDeployment countryDeployment;
-                File[] allCountryJobFolderContents;
+                List<F> typeJobFolders;
                 if (countryJobFolder.isPresent()) {
-                    final Optional<Build> countryBuild = getBuildFromFile(countryJobFolder.get(), buildInformationPath);
+                    final Optional<Build> countryBuild = getBuildFromFolder(reader, countryJobFolder.get(), buildInformationPath);
                     countryDeployment = getCompleteCountryDeployment(country.get(), platformName, countryBuild, executionJobStatus);
-                    allCountryJobFolderContents = countryJobFolder.get().listFiles();
+                    typeJobFolders = reader.getSubFolders(countryJobFolder.get());
                 } else {
                     countryDeployment = getUnavailableCountryDeployment(country.get(), platformName);
-                    allCountryJobFolderContents = new File[0];
+                    typeJobFolders = new ArrayList<>();
                     log.info("Although the country {} is defined in the cycle definition file, no matching folder was found. Please check the execution zip again", countryCode);
                 }
 
                 countryDeployments.add(countryDeployment);
 
                 final String[] typeCodes = getTypeCodes(rule.getTestTypes());
-                final File[] typeJobFolders = Arrays.stream(allCountryJobFolderContents).filter(File::isDirectory).toArray(File[]::new);
 
                 for (final String typeCode : typeCodes) {
-                    final Optional<Type> type = getTypeFromCodeAndTypes(typeCode, allTypes);
+                    final Optional<Type> type = context.getType(typeCode);
 
                     if (!type.isPresent()) {
                         log.info("The type {} is unknown. It maybe needs to inserted into the ARA database", typeCode);
@@ -323,8 +390,8 @@ public class ExecutionFilesProcessorService {
 
                     final Source source = type.get().getSource();
                     if (source != null) {
-                        final Optional<File> typeJobFolder = Arrays.stream(typeJobFolders)
-                                .filter(file -> typeCode.toLowerCase().equals(file.getName().toLowerCase()))
+                        final Optional<F> typeJobFolder = typeJobFolders.stream()
+                                .filter(folder -> typeCode.toLowerCase().equals(reader.getName(folder).toLowerCase()))
                                 .findFirst();
 
                         if (!typeJobFolder.isPresent()) {
@@ -334,15 +401,14 @@ public class ExecutionFilesProcessorService {
                             continue;
                         }
 
-                        final Optional<Build> typeBuild = getBuildFromFile(typeJobFolder.get(), buildInformationPath);
+                        final Optional<Build> typeBuild = getBuildFromFolder(reader, typeJobFolder.get(), buildInformationPath);
                         Run run = getCompleteRun(country.get(), type.get(), platformName, rule, typeBuild, executionJobStatus);
 
                         Technology technology = source.getTechnology();
                         Optional<ScenariosIndexer> scenariosIndexer = scenariosIndexerStrategy.getScenariosIndexer(technology);
-                        scenariosIndexer.ifPresent(indexer -> {
-                            final List<ExecutedScenario> executedScenarios = indexer.getExecutedScenarios(typeJobFolder.get(), run, projectId);
-                            run.addExecutedScenarios(new TreeSet<>(executedScenarios));
-                        });
+                        final Run previousRun = previousRuns.get(getRunKey(run));
+                        scenariosIndexer.ifPresent(indexer -> runIndexations.add(Pair.of(run, runIndexingExecutor.submit(
+                                () -> indexRunIfChanged(reader, indexer, technology, typeJobFolder.get(), run, previousRun, context)))));
 
                         runs.add(run);
                     }
@@ -350,9 +416,91 @@ public class ExecutionFilesProcessorService {
             }
         }
 
+        addIndexedScenariosToRuns(runIndexations, previousRuns);
+
         return Pair.of(countryDeployments, runs);
     }
 
+    /**
+     * Get the runs persisted by the previous indexing of an execution (if it is indexed again)
+     * @param execution the execution being indexed
+     * @return the previous runs of the execution, by country and type (see {@link #getRunKey(Run)})
+     */
+    private Map<String, Run> getPreviousRuns(Execution execution) {
+        if (execution.getId() == null) {
+            return new HashMap<>();
+        }
+        return executionRepository.findById(execution.getId())
+                .map(previousExecution -> previousExecution.getRuns().stream()
+                        .collect(Collectors.toMap(this::getRunKey, run -> run, (run1, run2) -> run1)))
+                .orElseGet(HashMap::new);
+    }
+
+    /**
+     * @param run a run
+     * @return the key identifying the run in its execution: its country and type codes
+     */
+    private String getRunKey(Run run) {
+        return run.getCountry().getCode().toLowerCase() + "/" + run.getType().getCode().toLowerCase();
+    }
+
+    /**
+     * Fingerprint the run (its folder, the indexer version and the settings of its technology) and parse its report
+     * files, unless the fingerprint did not change since the previous indexing of the run
+     * @param reader the reader of the execution folders
+     * @param indexer the indexer of the run's technology
+     * @param technology the technology of the run
+     * @param runFolder the run folder
+     * @param run the run, receiving its new fingerprint
+     * @param previousRun the run, as persisted by the previous indexing of the execution, if any
+     * @param context the settings and referential data of the project
+     * @param <F> the type of the execution folders
+     * @return the parsed executed scenarios, or empty if the run did not change (its persisted scenarios are kept)
+     */
+    private <F> Optional<List<ExecutedScenario>> indexRunIfChanged(ExecutionFolderReader<F> reader, ScenariosIndexer indexer, Technology technology, F runFolder, Run run, Run previousRun, IndexingContext context) {
+        final String fingerprint = runFingerprintService.getRunFingerprint(reader.getFingerprint(runFolder), context.getIndexingSettings(technology));
+        run.setFingerprint(fingerprint);
+        if (fingerprint != null && previousRun != null && fingerprint.equals(previousRun.getFingerprint())) {
+            log.debug("The run {} did not change since its last indexing", reader.getLocation(runFolder));
+            return Optional.empty();
+        }
+        return Optional.of(reader.getExecutedScenarios(indexer, runFolder, run, context));
+    }
+
+    /**
+     * Wait for the runs' report files to be parsed (in parallel), and add the parsed scenarios to their runs.<br>
+     * Runs are completed in the order the indexations were submitted, so the outcome does not depend on thread
+     * scheduling. If one indexation fails, the remaining ones are cancelled and the failure is propagated.<br>
+     * A run that did not change since the previous indexing takes the place of its persisted counterpart, keeping its
+     * persisted executed scenarios (and their errors): they are neither parsed, deleted nor inserted again.
+     *
+     * @param runIndexations the runs, each with the pending parsing of its executed scenarios
+     * @param previousRuns the runs of the previous indexing of this execution, by country and type
+     */
+    private void addIndexedScenariosToRuns(List<Pair<Run, Future<Optional<List<ExecutedScenario>>>>> runIndexations, Map<String, Run> previousRuns) {
+        try {
+            for (Pair<Run, Future<Optional<List<ExecutedScenario>>>> runIndexation : runIndexations) {
+                final Run run = runIndexation.getFirst();
+                final Optional<List<ExecutedScenario>> executedScenarios = runIndexation.getSecond().get();
+                if (executedScenarios.isPresent()) {
+                    run.addExecutedScenarios(new TreeSet<>(executedScenarios.get()));
+                } else {
+                    run.keepExecutedScenariosOf(previousRuns.get(getRunKey(run)));
+                }
+            }
+        } catch (InterruptedException e) {
+            runIndexations.forEach(runIndexation -> runIndexation.getSecond().cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while indexing the runs of the execution", e);
+        } catch (ExecutionException e) {
+            runIndexations.forEach(runIndexation -> runIndexation.getSecond().cancel(true));
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Failed to index a run of the execution", e.getCause());
+        }
+    }
+
     /**
      * Split type codes using a separator ({@link PlatformRule#TEST_TYPES_SEPARATOR})
      * @param rawTypeString the unprocessed string containing all the type codes
@@ -404,19 +552,6 @@ public class ExecutionFilesProcessorService {
                 .allMatch(b -> b);
     }
 
-    /**
-     * Get the country matching the country code, if found
-     * @param countryCode the country code
-     * @param countries all the countries available
-     * @return the matching country, if any
-     */
-    private Optional<Country> getCountryFromCodeAndCountries(String countryCode, List<Country> countries) {
-        return countries.stream()
-                .filter(country -> StringUtils.isNotBlank(country.getCode()))
-                .filter(country -> countryCode.equals(country.getCode().toLowerCase()))
-                .findFirst();
-    }
-
     /**
      * Create a country deployment with the status {@link JobStatus#UNAVAILABLE}
      * @param country the country
@@ -469,19 +604,6 @@ public class ExecutionFilesProcessorService {
         return countryDeployment;
     }
 
-    /**
-     * Get the type matching the type code, if found
-     * @param typeCode the type code
-     * @param types all the types available
-     * @return the matching type, if any
-     */
-    private Optional<Type> getTypeFromCodeAndTypes(String typeCode, List<Type> types) {
-        return types.stream()
-                .filter(type -> StringUtils.isNotBlank(type.getCode()))
-                .filter(type -> typeCode.toLowerCase().equals(type.getCode().toLowerCase()))
-                .findFirst();
-    }
-
     /**
      * Create a run with the status {@link JobStatus#UNAVAILABLE}
      * @param country the country
@@ -570,4 +692,128 @@ public class ExecutionFilesProcessorService {
 
         return jobStatusToConvert;
     }
+
+    /**
+     * Read access to the folders of an execution, whatever their storage
+     * @param <F> the type of the folders
+     */
+    private interface ExecutionFolderReader<F> {
+
+        List<F> getSubFolders(F folder);
+
+        String getName(F folder);
+
+        String getLocation(F folder);
+
+        String getLink(F folder);
+
+        String getFingerprint(F folder);
+
+        <T> Optional<T> getMappedObject(F folder, String pathToFile, Class<T> objectClass);
+
+        List<ExecutedScenario> getExecutedScenarios(ScenariosIndexer indexer, F folder, Run run, IndexingContext context);
+
+    }
+
+    /**
+     * Reads an execution extracted on disk
+     */
+    private class DiskFolderReader implements ExecutionFolderReader<File> {
+
+        @Override
+        public List<File> getSubFolders(File folder) {
+            final File[] contents = folder.listFiles();
+            if (contents == null) {
+                return new ArrayList<>();
+            }
+            return Arrays.stream(contents).filter(File::isDirectory).collect(Collectors.toList());
+        }
+
+        @Override
+        public String getName(File folder) {
+            return folder.getName();
+        }
+
+        @Override
+        public String getLocation(File folder) {
+            return folder.getAbsolutePath();
+        }
+
+        @Override
+        public String getLink(File folder) {
+            return folder.getPath() + File.separator;
+        }
+
+        @Override
+        public String getFingerprint(File folder) {
+            return runFingerprintService.getFingerprint(folder.toPath());
+        }
+
+        @Override
+        public <T> Optional<T> getMappedObject(File folder, String pathToFile, Class<T> objectClass) {
+            return fileProcessorService.getMappedObjectFromFile(folder, pathToFile, objectClass);
+        }
+
+        @Override
+        public List<ExecutedScenario> getExecutedScenarios(ScenariosIndexer indexer, File folder, Run run, IndexingContext context) {
+            return indexer.getExecutedScenarios(folder, run, context);
+        }
+
+    }
+
+    /**
+     * Reads an execution straight out of its archive (e.g. from a zip file system), without extracting it.<br>
+     * Links are computed as if the archive had been extracted to the execution folder, so they do not depend on the
+     * indexing mode.
+     */
+    @RequiredArgsConstructor
+    private class ArchiveFolderReader implements ExecutionFolderReader<Path> {
+
+        private final Path archiveRoot;
+
+        private final File executionFolder;
+
+        @Override
+        public List<Path> getSubFolders(Path folder) {
+            try (Stream<Path> contents = Files.list(folder)) {
+                return contents.filter(Files::isDirectory).collect(Collectors.toList());
+            } catch (IOException e) {
+                log.info("Unable to list the folder {}", folder.toUri(), e);
+                return new ArrayList<>();
+            }
+        }
+
+        @Override
+        public String getName(Path folder) {
+            return StringUtils.removeEnd(String.valueOf(folder.getFileName()), "/");
+        }
+
+        @Override
+        public String getLocation(Path folder) {
+            return folder.toUri().toString();
+        }
+
+        @Override
+        public String getLink(Path folder) {
+            final String relativePath = StringUtils.removeEnd(archiveRoot.relativize(folder).toString(), "/");
+            final File extractedFolder = relativePath.isEmpty() ? executionFolder : new File(executionFolder, relativePath);
+            return extractedFolder.getPath() + File.separator;
+        }
+
+        @Override
+        public String getFingerprint(Path folder) {
+            return runFingerprintService.getFingerprint(folder);
+        }
+
+        @Override
+        public <T> Optional<T> getMappedObject(Path folder, String pathToFile, Class<T> objectClass) {
+            return fileProcessorService.getMappedObjectFromPath(folder, pathToFile, objectClass);
+        }
+
+        @Override
+        public List<ExecutedScenario> getExecutedScenarios(ScenariosIndexer indexer, Path folder, Run run, IndexingContext context) {
+            return indexer.getExecutedScenarios(folder, run, context);
+        }
+
+    }
 }
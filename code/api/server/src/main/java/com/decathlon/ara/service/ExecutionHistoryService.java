@@ -124,13 +124,27 @@ public class ExecutionHistoryService {
                 .orElse(null);
     }
 
-    public ExecutedScenarioHandlingCountsDTO getExecutedScenarioHandlingCountsFor(Execution execution) {
-        final Set<Long> runIds = execution.getRuns().stream()
-                .map(Run::getId)
-                .collect(Collectors.toSet());
+    /**
+     * Compute the executed-scenario handling counts of several executions at once, with one query for all executions.
+     *
+     * @param executionIds the IDs of the executions for which to count passed, handled and unhandled scenarios
+     * @return the handling counts indexed by execution ID (an execution without scenario has zero counts)
+     */
+    public Map<Long, ExecutedScenarioHandlingCountsDTO> getExecutedScenarioHandlingCountsFor(Collection<Long> executionIds) {
+        final Map<Long, List<ExecutedScenarioWithErrorAndProblemJoin>> executedScenarioJoins = executedScenarioRepository
+                .findAllErrorAndProblemCountsByExecutionIds(executionIds);
+
+        Map<Long, ExecutedScenarioHandlingCountsDTO> executedScenarioHandlingCounts = new HashMap<>();
+        for (Long executionId : executionIds) {
+            executedScenarioHandlingCounts.put(executionId,
+                    countByHandling(executedScenarioJoins.getOrDefault(executionId, Collections.emptyList())));
+        }
+        return executedScenarioHandlingCounts;
+    }
 
+    private ExecutedScenarioHandlingCountsDTO countByHandling(List<ExecutedScenarioWithErrorAndProblemJoin> executedScenarioJoins) {
         ExecutedScenarioHandlingCountsDTO executedScenarioHandlingCounts = new ExecutedScenarioHandlingCountsDTO();
-        for (ExecutedScenarioWithErrorAndProblemJoin executedScenarioJoin : executedScenarioRepository.findAllErrorAndProblemCounts(runIds)) {
+        for (ExecutedScenarioWithErrorAndProblemJoin executedScenarioJoin : executedScenarioJoins) {
             incrementCountsByHandling(executedScenarioJoin, executedScenarioHandlingCounts);
         }
         return executedScenarioHandlingCounts;
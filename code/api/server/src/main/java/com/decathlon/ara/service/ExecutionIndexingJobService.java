@@ -0,0 +1,239 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.service;
+
+import com.decathlon.ara.Entities;
+import com.decathlon.ara.Messages;
+import com.decathlon.ara.configuration.AraConfiguration;
+import com.decathlon.ara.domain.ExecutionIndexingJob;
+import com.decathlon.ara.domain.Project;
+import com.decathlon.ara.domain.enumeration.ExecutionIndexingJobStatus;
+import com.decathlon.ara.repository.ExecutionIndexingJobRepository;
+import com.decathlon.ara.repository.ProjectRepository;
+import com.decathlon.ara.service.dto.execution.ExecutionIndexingJobDTO;
+import com.decathlon.ara.service.exception.NotFoundException;
+import com.decathlon.ara.service.mapper.ExecutionIndexingJobMapper;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durable queue of uploaded execution zips: uploads are stored on disk and recorded in database, then indexed in
+ * background by a bounded pool of workers, with a limited number of concurrent indexing per project.<br>
+ * Zips are stored on the local disk of the ARA node receiving them, so each node only drains the jobs it queued itself.
+ * Each job is claimed in database before being run: the per-project and per-cycle limits hold across all nodes, and a
+ * running job holds a lease renewed by its node, so the job of a dead node is put back in the queue (to be indexed
+ * once the node is restarted).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ExecutionIndexingJobService {
+
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 512;
+
+    @NonNull
+    private final ExecutionIndexingJobRepository executionIndexingJobRepository;
+
+    @NonNull
+    private final ExecutionIndexingJobMapper executionIndexingJobMapper;
+
+    @NonNull
+    private final ExecutionService executionService;
+
+    @NonNull
+    private final ProjectRepository projectRepository;
+
+    @NonNull
+    private final AraConfiguration araConfiguration;
+
+    @NonNull
+    private final AsyncTaskExecutor indexingJobExecutor;
+
+    /**
+     * IDs of the jobs run by this node, whose leases are to be renewed.
+     */
+    private final Set<Long> runningJobIds = ConcurrentHashMap.newKeySet();
+
+    private volatile String nodeName;
+
+    /**
+     * Store the uploaded zip and queue it to be indexed in background.
+     *
+     * @param projectId   the id of project which the execution belongs to
+     * @param projectCode the code of the project
+     * @param branch      the branch of the current cycle for this execution
+     * @param cycle       the cycle for this execution
+     * @param zipFile     the executions to index
+     * @return the queued job, to follow its progression
+     * @throws IllegalArgumentException if the project doesn't use the file system indexer or the cycle doesn't exists.
+     * @throws IOException              if the zip file can't be stored.
+     */
+    public ExecutionIndexingJobDTO enqueue(long projectId, String projectCode, String branch, String cycle, MultipartFile zipFile) throws IOException {
+        executionService.getCycleDefinition(projectId, branch, cycle); // Reject unknown cycles before storing anything
+
+        File queueDirectory = new File(executionService.getCycleDirectory(projectId, projectCode, branch, cycle), "queued");
+        Files.createDirectories(queueDirectory.toPath());
+        File storedZip = new File(queueDirectory, UUID.randomUUID() + ".zip");
+        zipFile.transferTo(storedZip.toPath());
+
+        ExecutionIndexingJob job = new ExecutionIndexingJob();
+        job.setProjectId(projectId);
+        job.setBranch(branch);
+        job.setCycle(cycle);
+        job.setZipPath(storedZip.getAbsolutePath());
+        job.setNode(getNodeName());
+        job.setStatus(ExecutionIndexingJobStatus.PENDING);
+        job.setCreationDateTime(new Date());
+        ExecutionIndexingJob savedJob = executionIndexingJobRepository.save(job);
+        log.info("Queued uploaded execution zip {} as job {}", storedZip.getAbsolutePath(), savedJob.getId());
+
+        dispatch();
+        return executionIndexingJobMapper.toDto(savedJob);
+    }
+
+    /**
+     * @param projectId the ID of the project in which to work
+     * @param id        the ID of the job returned by an upload
+     * @return the job, with its progression
+     * @throws NotFoundException if the job does not exist in the project
+     */
+    public ExecutionIndexingJobDTO findOne(long projectId, long id) throws NotFoundException {
+        return executionIndexingJobRepository.findByProjectIdAndId(projectId, id)
+                .map(executionIndexingJobMapper::toDto)
+                .orElseThrow(() -> new NotFoundException(Messages.NOT_FOUND_EXECUTION_INDEXING_JOB, Entities.EXECUTION));
+    }
+
+    /**
+     * Periodically renew the leases of the jobs run by this node, put back in the queue the jobs abandoned by dead
+     * workers, and dispatch the pending jobs that were waiting for a worker (or for their node to be restarted).
+     */
+    @Scheduled(fixedDelayString = "${ara.indexingJobPollingDelayInMilliseconds}")
+    public void poll() {
+        Date now = new Date();
+        List<Long> leasedJobIds = new ArrayList<>(runningJobIds);
+        if (!leasedJobIds.isEmpty()) {
+            executionIndexingJobRepository.renewLeases(leasedJobIds, now);
+        }
+        Date abandonedBefore = new Date(now.getTime() -
+                TimeUnit.MINUTES.toMillis(araConfiguration.getIndexingJobTimeoutInMinutes()));
+        int requeuedJobCount = executionIndexingJobRepository.requeueRunningJobsWithHeartbeatBefore(abandonedBefore);
+        if (requeuedJobCount > 0) {
+            log.warn("Put back {} abandoned execution indexing job(s) in the queue", Integer.valueOf(requeuedJobCount));
+        }
+        dispatch();
+    }
+
+    /**
+     * Claim as many pending jobs of this node as there are free workers, in the order they were uploaded, while
+     * respecting the per-project and per-cycle concurrency limits of all nodes.
+     */
+    synchronized void dispatch() {
+        int workerCount = Math.max(1, araConfiguration.getIndexingJobWorkerCount());
+        int maxConcurrencyPerProject = Math.max(1, araConfiguration.getIndexingJobMaxConcurrencyPerProject());
+        String node = getNodeName();
+        for (ExecutionIndexingJob job : executionIndexingJobRepository.findAllByNodeAndStatusOrderById(node, ExecutionIndexingJobStatus.PENDING)) {
+            if (runningJobIds.size() >= workerCount) {
+                return;
+            }
+            // A job requeued while still running here (lease not renewed in time) must not run twice
+            if (runningJobIds.contains(job.getId()) ||
+                    !executionIndexingJobRepository.claim(job, node, maxConcurrencyPerProject, new Date())) {
+                continue;
+            }
+            runningJobIds.add(job.getId());
+            indexingJobExecutor.execute(() -> run(job));
+        }
+    }
+
+    /**
+     * @return the name of this ARA node, identifying the jobs whose zips are stored on its local disk
+     */
+    String getNodeName() {
+        if (nodeName == null) {
+            String configuredNodeName = araConfiguration.getIndexingJobNodeName();
+            if (StringUtils.isNotEmpty(configuredNodeName)) {
+                nodeName = configuredNodeName;
+            } else {
+                try {
+                    nodeName = InetAddress.getLocalHost().getHostName();
+                } catch (UnknownHostException e) {
+                    throw new IllegalStateException("Cannot find the host name of this node: please configure ara.indexingJobNodeName", e);
+                }
+            }
+        }
+        return nodeName;
+    }
+
+    private void run(ExecutionIndexingJob job) {
+        File zip = new File(job.getZipPath());
+        try {
+            String projectCode = projectRepository.findById(Long.valueOf(job.getProjectId()))
+                    .map(Project::getCode)
+                    .orElseThrow(() -> new IllegalArgumentException("The project of the upload does not exist anymore."));
+            log.info("Indexing execution zip {} of job {}", zip.getAbsolutePath(), job.getId());
+            executionService.indexStoredExecutionReport(job.getProjectId(), projectCode, job.getBranch(), job.getCycle(), zip);
+            finish(job.getId(), ExecutionIndexingJobStatus.DONE, null);
+        } catch (IOException | RuntimeException e) {
+            log.error("Unable to index the execution zip {} of job {}", zip.getAbsolutePath(), job.getId(), e);
+            finish(job.getId(), ExecutionIndexingJobStatus.FAILED, StringUtils.abbreviate(e.getMessage(), MAX_ERROR_MESSAGE_LENGTH));
+        } catch (Error e) {
+            // Eg. an OutOfMemoryError on a huge zip: a job left RUNNING would be requeued once its zip is deleted below
+            log.error("Unable to index the execution zip {} of job {}", zip.getAbsolutePath(), job.getId(), e);
+            finish(job.getId(), ExecutionIndexingJobStatus.FAILED, StringUtils.abbreviate(e.toString(), MAX_ERROR_MESSAGE_LENGTH));
+            throw e;
+        } finally {
+            try {
+                Files.deleteIfExists(zip.toPath());
+            } catch (IOException e) {
+                log.error("The stored zip {} wasn't deleted due to an error", zip.getAbsolutePath(), e);
+            }
+            runningJobIds.remove(job.getId());
+        }
+        dispatch();
+    }
+
+    private void finish(Long jobId, ExecutionIndexingJobStatus status, String errorMessage) {
+        executionIndexingJobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(status);
+            job.setErrorMessage(errorMessage);
+            job.setEndDateTime(new Date());
+            executionIndexingJobRepository.save(job);
+        });
+    }
+
+}
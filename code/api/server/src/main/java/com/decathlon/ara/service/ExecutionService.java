@@ -22,15 +22,19 @@ import com.decathlon.ara.Messages;
 import com.decathlon.ara.ci.bean.PlannedIndexation;
 import com.decathlon.ara.ci.service.ExecutionIndexerService;
 import com.decathlon.ara.domain.CycleDefinition;
+import com.decathlon.ara.domain.ExecutedScenario;
 import com.decathlon.ara.domain.Execution;
 import com.decathlon.ara.domain.ExecutionCompletionRequest;
-import com.decathlon.ara.domain.Run;
+import com.decathlon.ara.domain.Team;
 import com.decathlon.ara.domain.enumeration.ExecutionAcceptance;
 import com.decathlon.ara.domain.enumeration.Handling;
 import com.decathlon.ara.domain.enumeration.JobStatus;
 import com.decathlon.ara.domain.enumeration.QualityStatus;
+import com.decathlon.ara.domain.filter.ExecutedScenarioFilter;
+import com.decathlon.ara.domain.projection.MatchingExecutedScenario;
 import com.decathlon.ara.scenario.cucumber.util.ScenarioExtractorUtil;
 import com.decathlon.ara.repository.CycleDefinitionRepository;
+import com.decathlon.ara.repository.ExecutedScenarioRepository;
 import com.decathlon.ara.repository.ExecutionCompletionRequestRepository;
 import com.decathlon.ara.repository.ExecutionRepository;
 import com.decathlon.ara.repository.FunctionalityRepository;
@@ -41,6 +45,7 @@ import com.decathlon.ara.service.dto.execution.ExecutionDTO;
 import com.decathlon.ara.service.dto.execution.ExecutionWithCountryDeploymentsAndRunsAndExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO;
 import com.decathlon.ara.service.dto.execution.ExecutionWithHandlingCountsDTO;
 import com.decathlon.ara.service.dto.problem.ProblemDTO;
+import com.decathlon.ara.service.dto.run.ExecutedScenarioHandlingCountsDTO;
 import com.decathlon.ara.service.dto.run.RunWithExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO;
 import com.decathlon.ara.service.exception.BadRequestException;
 import com.decathlon.ara.service.exception.NotFoundException;
@@ -59,13 +64,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service for managing Execution.
@@ -87,6 +97,9 @@ public class ExecutionService {
     @NonNull
     private final FunctionalityRepository functionalityRepository;
 
+    @NonNull
+    private final ExecutedScenarioRepository executedScenarioRepository;
+
     @NonNull
     private final ExecutionMapper executionMapper;
 
@@ -127,39 +140,65 @@ public class ExecutionService {
      */
     @Transactional(readOnly = true)
     public Page<ExecutionWithHandlingCountsDTO> findAll(long projectId, Pageable pageable) {
-        return executionRepository.findAllByProjectIdOrderByTestDateTimeDesc(projectId, pageable).map(this::toDtoWithAggregate);
+        final Page<Execution> executions = executionRepository.findAllByProjectIdOrderByTestDateTimeDesc(projectId, pageable);
+        final Set<Long> executionIds = executions.stream()
+                .map(Execution::getId)
+                .collect(Collectors.toSet());
+        final Map<Long, ExecutedScenarioHandlingCountsDTO> scenarioCounts = executionHistoryService
+                .getExecutedScenarioHandlingCountsFor(executionIds);
+        return executions.map(execution -> toDtoWithAggregate(execution, scenarioCounts.get(execution.getId())));
     }
 
     /**
-     * Get one execution by id.
+     * Get one execution by id, with the executed-scenarios of its runs matching the given criteria.<br>
+     * Only the matching scenarios of the requested page are loaded, the page applying to each run separately.
      *
      * @param projectId     the ID of the project in which to work
      * @param id            the id of the entity
      * @param criteria      the search criteria to use while filtering the executed scenarios.
+     * @param pageable      the page of matching executed scenarios to return for each run (all of them if unpaged)
      * @return the entity
      * @throws NotFoundException when the execution cannot be found
      */
     @Transactional(readOnly = true)
-    public ExecutionWithCountryDeploymentsAndRunsAndExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO findOneWithRuns(long projectId, long id, ExecutionCriteriaDTO criteria) throws NotFoundException {
+    public ExecutionWithCountryDeploymentsAndRunsAndExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO findOneWithRuns(long projectId, long id, ExecutionCriteriaDTO criteria, Pageable pageable) throws NotFoundException {
         Execution execution = executionRepository.findByProjectIdAndId(projectId, id);
         if (execution == null) {
             throw new NotFoundException(Messages.NOT_FOUND_EXECUTION, Entities.EXECUTION);
         }
 
-        if (!criteria.isWithSucceed()) {
-            this.removeScenariosWithoutErrors(execution);
+        final Map<Long, Long> functionalityTeamIds = functionalityRepository.getFunctionalityTeamIds(projectId);
+
+        List<MatchingExecutedScenario> matchingScenarios = executedScenarioRepository
+                .findMatchingExecutedScenarios(toFilter(id, criteria));
+        if (null != criteria.getTeam()) {
+            // Teams are deduced from the functionality IDs of scenario names, which cannot be parsed in SQL
+            final long teamId = criteria.getTeam().longValue();
+            final Set<Long> blamedScenarioIds = executedScenarioRepository.findIdsWithProblemsBlamedOnTeam(id, teamId);
+            matchingScenarios = matchingScenarios.stream()
+                    .filter(s -> blamedScenarioIds.contains(Long.valueOf(s.getId())) ||
+                            matchTeam(getTeamIds(s.getName(), functionalityTeamIds), teamId))
+                    .collect(Collectors.toList());
         }
 
+        final Map<Long, List<Long>> matchingScenarioIdsPerRun = matchingScenarios.stream()
+                .collect(Collectors.groupingBy(MatchingExecutedScenario::getRunId,
+                        Collectors.mapping(MatchingExecutedScenario::getId, Collectors.toList())));
+        final Set<Long> pagedScenarioIds = matchingScenarioIdsPerRun.values().stream()
+                .flatMap(scenarioIds -> page(scenarioIds, pageable))
+                .collect(Collectors.toSet());
+        final Map<Long, List<ExecutedScenario>> pagedScenariosPerRun = executedScenarioRepository.findAllById(pagedScenarioIds)
+                .stream()
+                .sorted()
+                .collect(Collectors.groupingBy(ExecutedScenario::getRunId));
+
         ExecutionWithCountryDeploymentsAndRunsAndExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO resultDto
-                = executionTransformer.toFullyDetailledDto(execution);
+                = executionTransformer.toFullyDetailledDto(execution, pagedScenariosPerRun);
 
-        final Map<Long, Long> functionalityTeamIds = functionalityRepository.getFunctionalityTeamIds(projectId);
         for (RunWithExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO run : resultDto.getRuns()) {
+            run.setMatchingExecutedScenarioCount(matchingScenarioIdsPerRun.getOrDefault(run.getId(), Collections.emptyList()).size());
             for (ExecutedScenarioWithTeamIdsAndErrorsAndProblemsDTO executedScenario : run.getExecutedScenarios()) {
-                executedScenario.setTeamIds(ScenarioExtractorUtil.extractFunctionalityIds(executedScenario.getName()).stream()
-                        .map(functionalityTeamIds::get)
-                        .filter(Objects::nonNull) // Unknown functionality IDs have null team IDs
-                        .collect(Collectors.toSet()));
+                executedScenario.setTeamIds(getTeamIds(executedScenario.getName(), functionalityTeamIds));
                 for (ErrorWithProblemsDTO error : executedScenario.getErrors()) {
                     for (ProblemDTO problem : error.getProblems()) {
                         problem.setDefectUrl(problemService.retrieveDefectUrl(projectId, problem));
@@ -171,67 +210,37 @@ public class ExecutionService {
         return resultDto;
     }
 
-    private boolean matchFilters(ExecutedScenarioWithTeamIdsAndErrorsAndProblemsDTO scenario, ExecutionCriteriaDTO criteria) {
-        // Apply the "ONLY SCENARIO IN ERROR" filter
-        boolean match = !(!criteria.isWithSucceed() && scenario.getErrors().isEmpty());
-        // Apply the "TEAM" filter
-        if (null != criteria.getTeam()) {
-            match = match && ((-404L == criteria.getTeam() && scenario.getTeamIds().isEmpty())
-                    || scenario.getTeamIds().contains(criteria.getTeam())
-                    || this.containsTeamIdInErrors(scenario, criteria.getTeam()));
-        }
-        // Apply the "SEVERITY" filter
-        if (StringUtils.isNotEmpty(criteria.getSeverity())) {
-            boolean emptySeverity = StringUtils.isEmpty(scenario.getSeverity()) || "&".equals(scenario.getSeverity());
-            match = match && (criteria.getSeverity().equals(scenario.getSeverity())
-                    || ("none".equals(criteria.getSeverity()) && emptySeverity)
-                    || ("medium".equals(criteria.getSeverity()) && emptySeverity));
-        }
-        // Apply the "HANDLING" filter
-        if (StringUtils.isNotEmpty(criteria.getHandling())) {
-            match = match && Handling.valueOf(criteria.getHandling()) == scenario.getHandling();
-        }
-        // Apply the "FEATURE" filter
-        if (StringUtils.isNotEmpty(criteria.getFeature())) {
-            match = match && scenario.getFeatureName().toLowerCase().contains(criteria.getFeature().toLowerCase());
-        }
-        // Apply the "SCENARIO" filter
-        if (StringUtils.isNotEmpty(criteria.getScenario())) {
-            match = match && scenario.getName().toLowerCase().contains(criteria.getScenario().toLowerCase());
-        }
-        // Apply the "STEP" filter
-        if (StringUtils.isNotEmpty(criteria.getStep())) {
-            match = match && !scenario.getErrors().isEmpty() && scenario.getErrors().stream()
-                    .anyMatch(e -> e.getStep().toLowerCase().contains(criteria.getStep().toLowerCase()));
-        }
-        // Apply the "EXCEPTION" filter
-        if (StringUtils.isNotEmpty(criteria.getException()) && !scenario.getErrors().isEmpty()) {
-            match = match && scenario.getErrors().stream()
-                    .anyMatch(e -> e.getException().toLowerCase().contains(criteria.getException().toLowerCase()));
-        }
-        // Apply the "PROBLEM" filter
-        if (null != criteria.getProblem()) {
-            match = match && !scenario.getErrors().isEmpty() && scenario.getErrors().stream()
-                    .anyMatch(e -> e.getProblems().stream()
-                            .anyMatch(p -> p.getId().equals(criteria.getProblem())));
-        }
-        return match;
+    private static ExecutedScenarioFilter toFilter(long executionId, ExecutionCriteriaDTO criteria) {
+        return new ExecutedScenarioFilter()
+                .withExecutionId(executionId)
+                .withWithSucceed(criteria.isWithSucceed())
+                .withSeverity(criteria.getSeverity())
+                .withHandling(StringUtils.isEmpty(criteria.getHandling()) ? null : Handling.valueOf(criteria.getHandling()))
+                .withFeature(criteria.getFeature())
+                .withScenario(criteria.getScenario())
+                .withStep(criteria.getStep())
+                .withException(criteria.getException())
+                .withProblemId(criteria.getProblem());
     }
 
-    private boolean containsTeamIdInErrors(ExecutedScenarioWithTeamIdsAndErrorsAndProblemsDTO scenario, long teamId) {
-        for (ErrorWithProblemsDTO error : scenario.getErrors()) {
-            if (error.getProblems().stream()
-                    .anyMatch(p -> p.getBlamedTeam().getId() == teamId)) {
-                return true;
-            }
-        }
-        return false;
+    private static Set<Long> getTeamIds(String scenarioName, Map<Long, Long> functionalityTeamIds) {
+        return ScenarioExtractorUtil.extractFunctionalityIds(scenarioName).stream()
+                .map(functionalityTeamIds::get)
+                .filter(Objects::nonNull) // Unknown functionality IDs have null team IDs
+                .collect(Collectors.toSet());
     }
 
-    private void removeScenariosWithoutErrors(Execution execution) {
-        for (Run run : execution.getRuns()) {
-            run.getExecutedScenarios().removeIf(s -> s.getErrors().isEmpty());
+    private static boolean matchTeam(Set<Long> teamIds, long teamId) {
+        return (Team.NOT_ASSIGNED.getId().longValue() == teamId && teamIds.isEmpty()) || teamIds.contains(Long.valueOf(teamId));
+    }
+
+    private static Stream<Long> page(List<Long> scenarioIds, Pageable pageable) {
+        if (pageable == null || pageable.isUnpaged()) {
+            return scenarioIds.stream();
         }
+        return scenarioIds.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize());
     }
 
     /**
@@ -344,9 +353,9 @@ public class ExecutionService {
         return execution.getQualitySeverities() == null || execution.getQualitySeverities().isEmpty() || execution.getQualityThresholds() == null || execution.getQualityThresholds().isEmpty();
     }
 
-    private ExecutionWithHandlingCountsDTO toDtoWithAggregate(Execution execution) {
+    private ExecutionWithHandlingCountsDTO toDtoWithAggregate(Execution execution, ExecutedScenarioHandlingCountsDTO scenarioCounts) {
         ExecutionWithHandlingCountsDTO dto = executionWithHandlingCountsMapper.toDto(execution);
-        dto.setScenarioCounts(executionHistoryService.getExecutedScenarioHandlingCountsFor(execution));
+        dto.setScenarioCounts(scenarioCounts);
         return dto;
     }
 
@@ -359,27 +368,66 @@ public class ExecutionService {
     }
 
     /**
-     * Unzip the given multipart file and launch an indexation of this execution for the given project's cycle.
+     * Index the executions of a zip previously stored by an asynchronous upload.<br>
+     * If the execution files are to be deleted after indexing, they are read straight out of the zip (no extraction):
+     * otherwise, the zip is extracted to the incoming folder, where the indexed executions link to.
      *
-     * @param projectId the id of project which the execution belongs to
-     * @param projectCode      the code of the project
-     * @param branch    the branch of the current cycle for this execution
+     * @param projectId the id of the project
+     * @param projectCode the code of the project
+     * @param branch    the branch for this execution
      * @param cycle     the cycle for this execution
-     * @param zipFile   the execution to index
+     * @param zipFile   the stored zip containing the executions to index
      * @throws IllegalArgumentException if the project doesn't use the file system indexer or the cycle doesn't exists.
      * @throws IOException              if the zip file can't be unzipped.
      */
-    public void uploadExecutionReport(long projectId, String projectCode, String branch, String cycle, MultipartFile zipFile) throws IOException {
-        CycleDefinition cycleDefinition = cycleDefinitionRepository.findByProjectIdAndBranchAndName(projectId, branch, cycle)
+    public void indexStoredExecutionReport(long projectId, String projectCode, String branch, String cycle, File zipFile) throws IOException {
+        CycleDefinition cycleDefinition = getCycleDefinition(projectId, branch, cycle);
+        File destinationDirectory = getIncomingDirectory(projectId, projectCode, branch, cycle);
+        String buildInformationFilePath = settingService.get(projectId, Settings.EXECUTION_INDEXER_FILE_BUILD_INFORMATION_PATH);
+        if (settingService.getBoolean(projectId, Settings.EXECUTION_INDEXER_FILE_DELETE_AFTER_INDEXING_AS_DONE)) {
+            indexExecutionArchive(cycleDefinition, destinationDirectory, zipFile, buildInformationFilePath);
+            return;
+        }
+        Files.createDirectories(destinationDirectory.toPath());
+        try (InputStream inputStream = new FileInputStream(zipFile)) {
+            this.archiveService.unzip(inputStream, destinationDirectory);
+        }
+        List<File> executionDirectories = retrieveAllExecutionDirectories(destinationDirectory, buildInformationFilePath);
+        processExecutionDirectories(projectId, cycleDefinition, executionDirectories);
+    }
+
+    /**
+     * @param projectId the id of the project
+     * @param branch    the branch of the cycle
+     * @param cycle     the name of the cycle
+     * @return the cycle definition
+     * @throws IllegalArgumentException if the cycle doesn't exists
+     */
+    public CycleDefinition getCycleDefinition(long projectId, String branch, String cycle) {
+        return cycleDefinitionRepository.findByProjectIdAndBranchAndName(projectId, branch, cycle)
                 .orElseThrow(() -> new IllegalArgumentException("The branch or cycle for this project doesn't exists."));
+    }
 
+    /**
+     * @param projectId the id of the project
+     * @param projectCode the code of the project
+     * @param branch    the branch of the cycle
+     * @param cycle     the name of the cycle
+     * @return the folder of the file system indexer for this cycle, where uploaded executions are stored
+     */
+    public File getCycleDirectory(long projectId, String projectCode, String branch, String cycle) {
         String path = settingService.get(projectId, Settings.EXECUTION_INDEXER_FILE_EXECUTION_BASE_PATH)
                 .replace(Settings.PROJECT_VARIABLE, projectCode)
                 .replace(Settings.BRANCH_VARIABLE, branch)
                 .replace(Settings.CYCLE_VARIABLE, cycle);
-        File destinationDirectory = new File(path, "incoming");
-        String buildInformationFilePath = settingService.get(projectId, Settings.EXECUTION_INDEXER_FILE_BUILD_INFORMATION_PATH);
-        List<File> executionDirectories = this.unzipExecutions(destinationDirectory, zipFile, buildInformationFilePath);
+        return new File(path);
+    }
+
+    private File getIncomingDirectory(long projectId, String projectCode, String branch, String cycle) {
+        return new File(getCycleDirectory(projectId, projectCode, branch, cycle), "incoming");
+    }
+
+    private void processExecutionDirectories(long projectId, CycleDefinition cycleDefinition, List<File> executionDirectories) {
         for (final File executionDirectory : executionDirectories) {
             try {
                 processSpecificDirectory(cycleDefinition, executionDirectory);
@@ -401,10 +449,52 @@ public class ExecutionService {
         executionIndexerService.indexExecution(plannedIndexation);
     }
 
-    List<File> unzipExecutions(File destinationDirectory, MultipartFile zipFile, String buildInformationFilePath) throws IOException {
-        Files.createDirectories(destinationDirectory.toPath());
-        this.archiveService.unzip(zipFile, destinationDirectory);
-        return retrieveAllExecutionDirectories(destinationDirectory, buildInformationFilePath);
+    /**
+     * Index the executions of a zip without extracting it: the files are read from a zip file system.
+     *
+     * @param cycleDefinition          the cycle of the executions
+     * @param destinationDirectory     the folder the zip would have been extracted to, giving the executions their links
+     * @param zipFile                  the zip containing the executions to index
+     * @param buildInformationFilePath the relative path to the build information file of an execution
+     * @throws IOException if the zip file can't be opened
+     */
+    private void indexExecutionArchive(CycleDefinition cycleDefinition, File destinationDirectory, File zipFile, String buildInformationFilePath) throws IOException {
+        try (FileSystem zip = FileSystems.newFileSystem(zipFile.toPath(), this.getClass().getClassLoader())) {
+            final Path root = zip.getPath("/");
+            for (final Path executionFolder : retrieveAllExecutionFolders(root, buildInformationFilePath)) {
+                final File executionDirectory = new File(destinationDirectory, StringUtils.removeEnd(root.relativize(executionFolder).toString(), "/"));
+                try {
+                    log.info("Received new execution report in {}", executionFolder.toUri());
+                    PlannedIndexation plannedIndexation = new PlannedIndexation()
+                            .withCycleDefinition(cycleDefinition)
+                            .withExecutionFolder(executionDirectory)
+                            .withExecutionArchiveFolder(executionFolder);
+                    executionIndexerService.indexExecution(plannedIndexation);
+                } catch (Exception e) {
+                    log.error("A problem occurred while indexing this execution [{}]", executionFolder.toUri(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param root                     the root folder of an execution zip file system
+     * @param buildInformationFilePath the relative path to the build information file of an execution
+     * @return the execution folders of the zip (same rules as {@link #retrieveAllExecutionDirectories(File, String)})
+     * @throws IOException if the zip can't be read
+     */
+    private List<Path> retrieveAllExecutionFolders(Path root, String buildInformationFilePath) throws IOException {
+        try (Stream<Path> entries = Files.list(root)) {
+            List<Path> executionFolders = entries
+                    .filter(Files::isDirectory)
+                    .filter(folder -> StringUtils.removeEnd(String.valueOf(folder.getFileName()), "/").matches("[0-9]+"))
+                    .filter(folder -> Files.exists(folder.resolve(StringUtils.stripStart(buildInformationFilePath, "/"))))
+                    .collect(Collectors.toList());
+            if (executionFolders.isEmpty()) {
+                log.warn("No execution found in the zip file {}", root.toUri());
+            }
+            return executionFolders;
+        }
     }
 
     List<File> retrieveAllExecutionDirectories(File file, String buildInformationFilePath) {
@@ -29,6 +29,8 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -137,4 +139,93 @@ public class FileProcessorService {
 
         return Optional.ofNullable(matchingFile);
     }
+
+    /**
+     * Create a mapped object from a path (if found and processed correctly).<br>
+     * The path may belong to any file system, e.g. a zip file system opened on an execution archive.
+     * @param parentDirectory the directory containing the file to get the mapped object from
+     * @param pathToFile the relative path to this file from the parent directory
+     * @param objectClass the class of the object to map
+     * @param <T> the type of the object to map
+     * @return the mapped object
+     */
+    public <T> Optional<T> getMappedObjectFromPath(Path parentDirectory, String pathToFile, Class<T> objectClass) {
+        Optional<Path> matchingFile = getMatchingSimplePath(parentDirectory, pathToFile);
+        if (!matchingFile.isPresent()) {
+            return Optional.empty();
+        }
+
+        T mappedObject = null;
+        try (InputStream input = Files.newInputStream(matchingFile.get())) {
+            mappedObject = objectMapper.readValue(input, objectClass);
+        } catch (IOException e) {
+            log.info("Unable to process the file {}", matchingFile.get().toUri(), e);
+        }
+
+        return Optional.ofNullable(mappedObject);
+    }
+
+    /**
+     * Create a mapped object list from a path (if found and processed correctly).<br>
+     * The path may belong to any file system, e.g. a zip file system opened on an execution archive.
+     * @param parentDirectory the directory containing the file to get the mapped object list from
+     * @param pathToFile the relative path to this file from the parent directory
+     * @param objectClass the class of the object to map
+     * @param <T> the type of the object to map
+     * @return the mapped object list
+     */
+    public <T> List<T> getMappedObjectListFromPath(Path parentDirectory, String pathToFile, Class<T> objectClass) {
+        Optional<Path> matchingFile = getMatchingSimplePath(parentDirectory, pathToFile);
+        if (!matchingFile.isPresent()) {
+            log.info("The file {} was not found", pathToFile);
+            return new ArrayList<>();
+        }
+        try (InputStream input = Files.newInputStream(matchingFile.get())) {
+            return objectMapper.readValue(input, objectMapper.getTypeFactory().constructCollectionType(List.class, objectClass));
+        } catch (IOException e) {
+            log.info("Cannot download file in {}", matchingFile.get().toUri(), e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Get a regular file from a parent directory and a path starting from the parent directory
+     * @param parentDirectory the folder in which the file is searched (from any file system)
+     * @param filePath the path from the parentDirectory
+     * @return the file if found
+     */
+    public Optional<Path> getMatchingSimplePath(Path parentDirectory, String filePath) {
+        return getMatchingPath(parentDirectory, filePath).filter(Files::isRegularFile);
+    }
+
+    /**
+     * Get a directory from a parent directory and a path starting from the parent directory
+     * @param parentDirectory the folder in which the directory is searched (from any file system)
+     * @param directoryPath the path from the parentDirectory
+     * @return the directory if found
+     */
+    public Optional<Path> getMatchingDirectoryPath(Path parentDirectory, String directoryPath) {
+        return getMatchingPath(parentDirectory, directoryPath).filter(Files::isDirectory);
+    }
+
+    /**
+     * Get a path (either a single file or a directory) from a parent directory and a path starting from the parent directory
+     * @param parentDirectory the folder in which the file is searched (from any file system)
+     * @param filePath the path from the parentDirectory, using '/' or the platform separator
+     * @return the path if found
+     */
+    private Optional<Path> getMatchingPath(Path parentDirectory, String filePath) {
+        if (parentDirectory == null || StringUtils.isBlank(filePath)) {
+            return Optional.empty();
+        }
+        final String relativePath = StringUtils.stripStart(filePath.replace(File.separatorChar, '/'), "/");
+        final Path matchingPath = parentDirectory.resolve(relativePath);
+
+        if (!Files.exists(matchingPath)) {
+            log.error("File {} not found", matchingPath.toUri());
+            return Optional.empty();
+        }
+
+        return Optional.of(matchingPath);
+    }
 }
@@ -17,12 +17,21 @@
 
 package com.decathlon.ara.service;
 
+import com.decathlon.ara.domain.MaterializedProblemAggregate;
 import com.decathlon.ara.domain.Problem;
 import com.decathlon.ara.domain.projection.FirstAndLastProblemOccurrence;
+import com.decathlon.ara.repository.MaterializedProblemAggregateRepository;
+import com.decathlon.ara.repository.ProblemPatternRepository;
 import com.decathlon.ara.repository.ProblemRepository;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -42,14 +51,42 @@ public class ProblemDenormalizationService {
     @NonNull
     private final ProblemRepository problemRepository;
 
+    @NonNull
+    private final ProblemPatternRepository problemPatternRepository;
+
+    @NonNull
+    private final MaterializedProblemAggregateRepository materializedProblemAggregateRepository;
+
+    /**
+     * Update all the fields derived from the occurrences of the given problems: to be called each time occurrences are
+     * added to or removed from these problems.
+     *
+     * @param problems the problems whose occurrences changed
+     */
+    public void updateDenormalizedFields(Collection<Problem> problems) {
+        updateFirstAndLastSeenDateTimes(problems);
+        updateAggregates(problems);
+    }
+
+    /**
+     * @param patternId the ID of a pattern whose problem's occurrences changed: nothing is done if the pattern has been
+     *                  removed in the meantime
+     */
+    public void updateDenormalizedFieldsOfPattern(long patternId) {
+        problemPatternRepository.findById(Long.valueOf(patternId))
+                .ifPresent(pattern -> updateDenormalizedFields(Collections.singleton(pattern.getProblem())));
+    }
+
     public void updateFirstAndLastSeenDateTimes(Collection<Problem> problems) {
         final List<FirstAndLastProblemOccurrence> occurrences =
                 problemRepository.findFirstAndLastProblemOccurrences(problems);
 
+        final Map<Long, FirstAndLastProblemOccurrence> occurrencesByProblemId = occurrences.stream()
+                .collect(Collectors.toMap(FirstAndLastProblemOccurrence::getProblemId, Function.identity()));
+
         for (Problem problem : problems) {
-            final Optional<FirstAndLastProblemOccurrence> occurrence = occurrences.stream()
-                    .filter(o -> problem.getId().equals(o.getProblemId()))
-                    .findFirst();
+            final Optional<FirstAndLastProblemOccurrence> occurrence =
+                    Optional.ofNullable(occurrencesByProblemId.get(problem.getId()));
             problem.setFirstSeenDateTime(occurrence
                     .map(FirstAndLastProblemOccurrence::getFirstSeenDateTime)
                     .orElse(null));
@@ -59,4 +96,57 @@ public class ProblemDenormalizationService {
         }
     }
 
+    /**
+     * Recompute and store the aggregates of the given problems only, in one grouped query: problems without occurrence
+     * get an empty aggregate.<br>
+     * The rows of the problems are locked until the end of the transaction: concurrent refreshes of the same problems
+     * (eg. two executions indexed at once) are serialized, instead of both inserting a missing aggregate.
+     *
+     * @param problems the problems whose aggregates need to be refreshed
+     */
+    public void updateAggregates(Collection<Problem> problems) {
+        updateAggregatesOfProblemIds(problems.stream()
+                .map(Problem::getId)
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+    }
+
+    /**
+     * Recompute all the fields derived from the occurrences of the problems of a project in the given ID range, with
+     * set-based queries: one UPDATE for the first and last seen date-times and one grouped query for the aggregates.
+     *
+     * @param projectId     the ID of the project in which to work
+     * @param fromProblemId the lowest problem ID to recompute (inclusive)
+     * @param toProblemId   the highest problem ID to recompute (exclusive)
+     * @return the number of recomputed problems
+     */
+    public int updateDenormalizedFieldsOfIdRange(long projectId, long fromProblemId, long toProblemId) {
+        final List<Long> problemIds = problemRepository.findIdsByProjectIdAndIdRange(projectId, fromProblemId, toProblemId);
+        if (problemIds.isEmpty()) {
+            return 0;
+        }
+        problemRepository.updateFirstAndLastSeenDateTimes(projectId, fromProblemId, toProblemId);
+        updateAggregatesOfProblemIds(new LinkedHashSet<>(problemIds));
+        return problemIds.size();
+    }
+
+    private void updateAggregatesOfProblemIds(Set<Long> problemIds) {
+        if (problemIds.isEmpty()) {
+            return;
+        }
+
+        problemRepository.lockByIds(problemIds);
+
+        final Map<Long, MaterializedProblemAggregate> aggregates = problemRepository.computeProblemAggregates(problemIds)
+                .stream()
+                .collect(Collectors.toMap(MaterializedProblemAggregate::getProblemId, Function.identity()));
+
+        // Load the existing rows at once, so that saving them does not select them one by one: a locking read, so
+        // that rows inserted by a refresh committed while waiting for the lock are updated rather than inserted again
+        materializedProblemAggregateRepository.findAllByProblemIdIn(problemIds);
+
+        materializedProblemAggregateRepository.saveAll(problemIds.stream()
+                .map(id -> aggregates.getOrDefault(id, MaterializedProblemAggregate.empty(id)))
+                .collect(Collectors.toList()));
+    }
+
 }
@@ -0,0 +1,115 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.service;
+
+import com.decathlon.ara.configuration.AraConfiguration;
+import com.decathlon.ara.domain.ProblemPatternBackFill;
+import com.decathlon.ara.domain.enumeration.PatternBackFillStatus;
+import com.decathlon.ara.repository.ErrorRepository;
+import com.decathlon.ara.repository.ProblemPatternBackFillRepository;
+import java.util.Date;
+import java.util.Optional;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.Range;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs the back-fills claimed by {@link ProblemPatternBackFillService}, on its pool of workers.<br>
+ * Not transactional: each chunk of error IDs is assigned and committed in its own transaction, then recorded as the
+ * point from which a resumed back-fill goes on.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ProblemPatternBackFillRunner {
+
+    @NonNull
+    private final ErrorRepository errorRepository;
+
+    @NonNull
+    private final ProblemPatternBackFillRepository problemPatternBackFillRepository;
+
+    @NonNull
+    private final ProblemDenormalizationService problemDenormalizationService;
+
+    @NonNull
+    private final AraConfiguration araConfiguration;
+
+    /**
+     * Assign the pattern to all the matching errors of its project, walking the error table by ranges of IDs from where
+     * the back-fill stopped last time, if it was already started by a now dead worker.
+     *
+     * @param backFill the claimed back-fill to run, as read before claiming it
+     * @param worker   the ID of the worker having claimed the back-fill
+     */
+    public void run(ProblemPatternBackFill backFill, String worker) {
+        final long id = backFill.getId().longValue();
+        final long projectId = backFill.getProjectId();
+        final long patternId = backFill.getProblemPatternId();
+        log.info("Began assigning pattern {} of project {} to existing errors", Long.valueOf(patternId), Long.valueOf(projectId));
+
+        try {
+            Long minErrorId = backFill.getMinErrorId();
+            Long maxErrorId = backFill.getMaxErrorId();
+            if (maxErrorId == null) {
+                final Optional<Range<Long>> idRange = errorRepository.findIdRangeByProjectId(projectId);
+                if (idRange.isPresent()) {
+                    minErrorId = idRange.get().getMinimum();
+                    maxErrorId = idRange.get().getMaximum();
+                    if (problemPatternBackFillRepository.startScan(id, worker, minErrorId, maxErrorId, new Date()) == 0) {
+                        logStopped(patternId);
+                        return;
+                    }
+                }
+            }
+
+            long assignedErrorCount = backFill.getAssignedErrorCount();
+            if (maxErrorId != null) {
+                final int chunkSize = Math.max(1, araConfiguration.getPatternBackFillChunkSize());
+                final long lastId = maxErrorId.longValue();
+                long fromId = (backFill.getLastErrorId() == null ? minErrorId.longValue() : backFill.getLastErrorId().longValue() + 1);
+                for (; fromId <= lastId; fromId += chunkSize) {
+                    final long toId = Math.min(fromId + chunkSize, lastId + 1);
+                    assignedErrorCount += errorRepository.assignPatternToErrors(projectId, patternId, fromId, toId);
+                    // If the node dies before recording it, the chunk is scanned again: its errors, already linked to
+                    // the pattern, are then skipped and not counted twice
+                    if (problemPatternBackFillRepository.advance(id, worker, toId - 1, assignedErrorCount, new Date()) == 0) {
+                        logStopped(patternId);
+                        return;
+                    }
+                }
+            }
+
+            problemDenormalizationService.updateDenormalizedFieldsOfPattern(patternId);
+            problemPatternBackFillRepository.finish(id, worker, PatternBackFillStatus.DONE, new Date());
+            log.info("Ended assigning pattern {} to {} existing errors", Long.valueOf(patternId), Long.valueOf(assignedErrorCount));
+        } catch (RuntimeException e) {
+            problemPatternBackFillRepository.finish(id, worker, PatternBackFillStatus.FAILED, new Date());
+            log.error("Failed to assign pattern {} to existing errors", Long.valueOf(patternId), e);
+        }
+    }
+
+    private static void logStopped(long patternId) {
+        log.info("Stopped assigning pattern {} to existing errors: it was modified, removed, or resumed by another worker",
+                Long.valueOf(patternId));
+    }
+
+}
@@ -0,0 +1,188 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.service;
+
+import com.decathlon.ara.Entities;
+import com.decathlon.ara.Messages;
+import com.decathlon.ara.configuration.AraConfiguration;
+import com.decathlon.ara.domain.ProblemPatternBackFill;
+import com.decathlon.ara.domain.enumeration.PatternBackFillStatus;
+import com.decathlon.ara.repository.ProblemPatternBackFillRepository;
+import com.decathlon.ara.repository.custom.util.TransactionAppenderUtil;
+import com.decathlon.ara.service.dto.problempattern.PatternBackFillDTO;
+import com.decathlon.ara.service.exception.NotFoundException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service for assigning new or modified problem patterns to the already indexed errors, in background.<br>
+ * Back-fills are stored in database with the pattern (there is at most one back-fill per pattern, a newer one replacing
+ * the older one), so any ARA node knows their progress. They are run by a bounded pool of workers: each back-fill is
+ * claimed in database before being run, records the last error ID of each committed chunk, and holds a lease renewed
+ * by its worker. The back-fill of a dead node is put back in the queue and resumed from its last committed error ID by
+ * any node.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ProblemPatternBackFillService {
+
+    @NonNull
+    private final ProblemPatternBackFillRepository problemPatternBackFillRepository;
+
+    @NonNull
+    private final ProblemPatternBackFillRunner problemPatternBackFillRunner;
+
+    @NonNull
+    private final TransactionAppenderUtil transactionAppenderUtil;
+
+    @NonNull
+    private final AraConfiguration araConfiguration;
+
+    @NonNull
+    private final AsyncTaskExecutor patternBackFillExecutor;
+
+    /**
+     * IDs of the back-fills run by this node, whose leases are to be renewed.
+     */
+    private final Set<Long> runningBackFillIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Identifies this ARA process as the worker of the back-fills it claims.
+     */
+    private final String worker = UUID.randomUUID().toString();
+
+    /**
+     * Schedule the assignment of a pattern to all matching existing errors, in the current transaction (having created
+     * or modified the pattern): the back-fill is dispatched once it is committed.
+     *
+     * @param projectId the ID of the project in which to work
+     * @param patternId the ID of the pattern to assign to existing errors
+     * @return the progress of the scheduled back-fill
+     */
+    public PatternBackFillDTO schedule(long projectId, long patternId) {
+        // A back-fill still running for the previous version of the pattern stops at its next chunk
+        problemPatternBackFillRepository.deleteByProblemPatternId(patternId);
+
+        ProblemPatternBackFill backFill = new ProblemPatternBackFill();
+        backFill.setProjectId(projectId);
+        backFill.setProblemPatternId(patternId);
+        backFill.setStatus(PatternBackFillStatus.PENDING);
+        backFill.setCreationDateTime(new Date());
+        ProblemPatternBackFill savedBackFill = problemPatternBackFillRepository.save(backFill);
+
+        transactionAppenderUtil.doAfterCommit(this::dispatch);
+        return toDto(savedBackFill);
+    }
+
+    /**
+     * Stop assigning a pattern that is being removed, in the current transaction (removing the pattern).
+     *
+     * @param patternId the ID of the pattern whose back-fill to cancel, if any
+     */
+    public void cancel(long patternId) {
+        problemPatternBackFillRepository.deleteByProblemPatternId(patternId);
+    }
+
+    /**
+     * @param projectId the ID of the project in which to work
+     * @param patternId the ID of the pattern being assigned to existing errors
+     * @return the progress of the last back-fill of the pattern
+     * @throws NotFoundException if no back-fill was scheduled for this pattern
+     */
+    public PatternBackFillDTO findOne(long projectId, long patternId) throws NotFoundException {
+        return problemPatternBackFillRepository.findByProjectIdAndProblemPatternId(projectId, patternId)
+                .map(ProblemPatternBackFillService::toDto)
+                .orElseThrow(() -> new NotFoundException(Messages.NOT_FOUND_PATTERN_BACK_FILL, Entities.PROBLEM_PATTERN));
+    }
+
+    /**
+     * Periodically renew the leases of the back-fills run by this node, put back in the queue the back-fills abandoned
+     * by dead workers, and dispatch the pending back-fills that were waiting for a worker (eg. after a restart).
+     */
+    @Scheduled(fixedDelayString = "${ara.patternBackFillPollingDelayInMilliseconds}")
+    public void poll() {
+        Date now = new Date();
+        List<Long> leasedBackFillIds = new ArrayList<>(runningBackFillIds);
+        if (!leasedBackFillIds.isEmpty()) {
+            problemPatternBackFillRepository.renewLeases(leasedBackFillIds, worker, now);
+        }
+        Date abandonedBefore = new Date(now.getTime() -
+                TimeUnit.MINUTES.toMillis(araConfiguration.getPatternBackFillTimeoutInMinutes()));
+        int requeuedBackFillCount = problemPatternBackFillRepository.requeueRunningBackFillsWithHeartbeatBefore(abandonedBefore);
+        if (requeuedBackFillCount > 0) {
+            log.warn("Put back {} abandoned pattern back-fill(s) in the queue", Integer.valueOf(requeuedBackFillCount));
+        }
+        dispatch();
+    }
+
+    /**
+     * Claim as many pending back-fills as there are free workers, in the order they were scheduled.
+     */
+    synchronized void dispatch() {
+        int workerCount = Math.max(1, araConfiguration.getPatternBackFillWorkerCount());
+        for (ProblemPatternBackFill backFill : problemPatternBackFillRepository.findAllByStatusOrderById(PatternBackFillStatus.PENDING)) {
+            if (runningBackFillIds.size() >= workerCount) {
+                return;
+            }
+            // A back-fill requeued while still running here (lease not renewed in time) must not run twice
+            if (runningBackFillIds.contains(backFill.getId()) ||
+                    problemPatternBackFillRepository.claim(backFill.getId().longValue(), worker, new Date()) == 0) {
+                continue;
+            }
+            runningBackFillIds.add(backFill.getId());
+            patternBackFillExecutor.execute(() -> run(backFill));
+        }
+    }
+
+    private void run(ProblemPatternBackFill backFill) {
+        try {
+            problemPatternBackFillRunner.run(backFill, worker);
+        } finally {
+            runningBackFillIds.remove(backFill.getId());
+        }
+        dispatch();
+    }
+
+    private static PatternBackFillDTO toDto(ProblemPatternBackFill backFill) {
+        int progress = 0;
+        if (backFill.getStatus() == PatternBackFillStatus.DONE) {
+            progress = 100;
+        } else if (backFill.getLastErrorId() != null) {
+            final long minErrorId = backFill.getMinErrorId().longValue();
+            final double scannedFraction = (double) (backFill.getLastErrorId().longValue() - minErrorId + 1) /
+                    (backFill.getMaxErrorId().longValue() - minErrorId + 1);
+            progress = (int) Math.min(100, Math.round(scannedFraction * 100));
+        }
+        return new PatternBackFillDTO(Long.valueOf(backFill.getProblemPatternId()), backFill.getStatus(), progress,
+                backFill.getAssignedErrorCount());
+    }
+
+}
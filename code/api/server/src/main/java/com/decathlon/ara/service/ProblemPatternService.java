@@ -24,6 +24,7 @@ import com.decathlon.ara.repository.ProblemPatternRepository;
 import com.decathlon.ara.repository.ProblemRepository;
 import com.decathlon.ara.repository.TypeRepository;
 import com.decathlon.ara.repository.custom.util.JpaCacheManager;
+import com.decathlon.ara.repository.custom.util.ProblemPatternIndexCache;
 import com.decathlon.ara.repository.custom.util.TransactionAppenderUtil;
 import com.decathlon.ara.service.dto.error.ErrorWithExecutedScenarioAndRunAndExecutionDTO;
 import com.decathlon.ara.service.dto.problempattern.ProblemPatternDTO;
@@ -72,6 +73,9 @@ public class ProblemPatternService {
     @NonNull
     private final ErrorRepository errorRepository;
 
+    @NonNull
+    private final ProblemPatternBackFillService problemPatternBackFillService;
+
     @NonNull
     private final CountryRepository countryRepository;
 
@@ -90,6 +94,9 @@ public class ProblemPatternService {
     @NonNull
     private final JpaCacheManager jpaCacheManager;
 
+    @NonNull
+    private final ProblemPatternIndexCache problemPatternIndexCache;
+
     @NonNull
     private final TransactionAppenderUtil transactionService;
 
@@ -133,6 +140,8 @@ public class ProblemPatternService {
 
         // Delete the pattern
         problemPatternRepository.delete(pattern);
+        problemPatternIndexCache.evict(projectId);
+        problemPatternBackFillService.cancel(id);
 
         // Delete the source problem if it has no pattern anymore
         DeletePatternDTO response = new DeletePatternDTO();
@@ -140,7 +149,7 @@ public class ProblemPatternService {
             problemRepository.delete(sourceProblem);
             response.setDeletedProblem(problemMapper.toDto(sourceProblem));
         } else {
-            problemDenormalizationService.updateFirstAndLastSeenDateTimes(Collections.singleton(sourceProblem));
+            problemDenormalizationService.updateDenormalizedFields(Collections.singleton(sourceProblem));
         }
 
         return response;
@@ -199,10 +208,12 @@ public class ProblemPatternService {
 
         // Update the pattern: this will remove all occurrences, as the DTO has no error
         problemPattern = problemPatternRepository.save(entityToUpdate);
+        problemPatternIndexCache.evict(projectId);
 
-        // Reassign errors to the new pattern, and update the first and last seen occurrences
-        errorRepository.assignPatternToErrors(projectId, problemPattern); // Also evict errors' cache of the NEW pattern
-        problemDenormalizationService.updateFirstAndLastSeenDateTimes(Collections.singleton(problemPattern.getProblem()));
+        // Errors are reassigned to the new pattern in background: the denormalized fields of the problem are refreshed
+        // now, and again when the back-fill ends
+        problemPatternBackFillService.schedule(projectId, problemPattern.getId().longValue());
+        problemDenormalizationService.updateDenormalizedFields(Collections.singleton(problemPattern.getProblem()));
 
         return problemPatternMapper.toDto(problemPattern);
     }
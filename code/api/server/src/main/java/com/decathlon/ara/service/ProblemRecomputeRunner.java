@@ -0,0 +1,67 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.service;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs in background the recomputation of the first and last seen date-times, and of the stored aggregates, of the
+ * problems of all projects: it can take long on big databases, so it is not run within an HTTP request.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ProblemRecomputeRunner {
+
+    @NonNull
+    private final ProblemService problemService;
+
+    /**
+     * Whether a recomputation is running on this ARA instance.
+     */
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Recompute the problems of all projects, unless a recomputation is already running on this ARA instance.
+     *
+     * @see ProblemService#recomputeFirstAndLastSeenDateTimes()
+     */
+    @Async("problemRecomputeExecutor")
+    public void recomputeAllProjects() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Problems are already being recomputed: ignoring the new request");
+            return;
+        }
+        try {
+            log.info("Began recomputing the problems of all projects");
+            final long recomputedCount = problemService.recomputeFirstAndLastSeenDateTimes();
+            log.info("Ended recomputing {} problems of all projects", Long.valueOf(recomputedCount));
+        } catch (RuntimeException e) {
+            log.error("Failed to recompute the problems of all projects", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+}
@@ -22,15 +22,18 @@ import com.decathlon.ara.Messages;
 import com.decathlon.ara.SpringApplicationContext;
 import com.decathlon.ara.ci.service.DateService;
 import com.decathlon.ara.ci.util.FetchException;
+import com.decathlon.ara.configuration.AraConfiguration;
 import com.decathlon.ara.defect.DefectAdapter;
 import com.decathlon.ara.defect.bean.Defect;
 import com.decathlon.ara.domain.Error;
 import com.decathlon.ara.domain.*;
 import com.decathlon.ara.domain.enumeration.DefectExistence;
 import com.decathlon.ara.domain.enumeration.ProblemStatus;
+import com.decathlon.ara.domain.projection.LatestCycleExecution;
 import com.decathlon.ara.domain.projection.ProblemAggregate;
 import com.decathlon.ara.repository.*;
 import com.decathlon.ara.repository.custom.util.JpaCacheManager;
+import com.decathlon.ara.repository.custom.util.ProblemPatternIndexCache;
 import com.decathlon.ara.repository.custom.util.TransactionAppenderUtil;
 import com.decathlon.ara.service.dto.error.ErrorWithExecutedScenarioAndRunAndExecutionDTO;
 import com.decathlon.ara.service.dto.problem.*;
@@ -50,14 +53,17 @@ import com.decathlon.ara.service.util.ObjectUtil;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.Range;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -91,9 +97,24 @@ public class ProblemService {
     @NonNull
     private final RootCauseRepository rootCauseRepository;
 
+    @NonNull
+    private final MaterializedProblemAggregateRepository materializedProblemAggregateRepository;
+
+    @NonNull
+    private final CountryRepository countryRepository;
+
+    @NonNull
+    private final TypeRepository typeRepository;
+
+    @NonNull
+    private final ProjectRepository projectRepository;
+
     @NonNull
     private final ProblemPatternService problemPatternService;
 
+    @NonNull
+    private final ProblemPatternBackFillService problemPatternBackFillService;
+
     @NonNull
     private final ProblemDenormalizationService problemDenormalizationService;
 
@@ -142,9 +163,15 @@ public class ProblemService {
     @NonNull
     private final JpaCacheManager jpaCacheManager;
 
+    @NonNull
+    private final ProblemPatternIndexCache problemPatternIndexCache;
+
     @NonNull
     private final TransactionAppenderUtil transactionService;
 
+    @NonNull
+    private final AraConfiguration araConfiguration;
+
     private static void validateClosedProblemHasRootCause(ProblemDTO problemDto) throws BadRequestException {
         if (problemDto.getStatus() == ProblemStatus.CLOSED && (problemDto.getRootCause() == null ||
                 problemDto.getRootCause().getId() == null ||
@@ -155,8 +182,8 @@ public class ProblemService {
     }
 
     private static List<ExecutionStabilityDTO> computeExecutionStability(int lastExecutionCount,
-                                                                         List<Execution> lastExecutions,
-                                                                         List<Long> failedExecutionIds) {
+                                                                         List<LatestCycleExecution> lastExecutions,
+                                                                         Set<Long> failedExecutionIds) {
         ExecutionStabilityDTO[] executionStabilityDTOS = new ExecutionStabilityDTO[lastExecutionCount];
         for (int i = 0; i < lastExecutionCount; i++) {
             int pos = lastExecutionCount - 1 - i;
@@ -165,13 +192,13 @@ public class ProblemService {
                         .withStatus(STABILITY_NOT_RUN);
             } else {
                 String status;
-                if (failedExecutionIds != null && failedExecutionIds.contains(lastExecutions.get(i).getId())) {
+                if (failedExecutionIds.contains(lastExecutions.get(i).getExecutionId())) {
                     status = STABILITY_ERROR;
                 } else {
                     status = STABILITY_OK;
                 }
                 executionStabilityDTOS[pos] = new ExecutionStabilityDTO()
-                        .withExecutionId(lastExecutions.get(i).getId())
+                        .withExecutionId(lastExecutions.get(i).getExecutionId())
                         .withStatus(status)
                         .withTestDate(lastExecutions.get(i).getTestDateTime());
             }
@@ -208,14 +235,16 @@ public class ProblemService {
             }
         }
         Problem problem = problemRepository.save(entity);
+        problemPatternIndexCache.evict(projectId);
 
+        // Existing errors are assigned in background: see ProblemPatternBackFillService
         if (problem.getPatterns() != null) {
             for (ProblemPattern pattern : problem.getPatterns()) {
-                errorRepository.assignPatternToErrors(projectId, pattern);
+                problemPatternBackFillService.schedule(projectId, pattern.getId().longValue());
             }
         }
 
-        problemDenormalizationService.updateFirstAndLastSeenDateTimes(Collections.singleton(problem));
+        problemDenormalizationService.updateDenormalizedFields(Collections.singleton(problem));
 
         ProblemWithPatternsDTO result = problemWithPatternsMapper.toDto(problem);
         result.setDefectUrl(this.retrieveDefectUrl(problem));
@@ -410,7 +439,7 @@ public class ProblemService {
 
         // Compute and assign aggregate to the problem
         List<Long> problemIds = Collections.singletonList(problemDTO.getId());
-        Map<Long, ProblemAggregate> aggregates = problemRepository.findProblemAggregates(projectId, problemIds);
+        Map<Long, ProblemAggregate> aggregates = findProblemAggregates(projectId, problemIds);
         ProblemAggregate aggregate = aggregates.get(problemDTO.getId());
         problemDTO.setAggregate(aggregate == null ? new ProblemAggregateDTO() : problemAggregateMapper.toDto(aggregate));
 
@@ -434,8 +463,12 @@ public class ProblemService {
         }
 
         evictErrorProblemPatternsCacheFor(problem);
+        for (ProblemPattern pattern : problem.getPatterns()) {
+            problemPatternBackFillService.cancel(pattern.getId().longValue());
+        }
 
         problemRepository.delete(problem);
+        problemPatternIndexCache.evict(projectId);
     }
 
     /**
@@ -473,7 +506,7 @@ public class ProblemService {
 
         // Compute and assign aggregates of each problem
         List<Long> problemIds = page.getContent().stream().map(ProblemDTO::getId).collect(Collectors.toList());
-        Map<Long, ProblemAggregate> aggregates = problemRepository.findProblemAggregates(projectId, problemIds);
+        Map<Long, ProblemAggregate> aggregates = findProblemAggregates(projectId, problemIds);
         for (ProblemWithAggregateDTO problem : page.getContent()) {
             ProblemAggregate aggregate = aggregates.get(problem.getId());
             problem.setAggregate(aggregate == null ? new ProblemAggregateDTO() : problemAggregateMapper.toDto(aggregate));
@@ -485,6 +518,82 @@ public class ProblemService {
         return page;
     }
 
+    /**
+     * Read the stored aggregates of the given problems. Problems without stored aggregate (their occurrences did not
+     * change since aggregates are stored) get their aggregate computed on the fly. Countries and types are resolved
+     * once for all problems.
+     *
+     * @param projectId  the ID of the project in which to work
+     * @param problemIds a list of IDs of problems
+     * @return for each problem ID, an aggregate object listing various counts and statistics about this problem
+     */
+    private Map<Long, ProblemAggregate> findProblemAggregates(long projectId, List<Long> problemIds) {
+        if (problemIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<MaterializedProblemAggregate> storedAggregates =
+                new ArrayList<>(materializedProblemAggregateRepository.findAllByProblemIdIn(problemIds));
+        Set<Long> missingProblemIds = new HashSet<>(problemIds);
+        storedAggregates.forEach(aggregate -> missingProblemIds.remove(aggregate.getProblemId()));
+        if (!missingProblemIds.isEmpty()) {
+            storedAggregates.addAll(problemRepository.computeProblemAggregates(missingProblemIds));
+        }
+
+        Map<String, Country> countriesByCode = Collections.emptyMap();
+        if (storedAggregates.stream().anyMatch(aggregate -> aggregate.getFirstCountryCode() != null)) {
+            countriesByCode = countryRepository.findAllByProjectIdOrderByCode(projectId).stream()
+                    .collect(Collectors.toMap(Country::getCode, Function.identity(), (first, second) -> first));
+        }
+        Map<String, Type> typesByCode = Collections.emptyMap();
+        if (storedAggregates.stream().anyMatch(aggregate -> aggregate.getFirstTypeCode() != null)) {
+            typesByCode = typeRepository.findAllByProjectIdOrderByCode(projectId).stream()
+                    .collect(Collectors.toMap(Type::getCode, Function.identity(), (first, second) -> first));
+        }
+
+        Map<Long, ProblemAggregate> aggregates = new HashMap<>();
+        for (MaterializedProblemAggregate storedAggregate : storedAggregates) {
+            aggregates.put(storedAggregate.getProblemId(), toProblemAggregate(storedAggregate, countriesByCode, typesByCode));
+        }
+        return aggregates;
+    }
+
+    private static ProblemAggregate toProblemAggregate(MaterializedProblemAggregate storedAggregate,
+                                                       Map<String, Country> countriesByCode,
+                                                       Map<String, Type> typesByCode) {
+        ProblemAggregate aggregate = new ProblemAggregate();
+
+        aggregate.setPatternCount(storedAggregate.getPatternCount());
+        aggregate.setErrorCount(storedAggregate.getErrorCount());
+
+        aggregate.setScenarioCount(storedAggregate.getScenarioCount());
+        aggregate.setFirstScenarioName(storedAggregate.getFirstScenarioName());
+
+        aggregate.setBranchCount(storedAggregate.getBranchCount());
+        aggregate.setFirstBranch(storedAggregate.getFirstBranch());
+
+        aggregate.setReleaseCount(storedAggregate.getReleaseCount());
+        aggregate.setFirstRelease(storedAggregate.getFirstRelease());
+
+        aggregate.setVersionCount(storedAggregate.getVersionCount());
+        aggregate.setFirstVersion(storedAggregate.getFirstVersion());
+
+        aggregate.setCountryCount(storedAggregate.getCountryCount());
+        if (storedAggregate.getFirstCountryCode() != null) {
+            aggregate.setFirstCountry(countriesByCode.get(storedAggregate.getFirstCountryCode()));
+        }
+
+        aggregate.setTypeCount(storedAggregate.getTypeCount());
+        if (storedAggregate.getFirstTypeCode() != null) {
+            aggregate.setFirstType(typesByCode.get(storedAggregate.getFirstTypeCode()));
+        }
+
+        aggregate.setPlatformCount(storedAggregate.getPlatformCount());
+        aggregate.setFirstPlatform(storedAggregate.getFirstPlatform());
+
+        return aggregate;
+    }
+
     private ProblemWithAggregateDTO toProblemWithAggregate(Problem entity) {
         ProblemWithAggregateDTO result = this.problemWithAggregateMapper.toDto(entity);
         result.setDefectUrl(this.retrieveDefectUrl(entity));
@@ -545,10 +654,12 @@ public class ProblemService {
 
         problem.addPattern(newPattern);
         newPattern = problemPatternRepository.save(newPattern);
+        problemPatternIndexCache.evict(projectId);
 
-        errorRepository.assignPatternToErrors(projectId, newPattern);
+        // Existing errors are assigned in background: see ProblemPatternBackFillService
+        problemPatternBackFillService.schedule(projectId, newPattern.getId().longValue());
 
-        problemDenormalizationService.updateFirstAndLastSeenDateTimes(Collections.singleton(problem));
+        problemDenormalizationService.updateDenormalizedFields(Collections.singleton(problem));
 
         return problemPatternMapper.toDto(newPattern);
     }
@@ -594,10 +705,11 @@ public class ProblemService {
         sourceProblem.removePattern(sourcePattern);
         destinationProblem.addPattern(sourcePattern);
         List<Problem> updatedProblems = problemRepository.saveAll(Arrays.asList(sourceProblem, destinationProblem));
+        problemPatternIndexCache.evict(projectId);
         sourceProblem = updatedProblems.get(0);
         destinationProblem = updatedProblems.get(1);
 
-        problemDenormalizationService.updateFirstAndLastSeenDateTimes(updatedProblems);
+        problemDenormalizationService.updateDenormalizedFields(updatedProblems);
 
         // Build the response the result of the work
         PickUpPatternDTO response = new PickUpPatternDTO();
@@ -724,17 +836,50 @@ public class ProblemService {
     }
 
     /**
-     * Recompute the firstSeenDateTime and lastSeenDateTime of all Problems. This should never be necessary, unless an
-     * external event modified data in database without using the ARA APIs.
+     * Recompute the firstSeenDateTime and lastSeenDateTime, and the stored aggregates, of all Problems. This should
+     * never be necessary, unless an external event modified data in database without using the ARA APIs (or to fill the
+     * aggregates of problems whose occurrences did not change since aggregates are stored).<br>
+     * Not transactional: problems are walked by ranges of IDs, each range being recomputed and committed at once.
      *
      * @param projectId the ID of the project in which to work
+     * @return the number of recomputed problems
      */
-    public void recomputeFirstAndLastSeenDateTimes(long projectId) {
-        final List<Problem> problems = problemRepository.findByProjectId(projectId);
-        for (int i = 0; i < problems.size(); i++) {
-            log.info("Recomputing problem {}/{} ", Integer.valueOf(i + 1), Integer.valueOf(problems.size()));
-            problemDenormalizationService.updateFirstAndLastSeenDateTimes(Collections.singleton(problems.get(i)));
-        }
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long recomputeFirstAndLastSeenDateTimes(long projectId) {
+        final Optional<Range<Long>> idRange = problemRepository.findIdRangeByProjectId(projectId);
+        if (!idRange.isPresent()) {
+            return 0;
+        }
+
+        final int chunkSize = Math.max(1, araConfiguration.getProblemRecomputeChunkSize());
+        final long minId = idRange.get().getMinimum().longValue();
+        final long maxId = idRange.get().getMaximum().longValue();
+        long recomputedCount = 0;
+        for (long fromId = minId; fromId <= maxId; fromId += chunkSize) {
+            final long toId = fromId + chunkSize;
+            recomputedCount += problemDenormalizationService.updateDenormalizedFieldsOfIdRange(projectId, fromId, toId);
+            log.info("Recomputed {} problems of project {} ({}%)", Long.valueOf(recomputedCount), Long.valueOf(projectId),
+                    Long.valueOf(Math.min(100, (toId - minId) * 100 / (maxId - minId + 1))));
+        }
+        return recomputedCount;
+    }
+
+    /**
+     * Recompute the firstSeenDateTime and lastSeenDateTime, and the stored aggregates, of all Problems of all projects,
+     * one project after the other.
+     *
+     * @return the number of recomputed problems
+     * @see #recomputeFirstAndLastSeenDateTimes(long)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long recomputeFirstAndLastSeenDateTimes() {
+        final List<Project> projects = projectRepository.findAllByOrderByName();
+        long recomputedCount = 0;
+        for (int i = 0; i < projects.size(); i++) {
+            log.info("Recomputing problems of project {}/{}", Integer.valueOf(i + 1), Integer.valueOf(projects.size()));
+            recomputedCount += recomputeFirstAndLastSeenDateTimes(projects.get(i).getId().longValue());
+        }
+        return recomputedCount;
     }
 
     private void assignProblemStabilities(long projectId, List<ProblemWithAggregateDTO> problems) {
@@ -743,16 +888,34 @@ public class ProblemService {
         // Given the problem IDs
         List<Long> problemIds = problems.stream().map(ProblemDTO::getId).collect(Collectors.toList());
 
-        for (CycleDefinition cycleDefinition : cycleDefinitionRepository.findAllByProjectIdOrderByBranchPositionAscBranchAscNameAsc(projectId)) {
-            List<Execution> lastExecutions = executionRepository
-                    .findTop10ByProjectIdAndBranchAndNameOrderByTestDateTimeDesc(
-                            cycleDefinition.getProjectId(), cycleDefinition.getBranch(), cycleDefinition.getName());
-            List<Long> lastExecutionIds = lastExecutions.stream().map(Execution::getId).collect(Collectors.toList());
-            Map<Long, List<Long>> problemIdsToExecutionIds = problemRepository
-                    .findProblemIdsToExecutionIdsAssociations(problemIds, lastExecutionIds);
-
+        // Get the latest executions of all cycles at once, newest first
+        List<CycleDefinition> cycleDefinitions =
+                cycleDefinitionRepository.findAllByProjectIdOrderByBranchPositionAscBranchAscNameAsc(projectId);
+        List<Long> cycleDefinitionIds = cycleDefinitions.stream().map(CycleDefinition::getId).collect(Collectors.toList());
+        Map<Long, List<LatestCycleExecution>> lastExecutionsPerCycle = executionRepository
+                .findLatestExecutionsOfCycles(cycleDefinitionIds, lastExecutionCount)
+                .stream()
+                .sorted(Comparator.comparing(LatestCycleExecution::getTestDateTime).reversed())
+                .collect(Collectors.groupingBy(LatestCycleExecution::getCycleDefinitionId));
+
+        // Then, in which of these executions each problem failed, for all cycles at once
+        List<Long> lastExecutionIds = lastExecutionsPerCycle.values().stream()
+                .flatMap(List::stream)
+                .map(LatestCycleExecution::getExecutionId)
+                .collect(Collectors.toList());
+        Map<Long, Set<Long>> failedExecutionIdsPerProblem = new HashMap<>();
+        if (!problemIds.isEmpty() && !lastExecutionIds.isEmpty()) {
+            problemRepository.findProblemIdsToExecutionIdsAssociations(problemIds, lastExecutionIds)
+                    .forEach((problemId, executionIds) ->
+                            failedExecutionIdsPerProblem.put(problemId, new HashSet<>(executionIds)));
+        }
+
+        for (CycleDefinition cycleDefinition : cycleDefinitions) {
+            List<LatestCycleExecution> lastExecutions =
+                    lastExecutionsPerCycle.getOrDefault(cycleDefinition.getId(), Collections.emptyList());
             for (ProblemWithAggregateDTO problem : problems) {
-                List<Long> failedExecutionIds = problemIdsToExecutionIds.get(problem.getId());
+                Set<Long> failedExecutionIds =
+                        failedExecutionIdsPerProblem.getOrDefault(problem.getId(), Collections.emptySet());
                 CycleStabilityDTO stability = computeStability(cycleDefinition, lastExecutionCount, lastExecutions,
                         failedExecutionIds);
                 problem.getAggregate().getCycleStabilities().add(stability);
@@ -768,7 +931,8 @@ public class ProblemService {
      * @return a string of each character being one of the STABILITY_* constants, from the oldest execution to the newest
      */
     private CycleStabilityDTO computeStability(CycleDefinition cycleDefinition, int lastExecutionCount,
-                                               List<Execution> lastExecutions, List<Long> failedExecutionIds) {
+                                               List<LatestCycleExecution> lastExecutions,
+                                               Set<Long> failedExecutionIds) {
         return new CycleStabilityDTO()
                 .withBranchName(cycleDefinition.getBranch())
                 .withCycleName(cycleDefinition.getName())
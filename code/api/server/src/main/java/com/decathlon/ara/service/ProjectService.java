@@ -19,11 +19,15 @@ package com.decathlon.ara.service;
 
 import com.decathlon.ara.Entities;
 import com.decathlon.ara.Messages;
+import com.decathlon.ara.domain.ProblemPatternVersion;
 import com.decathlon.ara.domain.Project;
 import com.decathlon.ara.domain.QProject;
 import com.decathlon.ara.domain.RootCause;
+import com.decathlon.ara.domain.TechnologySettingVersion;
+import com.decathlon.ara.repository.ProblemPatternVersionRepository;
 import com.decathlon.ara.repository.ProjectRepository;
 import com.decathlon.ara.repository.RootCauseRepository;
+import com.decathlon.ara.repository.TechnologySettingVersionRepository;
 import com.decathlon.ara.service.dto.project.ProjectDTO;
 import com.decathlon.ara.service.exception.BadRequestException;
 import com.decathlon.ara.service.exception.NotFoundException;
@@ -54,6 +58,12 @@ public class ProjectService {
     @NonNull
     private final RootCauseRepository rootCauseRepository;
 
+    @NonNull
+    private final ProblemPatternVersionRepository problemPatternVersionRepository;
+
+    @NonNull
+    private final TechnologySettingVersionRepository technologySettingVersionRepository;
+
     @NonNull
     private final ProjectMapper mapper;
 
@@ -81,6 +91,10 @@ public class ProjectService {
                 new RootCause().withProjectId(projectId).withName("Regression"),
                 new RootCause().withProjectId(projectId).withName("Test to update")));
 
+        // Created with the project, so version increments never race to insert them
+        problemPatternVersionRepository.save(new ProblemPatternVersion(Long.valueOf(projectId), 0));
+        technologySettingVersionRepository.save(new TechnologySettingVersion(Long.valueOf(projectId), 0));
+
         return createdProject;
     }
 
@@ -0,0 +1,182 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.service;
+
+import com.decathlon.ara.common.NotGonnaHappenException;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compute the fingerprints of the run folders, to detect whether a run changed since its last indexing.
+ */
+@Service
+@Slf4j
+public class RunFingerprintService {
+
+    /**
+     * The version of the parsing of the runs: increment it when a change of the indexers makes the executed scenarios
+     * of the already indexed runs outdated, for these runs to be parsed again on their next indexing.
+     */
+    static final int INDEXING_VERSION = 1;
+
+    private static final String ALGORITHM = "SHA-256";
+
+    private static final int MAX_CACHED_CONTENT_HASHES = 10_000;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Content hashes of files from the default file system, by path, size and modification date: polling a folder whose
+     * files did not change costs only file attribute reads.
+     */
+    private final Map<CachedFile, String> contentHashes = Collections.synchronizedMap(
+            new LinkedHashMap<CachedFile, String>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<CachedFile, String> eldest) {
+                    return size() > MAX_CACHED_CONTENT_HASHES;
+                }
+            });
+
+    /**
+     * Compute the fingerprint of a run folder: a hash of the relative paths, sizes and contents of all its files.<br>
+     * Modification dates are not part of the fingerprint (an execution uploaded twice is extracted with new dates):
+     * they only avoid hashing the contents of files that did not change since the last call.
+     *
+     * @param runFolder the run folder, from any file system (e.g. a zip file system)
+     * @return the fingerprint of the run folder (hexadecimal), or null if it cannot be read
+     */
+    public String getFingerprint(Path runFolder) {
+        if (runFolder == null) {
+            return null;
+        }
+        List<Path> files;
+        try (Stream<Path> walker = Files.walk(runFolder)) {
+            files = walker.filter(Files::isRegularFile)
+                    .sorted(Comparator.comparing(file -> getRelativePath(runFolder, file)))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            log.info("Unable to list the files of the run folder {}", runFolder.toUri(), e);
+            return null;
+        }
+
+        MessageDigest digest = newDigest();
+        try {
+            for (Path file : files) {
+                long size = Files.size(file);
+                digest.update(getRelativePath(runFolder, file).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(Long.toString(size).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(getContentHash(file, size).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+        } catch (IOException e) {
+            log.info("Unable to read the files of the run folder {}", runFolder.toUri(), e);
+            return null;
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Compute the fingerprint of a run: the fingerprint of its folder, salted with everything else its parsing depends
+     * on (the version of the indexers, and the settings they read), so a run is parsed again when one of them changes.
+     *
+     * @param folderFingerprint the fingerprint of the run folder (see {@link #getFingerprint(Path)}), if any
+     * @param indexingSettings  the settings read by the indexer of the run (see IndexingContext.getIndexingSettings())
+     * @return the fingerprint of the run (hexadecimal), or null if the folder has no fingerprint
+     */
+    public String getRunFingerprint(String folderFingerprint, String indexingSettings) {
+        if (folderFingerprint == null) {
+            return null;
+        }
+        MessageDigest digest = newDigest();
+        digest.update(folderFingerprint.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+        digest.update(Integer.toString(INDEXING_VERSION).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+        digest.update(StringUtils.defaultString(indexingSettings).getBytes(StandardCharsets.UTF_8));
+        return toHex(digest.digest());
+    }
+
+    private String getContentHash(Path file, long size) throws IOException {
+        if (file.getFileSystem() != FileSystems.getDefault()) {
+            return hashContent(file);
+        }
+        CachedFile key = new CachedFile(file.toAbsolutePath().toString(), size, Files.getLastModifiedTime(file).toMillis());
+        String contentHash = contentHashes.get(key);
+        if (contentHash == null) {
+            contentHash = hashContent(file);
+            contentHashes.put(key, contentHash);
+        }
+        return contentHash;
+    }
+
+    private String hashContent(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream input = Files.newInputStream(file)) {
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    private static String getRelativePath(Path runFolder, Path file) {
+        return StringUtils.removeEnd(runFolder.relativize(file).toString().replace('\\', '/'), "/");
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new NotGonnaHappenException(ALGORITHM + " is available on every Java platform", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    @Value
+    private static class CachedFile {
+        String path;
+        long size;
+        long lastModified;
+    }
+
+}
@@ -20,13 +20,17 @@ package com.decathlon.ara.service;
 import com.decathlon.ara.Entities;
 import com.decathlon.ara.Messages;
 import com.decathlon.ara.domain.TechnologySetting;
+import com.decathlon.ara.domain.TechnologySettingVersion;
 import com.decathlon.ara.domain.enumeration.Technology;
 import com.decathlon.ara.repository.TechnologySettingRepository;
+import com.decathlon.ara.repository.TechnologySettingVersionRepository;
+import com.decathlon.ara.repository.custom.util.TransactionAppenderUtil;
 import com.decathlon.ara.scenario.common.settings.AvailableTechnologySettings;
 import com.decathlon.ara.service.dto.setting.SettingDTO;
 import com.decathlon.ara.service.dto.setting.TechnologySettingGroupDTO;
 import com.decathlon.ara.service.exception.BadRequestException;
 import com.decathlon.ara.service.exception.NotFoundException;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -34,13 +38,19 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.text.WordUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.util.Pair;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -55,6 +65,19 @@ public class TechnologySettingService {
     @NonNull
     private final SettingService settingService;
 
+    @NonNull
+    private final TechnologySettingVersionRepository technologySettingVersionRepository;
+
+    @NonNull
+    private final TransactionAppenderUtil transactionAppenderUtil;
+
+    /**
+     * The technology setting values of each project, loaded on first use, updated by
+     * {@link #update(Long, String, Technology, String)} and evicted by {@link #evictOutdatedProjects()} once changed by
+     * another ARA instance
+     */
+    private final Map<Long, CachedTechnologySettings> projectsValuesCache = new ConcurrentHashMap<>();
+
     /**
      * Get all the available technology setting groups.
      * If a setting value is saved, then the setting holds this value, otherwise it holds the default value.
@@ -64,14 +87,16 @@ public class TechnologySettingService {
     @Transactional(readOnly = true)
     public List<TechnologySettingGroupDTO> getAllGroups(Long projectId) {
         List<TechnologySettingGroupDTO> groups = getTechnologySettingGroupDefinition();
-        List<TechnologySetting> savedSettings = technologySettingRepository.findByProjectId(projectId);
+        Map<Technology, Map<String, String>> values = getCachedSettings(projectId).getValues();
 
         for (TechnologySettingGroupDTO group : groups) {
+            Map<String, String> technologyValues = values.getOrDefault(group.getTechnology(), Collections.emptyMap());
             List<SettingDTO> settings = group.getSettings();
             for (SettingDTO setting : settings) {
-                String code = setting.getCode();
-                Optional<String> value = getValueFromSavedSettings(savedSettings, code);
-                value.ifPresent(setting::setValue);
+                String value = technologyValues.get(setting.getCode());
+                if (StringUtils.isNotBlank(value)) {
+                    setting.setValue(value);
+                }
             }
         }
         return groups;
@@ -169,42 +194,72 @@ public class TechnologySettingService {
     }
 
     /**
-     * Get a value from a list of saved settings ({@link TechnologySetting}) and a code, if found
-     * @param technologySettings the saved technology setting
-     * @param code the code
+     * Get the value from the project id and the {@link AvailableTechnologySettings}, if found
+     * @param projectId the project id
+     * @param availableTechnologySettings the available technology setting
      * @return the value, if found
      */
-    private Optional<String> getValueFromSavedSettings(List<TechnologySetting> technologySettings, String code) {
-        return technologySettings.stream()
-                .filter(setting -> StringUtils.isNotBlank(setting.getCode()))
-                .filter(setting -> setting.getCode().equals(code))
-                .map(TechnologySetting::getValue)
-                .filter(StringUtils::isNotBlank)
-                .findFirst();
+    @Transactional(readOnly = true)
+    public Optional<String> getSettingValue(Long projectId, AvailableTechnologySettings availableTechnologySettings) {
+        Map<String, String> technologyValues = getCachedSettings(projectId).getValues()
+                .getOrDefault(availableTechnologySettings.getTechnology(), Collections.emptyMap());
+        return Optional.ofNullable(technologyValues.get(availableTechnologySettings.getCode()));
     }
 
     /**
-     * Get the value from the project id and the {@link AvailableTechnologySettings}, if found
+     * Get the values of all the technology settings of a project, as
+     * {@link #getSettingValue(Long, AvailableTechnologySettings)} would return them one by one
      * @param projectId the project id
-     * @param availableTechnologySettings the available technology setting
-     * @return the value, if found
+     * @return the values (saved, or else default), by technology and code: settings without any value are absent
      */
     @Transactional(readOnly = true)
-    public Optional<String> getSettingValue(Long projectId, AvailableTechnologySettings availableTechnologySettings) {
-        String code = availableTechnologySettings.getCode();
-        Technology technology = availableTechnologySettings.getTechnology();
-        Optional<TechnologySetting> savedSetting = technologySettingRepository.findByProjectIdAndCodeAndTechnology(projectId, code, technology);
-        String value = null;
-        if (savedSetting.isPresent()) {
-            return Optional.of(savedSetting.get().getValue());
-        }
+    public Map<Technology, Map<String, String>> getAllValues(Long projectId) {
+        return getCachedSettings(projectId).getValues();
+    }
 
-        Optional<SettingDTO> setting = getSettingDefinitionFromTechnologyAndCode(technology, code);
-        if (setting.isPresent()) {
-            value = setting.get().getDefaultValue();
+    /**
+     * Get the technology settings of a project from the cache, loading them (in one database access) if needed.<br>
+     * They are loaded outside of the map's lock: two threads may load them concurrently, but only the first one is
+     * kept.
+     * @param projectId the project id
+     * @return the cached technology settings of the project
+     */
+    private CachedTechnologySettings getCachedSettings(Long projectId) {
+        CachedTechnologySettings cached = projectsValuesCache.get(projectId);
+        if (cached == null) {
+            CachedTechnologySettings loaded = loadSettings(projectId);
+            cached = projectsValuesCache.putIfAbsent(projectId, loaded);
+            if (cached == null) {
+                cached = loaded;
+            }
         }
+        return cached;
+    }
 
-        return Optional.ofNullable(value);
+    /**
+     * Load the technology settings of a project
+     * @param projectId the project id
+     * @return the values (saved, or else default) of the technology settings of the project, with their version
+     */
+    private CachedTechnologySettings loadSettings(Long projectId) {
+        // Version read first: a change committed in between makes the loaded values look outdated, never up to date
+        long version = technologySettingVersionRepository.findVersion(projectId.longValue()).orElse(Long.valueOf(0)).longValue();
+        Map<Technology, Map<String, String>> values = new EnumMap<>(Technology.class);
+        for (TechnologySettingGroupDTO group : getTechnologySettingGroupDefinition()) {
+            Map<String, String> technologyValues = values.computeIfAbsent(group.getTechnology(), technology -> new HashMap<>());
+            group.getSettings().stream()
+                    .filter(setting -> setting.getDefaultValue() != null)
+                    .forEach(setting -> technologyValues.put(setting.getCode(), setting.getDefaultValue()));
+        }
+        for (TechnologySetting savedSetting : technologySettingRepository.findByProjectId(projectId)) {
+            Technology savedTechnology = savedSetting.getTechnology();
+            String savedCode = savedSetting.getCode();
+            String savedValue = savedSetting.getValue();
+            if (savedTechnology != null && savedValue != null) {
+                values.computeIfAbsent(savedTechnology, technology -> new HashMap<>()).put(savedCode, savedValue);
+            }
+        }
+        return new CachedTechnologySettings(version, values);
     }
 
     /**
@@ -254,6 +309,77 @@ public class TechnologySettingService {
                 );
         settingToSave.setValue(newValue);
         technologySettingRepository.save(settingToSave);
+
+        // Once committed (a rolled back value must not be cached), update the cache, unless it missed a change made by
+        // another ARA instance
+        long version = incrementVersion(projectId);
+        transactionAppenderUtil.doAfterCommit(() -> projectsValuesCache.computeIfPresent(projectId, (id, cached) ->
+                cached.getVersion() == version - 1 ? cached.withValue(technology, code, newValue, version) : null));
+    }
+
+    /**
+     * Increment the version of the technology settings of a project, so that all ARA instances evict them from their
+     * cache
+     * @param projectId the project id
+     * @return the new version
+     */
+    private long incrementVersion(Long projectId) {
+        if (technologySettingVersionRepository.incrementVersion(projectId.longValue()) == 0) {
+            // Projects are created with their version row: only a project inserted by hand can lack it
+            technologySettingVersionRepository.save(new TechnologySettingVersion(projectId, 1));
+            return 1;
+        }
+        return technologySettingVersionRepository.findVersion(projectId.longValue()).orElse(Long.valueOf(1)).longValue();
+    }
+
+    /**
+     * Periodically evict from the cache the technology settings of the projects changed by another ARA instance (one
+     * small query, whatever the number of projects)
+     */
+    @Scheduled(fixedDelayString = "${ara.technologySettingVersionPollingDelayInMilliseconds}")
+    @Transactional(readOnly = true)
+    public void evictOutdatedProjects() {
+        if (projectsValuesCache.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> versions = technologySettingVersionRepository.findAll().stream()
+                .collect(Collectors.toMap(TechnologySettingVersion::getProjectId, TechnologySettingVersion::getVersion));
+        for (Long projectId : projectsValuesCache.keySet()) {
+            long version = versions.getOrDefault(projectId, Long.valueOf(0)).longValue();
+            projectsValuesCache.computeIfPresent(projectId, (id, cached) -> cached.getVersion() == version ? cached : null);
+        }
+    }
+
+    /**
+     * The (immutable) technology setting values of a project, at a given version
+     */
+    private static class CachedTechnologySettings {
+
+        @Getter
+        private final long version;
+
+        /**
+         * The values (saved, or else default), by technology and code
+         */
+        @Getter
+        private final Map<Technology, Map<String, String>> values;
+
+        CachedTechnologySettings(long version, Map<Technology, Map<String, String>> values) {
+            this.version = version;
+            Map<Technology, Map<String, String>> valuesCopy = new EnumMap<>(Technology.class);
+            values.forEach((technology, technologyValues) -> valuesCopy.put(technology, Collections.unmodifiableMap(new HashMap<>(technologyValues))));
+            this.values = Collections.unmodifiableMap(valuesCopy);
+        }
+
+        CachedTechnologySettings withValue(Technology technology, String code, String value, long newVersion) {
+            Map<Technology, Map<String, String>> newValues = new EnumMap<>(Technology.class);
+            newValues.putAll(values);
+            Map<String, String> technologyValues = new HashMap<>(values.getOrDefault(technology, Collections.emptyMap()));
+            technologyValues.put(code, value);
+            newValues.put(technology, technologyValues);
+            return new CachedTechnologySettings(newVersion, newValues);
+        }
+
     }
 
 }
@@ -0,0 +1,49 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.service.dto.execution;
+
+import com.decathlon.ara.domain.enumeration.ExecutionIndexingJobStatus;
+import java.util.Date;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.With;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@With
+public class ExecutionIndexingJobDTO {
+
+    private Long id;
+
+    private String branch;
+
+    private String cycle;
+
+    private ExecutionIndexingJobStatus status;
+
+    private String errorMessage;
+
+    private Date creationDateTime;
+
+    private Date startDateTime;
+
+    private Date endDateTime;
+
+}
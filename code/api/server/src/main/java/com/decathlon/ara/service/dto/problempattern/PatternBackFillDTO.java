@@ -0,0 +1,49 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.service.dto.problempattern;
+
+import com.decathlon.ara.domain.enumeration.PatternBackFillStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.With;
+
+/**
+ * Progress of the background assignment of a new or modified pattern to the already indexed errors.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@With
+public class PatternBackFillDTO {
+
+    private Long patternId;
+
+    private PatternBackFillStatus status;
+
+    /**
+     * Percentage (from 0 to 100) of the errors of the project having been scanned.
+     */
+    private int progress;
+
+    /**
+     * The number of errors assigned to the pattern so far.
+     */
+    private long assignedErrorCount;
+
+}
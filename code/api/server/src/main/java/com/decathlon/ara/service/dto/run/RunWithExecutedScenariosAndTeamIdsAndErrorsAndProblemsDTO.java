@@ -34,4 +34,6 @@ public class RunWithExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO extends R
 
     private List<ExecutedScenarioWithTeamIdsAndErrorsAndProblemsDTO> executedScenarios;
 
+    private long matchingExecutedScenarioCount;
+
 }
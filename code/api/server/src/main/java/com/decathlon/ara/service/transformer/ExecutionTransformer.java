@@ -17,9 +17,14 @@
 
 package com.decathlon.ara.service.transformer;
 
+import com.decathlon.ara.domain.ExecutedScenario;
 import com.decathlon.ara.domain.Execution;
 import com.decathlon.ara.service.dto.execution.ExecutionDTO;
 import com.decathlon.ara.service.dto.execution.ExecutionWithCountryDeploymentsAndRunsAndExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -63,6 +68,30 @@ public class ExecutionTransformer {
         return result;
     }
 
+    /**
+     * Transform the given Execution DO to a ExecutionWithCountryDeploymentsAndRunsAndExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO object,
+     * with only the given executed scenarios in its runs (the executed scenarios of the runs are not loaded).
+     * <p>
+     * Returns an empty ExecutionWithCountryDeploymentsAndRunsAndExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO if the execution is null.
+     *
+     * @param execution the DO to transform
+     * @param executedScenariosPerRun the executed scenarios to transform, indexed by run ID (runs absent from the map
+     *                                will have no executed scenario)
+     * @return the result DTO.
+     */
+    public ExecutionWithCountryDeploymentsAndRunsAndExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO toFullyDetailledDto(Execution execution, Map<Long, List<ExecutedScenario>> executedScenariosPerRun) {
+        ExecutionWithCountryDeploymentsAndRunsAndExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO result = new ExecutionWithCountryDeploymentsAndRunsAndExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO();
+        result.setId(0L);
+        if (null != execution) {
+            this.fillDto(result, execution);
+            result.setCountryDeployments(countryDeploymentTransformer.toDtos(execution.getCountryDeployments()));
+            result.setRuns(execution.getRuns().stream()
+                    .map(run -> runTransformer.toFullyDetailledDto(run, executedScenariosPerRun.getOrDefault(run.getId(), Collections.emptyList())))
+                    .collect(Collectors.toList()));
+        }
+        return result;
+    }
+
     /**
      * Transform the given Execution DO to a ExecutionDTO object.
      *
@@ -17,6 +17,7 @@
 
 package com.decathlon.ara.service.transformer;
 
+import com.decathlon.ara.domain.ExecutedScenario;
 import com.decathlon.ara.domain.Run;
 import com.decathlon.ara.service.dto.executedscenario.ExecutedScenarioWithTeamIdsAndErrorsAndProblemsDTO;
 import com.decathlon.ara.service.dto.run.RunDTO;
@@ -72,12 +73,26 @@ class RunTransformer {
      * @return the result DTO.
      */
     RunWithExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO toFullyDetailledDto(Run run) {
+        return toFullyDetailledDto(run, null == run ? null : run.getExecutedScenarios());
+    }
+
+    /**
+     * Transform the given Run DO to a RunWithExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO object, with only the
+     * given executed scenarios instead of all the ones of the run.
+     * <p>
+     * Returns an empty RunWithExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO if the run is null.
+     *
+     * @param run the DO to transform
+     * @param executedScenarios the executed scenarios of the run to transform
+     * @return the result DTO.
+     */
+    RunWithExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO toFullyDetailledDto(Run run, Collection<ExecutedScenario> executedScenarios) {
         RunWithExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO result = new RunWithExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO();
         result.setId(0L);
         if (null != run) {
             this.fillDto(result, run);
-            List<ExecutedScenarioWithTeamIdsAndErrorsAndProblemsDTO> executedScenarios = executedScenarioTransformer.toFullyDetailledDtos(run.getExecutedScenarios());
-            result.setExecutedScenarios(executedScenarios);
+            List<ExecutedScenarioWithTeamIdsAndErrorsAndProblemsDTO> executedScenarioDtos = executedScenarioTransformer.toFullyDetailledDtos(executedScenarios);
+            result.setExecutedScenarios(executedScenarioDtos);
         }
         return result;
     }
@@ -21,11 +21,13 @@ import com.codahale.metrics.annotation.Timed;
 import com.decathlon.ara.Entities;
 import com.decathlon.ara.domain.enumeration.QualityStatus;
 import com.decathlon.ara.service.ExecutionHistoryService;
+import com.decathlon.ara.service.ExecutionIndexingJobService;
 import com.decathlon.ara.service.ExecutionService;
 import com.decathlon.ara.service.ProjectService;
 import com.decathlon.ara.service.dto.execution.*;
 import com.decathlon.ara.service.exception.BadRequestException;
 import com.decathlon.ara.service.exception.NotFoundException;
+import com.decathlon.ara.web.rest.util.HeaderUtil;
 import com.decathlon.ara.web.rest.util.ResponseUtil;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -33,6 +35,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -64,6 +67,9 @@ public class ExecutionResource {
     @NonNull
     private final ProjectService projectService;
 
+    @NonNull
+    private final ExecutionIndexingJobService executionIndexingJobService;
+
     /**
      * GET a paginated list of all entities.
      *
@@ -94,7 +100,7 @@ public class ExecutionResource {
         ExecutionCriteriaDTO criteria = new ExecutionCriteriaDTO();
         criteria.setWithSucceed(false);
         try {
-            return ResponseEntity.ok().body(service.findOneWithRuns(projectService.toId(projectCode), id, criteria));
+            return ResponseEntity.ok().body(service.findOneWithRuns(projectService.toId(projectCode), id, criteria, Pageable.unpaged()));
         } catch (NotFoundException e) {
             return ResponseUtil.handle(e);
         }
@@ -113,7 +119,7 @@ public class ExecutionResource {
         ExecutionCriteriaDTO criteria = new ExecutionCriteriaDTO();
         criteria.setWithSucceed(true);
         try {
-            return ResponseEntity.ok().body(service.findOneWithRuns(projectService.toId(projectCode), id, criteria));
+            return ResponseEntity.ok().body(service.findOneWithRuns(projectService.toId(projectCode), id, criteria, Pageable.unpaged()));
         } catch (NotFoundException e) {
             return ResponseUtil.handle(e);
         }
@@ -237,44 +243,74 @@ public class ExecutionResource {
     }
 
     /**
-     * Retrieve the zip file POSTed to the given project and unzip it.
+     * Store the zip file POSTed to the given project and queue it to be unzipped and indexed in background.
      *
      * @param projectCode the code of the project related to the given postman results.
      * @param branch      the branch of the given execution
      * @param cycle       the cycle of the given execution
      * @param zipFile     a zip containing Postman result to index for the given project.
-     * @return The ResponseEntity with status 200 (OK) if the zip was correctly extracted and ready to be indexed, a
-     * 400 (BAD REQUEST) if the zip can't be read or the given project hasn't enabled the file indexing or a 500 if an
-     * internal error occurs during the indexation.
+     * @return The ResponseEntity with status 202 (ACCEPTED) and the queued job (whose status can be followed at the
+     * Location header) if the zip was correctly stored and queued for indexing, a 400 (BAD REQUEST) if the given
+     * project or cycle doesn't exist or the project hasn't enabled the file indexing or a 500 if the zip can't be stored.
      */
     @PostMapping(value = "/upload")
-    public ResponseEntity<Void> upload(@PathVariable String projectCode,
-                                       @RequestParam("branch") String branch,
-                                       @RequestParam("cycle") String cycle,
-                                       @RequestParam("zip") MultipartFile zipFile) {
-        ResponseEntity<Void> result;
+    public ResponseEntity<ExecutionIndexingJobDTO> upload(@PathVariable String projectCode,
+                                                          @RequestParam("branch") String branch,
+                                                          @RequestParam("cycle") String cycle,
+                                                          @RequestParam("zip") MultipartFile zipFile) {
+        ResponseEntity<ExecutionIndexingJobDTO> result;
         log.info("Receiving new zip report for project {}...", projectCode);
         try {
             long projectId = projectService.toId(projectCode);
-            service.uploadExecutionReport(projectId, projectCode, branch, cycle, zipFile);
-            result = ResponseEntity.ok().build();
+            ExecutionIndexingJobDTO job = executionIndexingJobService.enqueue(projectId, projectCode, branch, cycle, zipFile);
+            result = ResponseEntity.accepted()
+                    .location(HeaderUtil.uri(PATH + "/upload/" + job.getId(), projectCode))
+                    .body(job);
         } catch (NotFoundException | IllegalArgumentException e) {
             log.error("The given project doesn't exists or doesn't use the FS indexer.", e);
             result = ResponseUtil.handle(new BadRequestException(e.getMessage(), Entities.EXECUTION, VALIDATION_ERRROR));
         } catch (IOException ex) {
-            log.error("Unable to index the uploaded execution.", ex);
+            log.error("Unable to store the uploaded execution.", ex);
             result = ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
         return result;
     }
 
+    /**
+     * GET the progression of the indexing of an uploaded zip.
+     *
+     * @param projectCode the code of the project in which to work
+     * @param jobId       the id of the job returned by the upload
+     * @return the ResponseEntity with status 200 (OK) and with body the job, or with status 404 (Not Found)
+     */
+    @GetMapping("/upload/{jobId:[0-9]+}")
+    @Timed
+    public ResponseEntity<ExecutionIndexingJobDTO> getUpload(@PathVariable String projectCode, @PathVariable long jobId) {
+        try {
+            return ResponseEntity.ok().body(executionIndexingJobService.findOne(projectService.toId(projectCode), jobId));
+        } catch (NotFoundException e) {
+            return ResponseUtil.handle(e);
+        }
+    }
+
+    /**
+     * POST to get one entity, with only the executed-scenarios matching the given criteria.
+     *
+     * @param projectCode the code of the project in which to work
+     * @param id          the id of the single entity to retrieve
+     * @param criteria    the criteria the executed-scenarios must match
+     * @param pageable    the page of matching executed-scenarios to return for each run (all of them when no page is
+     *                    requested, as before pagination)
+     * @return the ResponseEntity with status 200 (OK) and with body the execution, or with status 404 (Not Found)
+     */
     @PostMapping("/{id:[0-9]+}/filtered")
     public ResponseEntity<ExecutionWithCountryDeploymentsAndRunsAndExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO> getOneFiltered(@PathVariable String projectCode,
                                                                                                                                       @PathVariable long id,
-                                                                                                                                      @RequestBody ExecutionCriteriaDTO criteria) {
+                                                                                                                                      @RequestBody ExecutionCriteriaDTO criteria,
+                                                                                                                                      @PageableDefault(size = Integer.MAX_VALUE) Pageable pageable) {
         try {
             long projectId = projectService.toId(projectCode);
-            return ResponseEntity.ok(service.findOneWithRuns(projectId, id, criteria));
+            return ResponseEntity.ok(service.findOneWithRuns(projectId, id, criteria, pageable));
         } catch (BadRequestException ex) {
             return ResponseUtil.handle(ex);
         }
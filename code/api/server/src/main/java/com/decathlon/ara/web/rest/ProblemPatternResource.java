@@ -18,9 +18,11 @@
 package com.decathlon.ara.web.rest;
 
 import com.codahale.metrics.annotation.Timed;
+import com.decathlon.ara.service.ProblemPatternBackFillService;
 import com.decathlon.ara.service.ProblemPatternService;
 import com.decathlon.ara.service.ProjectService;
 import com.decathlon.ara.service.dto.error.ErrorWithExecutedScenarioAndRunAndExecutionDTO;
+import com.decathlon.ara.service.dto.problempattern.PatternBackFillDTO;
 import com.decathlon.ara.service.dto.problempattern.ProblemPatternDTO;
 import com.decathlon.ara.service.dto.response.DeletePatternDTO;
 import com.decathlon.ara.service.exception.BadRequestException;
@@ -59,6 +61,9 @@ public class ProblemPatternResource {
     @NonNull
     private final ProblemPatternService service;
 
+    @NonNull
+    private final ProblemPatternBackFillService problemPatternBackFillService;
+
     @NonNull
     private final ProjectService projectService;
 
@@ -101,6 +106,25 @@ public class ProblemPatternResource {
         }
     }
 
+    /**
+     * GET the progress of the background assignment of a new or modified problem pattern to the existing errors.
+     *
+     * @param projectCode the code of the project in which to work
+     * @param id          the id of the problem pattern being assigned to existing errors
+     * @return the ResponseEntity with status 200 (OK) and with body the progress of the last assignment of the pattern,
+     * or with status 404 (Not Found) if none was scheduled
+     */
+    @GetMapping("/{id:[0-9]+}/back-fill")
+    @Timed
+    public ResponseEntity<PatternBackFillDTO> getBackFill(@PathVariable String projectCode, @PathVariable long id) {
+        try {
+            return ResponseEntity.ok()
+                    .body(problemPatternBackFillService.findOne(projectService.toId(projectCode), id));
+        } catch (NotFoundException e) {
+            return ResponseUtil.handle(e);
+        }
+    }
+
     /**
      * PUT to update an existing problem pattern (and re-assign errors).
      *
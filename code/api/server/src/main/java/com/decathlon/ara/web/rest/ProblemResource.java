@@ -280,8 +280,9 @@ public class ProblemResource {
     }
 
     /**
-     * Recompute the firstSeenDateTime and lastSeenDateTime of all Problems. This should never be necessary, unless an
-     * external event modified data in database without using the ARA APIs.
+     * Recompute the firstSeenDateTime and lastSeenDateTime, and the stored aggregates, of all Problems. This should
+     * never be necessary, unless an external event modified data in database without using the ARA APIs (or to fill the
+     * aggregates of problems whose occurrences did not change since aggregates are stored).
      *
      * @param projectCode the code of the project in which to work
      * @return a 404 error if the project does not exist
@@ -18,6 +18,7 @@
 package com.decathlon.ara.web.rest;
 
 import com.codahale.metrics.annotation.Timed;
+import com.decathlon.ara.service.ProblemRecomputeRunner;
 import com.decathlon.ara.service.ProjectService;
 import com.decathlon.ara.service.exception.BadRequestException;
 import com.decathlon.ara.service.exception.NotUniqueException;
@@ -55,6 +56,9 @@ public class ProjectResource {
     @NonNull
     private final ProjectService service;
 
+    @NonNull
+    private final ProblemRecomputeRunner problemRecomputeRunner;
+
     /**
      * POST to create a new entity.
      *
@@ -112,4 +116,18 @@ public class ProjectResource {
         return service.findAll();
     }
 
+    /**
+     * Recompute the firstSeenDateTime and lastSeenDateTime, and the stored aggregates, of all Problems of all projects.
+     * This should never be necessary, unless an external event modified data in database without using the ARA APIs.
+     * The recomputation runs in background (its progress is logged): the request returns right away.
+     *
+     * @return the ResponseEntity with status 202 (ACCEPTED)
+     */
+    @PostMapping("/problems/recompute-first-and-last-seen-date-times")
+    @Timed
+    public ResponseEntity<Void> recomputeProblemsFirstAndLastSeenDateTimes() {
+        problemRecomputeRunner.recomputeAllProjects();
+        return ResponseEntity.accepted().build();
+    }
+
 }
@@ -17,6 +17,7 @@
 
 package com.decathlon.ara.ci.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyList;
@@ -29,6 +30,8 @@ import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
@@ -50,7 +53,10 @@ import com.decathlon.ara.domain.Run;
 import com.decathlon.ara.domain.enumeration.JobStatus;
 import com.decathlon.ara.repository.ErrorRepository;
 import com.decathlon.ara.repository.ExecutionRepository;
+import com.decathlon.ara.repository.ProblemRepository;
+import com.decathlon.ara.repository.custom.util.ExecutionBulkWriter;
 import com.decathlon.ara.repository.custom.util.TransactionAppenderUtil;
+import com.decathlon.ara.scenario.cucumber.asset.AssetService;
 import com.decathlon.ara.service.ExecutionFilesProcessorService;
 import com.decathlon.ara.service.ProblemDenormalizationService;
 
@@ -60,9 +66,15 @@ public class ExecutionIndexerServiceTest {
     @Mock
     private ExecutionRepository executionRepository;
 
+    @Mock
+    private ExecutionBulkWriter executionBulkWriter;
+
     @Mock
     private ErrorRepository errorRepository;
 
+    @Mock
+    private ProblemRepository problemRepository;
+
     @Mock
     private QualityEmailService qualityEmailService;
 
@@ -75,6 +87,9 @@ public class ExecutionIndexerServiceTest {
     @Mock
     private ExecutionFilesProcessorService executionFilesProcessorService;
 
+    @Mock
+    private AssetService assetService;
+
     @Spy
     @InjectMocks
     private ExecutionIndexerService cut;
@@ -90,10 +105,10 @@ public class ExecutionIndexerServiceTest {
         cut.indexExecution(plannedIndexation);
 
         verify(executionFilesProcessorService, never()).getExecution(any(PlannedIndexation.class));
-        verify(executionRepository, never()).save(any(Execution.class));
+        verify(executionBulkWriter, never()).save(any(Execution.class));
         verify(executionRepository, never()).findByCycleDefinitionProjectIdAndJobLinkAndJobLinkNotNull(anyLong(), anyString());
         verify(errorRepository, never()).autoAssignProblemsToNewErrors(anyLong(), anyList());
-        verify(problemDenormalizationService, never()).updateFirstAndLastSeenDateTimes(anyCollection());
+        verify(problemDenormalizationService, never()).updateDenormalizedFields(anyCollection());
         verify(transactionService, never()).doAfterCommit(any(Runnable.class));
     }
 
@@ -109,10 +124,10 @@ public class ExecutionIndexerServiceTest {
         cut.indexExecution(plannedIndexation);
 
         verify(executionFilesProcessorService, never()).getExecution(any(PlannedIndexation.class));
-        verify(executionRepository, never()).save(any(Execution.class));
+        verify(executionBulkWriter, never()).save(any(Execution.class));
         verify(executionRepository, never()).findByCycleDefinitionProjectIdAndJobLinkAndJobLinkNotNull(anyLong(), anyString());
         verify(errorRepository, never()).autoAssignProblemsToNewErrors(anyLong(), anyList());
-        verify(problemDenormalizationService, never()).updateFirstAndLastSeenDateTimes(anyCollection());
+        verify(problemDenormalizationService, never()).updateDenormalizedFields(anyCollection());
         verify(transactionService, never()).doAfterCommit(any(Runnable.class));
     }
 
@@ -130,10 +145,10 @@ public class ExecutionIndexerServiceTest {
         cut.indexExecution(plannedIndexation);
 
         verify(executionFilesProcessorService, never()).getExecution(any(PlannedIndexation.class));
-        verify(executionRepository, never()).save(any(Execution.class));
+        verify(executionBulkWriter, never()).save(any(Execution.class));
         verify(executionRepository, never()).findByCycleDefinitionProjectIdAndJobLinkAndJobLinkNotNull(anyLong(), anyString());
         verify(errorRepository, never()).autoAssignProblemsToNewErrors(anyLong(), anyList());
-        verify(problemDenormalizationService, never()).updateFirstAndLastSeenDateTimes(anyCollection());
+        verify(problemDenormalizationService, never()).updateDenormalizedFields(anyCollection());
         verify(transactionService, never()).doAfterCommit(any(Runnable.class));
     }
 
@@ -158,10 +173,10 @@ public class ExecutionIndexerServiceTest {
         cut.indexExecution(plannedIndexation);
 
         verify(executionFilesProcessorService).getExecution(plannedIndexation);
-        verify(executionRepository, never()).save(any(Execution.class));
+        verify(executionBulkWriter, never()).save(any(Execution.class));
         verify(executionRepository).findByCycleDefinitionProjectIdAndJobLinkAndJobLinkNotNull(1L,"/execution/folder/location/in/disk" + File.separator);
         verify(errorRepository, never()).autoAssignProblemsToNewErrors(anyLong(), anyList());
-        verify(problemDenormalizationService, never()).updateFirstAndLastSeenDateTimes(anyCollection());
+        verify(problemDenormalizationService, never()).updateDenormalizedFields(anyCollection());
         verify(transactionService, never()).doAfterCommit(any(Runnable.class));
     }
 
@@ -183,7 +198,7 @@ public class ExecutionIndexerServiceTest {
         when(cycleDefinition.getBranch()).thenReturn("branch");
         when(cycleDefinition.getName()).thenReturn("cycle");
         when(executionFilesProcessorService.getExecution(plannedIndexation)).thenReturn(Optional.of(indexedExecution));
-        when(executionRepository.save(indexedExecution)).thenReturn(savedExecution);
+        when(executionBulkWriter.save(indexedExecution)).thenReturn(savedExecution);
         when(indexedExecution.getJobUrl()).thenReturn("http://execution-url.build.org");
         when(savedExecution.getStatus()).thenReturn(JobStatus.UNAVAILABLE);
         when(executionRepository.findByCycleDefinitionProjectIdAndJobLinkAndJobLinkNotNull(1L, "/execution/folder/location/in/disk" + File.separator)).thenReturn(Optional.empty());
@@ -192,10 +207,10 @@ public class ExecutionIndexerServiceTest {
         cut.indexExecution(plannedIndexation);
 
         verify(executionFilesProcessorService).getExecution(plannedIndexation);
-        verify(executionRepository).save(indexedExecution);
+        verify(executionBulkWriter).save(indexedExecution);
         verify(executionRepository).findByCycleDefinitionProjectIdAndJobLinkAndJobLinkNotNull(1L, "/execution/folder/location/in/disk" + File.separator);
         verify(errorRepository, never()).autoAssignProblemsToNewErrors(anyLong(), anyList());
-        verify(problemDenormalizationService, never()).updateFirstAndLastSeenDateTimes(anyCollection());
+        verify(problemDenormalizationService, never()).updateDenormalizedFields(anyCollection());
         verify(transactionService, never()).doAfterCommit(any(Runnable.class));
     }
 
@@ -260,7 +275,7 @@ public class ExecutionIndexerServiceTest {
         when(cycleDefinition.getBranch()).thenReturn("branch");
         when(cycleDefinition.getName()).thenReturn("cycle");
         when(executionFilesProcessorService.getExecution(plannedIndexation)).thenReturn(Optional.of(indexedExecution));
-        when(executionRepository.save(indexedExecution)).thenReturn(savedExecution);
+        when(executionBulkWriter.save(indexedExecution)).thenReturn(savedExecution);
         when(indexedExecution.getJobUrl()).thenReturn("http://execution-url.build.org");
         when(savedExecution.getStatus()).thenReturn(JobStatus.UNAVAILABLE);
         when(executionRepository.findByCycleDefinitionProjectIdAndJobLinkAndJobLinkNotNull(1L, "/execution/folder/location/in/disk" + File.separator)).thenReturn(Optional.of(previousExecution));
@@ -271,7 +286,7 @@ public class ExecutionIndexerServiceTest {
         when(previousError1.getId()).thenReturn(112L);
         when(previousError2.getId()).thenReturn(212L);
 
-        when(savedExecution.getRuns()).thenReturn(savedRuns);
+        when(indexedExecution.getRuns()).thenReturn(savedRuns);
         when(savedRun1.getExecutedScenarios()).thenReturn(savedScenarios1);
         when(savedScenario11.getErrors()).thenReturn(savedErrors11);
         when(savedError111.getId()).thenReturn(111L);
@@ -291,13 +306,70 @@ public class ExecutionIndexerServiceTest {
         cut.indexExecution(plannedIndexation);
 
         verify(executionFilesProcessorService).getExecution(plannedIndexation);
-        verify(executionRepository).save(indexedExecution);
+        verify(executionBulkWriter).save(indexedExecution);
         verify(executionRepository).findByCycleDefinitionProjectIdAndJobLinkAndJobLinkNotNull(1L, "/execution/folder/location/in/disk" + File.separator);
         verify(errorRepository).autoAssignProblemsToNewErrors(1L, Arrays.asList(111L, 113L, 211L, 221L, 222L));
-        verify(problemDenormalizationService).updateFirstAndLastSeenDateTimes(problems);
+        verify(problemDenormalizationService).updateDenormalizedFields(problems);
         verify(transactionService, never()).doAfterCommit(any(Runnable.class));
     }
 
+    @Test
+    public void indexExecution_updateProblemsOfDeletedErrors_whenRunsAreReplaced() {
+        // Given
+        PlannedIndexation plannedIndexation = mock(PlannedIndexation.class);
+        File executionFile = mock(File.class);
+        CycleDefinition cycleDefinition = mock(CycleDefinition.class);
+
+        Execution indexedExecution = mock(Execution.class);
+        Execution savedExecution = mock(Execution.class);
+        Run indexedRun = mock(Run.class);
+        Set<Run> indexedRuns = new TreeSet<>();
+        indexedRuns.add(indexedRun);
+
+        Execution previousExecution = mock(Execution.class);
+        Run previousRun = mock(Run.class);
+        Set<Run> previousRuns = new TreeSet<>();
+        previousRuns.add(previousRun);
+        ExecutedScenario previousScenario = mock(ExecutedScenario.class);
+        Set<ExecutedScenario> previousExecutedScenarios = new TreeSet<>();
+        previousExecutedScenarios.add(previousScenario);
+        Error previousError = mock(Error.class);
+        Set<Error> previousErrors = new TreeSet<>();
+        previousErrors.add(previousError);
+
+        Problem problem = mock(Problem.class);
+
+        // When
+        when(plannedIndexation.getExecutionFolder()).thenReturn(executionFile);
+        when(plannedIndexation.getCycleDefinition()).thenReturn(cycleDefinition);
+        when(executionFile.getAbsolutePath()).thenReturn("/execution/folder/location/in/disk");
+        when(cycleDefinition.getProjectId()).thenReturn(1L);
+        when(cycleDefinition.getBranch()).thenReturn("branch");
+        when(cycleDefinition.getName()).thenReturn("cycle");
+        when(executionFilesProcessorService.getExecution(plannedIndexation)).thenReturn(Optional.of(indexedExecution));
+        when(executionBulkWriter.save(indexedExecution)).thenReturn(savedExecution);
+        when(indexedExecution.getJobUrl()).thenReturn("http://execution-url.build.org");
+        when(savedExecution.getStatus()).thenReturn(JobStatus.UNAVAILABLE);
+        when(executionRepository.findByCycleDefinitionProjectIdAndJobLinkAndJobLinkNotNull(1L, "/execution/folder/location/in/disk" + File.separator)).thenReturn(Optional.of(previousExecution));
+
+        when(previousExecution.getRuns()).thenReturn(previousRuns);
+        when(previousRun.getExecutedScenarios()).thenReturn(previousExecutedScenarios);
+        when(previousScenario.getErrors()).thenReturn(previousErrors);
+        when(previousError.getId()).thenReturn(112L);
+
+        when(indexedExecution.getRuns()).thenReturn(indexedRuns);
+
+        when(problemRepository.findIdsByErrorIds(Collections.singletonList(112L))).thenReturn(Collections.singleton(7L));
+        when(problemRepository.findAllById(new HashSet<>(Collections.singletonList(7L)))).thenReturn(Collections.singletonList(problem));
+
+        // Then
+        cut.indexExecution(plannedIndexation);
+
+        verify(executionBulkWriter).save(indexedExecution);
+        verify(errorRepository, never()).autoAssignProblemsToNewErrors(anyLong(), anyList());
+        verify(problemDenormalizationService).updateDenormalizedFields(Collections.singleton(problem));
+    }
+
     @Test
     public void indexExecution_sendEmail_whenExecutionStatusIsDone() {
         // Given
@@ -359,7 +431,7 @@ public class ExecutionIndexerServiceTest {
         when(cycleDefinition.getBranch()).thenReturn("branch");
         when(cycleDefinition.getName()).thenReturn("cycle");
         when(executionFilesProcessorService.getExecution(plannedIndexation)).thenReturn(Optional.of(indexedExecution));
-        when(executionRepository.save(indexedExecution)).thenReturn(savedExecution);
+        when(executionBulkWriter.save(indexedExecution)).thenReturn(savedExecution);
         when(indexedExecution.getJobUrl()).thenReturn("http://execution-url.build.org");
         when(savedExecution.getStatus()).thenReturn(JobStatus.DONE);
         when(executionRepository.findByCycleDefinitionProjectIdAndJobLinkAndJobLinkNotNull(1L, "/execution/folder/location/in/disk" + File.separator)).thenReturn(Optional.of(previousExecution));
@@ -370,7 +442,7 @@ public class ExecutionIndexerServiceTest {
         when(previousError1.getId()).thenReturn(112L);
         when(previousError2.getId()).thenReturn(212L);
 
-        when(savedExecution.getRuns()).thenReturn(savedRuns);
+        when(indexedExecution.getRuns()).thenReturn(savedRuns);
         when(savedRun1.getExecutedScenarios()).thenReturn(savedScenarios1);
         when(savedScenario11.getErrors()).thenReturn(savedErrors11);
         when(savedError111.getId()).thenReturn(111L);
@@ -390,11 +462,46 @@ public class ExecutionIndexerServiceTest {
         cut.indexExecution(plannedIndexation);
 
         verify(executionFilesProcessorService).getExecution(plannedIndexation);
-        verify(executionRepository).save(indexedExecution);
+        verify(executionBulkWriter).save(indexedExecution);
         verify(executionRepository).findByCycleDefinitionProjectIdAndJobLinkAndJobLinkNotNull(1L, "/execution/folder/location/in/disk" + File.separator);
         verify(errorRepository).autoAssignProblemsToNewErrors(1L, Arrays.asList(111L, 113L, 211L, 221L, 222L));
-        verify(problemDenormalizationService).updateFirstAndLastSeenDateTimes(problems);
+        verify(problemDenormalizationService).updateDenormalizedFields(problems);
         verify(transactionService).doAfterCommit(any(Runnable.class));
     }
 
+    @Test
+    public void awaitAssetWrites_should_remove_the_urls_of_assets_that_could_not_be_written_from_new_runs() {
+        // GIVEN
+        ExecutedScenario writtenScenario = new ExecutedScenario();
+        writtenScenario.setName("written");
+        writtenScenario.setScreenshotUrl("http://access/screenshots/written.png");
+        ExecutedScenario failedScenario = new ExecutedScenario();
+        failedScenario.setName("failed");
+        failedScenario.setScreenshotUrl("http://access/screenshots/failed.png");
+        failedScenario.setHttpRequestsUrl("http://access/http-logs/failed.html");
+        Run newRun = new Run();
+        newRun.addExecutedScenarios(Arrays.asList(writtenScenario, failedScenario));
+        newRun.setFingerprint("new-run-fingerprint");
+        Run writtenRun = new Run();
+        writtenRun.setFingerprint("written-run-fingerprint");
+        Run keptRun = mock(Run.class);
+        when(keptRun.getId()).thenReturn(Long.valueOf(5));
+        when(assetService.awaitWrites(Arrays.asList(
+                "http://access/screenshots/failed.png",
+                "http://access/http-logs/failed.html",
+                "http://access/screenshots/written.png")))
+                .thenReturn(Collections.singleton("http://access/screenshots/failed.png"));
+
+        // WHEN
+        cut.awaitAssetWrites(Arrays.asList(newRun, writtenRun, keptRun));
+
+        // THEN
+        verify(keptRun, never()).getExecutedScenarios();
+        assertThat(writtenScenario.getScreenshotUrl()).isEqualTo("http://access/screenshots/written.png");
+        assertThat(failedScenario.getScreenshotUrl()).isNull();
+        assertThat(failedScenario.getHttpRequestsUrl()).isEqualTo("http://access/http-logs/failed.html");
+        assertThat(newRun.getFingerprint()).as("parsed again on next indexing").isNull();
+        assertThat(writtenRun.getFingerprint()).isEqualTo("written-run-fingerprint");
+    }
+
 }
@@ -116,5 +116,21 @@ public class ErrorRepositoryIT {
         assertThat(affectedErrors).hasSize(3);
         assertThat(idsOf(affectedErrors)).contains(longs(124, 313, 314));
     }
+
+    @Test
+    @DatabaseSetup({ "/dbunit/new-errors.xml", "/dbunit/ErrorRepositoryIT-assignPatternToErrors.xml" })
+    public void assignPatternToErrors_ShouldSkipErrorsAlreadyAssignedToThePattern() {
+        // GIVEN
+        long projectId = 1;
+        long patternId = 1041;
+
+        // WHEN
+        long assignedErrorCount = cut.assignPatternToErrors(projectId, patternId, 100, 400);
+
+        // THEN
+        assertThat(assignedErrorCount).isEqualTo(2);
+        Set<Error> affectedErrors = problemPatternRepository.getOne(Long.valueOf(patternId)).getErrors();
+        assertThat(idsOf(affectedErrors)).containsOnly(longs(124, 313, 314));
+    }
     
 }
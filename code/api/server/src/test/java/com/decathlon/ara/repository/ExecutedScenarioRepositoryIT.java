@@ -19,8 +19,13 @@ package com.decathlon.ara.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,7 +35,10 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.support.DependencyInjectionTestExecutionListener;
 import org.springframework.test.context.transaction.TransactionalTestExecutionListener;
 
+import com.decathlon.ara.domain.enumeration.Handling;
+import com.decathlon.ara.domain.filter.ExecutedScenarioFilter;
 import com.decathlon.ara.domain.projection.ExecutedScenarioWithErrorAndProblemJoin;
+import com.decathlon.ara.domain.projection.MatchingExecutedScenario;
 import com.github.springtestdbunit.DbUnitTestExecutionListener;
 import com.github.springtestdbunit.annotation.DatabaseSetup;
 
@@ -78,4 +86,121 @@ public class ExecutedScenarioRepositoryIT {
                 new ExecutedScenarioWithErrorAndProblemJoin(114, 11, "high", "With identified, closed, error", 0, 1),
                 new ExecutedScenarioWithErrorAndProblemJoin(115, 11, "high", "With identified, closed (with date), error", 0, 1));
     }
+
+    @Test
+    @DatabaseSetup({ "/dbunit/ExecutedScenarioRepositoryIT-findAllErrorAndProblemCountsByExecutionIds.xml" })
+    public void findAllErrorAndProblemCountsByExecutionIds_ShouldCountEachScenarioOnceWithTheSameCountsAsByRuns() {
+        // GIVEN
+        List<Long> executionIds = Arrays.asList(Long.valueOf(1), Long.valueOf(2));
+
+        // WHEN
+        Map<Long, List<ExecutedScenarioWithErrorAndProblemJoin>> countsByExecution = cut.findAllErrorAndProblemCountsByExecutionIds(executionIds);
+
+        // THEN
+        assertThat(countsByExecution).containsOnlyKeys(Long.valueOf(1), Long.valueOf(2));
+        // One row per scenario, even when several of its errors or patterns lead to the same problem
+        assertThat(countsByExecution.get(Long.valueOf(1))).containsExactlyInAnyOrder(
+                new ExecutedScenarioWithErrorAndProblemJoin(111, 11, "medium", "Two errors of the same problem", 0, 2),
+                new ExecutedScenarioWithErrorAndProblemJoin(112, 11, "medium", "One error matched by two patterns of the same problem", 0, 2),
+                new ExecutedScenarioWithErrorAndProblemJoin(121, 12, "high", "With unidentified error", 1, 0),
+                new ExecutedScenarioWithErrorAndProblemJoin(122, 12, "sanity-check", "Without error", 0, 0));
+        assertThat(countsByExecution.get(Long.valueOf(2))).containsExactlyInAnyOrder(
+                new ExecutedScenarioWithErrorAndProblemJoin(211, 21, "medium", "With reappeared problem", 1, 0),
+                new ExecutedScenarioWithErrorAndProblemJoin(212, 21, "medium", "With identified and unidentified errors", 1, 1));
+        assertThat(countsByExecution.get(Long.valueOf(1)))
+                .containsExactlyInAnyOrderElementsOf(cut.findAllErrorAndProblemCounts(new HashSet<>(Arrays.asList(Long.valueOf(11), Long.valueOf(12)))));
+        assertThat(countsByExecution.get(Long.valueOf(2)))
+                .containsExactlyInAnyOrderElementsOf(cut.findAllErrorAndProblemCounts(Collections.singleton(Long.valueOf(21))));
+    }
+
+    @Test
+    public void findAllErrorAndProblemCountsByExecutionIds_ShouldReturnNothing_WhenNoExecutionIsQueried() {
+        // WHEN
+        Map<Long, List<ExecutedScenarioWithErrorAndProblemJoin>> countsByExecution = cut.findAllErrorAndProblemCountsByExecutionIds(Collections.emptyList());
+
+        // THEN
+        assertThat(countsByExecution).isEmpty();
+    }
+
+    @Test
+    @DatabaseSetup({ "/dbunit/ExecutedScenarioRepositoryIT-findMatchingExecutedScenarios.xml" })
+    public void findMatchingExecutedScenarios_ShouldMatchAllScenariosOfTheExecution_WhenNotFiltered() {
+        // WHEN
+        List<MatchingExecutedScenario> matchingScenarios = cut.findMatchingExecutedScenarios(allOfExecution());
+
+        // THEN
+        assertThat(matchingScenarios).containsExactly(
+                new MatchingExecutedScenario(101, 11, "A - Success with high severity"),
+                new MatchingExecutedScenario(102, 11, "B - Success without severity"),
+                new MatchingExecutedScenario(103, 11, "C - Success with the & severity"),
+                new MatchingExecutedScenario(104, 11, "D - Failed, medium, unidentified"),
+                new MatchingExecutedScenario(105, 11, "E - Failed, none, handled by an open problem"),
+                new MatchingExecutedScenario(106, 11, "F - Failed, high, with a reappeared problem"),
+                new MatchingExecutedScenario(107, 11, "G - Failed, sanity-check, handled by a problem closed later"));
+    }
+
+    @Test
+    @DatabaseSetup({ "/dbunit/ExecutedScenarioRepositoryIT-findMatchingExecutedScenarios.xml" })
+    public void findMatchingExecutedScenarios_ShouldMatchOnlyFailedScenarios_WhenNotWithSucceed() {
+        assertThat(findMatchingIds(allOfExecution().withWithSucceed(false))).containsOnly(104L, 105L, 106L, 107L);
+    }
+
+    @Test
+    @DatabaseSetup({ "/dbunit/ExecutedScenarioRepositoryIT-findMatchingExecutedScenarios.xml" })
+    public void findMatchingExecutedScenarios_ShouldAlsoMatchScenariosWithoutSeverity_WhenFilteringOnNoneOrMedium() {
+        // "&" is the severity of scenarios tagged with all severities
+        assertThat(findMatchingIds(allOfExecution().withSeverity("none"))).containsOnly(102L, 103L, 105L);
+        assertThat(findMatchingIds(allOfExecution().withSeverity("medium"))).containsOnly(102L, 103L, 104L);
+    }
+
+    @Test
+    @DatabaseSetup({ "/dbunit/ExecutedScenarioRepositoryIT-findMatchingExecutedScenarios.xml" })
+    public void findMatchingExecutedScenarios_ShouldMatchTheExactSeverity_WhenFilteringOnAnotherSeverity() {
+        assertThat(findMatchingIds(allOfExecution().withSeverity("&"))).containsOnly(103L);
+        assertThat(findMatchingIds(allOfExecution().withSeverity("high"))).containsOnly(101L, 106L);
+    }
+
+    @Test
+    @DatabaseSetup({ "/dbunit/ExecutedScenarioRepositoryIT-findMatchingExecutedScenarios.xml" })
+    public void findMatchingExecutedScenarios_ShouldKeepScenariosWithoutError_WhenFilteringOnException() {
+        assertThat(findMatchingIds(allOfExecution().withException("TIMEOUT"))).containsOnly(101L, 102L, 103L, 105L, 107L);
+        assertThat(findMatchingIds(allOfExecution().withWithSucceed(false).withException("timeout"))).containsOnly(105L, 107L);
+    }
+
+    @Test
+    @DatabaseSetup({ "/dbunit/ExecutedScenarioRepositoryIT-findMatchingExecutedScenarios.xml" })
+    public void findMatchingExecutedScenarios_ShouldMatchScenariosWithAFailedStepContainingTheText_WhenFilteringOnStep() {
+        assertThat(findMatchingIds(allOfExecution().withStep("log in"))).containsOnly(104L, 106L);
+    }
+
+    @Test
+    @DatabaseSetup({ "/dbunit/ExecutedScenarioRepositoryIT-findMatchingExecutedScenarios.xml" })
+    public void findMatchingExecutedScenarios_ShouldMatchScenariosByHandling_WhenFilteringOnHandling() {
+        assertThat(findMatchingIds(allOfExecution().withHandling(Handling.SUCCESS))).containsOnly(101L, 102L, 103L);
+        // Open problems, and problems closed after the test of the execution, handle the errors
+        assertThat(findMatchingIds(allOfExecution().withHandling(Handling.HANDLED))).containsOnly(105L, 107L);
+        // Problems closed before the test of the execution reappeared, and do not handle the errors anymore
+        assertThat(findMatchingIds(allOfExecution().withHandling(Handling.UNHANDLED))).containsOnly(104L, 106L);
+    }
+
+    @Test
+    @DatabaseSetup({ "/dbunit/ExecutedScenarioRepositoryIT-findMatchingExecutedScenarios.xml" })
+    public void findIdsWithProblemsBlamedOnTeam_ShouldReturnScenariosOfTheExecutionWithAProblemBlamedOnTheTeam() {
+        // Scenario 201 of execution 2 also has a problem blamed on team 1
+        assertThat(cut.findIdsWithProblemsBlamedOnTeam(1, 1)).containsOnly(Long.valueOf(105));
+        // Even if the problem reappeared
+        assertThat(cut.findIdsWithProblemsBlamedOnTeam(1, 2)).containsOnly(Long.valueOf(106));
+        assertThat(cut.findIdsWithProblemsBlamedOnTeam(1, 3)).isEmpty();
+    }
+
+    private static ExecutedScenarioFilter allOfExecution() {
+        return new ExecutedScenarioFilter().withExecutionId(1).withWithSucceed(true);
+    }
+
+    private Set<Long> findMatchingIds(ExecutedScenarioFilter filter) {
+        return cut.findMatchingExecutedScenarios(filter).stream()
+                .map(scenario -> Long.valueOf(scenario.getId()))
+                .collect(Collectors.toSet());
+    }
+
 }
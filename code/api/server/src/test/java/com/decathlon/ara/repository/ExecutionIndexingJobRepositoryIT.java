@@ -0,0 +1,122 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.util.Date;
+
+import javax.transaction.Transactional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestExecutionListeners;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.support.DependencyInjectionTestExecutionListener;
+import org.springframework.test.context.transaction.TransactionalTestExecutionListener;
+
+import com.decathlon.ara.domain.ExecutionIndexingJob;
+import com.decathlon.ara.domain.enumeration.ExecutionIndexingJobStatus;
+import com.github.springtestdbunit.DbUnitTestExecutionListener;
+import com.github.springtestdbunit.annotation.DatabaseSetup;
+
+@SpringBootTest
+@TestExecutionListeners({
+    TransactionalTestExecutionListener.class,
+    DependencyInjectionTestExecutionListener.class,
+    DbUnitTestExecutionListener.class
+})
+@TestPropertySource(
+		locations = "classpath:application-db-h2.properties")
+@Transactional
+@DatabaseSetup({ "/dbunit/ExecutionIndexingJobRepositoryIT.xml" })
+public class ExecutionIndexingJobRepositoryIT {
+
+    private static final Date NOW = Timestamp.valueOf("2020-11-20 10:05:00");
+
+    @Autowired
+    private ExecutionIndexingJobRepository cut;
+
+    @Test
+    public void claim_ShouldRefuseJob_WhenAnotherJobOfTheSameCycleIsRunning() {
+        // WHEN
+        boolean claimed = cut.claim(job(2, 1, "day"), "a", 5, NOW);
+
+        // THEN
+        assertThat(claimed).isFalse();
+        assertThat(cut.findById(Long.valueOf(2)).map(ExecutionIndexingJob::getStatus)).contains(ExecutionIndexingJobStatus.PENDING);
+    }
+
+    @Test
+    public void claim_ShouldRefuseJob_WhenTheProjectAlreadyRunsAsManyJobsAsAllowed() {
+        // WHEN
+        boolean claimed = cut.claim(job(3, 1, "night"), "a", 1, NOW);
+
+        // THEN
+        assertThat(claimed).isFalse();
+    }
+
+    @Test
+    public void claim_ShouldRunJobAndStartItsLease_WhenTheProjectAndTheCycleHaveRoom() {
+        // WHEN
+        boolean claimed = cut.claim(job(3, 1, "night"), "a", 2, NOW);
+
+        // THEN
+        assertThat(claimed).isTrue();
+        ExecutionIndexingJob job = cut.findById(Long.valueOf(3)).orElseThrow(AssertionError::new);
+        assertThat(job.getStatus()).isEqualTo(ExecutionIndexingJobStatus.RUNNING);
+        assertThat(job.getHeartbeatDateTime()).isEqualTo(NOW);
+    }
+
+    @Test
+    public void claim_ShouldRefuseJob_WhenItsZipIsStoredOnAnotherNode() {
+        // WHEN
+        boolean claimedByOtherNode = cut.claim(job(4, 2, "day"), "a", 2, NOW);
+        boolean claimedByItsNode = cut.claim(job(4, 2, "day"), "b", 2, NOW);
+
+        // THEN
+        assertThat(claimedByOtherNode).isFalse();
+        assertThat(claimedByItsNode).isTrue();
+    }
+
+    @Test
+    public void requeueRunningJobsWithHeartbeatBefore_ShouldRequeueOnlyJobsWithAnExpiredLease() {
+        // WHEN
+        int requeuedJobCount = cut.requeueRunningJobsWithHeartbeatBefore(Timestamp.valueOf("2020-11-20 09:00:00"));
+
+        // THEN
+        assertThat(requeuedJobCount).isEqualTo(1);
+        assertThat(cut.findAllByNodeAndStatusOrderById("c", ExecutionIndexingJobStatus.PENDING))
+                .extracting(ExecutionIndexingJob::getId)
+                .containsExactly(Long.valueOf(5));
+    }
+
+    /**
+     * @return a detached job, as read by the queue before claiming it
+     */
+    private static ExecutionIndexingJob job(long id, long projectId, String cycle) {
+        return new ExecutionIndexingJob()
+                .withId(Long.valueOf(id))
+                .withProjectId(projectId)
+                .withBranch("develop")
+                .withCycle(cycle);
+    }
+
+}
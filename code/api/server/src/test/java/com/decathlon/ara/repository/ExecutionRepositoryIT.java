@@ -19,8 +19,10 @@ package com.decathlon.ara.repository;
 
 import static com.decathlon.ara.util.TestUtil.longs;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -36,6 +38,7 @@ import org.springframework.test.context.transaction.TransactionalTestExecutionLi
 
 import com.decathlon.ara.domain.Execution;
 import com.decathlon.ara.domain.enumeration.JobStatus;
+import com.decathlon.ara.domain.projection.LatestCycleExecution;
 import com.github.springtestdbunit.DbUnitTestExecutionListener;
 import com.github.springtestdbunit.annotation.DatabaseSetup;
 
@@ -85,6 +88,55 @@ public class ExecutionRepositoryIT {
         assertThat(getIds(latestExecutions)).containsOnly(longs(2, 6));
     }
 
+    @Test
+    @DatabaseSetup({ "/dbunit/ExecutionRepositoryIT-findLatestExecutionsOfCycles.xml" })
+    public void findLatestExecutionsOfCycles_should_return_the_latest_executions_of_each_queried_cycle_up_to_the_limit() {
+        // GIVEN
+        List<Long> cycleDefinitionIds = Arrays.asList(Long.valueOf(1), Long.valueOf(2), Long.valueOf(3));
+
+        // WHEN
+        List<LatestCycleExecution> latestExecutions = cut.findLatestExecutionsOfCycles(cycleDefinitionIds, 3);
+
+        // THEN
+        assertThat(latestExecutions)
+                .extracting(LatestCycleExecution::getCycleDefinitionId, LatestCycleExecution::getExecutionId)
+                .containsExactlyInAnyOrder(
+                        tuple(Long.valueOf(1), Long.valueOf(13)),
+                        tuple(Long.valueOf(1), Long.valueOf(11)),
+                        tuple(Long.valueOf(1), Long.valueOf(14)),
+                        tuple(Long.valueOf(2), Long.valueOf(21)),
+                        tuple(Long.valueOf(2), Long.valueOf(22)),
+                        tuple(Long.valueOf(2), Long.valueOf(23)),
+                        tuple(Long.valueOf(3), Long.valueOf(31)));
+    }
+
+    @Test
+    @DatabaseSetup({ "/dbunit/ExecutionRepositoryIT-findLatestExecutionsOfCycles.xml" })
+    public void findLatestExecutionsOfCycles_should_return_only_the_latest_execution_of_each_cycle_when_the_limit_is_one() {
+        // GIVEN
+        List<Long> cycleDefinitionIds = Arrays.asList(Long.valueOf(1), Long.valueOf(2), Long.valueOf(3));
+
+        // WHEN
+        List<LatestCycleExecution> latestExecutions = cut.findLatestExecutionsOfCycles(cycleDefinitionIds, 1);
+
+        // THEN
+        assertThat(latestExecutions)
+                .extracting(LatestCycleExecution::getCycleDefinitionId, LatestCycleExecution::getExecutionId)
+                .containsExactlyInAnyOrder(
+                        tuple(Long.valueOf(1), Long.valueOf(13)),
+                        tuple(Long.valueOf(2), Long.valueOf(23)),
+                        tuple(Long.valueOf(3), Long.valueOf(31)));
+    }
+
+    @Test
+    public void findLatestExecutionsOfCycles_should_return_nothing_when_no_cycle_is_queried() {
+        // WHEN
+        List<LatestCycleExecution> latestExecutions = cut.findLatestExecutionsOfCycles(Collections.emptyList(), 3);
+
+        // THEN
+        assertThat(latestExecutions).isEmpty();
+    }
+
     private List<Long> getIds(List<Execution> latestExecutions) {
         return latestExecutions.stream()
                 .map(Execution::getId)
@@ -0,0 +1,114 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.util.Date;
+
+import javax.transaction.Transactional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestExecutionListeners;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.support.DependencyInjectionTestExecutionListener;
+import org.springframework.test.context.transaction.TransactionalTestExecutionListener;
+
+import com.decathlon.ara.domain.ProblemPatternBackFill;
+import com.decathlon.ara.domain.enumeration.PatternBackFillStatus;
+import com.github.springtestdbunit.DbUnitTestExecutionListener;
+import com.github.springtestdbunit.annotation.DatabaseSetup;
+
+@SpringBootTest
+@TestExecutionListeners({
+    TransactionalTestExecutionListener.class,
+    DependencyInjectionTestExecutionListener.class,
+    DbUnitTestExecutionListener.class
+})
+@TestPropertySource(
+		locations = "classpath:application-db-h2.properties")
+@Transactional
+@DatabaseSetup({ "/dbunit/ProblemPatternBackFillRepositoryIT.xml" })
+public class ProblemPatternBackFillRepositoryIT {
+
+    private static final Date NOW = Timestamp.valueOf("2020-11-20 10:05:00");
+
+    @Autowired
+    private ProblemPatternBackFillRepository cut;
+
+    @Test
+    public void claim_ShouldRunAPendingBackFillOnlyOnce() {
+        // WHEN
+        int claimedByFirstWorker = cut.claim(3, "c", NOW);
+        int claimedBySecondWorker = cut.claim(3, "d", NOW);
+
+        // THEN
+        assertThat(claimedByFirstWorker).isEqualTo(1);
+        assertThat(claimedBySecondWorker).isZero();
+        ProblemPatternBackFill backFill = cut.findById(Long.valueOf(3)).orElseThrow(AssertionError::new);
+        assertThat(backFill.getStatus()).isEqualTo(PatternBackFillStatus.RUNNING);
+        assertThat(backFill.getWorker()).isEqualTo("c");
+        assertThat(backFill.getHeartbeatDateTime()).isEqualTo(NOW);
+    }
+
+    @Test
+    public void advance_ShouldRecordProgress_OnlyForTheWorkerRunningTheBackFill() {
+        // WHEN
+        int advancedByOtherWorker = cut.advance(2, "b", 60, 4, NOW);
+        int advancedByItsWorker = cut.advance(2, "a", 60, 4, NOW);
+
+        // THEN
+        assertThat(advancedByOtherWorker).isZero();
+        assertThat(advancedByItsWorker).isEqualTo(1);
+        ProblemPatternBackFill backFill = cut.findById(Long.valueOf(2)).orElseThrow(AssertionError::new);
+        assertThat(backFill.getLastErrorId()).isEqualTo(Long.valueOf(60));
+        assertThat(backFill.getAssignedErrorCount()).isEqualTo(4);
+    }
+
+    @Test
+    public void advance_ShouldTellTheWorkerToStop_WhenThePatternWasModifiedOrRemoved() {
+        // GIVEN
+        cut.deleteByProblemPatternId(12);
+
+        // WHEN
+        int advanced = cut.advance(2, "a", 60, 4, NOW);
+
+        // THEN
+        assertThat(advanced).isZero();
+    }
+
+    @Test
+    public void requeueRunningBackFillsWithHeartbeatBefore_ShouldRequeueOnlyExpiredLeases_KeepingTheirProgress() {
+        // WHEN
+        int requeuedBackFillCount = cut.requeueRunningBackFillsWithHeartbeatBefore(Timestamp.valueOf("2020-11-20 09:00:00"));
+
+        // THEN
+        assertThat(requeuedBackFillCount).isEqualTo(1);
+        assertThat(cut.findAllByStatusOrderById(PatternBackFillStatus.PENDING))
+                .extracting(ProblemPatternBackFill::getId)
+                .containsExactly(Long.valueOf(3), Long.valueOf(4));
+        ProblemPatternBackFill backFill = cut.findById(Long.valueOf(4)).orElseThrow(AssertionError::new);
+        assertThat(backFill.getWorker()).isNull();
+        assertThat(backFill.getLastErrorId()).isEqualTo(Long.valueOf(20));
+        assertThat(backFill.getAssignedErrorCount()).isEqualTo(1);
+    }
+
+}
@@ -21,8 +21,6 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.ArrayList;
 
-import javax.persistence.EntityManager;
-
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -33,7 +31,9 @@ import com.decathlon.ara.domain.ProblemPattern;
 import com.decathlon.ara.domain.QError;
 import com.decathlon.ara.repository.ErrorRepository;
 import com.decathlon.ara.repository.ProblemPatternRepository;
+import com.decathlon.ara.repository.ProblemRepository;
 import com.decathlon.ara.repository.custom.util.JpaCacheManager;
+import com.decathlon.ara.repository.custom.util.ProblemPatternIndexCache;
 import com.decathlon.ara.repository.custom.util.TransactionAppenderUtil;
 import com.querydsl.core.types.Predicate;
 import com.querydsl.jpa.impl.JPAQueryFactory;
@@ -42,9 +42,6 @@ import com.querydsl.sql.SQLQueryFactory;
 @ExtendWith(MockitoExtension.class)
 public class ErrorRepositoryImplTest {
 
-    @Mock
-    private EntityManager entityManager;
-
     @Mock
     private ErrorRepository errorRepository;
 
@@ -54,9 +51,15 @@ public class ErrorRepositoryImplTest {
     @Mock
     private SQLQueryFactory sqlQueryFactory;
 
+    @Mock
+    private ProblemRepository problemRepository;
+
     @Mock
     private ProblemPatternRepository problemPatternRepository;
 
+    @Mock
+    private ProblemPatternIndexCache problemPatternIndexCache;
+
     @Mock
     private JpaCacheManager jpaCacheManager;
 
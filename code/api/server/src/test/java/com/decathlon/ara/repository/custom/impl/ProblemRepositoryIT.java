@@ -22,6 +22,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.List;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 
 import org.junit.jupiter.api.Test;
@@ -51,6 +52,9 @@ public class ProblemRepositoryIT {
     @Autowired
     private ProblemRepository cut;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     @DatabaseSetup({ "/dbunit/ProblemRepositoryIT-findAllByProjectIdAndDefectIdIsNotEmpty.xml" })
     public void findAllByProjectIdAndDefectIdIsNotEmpty_ShouldReturnProblemsWithNonEmptyDefectId_WhenCalledForAProject() {
@@ -64,4 +68,63 @@ public class ProblemRepositoryIT {
         assertThat(problems.stream().map(Problem::getId)).containsExactly(longs(2, 3));
     }
 
+    @Test
+    @DatabaseSetup({ "/dbunit/ProblemRepositoryIT-updateFirstAndLastSeenDateTimes.xml" })
+    public void updateFirstAndLastSeenDateTimes_ShouldRecomputeDatesOfTheProblemsOfTheProjectInTheRange() {
+        // WHEN
+        final int updatedCount = cut.updateFirstAndLastSeenDateTimes(1, 10, 12);
+        entityManager.clear();
+
+        // THEN
+        assertThat(updatedCount).isEqualTo(2);
+        final Problem seenTwice = cut.getOne(Long.valueOf(10));
+        assertThat(seenTwice.getFirstSeenDateTime()).isEqualTo("2017-09-25T08:55:54");
+        assertThat(seenTwice.getLastSeenDateTime()).isEqualTo("2017-09-26T08:55:54");
+    }
+
+    @Test
+    @DatabaseSetup({ "/dbunit/ProblemRepositoryIT-updateFirstAndLastSeenDateTimes.xml" })
+    public void updateFirstAndLastSeenDateTimes_ShouldClearDatesOfProblemsWithoutOccurrence() {
+        // WHEN
+        cut.updateFirstAndLastSeenDateTimes(1, 10, 12);
+        entityManager.clear();
+
+        // THEN
+        final Problem notSeenAnymore = cut.getOne(Long.valueOf(11));
+        assertThat(notSeenAnymore.getFirstSeenDateTime()).isNull();
+        assertThat(notSeenAnymore.getLastSeenDateTime()).isNull();
+    }
+
+    @Test
+    @DatabaseSetup({ "/dbunit/ProblemRepositoryIT-updateFirstAndLastSeenDateTimes.xml" })
+    public void updateFirstAndLastSeenDateTimes_ShouldNotTouchProblemsOutsideOfTheRangeOrOfTheProject() {
+        // WHEN
+        cut.updateFirstAndLastSeenDateTimes(1, 10, 12);
+        entityManager.clear();
+
+        // THEN
+        // The lower bound is inclusive, the upper bound is exclusive: 12 is in another project, 13 is the next chunk
+        for (long outsideId : new long[] { 9, 12, 13 }) {
+            final Problem outside = cut.getOne(Long.valueOf(outsideId));
+            assertThat(outside.getFirstSeenDateTime()).isEqualTo("2000-01-01T00:00:00");
+            assertThat(outside.getLastSeenDateTime()).isEqualTo("2000-01-01T00:00:00");
+        }
+    }
+
+    @Test
+    @DatabaseSetup({ "/dbunit/ProblemRepositoryIT-updateFirstAndLastSeenDateTimes.xml" })
+    public void updateFirstAndLastSeenDateTimes_ShouldRecomputeEachProblemOnceWhenWalkingConsecutiveChunks() {
+        // WHEN
+        final int updatedCount = cut.updateFirstAndLastSeenDateTimes(1, 9, 11) +
+                cut.updateFirstAndLastSeenDateTimes(1, 11, 13) +
+                cut.updateFirstAndLastSeenDateTimes(1, 13, 15);
+        entityManager.clear();
+
+        // THEN
+        assertThat(updatedCount).isEqualTo(4);
+        assertThat(cut.getOne(Long.valueOf(9)).getLastSeenDateTime()).isEqualTo("2017-09-25T08:55:54");
+        assertThat(cut.getOne(Long.valueOf(13)).getLastSeenDateTime()).isEqualTo("2017-09-26T08:55:54");
+        assertThat(cut.getOne(Long.valueOf(12)).getLastSeenDateTime()).isEqualTo("2000-01-01T00:00:00");
+    }
+
 }
@@ -0,0 +1,251 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.repository.custom.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.Arrays;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestExecutionListeners;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.support.DependencyInjectionTestExecutionListener;
+import org.springframework.test.context.transaction.TransactionalTestExecutionListener;
+
+import com.decathlon.ara.domain.Error;
+import com.decathlon.ara.domain.ExecutedScenario;
+import com.decathlon.ara.domain.Execution;
+import com.decathlon.ara.domain.Run;
+import com.decathlon.ara.domain.enumeration.ExecutionAcceptance;
+import com.decathlon.ara.domain.enumeration.JobStatus;
+import com.decathlon.ara.repository.CountryRepository;
+import com.decathlon.ara.repository.ErrorRepository;
+import com.decathlon.ara.repository.ExecutedScenarioRepository;
+import com.decathlon.ara.repository.ExecutionRepository;
+import com.decathlon.ara.repository.RunRepository;
+import com.decathlon.ara.repository.TypeRepository;
+import com.github.springtestdbunit.DbUnitTestExecutionListener;
+import com.github.springtestdbunit.annotation.DatabaseSetup;
+
+@SpringBootTest
+@TestExecutionListeners({
+    TransactionalTestExecutionListener.class,
+    DependencyInjectionTestExecutionListener.class,
+    DbUnitTestExecutionListener.class
+})
+@TestPropertySource(
+		locations = "classpath:application-db-h2.properties")
+@Transactional
+public class ExecutionBulkWriterIT {
+
+    @Autowired
+    private ExecutionBulkWriter cut;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ExecutionRepository executionRepository;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private TypeRepository typeRepository;
+
+    @Autowired
+    private RunRepository runRepository;
+
+    @Autowired
+    private ExecutedScenarioRepository executedScenarioRepository;
+
+    @Autowired
+    private ErrorRepository errorRepository;
+
+    @Test
+    @DatabaseSetup({ "/dbunit/ExecutionBulkWriterIT.xml" })
+    public void save_ShouldInsertRunsScenariosAndErrors_ThatAreThenReadBackByTheRepositories() {
+        // GIVEN
+        Execution execution = executionRepository.findById(Long.valueOf(1)).orElseThrow(AssertionError::new);
+        Run run = new Run();
+        run.setCountry(countryRepository.getOne(Long.valueOf(1)));
+        run.setType(typeRepository.getOne(Long.valueOf(1)));
+        run.setPlatform("integ");
+        run.setStatus(JobStatus.DONE);
+        run.setIncludeInThresholds(Boolean.TRUE);
+        ExecutedScenario passedScenario = scenario("Passed scenario", 12);
+        ExecutedScenario failedScenario = scenario("Failed scenario", 42);
+        Error error1 = error(45, "Exception 1");
+        Error error2 = error(47, "Exception 2");
+        failedScenario.addErrors(Arrays.asList(error1, error2));
+        run.addExecutedScenarios(Arrays.asList(passedScenario, failedScenario));
+        execution.addRun(run);
+
+        // WHEN
+        Execution savedExecution = cut.save(execution);
+        entityManager.flush();
+        entityManager.clear();
+
+        // THEN
+        assertThat(savedExecution.getId()).isEqualTo(Long.valueOf(1));
+        assertThat(run.getId()).isNotNull();
+        assertThat(executionRepository.findById(Long.valueOf(1)).orElseThrow(AssertionError::new).getRuns())
+                .extracting(Run::getId)
+                .containsExactly(run.getId());
+
+        Run savedRun = runRepository.findById(run.getId()).orElseThrow(AssertionError::new);
+        assertThat(savedRun.getPlatform()).isEqualTo("integ");
+        assertThat(savedRun.getCountry().getCode()).isEqualTo("fr");
+        assertThat(savedRun.getType().getCode()).isEqualTo("api");
+        assertThat(savedRun.getExecutedScenarios())
+                .extracting(ExecutedScenario::getId, ExecutedScenario::getName, ExecutedScenario::getLine)
+                .containsOnly(
+                        tuple(passedScenario.getId(), "Passed scenario", Integer.valueOf(12)),
+                        tuple(failedScenario.getId(), "Failed scenario", Integer.valueOf(42)));
+
+        ExecutedScenario savedFailedScenario = executedScenarioRepository.findById(failedScenario.getId()).orElseThrow(AssertionError::new);
+        assertThat(savedFailedScenario.getRun().getId()).isEqualTo(run.getId());
+        assertThat(savedFailedScenario.getErrors())
+                .extracting(Error::getId, Error::getStepLine, Error::getException)
+                .containsOnly(
+                        tuple(error1.getId(), Integer.valueOf(45), "Exception 1"),
+                        tuple(error2.getId(), Integer.valueOf(47), "Exception 2"));
+        assertThat(errorRepository.findById(error2.getId()).map(savedError -> savedError.getExecutedScenario().getId()))
+                .contains(failedScenario.getId());
+    }
+
+    @Test
+    @DatabaseSetup({ "/dbunit/ExecutionBulkWriterIT.xml" })
+    public void save_ShouldStoreTheScreenshotFileNames_ForTheRetentionSweepToFindThemWhateverTheBaseUrl() {
+        // GIVEN
+        String fileName = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef.png";
+        Execution execution = executionRepository.findById(Long.valueOf(1)).orElseThrow(AssertionError::new);
+        Run run = run(1, "fingerprint");
+        ExecutedScenario withScreenshot = scenario("With screenshot", 12);
+        withScreenshot.setScreenshotUrl("http://old-access/screenshots/" + fileName);
+        run.addExecutedScenarios(Arrays.asList(withScreenshot, scenario("Without screenshot", 42)));
+        execution.addRun(run);
+
+        // WHEN
+        cut.save(execution);
+        entityManager.flush();
+        entityManager.clear();
+
+        // THEN
+        assertThat(executedScenarioRepository.findById(withScreenshot.getId()).map(ExecutedScenario::getScreenshotFileName))
+                .contains(fileName);
+        assertThat(executedScenarioRepository.findReferencedScreenshotFileNames(Arrays.asList(fileName, "unreferenced.png")))
+                .containsExactly(fileName);
+    }
+
+    @Test
+    @DatabaseSetup({ "/dbunit/ExecutionBulkWriterIT-reindex.xml" })
+    public void save_ShouldKeepTheScenariosOfUnchangedRunsAndReplaceTheChangedOnes_WhenAnExecutionIsIndexedAgain() {
+        // GIVEN
+        Execution previousExecution = executionRepository.findById(Long.valueOf(1)).orElseThrow(AssertionError::new);
+        Run previousUnchangedRun = previousExecution.getRuns().stream()
+                .filter(run -> "fr".equals(run.getCountry().getCode()))
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+        Execution execution = new Execution();
+        execution.setId(previousExecution.getId());
+        execution.setCycleDefinition(previousExecution.getCycleDefinition());
+        execution.setBranch("develop");
+        execution.setName("day");
+        execution.setRelease("1711");
+        execution.setVersion("1711.1709245958");
+        execution.setBuildDateTime(previousExecution.getBuildDateTime());
+        execution.setTestDateTime(previousExecution.getTestDateTime());
+        execution.setJobUrl("http://execution.jobs.org/1/");
+        execution.setStatus(JobStatus.DONE);
+        execution.setAcceptance(ExecutionAcceptance.NEW);
+        Run unchangedRun = run(1, "unchanged");
+        unchangedRun.keepExecutedScenariosOf(previousUnchangedRun);
+        Run changedRun = run(2, "changed-again");
+        ExecutedScenario newScenario = scenario("New scenario", 2);
+        newScenario.addError(error(3, "New"));
+        changedRun.addExecutedScenario(newScenario);
+        execution.addRuns(Arrays.asList(unchangedRun, changedRun));
+
+        // WHEN
+        cut.save(execution);
+        entityManager.flush();
+        entityManager.clear();
+
+        // THEN
+        assertThat(changedRun.getId()).isNotNull().isNotEqualTo(Long.valueOf(12));
+        assertThat(executionRepository.findById(Long.valueOf(1)).orElseThrow(AssertionError::new).getRuns())
+                .extracting(Run::getId)
+                .containsOnly(Long.valueOf(11), changedRun.getId());
+
+        Run savedUnchangedRun = runRepository.findById(Long.valueOf(11)).orElseThrow(AssertionError::new);
+        assertThat(savedUnchangedRun.getStatus()).isEqualTo(JobStatus.DONE);
+        assertThat(savedUnchangedRun.getExecutedScenarios())
+                .extracting(ExecutedScenario::getId)
+                .containsExactly(Long.valueOf(111));
+        assertThat(errorRepository.findById(Long.valueOf(1111)).map(savedError -> savedError.getExecutedScenario().getId()))
+                .contains(Long.valueOf(111));
+
+        assertThat(runRepository.findById(Long.valueOf(12))).isEmpty();
+        assertThat(executedScenarioRepository.findById(Long.valueOf(121))).isEmpty();
+        assertThat(errorRepository.findById(Long.valueOf(1211))).isEmpty();
+        Run savedChangedRun = runRepository.findById(changedRun.getId()).orElseThrow(AssertionError::new);
+        assertThat(savedChangedRun.getFingerprint()).isEqualTo("changed-again");
+        assertThat(savedChangedRun.getExecutedScenarios())
+                .extracting(ExecutedScenario::getId, ExecutedScenario::getName)
+                .containsExactly(tuple(newScenario.getId(), "New scenario"));
+    }
+
+    private Run run(long countryId, String fingerprint) {
+        Run run = new Run();
+        run.setCountry(countryRepository.getOne(Long.valueOf(countryId)));
+        run.setType(typeRepository.getOne(Long.valueOf(1)));
+        run.setPlatform("integ");
+        run.setStatus(JobStatus.DONE);
+        run.setFingerprint(fingerprint);
+        return run;
+    }
+
+    private static ExecutedScenario scenario(String name, int line) {
+        ExecutedScenario executedScenario = new ExecutedScenario();
+        executedScenario.setFeatureFile("a.feature");
+        executedScenario.setFeatureName("Feature A");
+        executedScenario.setName(name);
+        executedScenario.setLine(line);
+        executedScenario.setSeverity("medium");
+        executedScenario.setCucumberId("a;" + line);
+        executedScenario.setContent("42:passed:Given a step");
+        return executedScenario;
+    }
+
+    private static Error error(int stepLine, String exception) {
+        Error error = new Error();
+        error.setStep("a step");
+        error.setStepDefinition("^a step$");
+        error.setStepLine(stepLine);
+        error.setException(exception);
+        return error;
+    }
+
+}
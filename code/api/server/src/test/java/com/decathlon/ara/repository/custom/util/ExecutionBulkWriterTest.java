@@ -0,0 +1,144 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.repository.custom.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.decathlon.ara.domain.Country;
+import com.decathlon.ara.domain.Error;
+import com.decathlon.ara.domain.ExecutedScenario;
+import com.decathlon.ara.domain.Execution;
+import com.decathlon.ara.domain.Run;
+import com.decathlon.ara.domain.SError;
+import com.decathlon.ara.domain.SExecutedScenario;
+import com.decathlon.ara.domain.SRun;
+import com.decathlon.ara.domain.Type;
+import com.decathlon.ara.repository.ExecutionRepository;
+import com.querydsl.sql.SQLQueryFactory;
+import com.querydsl.sql.dml.SQLInsertClause;
+
+@ExtendWith(MockitoExtension.class)
+public class ExecutionBulkWriterTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private SQLQueryFactory sqlQueryFactory;
+
+    @Mock
+    private ExecutionRepository executionRepository;
+
+    @InjectMocks
+    private ExecutionBulkWriter cut;
+
+    @Test
+    public void save_should_insert_new_runs_scenarios_and_errors_by_batch_and_reload_the_execution() {
+        // GIVEN
+        Execution execution = new Execution();
+        execution.setId(Long.valueOf(42));
+        Run keptRun = new Run();
+        keptRun.setId(Long.valueOf(5));
+        keptRun.setCountry(new Country(1L, 12L, "be", "Belgium"));
+        keptRun.setType(new Type(78L, 12L, "api", "API", true, false, null));
+        execution.addRun(keptRun);
+        Run newRun = new Run();
+        newRun.setCountry(new Country(2L, 12L, "fr", "France"));
+        newRun.setType(new Type(78L, 12L, "api", "API", true, false, null));
+        ExecutedScenario scenario1 = new ExecutedScenario();
+        scenario1.setName("scenario 1");
+        ExecutedScenario scenario2 = new ExecutedScenario();
+        scenario2.setName("scenario 2");
+        Error error = new Error();
+        error.setStepLine(3);
+        scenario2.addError(error);
+        newRun.addExecutedScenarios(Arrays.asList(scenario1, scenario2));
+        execution.addRun(newRun);
+
+        SQLInsertClause runInsert = mock(SQLInsertClause.class, RETURNS_SELF);
+        SQLInsertClause scenarioInsert = mock(SQLInsertClause.class, RETURNS_SELF);
+        SQLInsertClause errorInsert = mock(SQLInsertClause.class, RETURNS_SELF);
+        Execution reloadedExecution = new Execution();
+        when(executionRepository.save(execution)).thenReturn(execution);
+        when(sqlQueryFactory.insert(SRun.run)).thenReturn(runInsert);
+        when(runInsert.executeWithKeys(SRun.run.id)).thenReturn(Collections.singletonList(Long.valueOf(10)));
+        when(sqlQueryFactory.insert(SExecutedScenario.executedScenario)).thenReturn(scenarioInsert);
+        when(scenarioInsert.executeWithKeys(SExecutedScenario.executedScenario.id)).thenReturn(Arrays.asList(Long.valueOf(100), Long.valueOf(101)));
+        when(sqlQueryFactory.insert(SError.error)).thenReturn(errorInsert);
+        when(errorInsert.executeWithKeys(SError.error.id)).thenReturn(Collections.singletonList(Long.valueOf(1000)));
+        when(entityManager.find(Execution.class, Long.valueOf(42))).thenReturn(reloadedExecution);
+
+        // WHEN
+        Execution savedExecution = cut.save(execution);
+
+        // THEN
+        assertThat(savedExecution).isSameAs(reloadedExecution);
+        assertThat(newRun.getId()).isEqualTo(Long.valueOf(10));
+        assertThat(scenario1.getId()).isEqualTo(Long.valueOf(100));
+        assertThat(scenario2.getId()).isEqualTo(Long.valueOf(101));
+        assertThat(error.getId()).isEqualTo(Long.valueOf(1000));
+        assertThat(error.getExecutedScenario()).isSameAs(scenario2);
+        assertThat(execution.getRuns()).containsOnly(keptRun, newRun);
+        InOrder inOrder = inOrder(executionRepository, entityManager, runInsert, scenarioInsert, errorInsert);
+        inOrder.verify(executionRepository).save(execution);
+        inOrder.verify(entityManager).flush();
+        inOrder.verify(runInsert).executeWithKeys(SRun.run.id);
+        inOrder.verify(scenarioInsert).executeWithKeys(SExecutedScenario.executedScenario.id);
+        inOrder.verify(errorInsert).executeWithKeys(SError.error.id);
+        inOrder.verify(entityManager).detach(execution);
+        inOrder.verify(entityManager).find(Execution.class, Long.valueOf(42));
+    }
+
+    @Test
+    public void save_should_fail_when_the_database_does_not_return_all_generated_ids() {
+        // GIVEN
+        Execution execution = new Execution();
+        execution.setId(Long.valueOf(42));
+        Run newRun = new Run();
+        newRun.setCountry(new Country(2L, 12L, "fr", "France"));
+        newRun.setType(new Type(78L, 12L, "api", "API", true, false, null));
+        execution.addRun(newRun);
+
+        SQLInsertClause runInsert = mock(SQLInsertClause.class, RETURNS_SELF);
+        when(executionRepository.save(execution)).thenReturn(execution);
+        when(sqlQueryFactory.insert(SRun.run)).thenReturn(runInsert);
+        when(runInsert.executeWithKeys(SRun.run.id)).thenReturn(Collections.emptyList());
+
+        // WHEN / THEN
+        assertThatThrownBy(() -> cut.save(execution))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+}
@@ -0,0 +1,97 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.repository.custom.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.decathlon.ara.repository.ProblemPatternRepository;
+import com.decathlon.ara.repository.ProblemPatternVersionRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class ProblemPatternIndexCacheTest {
+
+    @Mock
+    private ProblemPatternRepository problemPatternRepository;
+
+    @Mock
+    private ProblemPatternVersionRepository problemPatternVersionRepository;
+
+    @Mock
+    private TransactionAppenderUtil transactionAppenderUtil;
+
+    @InjectMocks
+    private ProblemPatternIndexCache cut;
+
+    @Test
+    public void get_ShouldReuseTheIndex_WhenTheVersionDidNotChange() {
+        // GIVEN
+        when(problemPatternVersionRepository.findVersion(42)).thenReturn(Optional.of(Long.valueOf(3)));
+        when(problemPatternRepository.findAllWithCountryAndTypeByProjectId(42)).thenReturn(Collections.emptyList());
+
+        // WHEN
+        ProblemPatternIndex first = cut.get(42);
+        ProblemPatternIndex second = cut.get(42);
+
+        // THEN
+        assertThat(second).isSameAs(first);
+        verify(problemPatternRepository, times(1)).findAllWithCountryAndTypeByProjectId(42);
+    }
+
+    @Test
+    public void get_ShouldRebuildTheIndex_WhenAnotherInstanceChangedThePatterns() {
+        // GIVEN
+        when(problemPatternVersionRepository.findVersion(42))
+                .thenReturn(Optional.of(Long.valueOf(3)), Optional.of(Long.valueOf(4)));
+        when(problemPatternRepository.findAllWithCountryAndTypeByProjectId(42)).thenReturn(Collections.emptyList());
+
+        // WHEN
+        ProblemPatternIndex first = cut.get(42);
+        ProblemPatternIndex second = cut.get(42);
+
+        // THEN
+        assertThat(second).isNotSameAs(first);
+        verify(problemPatternRepository, times(2)).findAllWithCountryAndTypeByProjectId(42);
+    }
+
+    @Test
+    public void evict_ShouldIncrementTheVersionInTheCurrentTransaction() {
+        // GIVEN
+        when(problemPatternVersionRepository.incrementVersion(42)).thenReturn(1);
+
+        // WHEN
+        cut.evict(42);
+
+        // THEN
+        verify(problemPatternVersionRepository).incrementVersion(42);
+        verify(transactionAppenderUtil).doAfterCommit(any());
+    }
+
+}
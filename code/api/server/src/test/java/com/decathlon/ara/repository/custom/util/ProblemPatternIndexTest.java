@@ -0,0 +1,102 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.repository.custom.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.decathlon.ara.domain.Country;
+import com.decathlon.ara.domain.ProblemPattern;
+import com.decathlon.ara.domain.projection.MatchableError;
+
+public class ProblemPatternIndexTest {
+
+    private static final ProblemPattern ANY = new ProblemPattern().withId(Long.valueOf(1));
+    private static final ProblemPattern EXACT_STEP = new ProblemPattern().withId(Long.valueOf(2))
+            .withStep("Given a step")
+            .withCountry(new Country().withCode("fr"));
+    private static final ProblemPattern OTHER_STEP = new ProblemPattern().withId(Long.valueOf(3))
+            .withStep("Given another step");
+    private static final ProblemPattern LONG_EXCEPTION = new ProblemPattern().withId(Long.valueOf(4))
+            .withException("java.lang.AssertionError: expected%")
+            .withFeatureFile("a.feature");
+    private static final ProblemPattern SHORT_EXCEPTION = new ProblemPattern().withId(Long.valueOf(5))
+            .withException("java.%");
+    private static final ProblemPattern COUNTRY = new ProblemPattern().withId(Long.valueOf(6))
+            .withCountry(new Country().withCode("be"));
+
+    private final ProblemPatternIndex cut = new ProblemPatternIndex(Arrays.asList(
+            ANY, EXACT_STEP, OTHER_STEP, LONG_EXCEPTION, SHORT_EXCEPTION, COUNTRY));
+
+    private static MatchableError error() {
+        return new MatchableError()
+                .withId(Long.valueOf(1))
+                .withFeatureFile("a.feature")
+                .withStep("Given a step")
+                .withException("java.lang.AssertionError: expected 1 but was 2")
+                .withCountryCode("fr");
+    }
+
+    @Test
+    public void getCandidates_ShouldOnlyReturnPatternsSharingTheirIndexedCriterion() {
+        // WHEN
+        List<ProblemPatternMatcher> candidates = cut.getCandidates(error());
+
+        // THEN
+        assertThat(candidates).extracting(ProblemPatternMatcher::getPatternId)
+                .containsExactlyInAnyOrder(ANY.getId(), EXACT_STEP.getId(), LONG_EXCEPTION.getId(), SHORT_EXCEPTION.getId());
+    }
+
+    @Test
+    public void findMatchingPatterns_ShouldReturnFullyMatchingPatterns() {
+        // WHEN
+        List<ProblemPatternMatcher> patterns = cut.findMatchingPatterns(error().withFeatureFile("b.feature"));
+
+        // THEN
+        assertThat(patterns).extracting(ProblemPatternMatcher::getPatternId)
+                .containsExactlyInAnyOrder(ANY.getId(), EXACT_STEP.getId(), SHORT_EXCEPTION.getId());
+    }
+
+    @Test
+    public void findMatchingPatterns_ShouldNotMatchPrefixes_WhenValueIsShorterThanPrefix() {
+        // WHEN
+        List<ProblemPatternMatcher> patterns = cut.findMatchingPatterns(error().withException("java.lang"));
+
+        // THEN
+        assertThat(patterns).extracting(ProblemPatternMatcher::getPatternId)
+                .containsExactlyInAnyOrder(ANY.getId(), EXACT_STEP.getId(), SHORT_EXCEPTION.getId());
+    }
+
+    @Test
+    public void findMatchingPatterns_ShouldIgnoreCase_OfIndexedCriteria() {
+        // WHEN
+        List<ProblemPatternMatcher> patterns = cut.findMatchingPatterns(error()
+                .withStep("GIVEN A STEP")
+                .withException("JAVA.LANG.ASSERTIONERROR: EXPECTED 1 but was 2")
+                .withCountryCode("FR"));
+
+        // THEN
+        assertThat(patterns).extracting(ProblemPatternMatcher::getPatternId)
+                .containsExactlyInAnyOrder(ANY.getId(), EXACT_STEP.getId(), LONG_EXCEPTION.getId(), SHORT_EXCEPTION.getId());
+    }
+
+}
@@ -0,0 +1,139 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.repository.custom.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.decathlon.ara.domain.Country;
+import com.decathlon.ara.domain.ProblemPattern;
+import com.decathlon.ara.domain.Type;
+import com.decathlon.ara.domain.projection.MatchableError;
+
+public class ProblemPatternMatcherTest {
+
+    private static MatchableError error() {
+        return new MatchableError()
+                .withId(Long.valueOf(1))
+                .withFeatureFile("a.feature")
+                .withFeatureName("Feature A")
+                .withScenarioName("Functionality 42: Scenario A")
+                .withStep("Given a step")
+                .withStepDefinition("^a step$")
+                .withException("java.lang.AssertionError: expected\nat line 1")
+                .withRelease("1904")
+                .withCountryCode("fr")
+                .withTypeCode("api")
+                .withTypeIsBrowser(false)
+                .withTypeIsMobile(false)
+                .withPlatform("euin");
+    }
+
+    @Test
+    public void matches_ShouldMatchAnyError_WhenPatternHasNoCriteria() {
+        // GIVEN
+        ProblemPatternMatcher cut = new ProblemPatternMatcher(new ProblemPattern());
+
+        // WHEN / THEN
+        assertThat(cut.matches(error())).isTrue();
+    }
+
+    @Test
+    public void matches_ShouldMatchExactCriteria_WhenAllAreEqual() {
+        // GIVEN
+        ProblemPatternMatcher cut = new ProblemPatternMatcher(new ProblemPattern()
+                .withFeatureFile("a.feature")
+                .withFeatureName("Feature A")
+                .withScenarioName("Functionality 42: Scenario A")
+                .withRelease("1904")
+                .withCountry(new Country().withCode("fr"))
+                .withType(new Type().withCode("api"))
+                .withTypeIsBrowser(Boolean.FALSE)
+                .withPlatform("euin"));
+
+        // WHEN / THEN
+        assertThat(cut.matches(error())).isTrue();
+        assertThat(cut.matches(error().withCountryCode("be"))).isFalse();
+        assertThat(cut.matches(error().withTypeIsBrowser(true))).isFalse();
+        assertThat(cut.matches(error().withRelease(null))).isFalse();
+    }
+
+    @Test
+    public void matches_ShouldMatchPrefix_WhenStartsWithIsTrue() {
+        // GIVEN
+        ProblemPatternMatcher exact = new ProblemPatternMatcher(new ProblemPattern()
+                .withStep("Given a"));
+        ProblemPatternMatcher startsWith = new ProblemPatternMatcher(new ProblemPattern()
+                .withStep("Given a")
+                .withStepStartsWith(true));
+
+        // WHEN / THEN
+        assertThat(exact.matches(error())).isFalse();
+        assertThat(startsWith.matches(error())).isTrue();
+    }
+
+    @Test
+    public void matches_ShouldFollowLikeSemantic_WhenCriteriaContainWildcards() {
+        // GIVEN
+        ProblemPatternMatcher anySequence = new ProblemPatternMatcher(new ProblemPattern()
+                .withScenarioName("Functionality %: Scenario")
+                .withScenarioNameStartsWith(true));
+        ProblemPatternMatcher anyCharacter = new ProblemPatternMatcher(new ProblemPattern()
+                .withException("java.lang.Assert_onError"));
+        ProblemPatternMatcher escaped = new ProblemPatternMatcher(new ProblemPattern()
+                .withException("java.lang.Assert\\_onError"));
+
+        // WHEN / THEN
+        assertThat(anySequence.matches(error())).isTrue();
+        assertThat(anyCharacter.matches(error())).isTrue();
+        assertThat(escaped.matches(error())).isFalse();
+    }
+
+    @Test
+    public void matches_ShouldMatchMultilineException_WhenExceptionIsAPrefix() {
+        // GIVEN
+        ProblemPatternMatcher cut = new ProblemPatternMatcher(new ProblemPattern()
+                .withException("java.lang.%expected"));
+
+        // WHEN / THEN
+        assertThat(cut.matches(error())).isTrue();
+        assertThat(cut.matches(error().withException(null))).isFalse();
+    }
+
+    @Test
+    public void matches_ShouldIgnoreCase_LikeTheDatabaseCollation() {
+        // GIVEN
+        ProblemPatternMatcher exact = new ProblemPatternMatcher(new ProblemPattern()
+                .withFeatureFile("A.Feature")
+                .withCountry(new Country().withCode("FR"))
+                .withStep("GIVEN A STEP"));
+        ProblemPatternMatcher startsWith = new ProblemPatternMatcher(new ProblemPattern()
+                .withScenarioName("FUNCTIONALITY 42")
+                .withScenarioNameStartsWith(true));
+        ProblemPatternMatcher withWildcards = new ProblemPatternMatcher(new ProblemPattern()
+                .withException("JAVA.LANG.%EXPECTED"));
+
+        // WHEN / THEN
+        assertThat(exact.matches(error())).isTrue();
+        assertThat(exact.matches(error().withCountryCode("be"))).isFalse();
+        assertThat(startsWith.matches(error())).isTrue();
+        assertThat(withWildcards.matches(error())).isTrue();
+    }
+
+}
@@ -0,0 +1,97 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.scenario.common.indexer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.decathlon.ara.domain.Country;
+import com.decathlon.ara.domain.Type;
+import com.decathlon.ara.domain.enumeration.Technology;
+import com.decathlon.ara.scenario.cucumber.settings.CucumberSettings;
+import com.decathlon.ara.scenario.postman.settings.PostmanSettings;
+
+public class IndexingContextTest {
+
+    @Test
+    public void getCountryAndType_returnFirstMatchIgnoringCase() {
+        // GIVEN
+        Country france = new Country().withCode("FR");
+        Country otherFrance = new Country().withCode("fr");
+        Type api = new Type().withCode("api");
+        IndexingContext cut = new IndexingContext(1L, new HashMap<>(), new EnumMap<>(Technology.class),
+                Arrays.asList(new Country(), france, otherFrance), Arrays.asList(api), Collections.emptyList());
+
+        // WHEN / THEN
+        assertThat(cut.getCountry("fr")).containsSame(france);
+        assertThat(cut.getCountry("be")).isEmpty();
+        assertThat(cut.getType("API")).containsSame(api);
+        assertThat(cut.getType("desktop")).isEmpty();
+    }
+
+    @Test
+    public void getTechnologySettingValue_returnSnapshottedValue() {
+        // GIVEN
+        Map<Technology, Map<String, String>> technologySettings = new EnumMap<>(Technology.class);
+        technologySettings.put(Technology.CUCUMBER, new HashMap<>());
+        technologySettings.get(Technology.CUCUMBER).put(CucumberSettings.REPORT_PATH.getCode(), "/report.json");
+        IndexingContext cut = new IndexingContext(1L, Collections.singletonMap("code", "value"), technologySettings,
+                Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+
+        // WHEN
+        technologySettings.get(Technology.CUCUMBER).put(CucumberSettings.REPORT_PATH.getCode(), "/changed.json");
+
+        // THEN
+        assertThat(cut.getTechnologySettingValue(CucumberSettings.REPORT_PATH)).hasValue("/report.json");
+        assertThat(cut.getTechnologySettingValue(CucumberSettings.STEP_DEFINITIONS_PATH)).isEmpty();
+        assertThat(cut.getTechnologySettingValue(PostmanSettings.REPORTS_PATH)).isEmpty();
+        assertThat(cut.getSetting("code")).isEqualTo("value");
+    }
+
+    @Test
+    public void getIndexingSettings_changeOnlyWithTheSettingsOfTheTechnology() {
+        // GIVEN
+        Map<Technology, Map<String, String>> technologySettings = new EnumMap<>(Technology.class);
+        technologySettings.put(Technology.CUCUMBER, new HashMap<>());
+        technologySettings.get(Technology.CUCUMBER).put(CucumberSettings.REPORT_PATH.getCode(), "/report.json");
+        technologySettings.get(Technology.CUCUMBER).put(CucumberSettings.STEP_DEFINITIONS_PATH.getCode(), "/stepDefinitions.json");
+        technologySettings.put(Technology.POSTMAN, new HashMap<>());
+        technologySettings.get(Technology.POSTMAN).put(PostmanSettings.REPORTS_PATH.getCode(), "/reports");
+        IndexingContext cut = new IndexingContext(1L, Collections.singletonMap("code", "value"), technologySettings,
+                Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+        technologySettings.get(Technology.CUCUMBER).put(CucumberSettings.REPORT_PATH.getCode(), "/other.json");
+        IndexingContext changedCucumber = new IndexingContext(1L, Collections.singletonMap("code", "value"), technologySettings,
+                Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+
+        // WHEN / THEN
+        assertThat(cut.getIndexingSettings(Technology.CUCUMBER))
+                .isNotEqualTo(changedCucumber.getIndexingSettings(Technology.CUCUMBER))
+                .isNotEqualTo(cut.getIndexingSettings(Technology.POSTMAN))
+                .contains("/report.json");
+        assertThat(cut.getIndexingSettings(Technology.POSTMAN)).isEqualTo(changedCucumber.getIndexingSettings(Technology.POSTMAN));
+        assertThat(cut.getIndexingSettings(Technology.CYPRESS)).contains("code=value");
+    }
+
+}
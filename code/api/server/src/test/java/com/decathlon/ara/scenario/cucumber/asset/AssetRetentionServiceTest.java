@@ -0,0 +1,97 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.scenario.cucumber.asset;
+
+import static com.decathlon.ara.util.TestUtil.timestamp;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.decathlon.ara.ci.service.DateService;
+import com.decathlon.ara.configuration.AraConfiguration;
+import com.decathlon.ara.repository.ExecutedScenarioRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class AssetRetentionServiceTest {
+
+    @Mock
+    private AraConfiguration araConfiguration;
+
+    @Mock
+    private AssetStorage assetStorage;
+
+    @Mock
+    private FileNameService fileNameService;
+
+    @Mock
+    private ExecutedScenarioRepository executedScenarioRepository;
+
+    @Mock
+    private DateService dateService;
+
+    @InjectMocks
+    private AssetRetentionService cut;
+
+    @Test
+    public void deleteUnreferencedScreenshots_should_delete_only_content_addressed_screenshots_no_scenario_references() throws IOException {
+        // GIVEN
+        when(araConfiguration.getAssetRetentionGracePeriodInHours()).thenReturn(24);
+        when(dateService.now()).thenReturn(timestamp(2018, 1, 2, 0, 0, 0));
+        when(assetStorage.listScreenshots(new Date(timestamp(2018, 1, 1, 0, 0, 0).getTime())))
+                .thenReturn(Arrays.asList("referenced.png", "unreferenced.png", "2018.02.01-dated.png"));
+        when(fileNameService.isContentFileName(anyString())).thenAnswer(invocation -> Boolean.valueOf(!invocation.<String>getArgument(0).startsWith("2018")));
+        when(executedScenarioRepository.findReferencedScreenshotFileNames(Arrays.asList("referenced.png", "unreferenced.png")))
+                .thenReturn(Collections.singletonList("referenced.png"));
+
+        // WHEN
+        final int deletedCount = cut.deleteUnreferencedScreenshots();
+
+        // THEN
+        assertThat(deletedCount).isEqualTo(1);
+        verify(assetStorage).deleteScreenshot("unreferenced.png");
+        verify(assetStorage, never()).deleteScreenshot("referenced.png");
+        verify(assetStorage, never()).deleteScreenshot("2018.02.01-dated.png");
+    }
+
+    @Test
+    public void scheduledDeleteUnreferencedScreenshots_should_do_nothing_when_screenshots_are_not_content_addressed() throws IOException {
+        // GIVEN
+        when(araConfiguration.isAssetContentAddressed()).thenReturn(false);
+
+        // WHEN
+        cut.scheduledDeleteUnreferencedScreenshots();
+
+        // THEN
+        verify(assetStorage, never()).listScreenshots(any());
+    }
+
+}
@@ -0,0 +1,231 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.scenario.cucumber.asset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.decathlon.ara.configuration.AraConfiguration;
+
+@ExtendWith(MockitoExtension.class)
+public class AsyncAssetServiceTest {
+
+    @Mock
+    private AssetStorage assetStorage;
+
+    @Mock
+    private FileNameService fileNameService;
+
+    @Mock
+    private AraConfiguration araConfiguration;
+
+    private final List<Runnable> submittedWrites = new ArrayList<>();
+
+    private AsyncAssetService cut;
+
+    @BeforeEach
+    public void setUp() {
+        cut = new AsyncAssetService(assetStorage, fileNameService, araConfiguration, submittedWrites::add);
+    }
+
+    @Test
+    public void saveScreenshot_should_return_the_url_right_away_and_write_the_file_in_background() throws IOException {
+        // GIVEN
+        byte[] screenshot = new byte[] { 0, 1, 2 };
+        when(fileNameService.generateReportFileName("Scenario Name", "png")).thenReturn("file.png");
+        when(assetStorage.getScreenshotUrl("file.png")).thenReturn("http://access/directory/file.png");
+        when(araConfiguration.getAssetWritingMaxAttempts()).thenReturn(3);
+
+        // WHEN
+        final String url = cut.saveScreenshot(screenshot, "Scenario Name");
+
+        // THEN
+        assertThat(url).isEqualTo("http://access/directory/file.png");
+        verify(assetStorage, never()).writeScreenshot(eq("file.png"), any(AssetContent.class));
+        submittedWrites.forEach(Runnable::run);
+        ArgumentCaptor<AssetContent> writtenContent = ArgumentCaptor.forClass(AssetContent.class);
+        verify(assetStorage).writeScreenshot(eq("file.png"), writtenContent.capture());
+        try (InputStream content = writtenContent.getValue().open()) {
+            assertThat(IOUtils.toByteArray(content)).isEqualTo(screenshot);
+        }
+        assertThat(cut.awaitWrites(Collections.singletonList(url))).isEmpty();
+    }
+
+    @Test
+    public void saveHttpLogs_should_retry_failed_writes() throws IOException {
+        // GIVEN
+        when(fileNameService.generateReportFileName("http-log", "html")).thenReturn("file.html");
+        when(assetStorage.getHttpLogsUrl("file.html")).thenReturn("http://access/directory/file.html");
+        when(araConfiguration.getAssetWritingMaxAttempts()).thenReturn(3);
+        doThrow(new IOException("Connection reset")).doNothing().when(assetStorage).writeHttpLogs(eq("file.html"), any(AssetWriter.class));
+
+        // WHEN
+        final String url = cut.saveHttpLogs("html");
+        submittedWrites.forEach(Runnable::run);
+
+        // THEN
+        verify(assetStorage, times(2)).writeHttpLogs(eq("file.html"), any(AssetWriter.class));
+        assertThat(cut.awaitWrites(Collections.singletonList(url))).isEmpty();
+    }
+
+    @Test
+    public void saveHttpLogs_should_write_streamed_html_before_returning() throws IOException {
+        // GIVEN
+        AssetWriter html = output -> output.write("html".getBytes(StandardCharsets.UTF_8));
+        when(fileNameService.generateReportFileName("http-log", "html")).thenReturn("file.html");
+        when(assetStorage.getHttpLogsUrl("file.html")).thenReturn("http://access/directory/file.html");
+        when(araConfiguration.getAssetWritingMaxAttempts()).thenReturn(3);
+
+        // WHEN
+        final String url = cut.saveHttpLogs(html);
+
+        // THEN
+        assertThat(url).isEqualTo("http://access/directory/file.html");
+        assertThat(submittedWrites).isEmpty();
+        verify(assetStorage).writeHttpLogs("file.html", html);
+    }
+
+    @Test
+    public void saveHttpLogs_should_return_null_when_streamed_html_cannot_be_written() throws IOException {
+        // GIVEN
+        AssetWriter html = output -> output.write("html".getBytes(StandardCharsets.UTF_8));
+        when(fileNameService.generateReportFileName("http-log", "html")).thenReturn("file.html");
+        when(assetStorage.getHttpLogsUrl("file.html")).thenReturn("http://access/directory/file.html");
+        when(araConfiguration.getAssetWritingMaxAttempts()).thenReturn(1);
+        doThrow(new IOException("Disk full")).when(assetStorage).writeHttpLogs("file.html", html);
+
+        // WHEN
+        final String url = cut.saveHttpLogs(html);
+
+        // THEN
+        assertThat(url).isNull();
+    }
+
+    @Test
+    public void awaitWrites_should_report_assets_not_written_after_all_attempts_only_once() throws IOException {
+        // GIVEN
+        byte[] screenshot = new byte[] { 0, 1, 2 };
+        when(fileNameService.generateReportFileName("Scenario Name", "png")).thenReturn("file.png");
+        when(assetStorage.getScreenshotUrl("file.png")).thenReturn("http://access/directory/file.png");
+        when(araConfiguration.getAssetWritingMaxAttempts()).thenReturn(1);
+        doThrow(new IOException("Disk full")).when(assetStorage).writeScreenshot(eq("file.png"), any(AssetContent.class));
+        final String url = cut.saveScreenshot(screenshot, "Scenario Name");
+        submittedWrites.forEach(Runnable::run);
+
+        // WHEN
+        final List<String> failedUrls = new ArrayList<>(cut.awaitWrites(Collections.singletonList(url)));
+
+        // THEN
+        assertThat(failedUrls).containsExactly("http://access/directory/file.png");
+        assertThat(cut.awaitWrites(Collections.singletonList(url))).isEmpty();
+    }
+
+    @Test
+    public void saveScreenshot_should_forget_writes_sharing_the_same_url_once_all_done_even_if_never_awaited() throws IOException {
+        // GIVEN
+        byte[] screenshot = new byte[] { 0, 1, 2 };
+        when(fileNameService.generateReportFileName("Scenario Name", "png")).thenReturn("file.png");
+        when(assetStorage.getScreenshotUrl("file.png")).thenReturn("http://access/directory/file.png");
+        when(araConfiguration.getAssetWritingMaxAttempts()).thenReturn(3);
+        cut.saveScreenshot(screenshot, "Scenario Name");
+        cut.saveScreenshot(screenshot, "Scenario Name");
+
+        // WHEN
+        submittedWrites.get(0).run();
+
+        // THEN
+        assertThat(cut.getPendingWriteCount()).isEqualTo(1);
+        submittedWrites.get(1).run();
+        assertThat(cut.getPendingWriteCount()).isZero();
+        verify(assetStorage, times(2)).writeScreenshot(eq("file.png"), any(AssetContent.class));
+    }
+
+    @Test
+    public void awaitWrites_should_ignore_null_and_unknown_urls() {
+        // WHEN
+        final List<String> failedUrls = new ArrayList<>(cut.awaitWrites(Arrays.asList(null, "http://unknown")));
+
+        // THEN
+        assertThat(failedUrls).isEmpty();
+    }
+
+    @Test
+    public void saveScreenshot_should_not_write_a_content_addressed_screenshot_that_already_exists() throws IOException {
+        // GIVEN
+        AssetContent screenshot = () -> new ByteArrayInputStream(new byte[] { 0, 1, 2 });
+        when(araConfiguration.isAssetContentAddressed()).thenReturn(true);
+        when(fileNameService.generateContentFileName(screenshot, "png")).thenReturn("0123.png");
+        when(assetStorage.getScreenshotUrl("0123.png")).thenReturn("http://access/directory/0123.png");
+        when(araConfiguration.getAssetWritingMaxAttempts()).thenReturn(3);
+        when(assetStorage.touchScreenshot("0123.png")).thenReturn(true);
+
+        // WHEN
+        final String url = cut.saveScreenshot(screenshot, "Scenario Name");
+        submittedWrites.forEach(Runnable::run);
+
+        // THEN
+        assertThat(url).isEqualTo("http://access/directory/0123.png");
+        verify(assetStorage, never()).writeScreenshot("0123.png", screenshot);
+        assertThat(cut.awaitWrites(Collections.singletonList(url))).isEmpty();
+    }
+
+    @Test
+    public void saveScreenshot_should_write_a_new_content_addressed_screenshot_only_once() throws IOException {
+        // GIVEN
+        AssetContent screenshot = () -> new ByteArrayInputStream(new byte[] { 0, 1, 2 });
+        when(araConfiguration.isAssetContentAddressed()).thenReturn(true);
+        when(fileNameService.generateContentFileName(screenshot, "png")).thenReturn("0123.png");
+        when(assetStorage.getScreenshotUrl("0123.png")).thenReturn("http://access/directory/0123.png");
+        when(araConfiguration.getAssetWritingMaxAttempts()).thenReturn(3);
+        when(assetStorage.touchScreenshot("0123.png")).thenReturn(false);
+
+        // WHEN
+        final String firstUrl = cut.saveScreenshot(screenshot, "First scenario");
+        final String secondUrl = cut.saveScreenshot(screenshot, "Second scenario");
+        submittedWrites.forEach(Runnable::run);
+
+        // THEN
+        assertThat(secondUrl).isEqualTo(firstUrl);
+        assertThat(submittedWrites).hasSize(1);
+        verify(assetStorage).writeScreenshot("0123.png", screenshot);
+    }
+
+}
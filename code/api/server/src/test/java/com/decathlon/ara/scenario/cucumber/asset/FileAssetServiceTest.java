@@ -24,6 +24,8 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
 
 import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.Test;
@@ -123,4 +125,39 @@ public class FileAssetServiceTest {
         assertThat(url).isNull();
     }
 
+    @Test
+    public void touchScreenshot_should_protect_an_existing_screenshot_from_listing_and_deletion() throws IOException {
+        Path tempDirectory = null;
+        try {
+            // GIVEN
+            tempDirectory = Files.createTempDirectory("ara_temp_unit_test_directory_");
+            when(araConfiguration.getFileHomeFolder()).thenReturn(tempDirectory.toString());
+            when(araConfiguration.getFileScreenshotSubFolder()).thenReturn("/directory");
+            cut.writeScreenshot("old.png", new byte[] { 0, 1, 2 });
+            cut.writeScreenshot("touched.png", new byte[] { 0, 1, 2 });
+            final File oldFile = new File(tempDirectory.toFile(), "directory/old.png");
+            final File touchedFile = new File(tempDirectory.toFile(), "directory/touched.png");
+            final long anHourAgo = System.currentTimeMillis() - 3600000;
+            assertThat(oldFile.setLastModified(anHourAgo - 1000)).isTrue();
+            assertThat(touchedFile.setLastModified(anHourAgo - 1000)).isTrue();
+
+            // WHEN
+            final boolean touched = cut.touchScreenshot("touched.png");
+            final boolean missingTouched = cut.touchScreenshot("missing.png");
+            final List<String> oldScreenshots = cut.listScreenshots(new Date(anHourAgo));
+            cut.deleteScreenshot("old.png");
+
+            // THEN
+            assertThat(touched).isTrue();
+            assertThat(missingTouched).isFalse();
+            assertThat(oldScreenshots).containsExactly("old.png");
+            assertThat(oldFile).doesNotExist();
+            assertThat(touchedFile).exists();
+        } finally {
+            if (tempDirectory != null) {
+                FileUtils.deleteQuietly(tempDirectory.toFile());
+            }
+        }
+    }
+
 }
@@ -21,6 +21,10 @@ import static com.decathlon.ara.util.TestUtil.timestamp;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -101,4 +105,23 @@ public class FileNameServiceTest {
         assertThat(fileName).isEqualTo("2018.02.01-01h01m01.000-ScenarioName042");
     }
 
+    @Test
+    public void generateContentFileName_ShouldNameTheFileAfterTheHashOfItsContent() throws IOException {
+        // WHEN
+        final String fileName = cut.generateContentFileName(() -> new ByteArrayInputStream("abc".getBytes(StandardCharsets.UTF_8)), "png");
+
+        // THEN
+        assertThat(fileName).isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad.png");
+        assertThat(cut.isContentFileName(fileName)).isTrue();
+    }
+
+    @Test
+    public void isContentFileName_ShouldReturnFalse_WhenFileNameIsDated() {
+        // WHEN
+        final boolean contentFileName = cut.isContentFileName("2018.02.01-01h01m01.000-Name.png");
+
+        // THEN
+        assertThat(contentFileName).isFalse();
+    }
+
 }
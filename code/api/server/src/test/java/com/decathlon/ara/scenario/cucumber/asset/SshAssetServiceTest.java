@@ -18,6 +18,7 @@
 package com.decathlon.ara.scenario.cucumber.asset;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.doReturn;
@@ -26,6 +27,8 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -35,6 +38,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.decathlon.ara.configuration.AraConfiguration;
 import com.decathlon.ara.scenario.cucumber.asset.ssh.SshClientHelper;
+import com.decathlon.ara.scenario.cucumber.asset.ssh.SshConnectionPool;
 import com.decathlon.ara.scenario.cucumber.asset.ssh.SshException;
 
 @ExtendWith(MockitoExtension.class)
@@ -46,6 +50,9 @@ public class SshAssetServiceTest {
     @Mock
     private FileNameService fileNameService;
 
+    @Mock
+    private SshConnectionPool sshConnectionPool;
+
     @Mock
     private SshClientHelper sshClientHelper;
 
@@ -72,7 +79,7 @@ public class SshAssetServiceTest {
     }
 
     @Test
-    public void saveScreenshot_should_create_directories_only_once() throws SshException {
+    public void saveScreenshot_should_make_sure_directories_exist_before_each_upload() throws SshException {
         // GIVEN
         doReturn(sshClientHelper).when(cut).connect();
         when(araConfiguration.getSshRemoteHomeFolder()).thenReturn("/home");
@@ -84,7 +91,7 @@ public class SshAssetServiceTest {
         cut.saveScreenshot(screenshot, "Scenario Name");
 
         // THEN
-        verify(sshClientHelper, times(1)).mkdirRecursively("/home/directory");
+        verify(sshClientHelper, times(2)).mkdirRecursively("/home/directory");
     }
 
     @Test
@@ -101,7 +108,7 @@ public class SshAssetServiceTest {
     }
 
     @Test
-    public void saveHttpLogs_should_upload_file_and_return_correct_url() throws SshException {
+    public void saveHttpLogs_should_upload_file_and_return_correct_url() throws SshException, IOException {
         // GIVEN
         doReturn(sshClientHelper).when(cut).connect();
         when(araConfiguration.getSshRemoteHomeFolder()).thenReturn("/home");
@@ -114,12 +121,12 @@ public class SshAssetServiceTest {
         final String url = cut.saveHttpLogs(html);
 
         // THEN
-        verify(sshClientHelper, times(1)).echo("/home/directory/file", html);
+        verify(sshClientHelper, times(1)).put(eq("/home/directory/file"), any(AssetWriter.class));
         assertThat(url).isEqualTo("http://access/directory/file");
     }
 
     @Test
-    public void saveHttpLogs_should_create_directories_only_once() throws SshException {
+    public void saveHttpLogs_should_make_sure_directories_exist_before_each_upload() throws SshException {
         // GIVEN
         doReturn(sshClientHelper).when(cut).connect();
         when(araConfiguration.getSshRemoteHomeFolder()).thenReturn("/home");
@@ -131,7 +138,7 @@ public class SshAssetServiceTest {
         cut.saveHttpLogs(html);
 
         // THEN
-        verify(sshClientHelper, times(1)).mkdirRecursively("/home/directory");
+        verify(sshClientHelper, times(2)).mkdirRecursively("/home/directory");
     }
 
     @Test
@@ -0,0 +1,135 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.scenario.cucumber.asset.ssh;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.decathlon.ara.configuration.AraConfiguration;
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+import com.jcraft.jsch.SftpATTRS;
+import com.jcraft.jsch.SftpException;
+
+@ExtendWith(MockitoExtension.class)
+public class SshConnectionPoolTest {
+
+    @Mock
+    private AraConfiguration araConfiguration;
+
+    @Mock
+    private Session session;
+
+    @Spy
+    @InjectMocks
+    private SshConnectionPool cut;
+
+    @Test
+    public void borrow_should_reuse_the_connection_given_back_to_the_pool() throws SshException {
+        // GIVEN
+        when(araConfiguration.getSshMaxConnectionsPerHost()).thenReturn(4);
+        when(araConfiguration.getSshKeepAliveIntervalInSeconds()).thenReturn(30);
+        when(araConfiguration.getSshIdleTimeoutInSeconds()).thenReturn(300);
+        doReturn(session).when(cut).openSession("host", 22, "user", "password", 30000);
+        when(session.isConnected()).thenReturn(true);
+        SshClientHelper firstConnection = cut.borrow("host", 22, "user", "password");
+        firstConnection.close();
+
+        // WHEN
+        SshClientHelper secondConnection = cut.borrow("host", 22, "user", "password");
+
+        // THEN
+        assertThat(secondConnection).isSameAs(firstConnection);
+        verify(cut, times(1)).openSession("host", 22, "user", "password", 30000);
+        verify(session, never()).disconnect();
+    }
+
+    @Test
+    public void borrow_should_open_a_new_connection_when_the_previous_one_was_lost() throws SshException {
+        // GIVEN
+        Session newSession = mock(Session.class);
+        when(araConfiguration.getSshMaxConnectionsPerHost()).thenReturn(4);
+        when(araConfiguration.getSshKeepAliveIntervalInSeconds()).thenReturn(30);
+        doReturn(session, newSession).when(cut).openSession("host", 22, "user", "password", 30000);
+        when(session.isConnected()).thenReturn(false);
+        SshClientHelper firstConnection = cut.borrow("host", 22, "user", "password");
+        firstConnection.close();
+
+        // WHEN
+        SshClientHelper secondConnection = cut.borrow("host", 22, "user", "password");
+
+        // THEN
+        assertThat(secondConnection).isNotSameAs(firstConnection);
+        verify(session).disconnect();
+        verify(cut, times(2)).openSession("host", 22, "user", "password", 30000);
+    }
+
+    @Test
+    public void evictIdleConnections_should_disconnect_connections_idle_for_too_long() throws SshException, InterruptedException {
+        // GIVEN
+        when(araConfiguration.getSshMaxConnectionsPerHost()).thenReturn(4);
+        when(araConfiguration.getSshKeepAliveIntervalInSeconds()).thenReturn(30);
+        when(araConfiguration.getSshIdleTimeoutInSeconds()).thenReturn(0);
+        doReturn(session).when(cut).openSession("host", 22, "user", "password", 30000);
+        when(session.isConnected()).thenReturn(true);
+        cut.borrow("host", 22, "user", "password").close();
+        Thread.sleep(10);
+
+        // WHEN
+        cut.evictIdleConnections();
+
+        // THEN
+        verify(session).disconnect();
+    }
+
+    @Test
+    public void mkdirRecursively_should_check_folders_only_once_per_server() throws SshException, JSchException, SftpException {
+        // GIVEN
+        ChannelSftp channel = mock(ChannelSftp.class);
+        when(araConfiguration.getSshMaxConnectionsPerHost()).thenReturn(4);
+        when(araConfiguration.getSshKeepAliveIntervalInSeconds()).thenReturn(30);
+        doReturn(session).when(cut).openSession("host", 22, "user", "password", 30000);
+        when(session.openChannel("sftp")).thenReturn(channel);
+        when(channel.stat(anyString())).thenReturn(mock(SftpATTRS.class));
+
+        // WHEN
+        try (SshClientHelper connection = cut.borrow("host", 22, "user", "password")) {
+            connection.mkdirRecursively("/opt/assets");
+            connection.mkdirRecursively("/opt/assets/screenshots");
+        }
+
+        // THEN
+        verify(channel, times(4)).stat(anyString());
+        verify(channel, never()).mkdir(anyString());
+    }
+
+}
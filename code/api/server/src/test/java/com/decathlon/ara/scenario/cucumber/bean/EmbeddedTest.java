@@ -0,0 +1,68 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.scenario.cucumber.bean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Base64;
+import java.util.Optional;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+import com.decathlon.ara.scenario.cucumber.asset.AssetContent;
+
+public class EmbeddedTest {
+
+    @Test
+    public void extractScreenshot_should_decode_the_png_embedding_each_time_it_is_opened() throws IOException {
+        // GIVEN
+        byte[] png = new byte[] { (byte) 0x89, 'P', 'N', 'G', 0, 1, 2, 3, 4 };
+        Embedded embedded = new Embedded();
+        embedded.setMimeType("image/png");
+        embedded.setData(Base64.getEncoder().encodeToString(png));
+
+        // WHEN
+        Optional<AssetContent> screenshot = embedded.extractScreenshot();
+
+        // THEN
+        assertThat(screenshot).isPresent();
+        for (int i = 0; i < 2; i++) {
+            try (InputStream content = screenshot.get().open()) {
+                assertThat(IOUtils.toByteArray(content)).isEqualTo(png);
+            }
+        }
+    }
+
+    @Test
+    public void extractScreenshot_should_return_empty_when_the_embedding_is_not_a_png() {
+        // GIVEN
+        Embedded embedded = new Embedded();
+        embedded.setMimeType("text/plain");
+        embedded.setData("aHR0cDovL3ZpZGVvLm1wNA==");
+
+        // WHEN
+        Optional<AssetContent> screenshot = embedded.extractScreenshot();
+
+        // THEN
+        assertThat(screenshot).isEmpty();
+    }
+
+}
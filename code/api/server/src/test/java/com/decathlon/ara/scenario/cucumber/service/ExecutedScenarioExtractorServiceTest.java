@@ -18,14 +18,18 @@
 package com.decathlon.ara.scenario.cucumber.service;
 
 import static com.decathlon.ara.util.TestUtil.get;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.assertj.core.api.AutoCloseableSoftAssertions;
 import org.junit.jupiter.api.Test;
@@ -36,11 +40,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.decathlon.ara.domain.Error;
 import com.decathlon.ara.domain.ExecutedScenario;
+import com.decathlon.ara.scenario.cucumber.asset.AssetContent;
 import com.decathlon.ara.scenario.cucumber.asset.AssetService;
 import com.decathlon.ara.scenario.cucumber.bean.Feature;
+import com.decathlon.ara.scenario.cucumber.support.StepDefinitionMatcher;
 import com.decathlon.ara.scenario.cucumber.util.CucumberReportUtil;
 import com.decathlon.ara.scenario.cucumber.util.StepDefinitionUtil;
 import com.decathlon.ara.util.TestUtil;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @ExtendWith(MockitoExtension.class)
 public class ExecutedScenarioExtractorServiceTest {
@@ -58,7 +66,7 @@ public class ExecutedScenarioExtractorServiceTest {
 
     @Test
     public void testErrorsGeneration() throws IOException {
-        when(assetService.saveScreenshot(any(), anyString())).thenAnswer(call ->
+        when(assetService.saveScreenshot(any(AssetContent.class), anyString())).thenAnswer(call ->
                 "http://fake.screenshot.server/" + call.getArguments()[1] + ".png"
         );
 
@@ -277,6 +285,33 @@ public class ExecutedScenarioExtractorServiceTest {
         }
     }
 
+    @Test
+    public void extractExecutedScenarios_ShouldExtractTheSameScenarios_WhenReportIsStreamedFeatureByFeature() throws IOException {
+        // GIVEN
+        when(assetService.saveScreenshot(any(AssetContent.class), anyString())).thenAnswer(call ->
+                "http://fake.screenshot.server/" + call.getArguments()[1] + ".png"
+        );
+        List<String> stepDefinitions = StepDefinitionUtil.parseStepDefinitionsJson(TestUtil.loadUtf8ResourceAsString("reports/tests/stepDefinitions.json"));
+        List<ExecutedScenario> expectedScenarios = cut.extractExecutedScenarios(
+                CucumberReportUtil.parseReportJson(TestUtil.loadUtf8ResourceAsString("reports/tests/report.json")), stepDefinitions, "http://job-url/");
+        StepDefinitionMatcher stepDefinitionMatcher = new StepDefinitionMatcher(stepDefinitions);
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<ExecutedScenario> streamedScenarios = new ArrayList<>();
+
+        // WHEN
+        try (JsonParser parser = objectMapper.getFactory().createParser(TestUtil.openResourceStream("reports/tests/report.json"))) {
+            CucumberReportUtil.streamReportJson(objectMapper, parser, feature ->
+                    streamedScenarios.addAll(cut.extractExecutedScenarios(feature, stepDefinitionMatcher, "http://job-url/")));
+        }
+
+        // THEN
+        assertThat(streamedScenarios)
+                .extracting("featureFile", "name", "line", "content", "screenshotUrl")
+                .containsExactlyElementsOf(expectedScenarios.stream()
+                        .map(s -> tuple(s.getFeatureFile(), s.getName(), s.getLine(), s.getContent(), s.getScreenshotUrl()))
+                        .collect(Collectors.toList()));
+    }
+
     private Date theDate() {
         return new Calendar.Builder()
                 .setDate(2017, Calendar.DECEMBER, 31)
@@ -0,0 +1,69 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.scenario.cucumber.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("static-method")
+public class StepDefinitionMatcherTest {
+
+    @Test
+    public void literalPrefix_ShouldStopAtFirstRegexConstruct() {
+        assertThat(StepDefinitionMatcher.literalPrefix("^A step number (\\d+)$")).isEqualTo("A step number ");
+        assertThat(StepDefinitionMatcher.literalPrefix("I click on \\\"([^\"]*)\\\"")).isEqualTo("I click on \"");
+        assertThat(StepDefinitionMatcher.literalPrefix("^the users? logs? in$")).isEqualTo("the user");
+        assertThat(StepDefinitionMatcher.literalPrefix("^\\d+ items$")).isEmpty();
+        assertThat(StepDefinitionMatcher.literalPrefix("^(?i)case insensitive$")).isEmpty();
+        assertThat(StepDefinitionMatcher.literalPrefix("^I (?:accept|refuse) it$")).isEmpty();
+        assertThat(StepDefinitionMatcher.literalPrefix("^login|logout$")).isEmpty();
+    }
+
+    @Test
+    public void getMatchingStepDefinitions_ShouldReturnAllMatchesInOriginalOrder_WhenSeveralStepDefinitionsMatch() {
+        // GIVEN
+        StepDefinitionMatcher cut = new StepDefinitionMatcher(Arrays.asList(
+                "^I go to \"([^\"]*)\"$",
+                "^(.*) to the cart$",
+                "^I go to the cart$",
+                "^I (go|run) to \"([^\"]*)\"$"));
+
+        // WHEN / THEN
+        assertThat(cut.getMatchingStepDefinitions("I go to the cart")).containsExactly(
+                "^(.*) to the cart$",
+                "^I go to the cart$");
+        assertThat(cut.getMatchingStepDefinitions("I go to \"home\"")).containsExactly(
+                "^I go to \"([^\"]*)\"$",
+                "^I (go|run) to \"([^\"]*)\"$");
+        assertThat(cut.getMatchingStepDefinitions("I")).isEmpty();
+        assertThat(cut.getMatchingStepDefinitions("Nothing matches")).isEmpty();
+    }
+
+    @Test
+    public void getMatchingStepDefinitions_ShouldIgnoreInvalidStepDefinitions() {
+        // GIVEN
+        StepDefinitionMatcher cut = new StepDefinitionMatcher(Arrays.asList("^broken (step$", "^valid step$"));
+
+        // WHEN / THEN
+        assertThat(cut.getMatchingStepDefinitions("valid step")).containsExactly("^valid step$");
+    }
+
+}
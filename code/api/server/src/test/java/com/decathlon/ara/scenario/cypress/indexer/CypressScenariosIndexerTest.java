@@ -18,6 +18,7 @@
 package com.decathlon.ara.scenario.cypress.indexer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -29,18 +30,22 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
 
 import com.decathlon.ara.domain.ExecutedScenario;
 import com.decathlon.ara.domain.Run;
+import com.decathlon.ara.scenario.common.indexer.IndexingContext;
 import com.decathlon.ara.scenario.cucumber.bean.Feature;
 import com.decathlon.ara.scenario.cucumber.indexer.CucumberScenariosIndexer;
 import com.decathlon.ara.scenario.cucumber.service.ExecutedScenarioExtractorService;
@@ -49,7 +54,6 @@ import com.decathlon.ara.scenario.cypress.bean.media.CypressSnapshot;
 import com.decathlon.ara.scenario.cypress.bean.media.CypressVideo;
 import com.decathlon.ara.scenario.cypress.settings.CypressSettings;
 import com.decathlon.ara.service.FileProcessorService;
-import com.decathlon.ara.service.TechnologySettingService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @ExtendWith(MockitoExtension.class)
@@ -59,7 +63,7 @@ public class CypressScenariosIndexerTest {
     private ObjectMapper objectMapper;
 
     @Mock
-    private TechnologySettingService technologySettingService;
+    private IndexingContext indexingContext;
 
     @Mock
     private FileProcessorService fileProcessorService;
@@ -70,28 +74,33 @@ public class CypressScenariosIndexerTest {
     @Mock
     private ExecutedScenarioExtractorService executedScenarioExtractorService;
 
-    @InjectMocks
     private CypressScenariosIndexer cypressScenariosIndexer;
 
+    @BeforeEach
+    public void setUp() {
+        // Synchronous executor: the reports are parsed on the test thread, in order
+        AsyncTaskExecutor reportParsingExecutor = new TaskExecutorAdapter(Runnable::run);
+        cypressScenariosIndexer = new CypressScenariosIndexer(objectMapper, fileProcessorService, cucumberScenariosIndexer, executedScenarioExtractorService, reportParsingExecutor);
+    }
+
     @Test
     public void getExecutedScenarios_returnEmptyList_whenNoCucumberFolderFound(){
         // Given
         File parentFolder = mock(File.class);
         Run run = mock(Run.class);
-        Long projectId = 1L;
 
         String cucumberFolderPath = "/cucumberFolder";
 
         // When
-        when(technologySettingService.getSettingValue(projectId, CypressSettings.CUCUMBER_REPORTS_FOLDER_PATHS)).thenReturn(Optional.of(cucumberFolderPath));
+        when(indexingContext.getTechnologySettingValue(CypressSettings.CUCUMBER_REPORTS_FOLDER_PATHS)).thenReturn(Optional.of(cucumberFolderPath));
         when(fileProcessorService.getMatchingDirectory(parentFolder, cucumberFolderPath)).thenReturn(Optional.empty());
 
         // Then
-        List<ExecutedScenario> executedScenarios = cypressScenariosIndexer.getExecutedScenarios(parentFolder, run, projectId);
+        List<ExecutedScenario> executedScenarios = cypressScenariosIndexer.getExecutedScenarios(parentFolder, run, indexingContext);
         assertThat(executedScenarios).isEmpty();
-        verify(technologySettingService, never()).getSettingValue(projectId, CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE);
-        verify(technologySettingService, never()).getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FOLDER_PATH);
-        verify(technologySettingService, never()).getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FILE_NAME_SUFFIX_VALUE);
+        verify(indexingContext, never()).getTechnologySettingValue(CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE);
+        verify(indexingContext, never()).getTechnologySettingValue(CypressSettings.STEP_DEFINITIONS_FOLDER_PATH);
+        verify(indexingContext, never()).getTechnologySettingValue(CypressSettings.STEP_DEFINITIONS_FILE_NAME_SUFFIX_VALUE);
         verify(fileProcessorService, times(1)).getMatchingDirectory(any(File.class), anyString());
         verify(cucumberScenariosIndexer, never()).getCucumberFeaturesFromReport(any(File.class));
         verify(cucumberScenariosIndexer, never()).getCucumberStepDefinitions(any(File.class));
@@ -103,7 +112,6 @@ public class CypressScenariosIndexerTest {
         // Given
         File parentFolder = mock(File.class);
         Run run = mock(Run.class);
-        Long projectId = 1L;
 
         String cucumberFolderPath = "/cucumberFolder";
 
@@ -112,17 +120,17 @@ public class CypressScenariosIndexerTest {
         String cucumberSuffix = "cucumber-suffix";
 
         // When
-        when(technologySettingService.getSettingValue(projectId, CypressSettings.CUCUMBER_REPORTS_FOLDER_PATHS)).thenReturn(Optional.of(cucumberFolderPath));
+        when(indexingContext.getTechnologySettingValue(CypressSettings.CUCUMBER_REPORTS_FOLDER_PATHS)).thenReturn(Optional.of(cucumberFolderPath));
         when(fileProcessorService.getMatchingDirectory(parentFolder, cucumberFolderPath)).thenReturn(Optional.of(cucumberFolder));
-        when(technologySettingService.getSettingValue(projectId, CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE)).thenReturn(Optional.of(cucumberSuffix));
+        when(indexingContext.getTechnologySettingValue(CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE)).thenReturn(Optional.of(cucumberSuffix));
         when(cucumberFolder.listFiles()).thenReturn(new File[0]);
 
         // Then
-        List<ExecutedScenario> executedScenarios = cypressScenariosIndexer.getExecutedScenarios(parentFolder, run, projectId);
+        List<ExecutedScenario> executedScenarios = cypressScenariosIndexer.getExecutedScenarios(parentFolder, run, indexingContext);
         assertThat(executedScenarios).isEmpty();
-        verify(technologySettingService).getSettingValue(projectId, CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE);
-        verify(technologySettingService, never()).getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FOLDER_PATH);
-        verify(technologySettingService, never()).getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FILE_NAME_SUFFIX_VALUE);
+        verify(indexingContext).getTechnologySettingValue(CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE);
+        verify(indexingContext, never()).getTechnologySettingValue(CypressSettings.STEP_DEFINITIONS_FOLDER_PATH);
+        verify(indexingContext, never()).getTechnologySettingValue(CypressSettings.STEP_DEFINITIONS_FILE_NAME_SUFFIX_VALUE);
         verify(fileProcessorService, times(1)).getMatchingDirectory(any(File.class), anyString());
         verify(cucumberScenariosIndexer, never()).getCucumberFeaturesFromReport(any(File.class));
         verify(cucumberScenariosIndexer, never()).getCucumberStepDefinitions(any(File.class));
@@ -134,7 +142,6 @@ public class CypressScenariosIndexerTest {
         // Given
         File parentFolder = mock(File.class);
         Run run = mock(Run.class);
-        Long projectId = 1L;
 
         String cucumberFolderPath = "/cucumberFolder";
 
@@ -148,9 +155,9 @@ public class CypressScenariosIndexerTest {
         String cucumberReportFileName2 = "report2.not-a-cucumber-suffix.json";
 
         // When
-        when(technologySettingService.getSettingValue(projectId, CypressSettings.CUCUMBER_REPORTS_FOLDER_PATHS)).thenReturn(Optional.of(cucumberFolderPath));
+        when(indexingContext.getTechnologySettingValue(CypressSettings.CUCUMBER_REPORTS_FOLDER_PATHS)).thenReturn(Optional.of(cucumberFolderPath));
         when(fileProcessorService.getMatchingDirectory(parentFolder, cucumberFolderPath)).thenReturn(Optional.of(cucumberFolder));
-        when(technologySettingService.getSettingValue(projectId, CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE)).thenReturn(Optional.of(cucumberSuffix));
+        when(indexingContext.getTechnologySettingValue(CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE)).thenReturn(Optional.of(cucumberSuffix));
         when(cucumberFolder.listFiles()).thenReturn(new File[] {cucumberReportFile1, cucumberReportFile2});
         when(cucumberReportFile1.isFile()).thenReturn(true);
         when(cucumberReportFile1.getName()).thenReturn(cucumberReportFileName1);
@@ -158,11 +165,11 @@ public class CypressScenariosIndexerTest {
         when(cucumberReportFile2.getName()).thenReturn(cucumberReportFileName2);
 
         // Then
-        List<ExecutedScenario> executedScenarios = cypressScenariosIndexer.getExecutedScenarios(parentFolder, run, projectId);
+        List<ExecutedScenario> executedScenarios = cypressScenariosIndexer.getExecutedScenarios(parentFolder, run, indexingContext);
         assertThat(executedScenarios).isEmpty();
-        verify(technologySettingService).getSettingValue(projectId, CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE);
-        verify(technologySettingService, never()).getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FOLDER_PATH);
-        verify(technologySettingService, never()).getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FILE_NAME_SUFFIX_VALUE);
+        verify(indexingContext).getTechnologySettingValue(CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE);
+        verify(indexingContext, never()).getTechnologySettingValue(CypressSettings.STEP_DEFINITIONS_FOLDER_PATH);
+        verify(indexingContext, never()).getTechnologySettingValue(CypressSettings.STEP_DEFINITIONS_FILE_NAME_SUFFIX_VALUE);
         verify(fileProcessorService, times(1)).getMatchingDirectory(any(File.class), anyString());
         verify(cucumberScenariosIndexer, never()).getCucumberFeaturesFromReport(any(File.class));
         verify(cucumberScenariosIndexer, never()).getCucumberStepDefinitions(any(File.class));
@@ -174,7 +181,6 @@ public class CypressScenariosIndexerTest {
         // Given
         File parentFolder = mock(File.class);
         Run run = mock(Run.class);
-        Long projectId = 1L;
 
         String cucumberFolderPath = "/cucumberFolder";
 
@@ -208,16 +214,16 @@ public class CypressScenariosIndexerTest {
         ExecutedScenario executedScenario23 = mock(ExecutedScenario.class);
 
         // When
-        when(technologySettingService.getSettingValue(projectId, CypressSettings.CUCUMBER_REPORTS_FOLDER_PATHS)).thenReturn(Optional.of(cucumberFolderPath));
+        when(indexingContext.getTechnologySettingValue(CypressSettings.CUCUMBER_REPORTS_FOLDER_PATHS)).thenReturn(Optional.of(cucumberFolderPath));
         when(fileProcessorService.getMatchingDirectory(parentFolder, cucumberFolderPath)).thenReturn(Optional.of(cucumberFolder));
-        when(technologySettingService.getSettingValue(projectId, CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE)).thenReturn(Optional.of(cucumberSuffix));
+        when(indexingContext.getTechnologySettingValue(CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE)).thenReturn(Optional.of(cucumberSuffix));
         when(cucumberFolder.listFiles()).thenReturn(new File[] {cucumberReportFile1, cucumberReportFile2});
         when(cucumberReportFile1.isFile()).thenReturn(true);
         when(cucumberReportFile1.getName()).thenReturn(cucumberReportFileName1);
         when(cucumberReportFile2.isFile()).thenReturn(true);
         when(cucumberReportFile2.getName()).thenReturn(cucumberReportFileName2);
 
-        when(technologySettingService.getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FOLDER_PATH)).thenReturn(Optional.of(stepDefinitionsFolderPath));
+        when(indexingContext.getTechnologySettingValue(CypressSettings.STEP_DEFINITIONS_FOLDER_PATH)).thenReturn(Optional.of(stepDefinitionsFolderPath));
         when(fileProcessorService.getMatchingDirectory(parentFolder, stepDefinitionsFolderPath)).thenReturn(Optional.empty());
 
         when(cucumberScenariosIndexer.getCucumberFeaturesFromReport(cucumberReportFile1)).thenReturn(features1);
@@ -229,7 +235,7 @@ public class CypressScenariosIndexerTest {
         when(executedScenarioExtractorService.extractExecutedScenarios(features2, steps2, runJobUrl)).thenReturn(Arrays.asList(executedScenario21, executedScenario22, executedScenario23));
 
         // Then
-        List<ExecutedScenario> executedScenarios = cypressScenariosIndexer.getExecutedScenarios(parentFolder, run, projectId);
+        List<ExecutedScenario> executedScenarios = cypressScenariosIndexer.getExecutedScenarios(parentFolder, run, indexingContext);
         assertThat(executedScenarios)
                 .hasSize(5)
                 .containsOnly(
@@ -239,9 +245,9 @@ public class CypressScenariosIndexerTest {
                         executedScenario22,
                         executedScenario23
                 );
-        verify(technologySettingService).getSettingValue(projectId, CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE);
-        verify(technologySettingService).getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FOLDER_PATH);
-        verify(technologySettingService, never()).getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FILE_NAME_SUFFIX_VALUE);
+        verify(indexingContext).getTechnologySettingValue(CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE);
+        verify(indexingContext).getTechnologySettingValue(CypressSettings.STEP_DEFINITIONS_FOLDER_PATH);
+        verify(indexingContext, never()).getTechnologySettingValue(CypressSettings.STEP_DEFINITIONS_FILE_NAME_SUFFIX_VALUE);
         verify(fileProcessorService, times(2)).getMatchingDirectory(any(File.class), anyString());
         verify(fileProcessorService).getMatchingDirectory(parentFolder, cucumberFolderPath);
         verify(fileProcessorService).getMatchingDirectory(parentFolder, stepDefinitionsFolderPath);
@@ -257,7 +263,6 @@ public class CypressScenariosIndexerTest {
         // Given
         File parentFolder = mock(File.class);
         Run run = mock(Run.class);
-        Long projectId = 1L;
 
         String cucumberFolderPath = "/cucumberFolder";
 
@@ -299,18 +304,18 @@ public class CypressScenariosIndexerTest {
         ExecutedScenario executedScenario23 = mock(ExecutedScenario.class);
 
         // When
-        when(technologySettingService.getSettingValue(projectId, CypressSettings.CUCUMBER_REPORTS_FOLDER_PATHS)).thenReturn(Optional.of(cucumberFolderPath));
+        when(indexingContext.getTechnologySettingValue(CypressSettings.CUCUMBER_REPORTS_FOLDER_PATHS)).thenReturn(Optional.of(cucumberFolderPath));
         when(fileProcessorService.getMatchingDirectory(parentFolder, cucumberFolderPath)).thenReturn(Optional.of(cucumberFolder));
-        when(technologySettingService.getSettingValue(projectId, CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE)).thenReturn(Optional.of(cucumberSuffix));
+        when(indexingContext.getTechnologySettingValue(CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE)).thenReturn(Optional.of(cucumberSuffix));
         when(cucumberFolder.listFiles()).thenReturn(new File[] {cucumberReportFile1, cucumberReportFile2});
         when(cucumberReportFile1.isFile()).thenReturn(true);
         when(cucumberReportFile1.getName()).thenReturn(cucumberReportFileName1);
         when(cucumberReportFile2.isFile()).thenReturn(true);
         when(cucumberReportFile2.getName()).thenReturn(cucumberReportFileName2);
 
-        when(technologySettingService.getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FOLDER_PATH)).thenReturn(Optional.of(stepDefinitionsFolderPath));
+        when(indexingContext.getTechnologySettingValue(CypressSettings.STEP_DEFINITIONS_FOLDER_PATH)).thenReturn(Optional.of(stepDefinitionsFolderPath));
         when(fileProcessorService.getMatchingDirectory(parentFolder, stepDefinitionsFolderPath)).thenReturn(Optional.of(stepDefinitionFolder));
-        when(technologySettingService.getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FILE_NAME_SUFFIX_VALUE)).thenReturn(Optional.of(stepDefinitionsSuffix));
+        when(indexingContext.getTechnologySettingValue(CypressSettings.STEP_DEFINITIONS_FILE_NAME_SUFFIX_VALUE)).thenReturn(Optional.of(stepDefinitionsSuffix));
         when(stepDefinitionFolder.listFiles()).thenReturn(new File[]{stepDefinitionsFile1, stepDefinitionsFile2});
         when(stepDefinitionsFile1.isFile()).thenReturn(true);
         when(stepDefinitionsFile1.getName()).thenReturn(stepDefinitionsFileName1);
@@ -326,7 +331,7 @@ public class CypressScenariosIndexerTest {
         when(executedScenarioExtractorService.extractExecutedScenarios(features2, steps2, runJobUrl)).thenReturn(Arrays.asList(executedScenario21, executedScenario22, executedScenario23));
 
         // Then
-        List<ExecutedScenario> executedScenarios = cypressScenariosIndexer.getExecutedScenarios(parentFolder, run, projectId);
+        List<ExecutedScenario> executedScenarios = cypressScenariosIndexer.getExecutedScenarios(parentFolder, run, indexingContext);
         assertThat(executedScenarios)
                 .hasSize(5)
                 .containsOnly(
@@ -336,9 +341,9 @@ public class CypressScenariosIndexerTest {
                         executedScenario22,
                         executedScenario23
                 );
-        verify(technologySettingService).getSettingValue(projectId, CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE);
-        verify(technologySettingService).getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FOLDER_PATH);
-        verify(technologySettingService).getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FILE_NAME_SUFFIX_VALUE);
+        verify(indexingContext).getTechnologySettingValue(CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE);
+        verify(indexingContext).getTechnologySettingValue(CypressSettings.STEP_DEFINITIONS_FOLDER_PATH);
+        verify(indexingContext).getTechnologySettingValue(CypressSettings.STEP_DEFINITIONS_FILE_NAME_SUFFIX_VALUE);
         verify(fileProcessorService, times(2)).getMatchingDirectory(any(File.class), anyString());
         verify(fileProcessorService).getMatchingDirectory(parentFolder, cucumberFolderPath);
         verify(fileProcessorService).getMatchingDirectory(parentFolder, stepDefinitionsFolderPath);
@@ -354,7 +359,6 @@ public class CypressScenariosIndexerTest {
         // Given
         File parentFolder = mock(File.class);
         Run run = mock(Run.class);
-        Long projectId = 1L;
 
         String cucumberFolderPath = "/cucumberFolder";
 
@@ -399,18 +403,18 @@ public class CypressScenariosIndexerTest {
         ExecutedScenario executedScenario23 = mock(ExecutedScenario.class);
 
         // When
-        when(technologySettingService.getSettingValue(projectId, CypressSettings.CUCUMBER_REPORTS_FOLDER_PATHS)).thenReturn(Optional.of(cucumberFolderPath));
+        when(indexingContext.getTechnologySettingValue(CypressSettings.CUCUMBER_REPORTS_FOLDER_PATHS)).thenReturn(Optional.of(cucumberFolderPath));
         when(fileProcessorService.getMatchingDirectory(parentFolder, cucumberFolderPath)).thenReturn(Optional.of(cucumberFolder));
-        when(technologySettingService.getSettingValue(projectId, CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE)).thenReturn(Optional.of(cucumberSuffix));
+        when(indexingContext.getTechnologySettingValue(CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE)).thenReturn(Optional.of(cucumberSuffix));
         when(cucumberFolder.listFiles()).thenReturn(new File[] {cucumberReportFile1, cucumberReportFile2});
         when(cucumberReportFile1.isFile()).thenReturn(true);
         when(cucumberReportFile1.getName()).thenReturn(cucumberReportFileName1);
         when(cucumberReportFile2.isFile()).thenReturn(true);
         when(cucumberReportFile2.getName()).thenReturn(cucumberReportFileName2);
 
-        when(technologySettingService.getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FOLDER_PATH)).thenReturn(Optional.of(stepDefinitionsFolderPath));
+        when(indexingContext.getTechnologySettingValue(CypressSettings.STEP_DEFINITIONS_FOLDER_PATH)).thenReturn(Optional.of(stepDefinitionsFolderPath));
         when(fileProcessorService.getMatchingDirectory(parentFolder, stepDefinitionsFolderPath)).thenReturn(Optional.of(stepDefinitionFolder));
-        when(technologySettingService.getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FILE_NAME_SUFFIX_VALUE)).thenReturn(Optional.of(stepDefinitionsSuffix));
+        when(indexingContext.getTechnologySettingValue(CypressSettings.STEP_DEFINITIONS_FILE_NAME_SUFFIX_VALUE)).thenReturn(Optional.of(stepDefinitionsSuffix));
         when(stepDefinitionFolder.listFiles()).thenReturn(new File[]{stepDefinitionsFile1});
         when(stepDefinitionsFile1.isFile()).thenReturn(true);
         when(stepDefinitionsFile1.getName()).thenReturn(stepDefinitionsFileName1);
@@ -425,7 +429,7 @@ public class CypressScenariosIndexerTest {
         when(executedScenarioExtractorService.extractExecutedScenarios(features2, steps2, runJobUrl)).thenReturn(Arrays.asList(executedScenario21, executedScenario22, executedScenario23));
 
         // Then
-        List<ExecutedScenario> executedScenarios = cypressScenariosIndexer.getExecutedScenarios(parentFolder, run, projectId);
+        List<ExecutedScenario> executedScenarios = cypressScenariosIndexer.getExecutedScenarios(parentFolder, run, indexingContext);
         assertThat(executedScenarios)
                 .hasSize(5)
                 .containsOnly(
@@ -435,9 +439,9 @@ public class CypressScenariosIndexerTest {
                         executedScenario22,
                         executedScenario23
                 );
-        verify(technologySettingService).getSettingValue(projectId, CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE);
-        verify(technologySettingService).getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FOLDER_PATH);
-        verify(technologySettingService).getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FILE_NAME_SUFFIX_VALUE);
+        verify(indexingContext).getTechnologySettingValue(CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE);
+        verify(indexingContext).getTechnologySettingValue(CypressSettings.STEP_DEFINITIONS_FOLDER_PATH);
+        verify(indexingContext).getTechnologySettingValue(CypressSettings.STEP_DEFINITIONS_FILE_NAME_SUFFIX_VALUE);
         verify(fileProcessorService, times(2)).getMatchingDirectory(any(File.class), anyString());
         verify(fileProcessorService).getMatchingDirectory(parentFolder, cucumberFolderPath);
         verify(fileProcessorService).getMatchingDirectory(parentFolder, stepDefinitionsFolderPath);
@@ -454,7 +458,6 @@ public class CypressScenariosIndexerTest {
         // Given
         File parentFolder = mock(File.class);
         Run run = mock(Run.class);
-        Long projectId = 1L;
 
         String cucumberFolderPath = "/cucumberFolder";
 
@@ -506,18 +509,18 @@ public class CypressScenariosIndexerTest {
         ExecutedScenario executedScenario23 = mock(ExecutedScenario.class);
 
         // When
-        when(technologySettingService.getSettingValue(projectId, CypressSettings.CUCUMBER_REPORTS_FOLDER_PATHS)).thenReturn(Optional.of(cucumberFolderPath));
+        when(indexingContext.getTechnologySettingValue(CypressSettings.CUCUMBER_REPORTS_FOLDER_PATHS)).thenReturn(Optional.of(cucumberFolderPath));
         when(fileProcessorService.getMatchingDirectory(parentFolder, cucumberFolderPath)).thenReturn(Optional.of(cucumberFolder));
-        when(technologySettingService.getSettingValue(projectId, CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE)).thenReturn(Optional.of(cucumberSuffix));
+        when(indexingContext.getTechnologySettingValue(CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE)).thenReturn(Optional.of(cucumberSuffix));
         when(cucumberFolder.listFiles()).thenReturn(new File[] {cucumberReportFile1, cucumberReportFile2});
         when(cucumberReportFile1.isFile()).thenReturn(true);
         when(cucumberReportFile1.getName()).thenReturn(cucumberReportFileName1);
         when(cucumberReportFile2.isFile()).thenReturn(true);
         when(cucumberReportFile2.getName()).thenReturn(cucumberReportFileName2);
 
-        when(technologySettingService.getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FOLDER_PATH)).thenReturn(Optional.of(stepDefinitionsFolderPath));
+        when(indexingContext.getTechnologySettingValue(CypressSettings.STEP_DEFINITIONS_FOLDER_PATH)).thenReturn(Optional.of(stepDefinitionsFolderPath));
         when(fileProcessorService.getMatchingDirectory(parentFolder, stepDefinitionsFolderPath)).thenReturn(Optional.of(stepDefinitionFolder));
-        when(technologySettingService.getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FILE_NAME_SUFFIX_VALUE)).thenReturn(Optional.of(stepDefinitionsSuffix));
+        when(indexingContext.getTechnologySettingValue(CypressSettings.STEP_DEFINITIONS_FILE_NAME_SUFFIX_VALUE)).thenReturn(Optional.of(stepDefinitionsSuffix));
         when(stepDefinitionFolder.listFiles()).thenReturn(new File[]{stepDefinitionsFile1, stepDefinitionsFile2, stepDefinitionsFile3});
         when(stepDefinitionsFile1.isFile()).thenReturn(true);
         when(stepDefinitionsFile1.getName()).thenReturn(stepDefinitionsFileName1);
@@ -537,7 +540,7 @@ public class CypressScenariosIndexerTest {
         when(executedScenarioExtractorService.extractExecutedScenarios(features2, steps2, runJobUrl)).thenReturn(Arrays.asList(executedScenario21, executedScenario22, executedScenario23));
 
         // Then
-        List<ExecutedScenario> executedScenarios = cypressScenariosIndexer.getExecutedScenarios(parentFolder, run, projectId);
+        List<ExecutedScenario> executedScenarios = cypressScenariosIndexer.getExecutedScenarios(parentFolder, run, indexingContext);
         assertThat(executedScenarios)
                 .hasSize(5)
                 .containsOnly(
@@ -547,9 +550,9 @@ public class CypressScenariosIndexerTest {
                         executedScenario22,
                         executedScenario23
                 );
-        verify(technologySettingService).getSettingValue(projectId, CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE);
-        verify(technologySettingService).getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FOLDER_PATH);
-        verify(technologySettingService).getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FILE_NAME_SUFFIX_VALUE);
+        verify(indexingContext).getTechnologySettingValue(CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE);
+        verify(indexingContext).getTechnologySettingValue(CypressSettings.STEP_DEFINITIONS_FOLDER_PATH);
+        verify(indexingContext).getTechnologySettingValue(CypressSettings.STEP_DEFINITIONS_FILE_NAME_SUFFIX_VALUE);
         verify(fileProcessorService, times(2)).getMatchingDirectory(any(File.class), anyString());
         verify(fileProcessorService).getMatchingDirectory(parentFolder, cucumberFolderPath);
         verify(fileProcessorService).getMatchingDirectory(parentFolder, stepDefinitionsFolderPath);
@@ -568,7 +571,6 @@ public class CypressScenariosIndexerTest {
         // Given
         File parentFolder = mock(File.class);
         Run run = mock(Run.class);
-        Long projectId = 1L;
 
         String cucumberFolderPath = "/cucumberFolder";
 
@@ -638,18 +640,18 @@ public class CypressScenariosIndexerTest {
         String feature5 = "feature5";
 
         // When
-        when(technologySettingService.getSettingValue(projectId, CypressSettings.CUCUMBER_REPORTS_FOLDER_PATHS)).thenReturn(Optional.of(cucumberFolderPath));
+        when(indexingContext.getTechnologySettingValue(CypressSettings.CUCUMBER_REPORTS_FOLDER_PATHS)).thenReturn(Optional.of(cucumberFolderPath));
         when(fileProcessorService.getMatchingDirectory(parentFolder, cucumberFolderPath)).thenReturn(Optional.of(cucumberFolder));
-        when(technologySettingService.getSettingValue(projectId, CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE)).thenReturn(Optional.of(cucumberSuffix));
+        when(indexingContext.getTechnologySettingValue(CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE)).thenReturn(Optional.of(cucumberSuffix));
         when(cucumberFolder.listFiles()).thenReturn(new File[] {cucumberReportFile1, cucumberReportFile2});
         when(cucumberReportFile1.isFile()).thenReturn(true);
         when(cucumberReportFile1.getName()).thenReturn(cucumberReportFileName1);
         when(cucumberReportFile2.isFile()).thenReturn(true);
         when(cucumberReportFile2.getName()).thenReturn(cucumberReportFileName2);
 
-        when(technologySettingService.getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FOLDER_PATH)).thenReturn(Optional.of(stepDefinitionsFolderPath));
+        when(indexingContext.getTechnologySettingValue(CypressSettings.STEP_DEFINITIONS_FOLDER_PATH)).thenReturn(Optional.of(stepDefinitionsFolderPath));
         when(fileProcessorService.getMatchingDirectory(parentFolder, stepDefinitionsFolderPath)).thenReturn(Optional.of(stepDefinitionFolder));
-        when(technologySettingService.getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FILE_NAME_SUFFIX_VALUE)).thenReturn(Optional.of(stepDefinitionsSuffix));
+        when(indexingContext.getTechnologySettingValue(CypressSettings.STEP_DEFINITIONS_FILE_NAME_SUFFIX_VALUE)).thenReturn(Optional.of(stepDefinitionsSuffix));
         when(stepDefinitionFolder.listFiles()).thenReturn(new File[]{stepDefinitionsFile1, stepDefinitionsFile2});
         when(stepDefinitionsFile1.isFile()).thenReturn(true);
         when(stepDefinitionsFile1.getName()).thenReturn(stepDefinitionsFileName1);
@@ -666,7 +668,7 @@ public class CypressScenariosIndexerTest {
         when(executedScenarioExtractorService.extractExecutedScenarios(features1, steps1, runJobUrl)).thenReturn(Arrays.asList(executedScenario11, executedScenario12));
         when(executedScenarioExtractorService.extractExecutedScenarios(features2, steps2, runJobUrl)).thenReturn(Arrays.asList(executedScenario21, executedScenario22, executedScenario23));
 
-        when(technologySettingService.getSettingValue(projectId, CypressSettings.MEDIA_FILE_PATH)).thenReturn(Optional.of(mediaFilePath));
+        when(indexingContext.getTechnologySettingValue(CypressSettings.MEDIA_FILE_PATH)).thenReturn(Optional.of(mediaFilePath));
         when(fileProcessorService.getMappedObjectListFromFile(parentFolder, mediaFilePath, CypressMedia.class)).thenReturn(Arrays.asList(media1, media2));
         when(media1.getFeature()).thenReturn(mediaFeature1);
         when(media2.getFeature()).thenReturn(feature1);
@@ -686,7 +688,7 @@ public class CypressScenariosIndexerTest {
         when(executedScenario23.getFeatureFile()).thenReturn(feature5);
 
         // Then
-        List<ExecutedScenario> executedScenarios = cypressScenariosIndexer.getExecutedScenarios(parentFolder, run, projectId);
+        List<ExecutedScenario> executedScenarios = cypressScenariosIndexer.getExecutedScenarios(parentFolder, run, indexingContext);
         assertThat(executedScenarios)
                 .hasSize(5)
                 .containsOnly(
@@ -696,9 +698,9 @@ public class CypressScenariosIndexerTest {
                         executedScenario22,
                         executedScenario23
                 );
-        verify(technologySettingService).getSettingValue(projectId, CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE);
-        verify(technologySettingService).getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FOLDER_PATH);
-        verify(technologySettingService).getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FILE_NAME_SUFFIX_VALUE);
+        verify(indexingContext).getTechnologySettingValue(CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE);
+        verify(indexingContext).getTechnologySettingValue(CypressSettings.STEP_DEFINITIONS_FOLDER_PATH);
+        verify(indexingContext).getTechnologySettingValue(CypressSettings.STEP_DEFINITIONS_FILE_NAME_SUFFIX_VALUE);
         verify(fileProcessorService, times(2)).getMatchingDirectory(any(File.class), anyString());
         verify(fileProcessorService).getMatchingDirectory(parentFolder, cucumberFolderPath);
         verify(fileProcessorService).getMatchingDirectory(parentFolder, stepDefinitionsFolderPath);
@@ -719,4 +721,92 @@ public class CypressScenariosIndexerTest {
         verify(executedScenario23, never()).setVideoUrl(anyString());
         verify(executedScenario23, never()).setScreenshotUrl(anyString());
     }
+
+    @Test
+    public void getExecutedScenarios_useFirstMediaOfFeatureAndFirstSnapshotOfId_whenMediasAreDuplicated(){
+        // Given
+        File parentFolder = mock(File.class);
+        Run run = mock(Run.class);
+
+        File cucumberFolder = mock(File.class);
+        File cucumberReportFile = mock(File.class);
+        List<Feature> features = Arrays.asList(mock(Feature.class));
+
+        ExecutedScenario executedScenario1 = mock(ExecutedScenario.class);
+        ExecutedScenario executedScenario2 = mock(ExecutedScenario.class);
+
+        CypressMedia media1 = mock(CypressMedia.class);
+        CypressVideo video1 = mock(CypressVideo.class);
+        CypressSnapshot image11 = mock(CypressSnapshot.class);
+        CypressSnapshot image12 = mock(CypressSnapshot.class);
+        CypressMedia media2 = mock(CypressMedia.class);
+
+        // When
+        when(indexingContext.getTechnologySettingValue(CypressSettings.CUCUMBER_REPORTS_FOLDER_PATHS)).thenReturn(Optional.of("/cucumberFolder"));
+        when(fileProcessorService.getMatchingDirectory(parentFolder, "/cucumberFolder")).thenReturn(Optional.of(cucumberFolder));
+        when(indexingContext.getTechnologySettingValue(CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE)).thenReturn(Optional.of("cucumber-suffix"));
+        when(cucumberFolder.listFiles()).thenReturn(new File[] {cucumberReportFile});
+        when(cucumberReportFile.isFile()).thenReturn(true);
+        when(cucumberReportFile.getName()).thenReturn("report.cucumber-suffix.json");
+        when(indexingContext.getTechnologySettingValue(CypressSettings.STEP_DEFINITIONS_FOLDER_PATH)).thenReturn(Optional.empty());
+        when(fileProcessorService.getMatchingDirectory(parentFolder, "")).thenReturn(Optional.empty());
+
+        when(cucumberScenariosIndexer.getCucumberFeaturesFromReport(cucumberReportFile)).thenReturn(features);
+        when(run.getJobUrl()).thenReturn("run-job-url");
+        when(executedScenarioExtractorService.extractExecutedScenarios(features, new ArrayList<>(), "run-job-url")).thenReturn(Arrays.asList(executedScenario1, executedScenario2));
+
+        when(indexingContext.getTechnologySettingValue(CypressSettings.MEDIA_FILE_PATH)).thenReturn(Optional.of("media.json"));
+        when(fileProcessorService.getMappedObjectListFromFile(parentFolder, "media.json", CypressMedia.class)).thenReturn(Arrays.asList(media1, media2));
+        when(media1.getFeature()).thenReturn("feature");
+        when(media1.getVideo()).thenReturn(video1);
+        when(video1.getUrl()).thenReturn("http://url.com/video-1.mp4");
+        when(media1.getSnapshots()).thenReturn(Arrays.asList(image11, image12));
+        when(image11.getId()).thenReturn("scenario");
+        when(image11.getUrl()).thenReturn("http://url.com/image-11.png");
+        when(image12.getId()).thenReturn("scenario");
+        when(media2.getFeature()).thenReturn("feature");
+
+        when(executedScenario1.getFeatureFile()).thenReturn("feature");
+        when(executedScenario1.getCucumberId()).thenReturn("scenario");
+        when(executedScenario2.getFeatureFile()).thenReturn("feature");
+        when(executedScenario2.getCucumberId()).thenReturn("otherScenario");
+
+        // Then
+        List<ExecutedScenario> executedScenarios = cypressScenariosIndexer.getExecutedScenarios(parentFolder, run, indexingContext);
+        assertThat(executedScenarios).containsExactly(executedScenario1, executedScenario2);
+        verify(executedScenario1).setVideoUrl("http://url.com/video-1.mp4");
+        verify(executedScenario1).setScreenshotUrl("http://url.com/image-11.png");
+        verify(executedScenario2).setVideoUrl("http://url.com/video-1.mp4");
+        verify(executedScenario2, never()).setScreenshotUrl(anyString());
+        verify(media1, times(1)).getSnapshots();
+        verify(media2, never()).getVideo();
+        verify(media2, never()).getSnapshots();
+    }
+
+    @Test
+    public void getExecutedScenarios_throwException_whenACucumberReportCannotBeParsed(){
+        // Given
+        File parentFolder = mock(File.class);
+        Run run = mock(Run.class);
+
+        File cucumberFolder = mock(File.class);
+        File cucumberReportFile = mock(File.class);
+        IllegalStateException failure = new IllegalStateException("Unreadable report");
+
+        // When
+        when(indexingContext.getTechnologySettingValue(CypressSettings.CUCUMBER_REPORTS_FOLDER_PATHS)).thenReturn(Optional.of("/cucumberFolder"));
+        when(fileProcessorService.getMatchingDirectory(parentFolder, "/cucumberFolder")).thenReturn(Optional.of(cucumberFolder));
+        when(indexingContext.getTechnologySettingValue(CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE)).thenReturn(Optional.of("cucumber-suffix"));
+        when(cucumberFolder.listFiles()).thenReturn(new File[] {cucumberReportFile});
+        when(cucumberReportFile.isFile()).thenReturn(true);
+        when(cucumberReportFile.getName()).thenReturn("report.cucumber-suffix.json");
+        when(indexingContext.getTechnologySettingValue(CypressSettings.STEP_DEFINITIONS_FOLDER_PATH)).thenReturn(Optional.empty());
+        when(fileProcessorService.getMatchingDirectory(parentFolder, "")).thenReturn(Optional.empty());
+        when(cucumberScenariosIndexer.getCucumberFeaturesFromReport(cucumberReportFile)).thenThrow(failure);
+
+        // Then
+        assertThatThrownBy(() -> cypressScenariosIndexer.getExecutedScenarios(parentFolder, run, indexingContext))
+                .isSameAs(failure);
+        verify(executedScenarioExtractorService, never()).extractExecutedScenarios(anyList(), anyList(), anyString());
+    }
 }
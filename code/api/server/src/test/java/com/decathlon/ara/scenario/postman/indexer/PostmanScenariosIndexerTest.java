@@ -0,0 +1,159 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.scenario.postman.indexer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.decathlon.ara.domain.ExecutedScenario;
+import com.decathlon.ara.domain.Run;
+import com.decathlon.ara.scenario.common.indexer.IndexingContext;
+import com.decathlon.ara.scenario.postman.model.NewmanParsingResult;
+import com.decathlon.ara.scenario.postman.service.PostmanService;
+import com.decathlon.ara.scenario.postman.settings.PostmanSettings;
+import com.decathlon.ara.service.FileProcessorService;
+import com.fasterxml.jackson.core.JsonFactory;
+
+@ExtendWith(MockitoExtension.class)
+public class PostmanScenariosIndexerTest {
+
+    @Mock
+    private PostmanService postmanService;
+
+    @Mock
+    private IndexingContext indexingContext;
+
+    @Mock
+    private FileProcessorService fileProcessorService;
+
+    private ThreadPoolTaskExecutor reportParsingExecutor;
+
+    private PostmanScenariosIndexer cut;
+
+    private Path tempDirectory;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        tempDirectory = Files.createTempDirectory("ara_temp_unit_test_directory_");
+        reportParsingExecutor = new ThreadPoolTaskExecutor();
+        reportParsingExecutor.setCorePoolSize(4);
+        reportParsingExecutor.setMaxPoolSize(4);
+        reportParsingExecutor.setWaitForTasksToCompleteOnShutdown(true);
+        reportParsingExecutor.setAwaitTerminationSeconds(10);
+        reportParsingExecutor.initialize();
+        cut = new PostmanScenariosIndexer(postmanService, new JsonFactory(), fileProcessorService, reportParsingExecutor);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        reportParsingExecutor.shutdown();
+        FileUtils.deleteQuietly(tempDirectory.toFile());
+    }
+
+    @Test
+    public void getExecutedScenarios_should_number_the_scenarios_across_reports_in_report_order() throws IOException {
+        // GIVEN
+        Path reportFolder = createReports("c.json", "result.json", "a.json", "b.json");
+        Run run = new Run();
+        doAnswer(invocation -> {
+            String reportName = invocation.getArgument(2);
+            AtomicInteger requestPosition = invocation.getArgument(3);
+            List<ExecutedScenario> executedScenarios = new ArrayList<>();
+            executedScenarios.add(executedScenario(reportName, requestPosition.incrementAndGet()));
+            if ("b.json".equals(reportName)) {
+                requestPosition.incrementAndGet(); // A folder, not executed
+                executedScenarios.add(executedScenario(reportName, requestPosition.incrementAndGet()));
+            }
+            return executedScenarios;
+        }).when(postmanService).postProcess(eq(run), any(NewmanParsingResult.class), any(String.class), any(AtomicInteger.class));
+
+        // WHEN
+        List<ExecutedScenario> executedScenarios = cut.getExecutedScenarios(reportFolder, run, indexingContext);
+
+        // THEN
+        assertThat(executedScenarios.stream().map(ExecutedScenario::getFeatureFile).collect(Collectors.toList()))
+                .containsExactly("a.json", "b.json", "b.json", "c.json");
+        assertThat(executedScenarios.stream().map(ExecutedScenario::getLine).collect(Collectors.toList()))
+                .containsExactly(1, 2, 4, 5);
+    }
+
+    @Test
+    public void getExecutedScenarios_should_return_nothing_and_release_response_bodies_of_all_parsed_reports_when_a_report_fails() throws IOException {
+        // GIVEN
+        Path reportFolder = createReports("result.json", "a.json", "b.json", "c.json", "d.json");
+        Run run = new Run();
+        ArgumentCaptor<NewmanParsingResult> parsedReports = ArgumentCaptor.forClass(NewmanParsingResult.class);
+        doThrow(new IOException("Corrupted"))
+                .doNothing()
+                .when(postmanService).parse(any(), parsedReports.capture());
+
+        // WHEN
+        List<ExecutedScenario> executedScenarios = cut.getExecutedScenarios(reportFolder, run, indexingContext);
+
+        // THEN
+        assertThat(executedScenarios).isEmpty();
+        reportParsingExecutor.shutdown(); // Waits for the reports still being processed
+        for (NewmanParsingResult parsedReport : parsedReports.getAllValues()) {
+            verify(postmanService).releaseResponseBodies(parsedReport);
+        }
+    }
+
+    private Path createReports(String... fileNames) throws IOException {
+        Path reportFolder = Files.createDirectory(tempDirectory.resolve("reports"));
+        for (String fileName : fileNames) {
+            Files.write(reportFolder.resolve(fileName), "{}".getBytes(StandardCharsets.UTF_8));
+        }
+        when(indexingContext.getTechnologySettingValue(PostmanSettings.REPORTS_PATH)).thenReturn(Optional.of("reports"));
+        when(indexingContext.getTechnologySettingValue(PostmanSettings.RESULT_FILE_NAME)).thenReturn(Optional.of("result.json"));
+        when(fileProcessorService.getMatchingDirectoryPath(tempDirectory, "reports")).thenReturn(Optional.of(reportFolder));
+        return reportFolder;
+    }
+
+    private ExecutedScenario executedScenario(String featureFile, int line) {
+        ExecutedScenario executedScenario = new ExecutedScenario();
+        executedScenario.setFeatureFile(featureFile);
+        executedScenario.setLine(line);
+        return executedScenario;
+    }
+
+}
@@ -26,13 +26,18 @@ import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.io.File;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -45,7 +50,7 @@ import java.util.Optional;
 import java.util.TimeZone;
 import java.util.concurrent.atomic.AtomicInteger;
 
-import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.AdditionalMatchers;
@@ -57,11 +62,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
+import com.decathlon.ara.configuration.AraConfiguration;
 import com.decathlon.ara.domain.Error;
 import com.decathlon.ara.domain.ExecutedScenario;
 import com.decathlon.ara.domain.Run;
 import com.decathlon.ara.domain.Type;
 import com.decathlon.ara.scenario.cucumber.asset.AssetService;
+import com.decathlon.ara.scenario.cucumber.asset.AssetWriter;
 import com.decathlon.ara.scenario.postman.bean.Assertion;
 import com.decathlon.ara.scenario.postman.bean.Body;
 import com.decathlon.ara.scenario.postman.bean.Collection;
@@ -78,6 +85,7 @@ import com.decathlon.ara.scenario.postman.bean.Stream;
 import com.decathlon.ara.scenario.postman.bean.Url;
 import com.decathlon.ara.scenario.postman.model.NewmanParsingResult;
 import com.decathlon.ara.scenario.postman.model.NewmanScenario;
+import com.decathlon.ara.scenario.postman.model.ResponseBodyBuffer;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
@@ -100,6 +108,9 @@ public class PostmanServiceTest {
     @Mock
     private AssetService assetService;
 
+    @Mock
+    private AraConfiguration araConfiguration;
+
     @Spy
     @InjectMocks
     private PostmanService cut;
@@ -163,13 +174,13 @@ public class PostmanServiceTest {
         JsonParser jsonParser = new JsonFactory().createParser(json);
         NewmanParsingResult result = new NewmanParsingResult();
 
-        doAnswer(invocation -> null).when(cut).saveExecutionStreamToFile(any(Execution.class));
+        doAnswer(invocation -> null).when(cut).bufferExecutionStream(any(Execution.class), same(result));
 
         // WHEN
         cut.parse(jsonParser, result);
 
         // THEN
-        verify(cut, times(2)).saveExecutionStreamToFile(any(Execution.class));
+        verify(cut, times(2)).bufferExecutionStream(any(Execution.class), same(result));
         assertThat(result.getCollection().getInfo().getName()).isEqualTo("collection-name");
         assertThat(result.getExecutions()).hasSize(2);
         assertThat(result.getExecutions().get(0).getItem().getId()).isEqualTo("execution-item-id");
@@ -180,54 +191,103 @@ public class PostmanServiceTest {
     }
 
     @Test
-    public void saveExecutionStreamToFile_should_not_crash_if_execution_has_null_response() throws IOException {
+    public void bufferExecutionStream_should_not_crash_if_execution_has_null_response() throws IOException {
         // GIVEN
         Execution execution = new Execution();
 
         // WHEN
-        cut.saveExecutionStreamToFile(execution);
+        cut.bufferExecutionStream(execution, new NewmanParsingResult());
     }
 
     @Test
-    public void saveExecutionStreamToFile_should_not_crash_if_response_has_null_stream() throws IOException {
+    public void bufferExecutionStream_should_not_crash_if_response_has_null_stream() throws IOException {
         // GIVEN
         Execution execution = new Execution()
                 .withResponse(new Response());
 
         // WHEN
-        cut.saveExecutionStreamToFile(execution);
+        cut.bufferExecutionStream(execution, new NewmanParsingResult());
     }
 
     @Test
-    public void saveExecutionStreamToFile_should_not_crash_if_stream_has_null_data() throws IOException {
+    public void bufferExecutionStream_should_not_crash_if_stream_has_null_data() throws IOException {
         // GIVEN
         Execution execution = new Execution()
                 .withResponse(new Response()
                         .withStream(new Stream()));
 
         // WHEN
-        cut.saveExecutionStreamToFile(execution);
+        cut.bufferExecutionStream(execution, new NewmanParsingResult());
     }
 
     @Test
-    public void saveExecutionStreamToFile_should_save_execution_stream_to_file() throws IOException {
+    public void bufferExecutionStream_should_keep_small_execution_stream_in_memory() throws IOException {
         // GIVEN
         final Stream stream = new Stream()
                 .withData(new byte[] { 'a', 'b', 'c' });
         Execution execution = new Execution()
                 .withResponse(new Response()
                         .withStream(stream));
+        NewmanParsingResult result = new NewmanParsingResult().withBufferedBytes(7);
+        when(araConfiguration.getNewmanResponseBodyMemoryThresholdInBytes()).thenReturn(Integer.valueOf(3));
+        when(araConfiguration.getNewmanResponseBodyMemoryBudgetInBytes()).thenReturn(Long.valueOf(10));
+
+        // WHEN
+        cut.bufferExecutionStream(execution, result);
+
+        // THEN
+        assertThat(stream.getData()).isNull();
+        assertThat(stream.getBody().isSpilled()).isFalse();
+        assertThat(IOUtils.toString(stream.getBody().openStream(), StandardCharsets.UTF_8)).isEqualTo("abc");
+        assertThat(result.getBufferedBytes()).isEqualTo(10);
+    }
+
+    @Test
+    public void bufferExecutionStream_should_spill_big_execution_stream_to_file() throws IOException {
+        // GIVEN
+        final Stream stream = new Stream()
+                .withData(new byte[] { 'a', 'b', 'c' });
+        Execution execution = new Execution()
+                .withResponse(new Response()
+                        .withStream(stream));
+        NewmanParsingResult result = new NewmanParsingResult();
+        when(araConfiguration.getNewmanResponseBodyMemoryThresholdInBytes()).thenReturn(Integer.valueOf(2));
 
         try {
             // WHEN
-            cut.saveExecutionStreamToFile(execution);
+            cut.bufferExecutionStream(execution, result);
 
             // THEN
             assertThat(stream.getData()).isNull();
-            assertThat(stream.getTempFile()).isNotNull();
-            assertThat(FileUtils.readFileToString(stream.getTempFile(), StandardCharsets.UTF_8)).isEqualTo("abc");
+            assertThat(stream.getBody().isSpilled()).isTrue();
+            assertThat(IOUtils.toString(stream.getBody().openStream(), StandardCharsets.UTF_8)).isEqualTo("abc");
+            assertThat(result.getBufferedBytes()).isZero();
         } finally {
-            FileUtils.deleteQuietly(stream.getTempFile());
+            stream.getBody().close();
+        }
+    }
+
+    @Test
+    public void bufferExecutionStream_should_spill_execution_stream_to_file_when_memory_budget_is_exhausted() throws IOException {
+        // GIVEN
+        final Stream stream = new Stream()
+                .withData(new byte[] { 'a', 'b', 'c' });
+        Execution execution = new Execution()
+                .withResponse(new Response()
+                        .withStream(stream));
+        NewmanParsingResult result = new NewmanParsingResult().withBufferedBytes(8);
+        when(araConfiguration.getNewmanResponseBodyMemoryThresholdInBytes()).thenReturn(Integer.valueOf(3));
+        when(araConfiguration.getNewmanResponseBodyMemoryBudgetInBytes()).thenReturn(Long.valueOf(10));
+
+        try {
+            // WHEN
+            cut.bufferExecutionStream(execution, result);
+
+            // THEN
+            assertThat(stream.getBody().isSpilled()).isTrue();
+            assertThat(result.getBufferedBytes()).isEqualTo(8);
+        } finally {
+            stream.getBody().close();
         }
     }
 
@@ -1244,7 +1304,7 @@ public class PostmanServiceTest {
         doNothing().when(cut).mapFailuresToScenarios(same(failures), same(newmanScenarios));
         doNothing().when(cut).buildScenarioContents(same(newmanScenarios));
         doNothing().when(cut).buildScenarioErrors(same(newmanScenarios));
-        doNothing().when(cut).deleteTempFile(same(response1));
+        doNothing().when(cut).releaseResponseBody(same(response1));
         doReturn("collection-file-name").when(cut).toCollectionFileName(source, newmanReportPath);
         doReturn("http-log-url-1").when(cut).uploadHttpLog(same(newmanScenarioWithExecution));
         doReturn("http-log-url-2").when(cut).uploadHttpLog(same(newmanScenarioWithExecutionAndFailure));
@@ -1258,8 +1318,8 @@ public class PostmanServiceTest {
         verify(cut, times(1)).mapFailuresToScenarios(same(failures), same(newmanScenarios));
         verify(cut, times(1)).buildScenarioContents(same(newmanScenarios));
         verify(cut, times(1)).buildScenarioErrors(same(newmanScenarios));
-        verify(cut, times(1)).deleteTempFile(same(response1));
-        verify(cut, never()).deleteTempFile(same(response2));
+        verify(cut, times(1)).releaseResponseBody(same(response1));
+        verify(cut, never()).releaseResponseBody(same(response2));
 
         assertThat(executedScenarios).hasSize(2);
         assertThat(executedScenarios.get(0).getFeatureFile()).isEqualTo("collection-file-name");
@@ -1270,56 +1330,51 @@ public class PostmanServiceTest {
     }
 
     @Test
-    public void deleteTempFile_should_not_crash_if_response_is_null() {
+    public void releaseResponseBody_should_not_crash_if_response_is_null() {
         // WHEN
-        cut.deleteTempFile(null);
+        cut.releaseResponseBody(null);
     }
 
     @Test
-    public void deleteTempFile_should_not_crash_if_response_stream_is_null() {
+    public void releaseResponseBody_should_not_crash_if_response_stream_is_null() {
         // WHEN
-        cut.deleteTempFile(new Response());
+        cut.releaseResponseBody(new Response());
     }
 
     @Test
-    public void deleteTempFile_should_not_crash_if_tempFile_is_null() {
+    public void releaseResponseBody_should_not_crash_if_body_is_null() {
         // WHEN
-        cut.deleteTempFile(new Response().withStream(new Stream()));
+        cut.releaseResponseBody(new Response().withStream(new Stream()));
     }
 
     @Test
-    public void deleteTempFile_should_delete_the_temporary_file_and_set_it_to_null() throws IOException {
+    public void releaseResponseBody_should_close_the_body_and_set_it_to_null() throws IOException {
         // GIVEN
-        File tempFile = File.createTempFile("ara_temp_unit_test_file_", ".bin");
-        tempFile.deleteOnExit();
-        Response response = new Response().withStream(new Stream().withTempFile(tempFile));
+        ResponseBodyBuffer body = mock(ResponseBodyBuffer.class);
+        Response response = new Response().withStream(new Stream().withBody(body));
 
-        try {
-            // WHEN
-            cut.deleteTempFile(response);
+        // WHEN
+        cut.releaseResponseBody(response);
 
-            // THEN
-            assertThat(tempFile.exists()).isFalse();
-            assertThat(response.getStream().getTempFile()).isNull();
-        } finally {
-            FileUtils.deleteQuietly(tempFile);
-        }
+        // THEN
+        verify(body).close();
+        assertThat(response.getStream().getBody()).isNull();
     }
 
     @Test
-    public void deleteTempFiles_should_so_nothing_on_null_executions() {
+    public void releaseResponseBodies_should_do_nothing_on_null_executions() {
         // GIVEN
         NewmanParsingResult newmanParsingResult = new NewmanParsingResult();
 
         // WHEN
-        cut.deleteTempFiles(newmanParsingResult);
+        cut.releaseResponseBodies(newmanParsingResult);
 
         // THEN
-        verify(cut, never()).deleteTempFile(any());
+        verify(cut, never()).releaseResponseBody(any());
     }
 
     @Test
-    public void deleteTempFiles_should_delete_all_files() {
+    public void releaseResponseBodies_should_release_all_bodies() {
         // GIVEN
         final Response response1 = new Response();
         final Response response2 = new Response();
@@ -1329,10 +1384,10 @@ public class PostmanServiceTest {
                         new Execution().withResponse(response2)));
 
         ArgumentCaptor<Response> argument = ArgumentCaptor.forClass(Response.class);
-        doNothing().when(cut).deleteTempFile(argument.capture());
+        doNothing().when(cut).releaseResponseBody(argument.capture());
 
         // WHEN
-        cut.deleteTempFiles(newmanParsingResult);
+        cut.releaseResponseBodies(newmanParsingResult);
 
         // THEN
         assertThat(argument.getAllValues()).containsExactly(response1, response2);
@@ -1348,49 +1403,56 @@ public class PostmanServiceTest {
 
         // THEN
         assertThat(url).isNull();
-        verify(cut, never()).generateHttpLogHtml(any());
-        verify(cut, never()).deleteTempFile(any());
+        verify(assetService, never()).saveHttpLogs(any(AssetWriter.class));
+        verify(cut, never()).releaseResponseBody(any());
     }
 
     @Test
-    public void uploadHttpLog_should_upload_generated_html_and_return_uploaded_url_when_there_are_failures() {
+    public void uploadHttpLog_should_upload_generated_html_and_return_uploaded_url_when_there_are_failures() throws IOException {
         // GIVEN
         NewmanScenario newmanScenario = new NewmanScenario()
                 .withExecution(new Execution()
                         .withResponse(new Response()));
         newmanScenario.getFailures().add(new Failure());
-        doReturn("html").when(cut).generateHttpLogHtml(same(newmanScenario));
-        when(assetService.saveHttpLogs("html")).thenReturn("url");
-        doNothing().when(cut).deleteTempFile(any());
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("html".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(cut).writeHttpLogHtml(same(newmanScenario), any(OutputStream.class));
+        ByteArrayOutputStream uploadedHtml = new ByteArrayOutputStream();
+        when(assetService.saveHttpLogs(any(AssetWriter.class))).thenAnswer(invocation -> {
+            invocation.<AssetWriter>getArgument(0).writeTo(uploadedHtml);
+            return "url";
+        });
+        doNothing().when(cut).releaseResponseBody(any());
 
         // WHEN
         final String url = cut.uploadHttpLog(newmanScenario);
 
         // THEN
         assertThat(url).isEqualTo("url");
+        assertThat(uploadedHtml.toString("UTF-8")).isEqualTo("html");
     }
 
     @Test
-    public void uploadHttpLog_should_delete_temp_file_after_upload() {
+    public void uploadHttpLog_should_release_response_body_after_upload() {
         // GIVEN
         final Response response = new Response();
         NewmanScenario newmanScenario = new NewmanScenario()
                 .withExecution(new Execution()
                         .withResponse(response));
         newmanScenario.getFailures().add(new Failure());
-        doReturn("any").when(cut).generateHttpLogHtml(any());
-        when(assetService.saveHttpLogs(any())).thenReturn("any");
-        doNothing().when(cut).deleteTempFile(any());
+        when(assetService.saveHttpLogs(any(AssetWriter.class))).thenReturn("any");
+        doNothing().when(cut).releaseResponseBody(any());
 
         // WHEN
         cut.uploadHttpLog(newmanScenario);
 
         // THEN
-        verify(cut, times(1)).deleteTempFile(same(response));
+        verify(cut, times(1)).releaseResponseBody(same(response));
     }
 
     @Test
-    public void generateHttpLogHtml_should_return_the_generated_html() {
+    public void appendHttpLogHtml_should_append_the_generated_html() throws IOException {
         // GIVEN
         KeyValue[] requestHeaders = new KeyValue[0];
         KeyValue[] responseHeaders = new KeyValue[0];
@@ -1408,31 +1470,33 @@ public class PostmanServiceTest {
                 .withExecution(new Execution()
                         .withRequest(request)
                         .withResponse(response));
+        StringWriter writer = new StringWriter();
         doReturn("<request step>").when(cut).buildRequestStep(same(request));
         doAnswer(invocation -> {
-            StringBuilder builder = (StringBuilder) invocation.getArguments()[0];
+            Writer builder = (Writer) invocation.getArguments()[0];
             builder.append("{REQUEST_HEADERS}\n");
             return null;
-        }).when(cut).appendKeyValues(any(StringBuilder.class), same(requestHeaders));
+        }).when(cut).appendKeyValues(any(Writer.class), same(requestHeaders));
         doAnswer(invocation -> {
-            StringBuilder builder = (StringBuilder) invocation.getArguments()[0];
+            Writer builder = (Writer) invocation.getArguments()[0];
             builder.append("{REQUEST_BODY}\n");
             return null;
-        }).when(cut).appendRequestBody(any(StringBuilder.class), same(requestBody));
+        }).when(cut).appendRequestBody(any(Writer.class), same(requestBody));
         doAnswer(invocation -> {
-            StringBuilder builder = (StringBuilder) invocation.getArguments()[0];
+            Writer builder = (Writer) invocation.getArguments()[0];
             builder.append("{RESPONSE_HEADERS}\n");
             return null;
-        }).when(cut).appendKeyValues(any(StringBuilder.class), same(responseHeaders));
+        }).when(cut).appendKeyValues(any(Writer.class), same(responseHeaders));
         doReturn("type").when(cut).getContentType(same(responseHeaders));
         doAnswer(invocation -> {
-            StringBuilder builder = (StringBuilder) invocation.getArguments()[0];
+            Writer builder = (Writer) invocation.getArguments()[0];
             builder.append("{RESPONSE_BODY}\n");
             return null;
-        }).when(cut).appendResponseBody(any(StringBuilder.class), same(responseStream), eq("type"));
+        }).when(cut).appendResponseBody(any(Writer.class), same(responseStream), eq("type"));
 
         // WHEN
-        final String html = cut.generateHttpLogHtml(newmanScenario);
+        cut.appendHttpLogHtml(writer, newmanScenario);
+        final String html = writer.toString();
 
         // THEN
         assertThat(html.replaceAll("<style>\n[^<]+\n</style>", "<style>\nwhatever\n</style>")).isEqualTo("" +
@@ -1458,7 +1522,7 @@ public class PostmanServiceTest {
     }
 
     @Test
-    public void generateHttpLogHtml_should_return_the_generated_html_with_an_indication_when_null_response() {
+    public void appendHttpLogHtml_should_append_the_generated_html_with_an_indication_when_null_response() throws IOException {
         // GIVEN
         KeyValue[] requestHeaders = new KeyValue[0];
         final Body requestBody = new Body();
@@ -1469,20 +1533,22 @@ public class PostmanServiceTest {
                 .withExecution(new Execution()
                         .withRequest(request)
                         .withResponse(null));
+        StringWriter writer = new StringWriter();
         doReturn("<request step>").when(cut).buildRequestStep(same(request));
         doAnswer(invocation -> {
-            StringBuilder builder = (StringBuilder) invocation.getArguments()[0];
+            Writer builder = (Writer) invocation.getArguments()[0];
             builder.append("{REQUEST_HEADERS}\n");
             return null;
-        }).when(cut).appendKeyValues(any(StringBuilder.class), same(requestHeaders));
+        }).when(cut).appendKeyValues(any(Writer.class), same(requestHeaders));
         doAnswer(invocation -> {
-            StringBuilder builder = (StringBuilder) invocation.getArguments()[0];
+            Writer builder = (Writer) invocation.getArguments()[0];
             builder.append("{REQUEST_BODY}\n");
             return null;
-        }).when(cut).appendRequestBody(any(StringBuilder.class), same(requestBody));
+        }).when(cut).appendRequestBody(any(Writer.class), same(requestBody));
 
         // WHEN
-        final String html = cut.generateHttpLogHtml(newmanScenario);
+        cut.appendHttpLogHtml(writer, newmanScenario);
+        final String html = writer.toString();
 
         // THEN
         assertThat(html.replaceAll("<style>\n[^<]+\n</style>", "<style>\nwhatever\n</style>")).isEqualTo("" +
@@ -1536,33 +1602,33 @@ public class PostmanServiceTest {
     }
 
     @Test
-    public void appendKeyValues_should_append_nothing_on_null_keyValues() {
+    public void appendKeyValues_should_append_nothing_on_null_keyValues() throws IOException {
         // GIVEN
-        StringBuilder html = new StringBuilder();
+        StringWriter html = new StringWriter();
 
         // WHEN
         cut.appendKeyValues(html, null);
 
         // THEN
-        assertThat(html).isEmpty();
+        assertThat(html.toString()).isEmpty();
     }
 
     @Test
-    public void appendKeyValues_should_append_nothing_on_empty_keyValues() {
+    public void appendKeyValues_should_append_nothing_on_empty_keyValues() throws IOException {
         // GIVEN
-        StringBuilder html = new StringBuilder();
+        StringWriter html = new StringWriter();
 
         // WHEN
         cut.appendKeyValues(html, new KeyValue[0]);
 
         // THEN
-        assertThat(html).isEmpty();
+        assertThat(html.toString()).isEmpty();
     }
 
     @Test
-    public void appendKeyValues_should_append_escaped_keyValues() {
+    public void appendKeyValues_should_append_escaped_keyValues() throws IOException {
         // GIVEN
-        StringBuilder html = new StringBuilder();
+        StringWriter html = new StringWriter();
         KeyValue[] keyValues = new KeyValue[] {
                 new KeyValue().withKey("key1 with <html>").withValue("value1"),
                 new KeyValue().withKey("key2").withValue("value2 with <html>")
@@ -1579,9 +1645,9 @@ public class PostmanServiceTest {
     }
 
     @Test
-    public void appendRequestBody_should_do_nothing_on_null_body() {
+    public void appendRequestBody_should_do_nothing_on_null_body() throws IOException {
         // GIVEN
-        StringBuilder html = new StringBuilder();
+        StringWriter html = new StringWriter();
 
         // WHEN
         cut.appendRequestBody(html, null);
@@ -1591,9 +1657,9 @@ public class PostmanServiceTest {
     }
 
     @Test
-    public void appendRequestBody_should_do_nothing_on_null_mode() {
+    public void appendRequestBody_should_do_nothing_on_null_mode() throws IOException {
         // GIVEN
-        StringBuilder html = new StringBuilder();
+        StringWriter html = new StringWriter();
         Body body = new Body();
 
         // WHEN
@@ -1604,13 +1670,13 @@ public class PostmanServiceTest {
     }
 
     @Test
-    public void appendRequestBody_should_append_form_data() {
+    public void appendRequestBody_should_append_form_data() throws IOException {
         // GIVEN
-        StringBuilder html = new StringBuilder();
+        StringWriter html = new StringWriter();
         final KeyValue[] formData = new KeyValue[0];
         Body body = new Body().withMode("formdata").withFormData(formData);
         doAnswer(invocation -> {
-            StringBuilder builder = (StringBuilder) invocation.getArguments()[0];
+            Writer builder = (Writer) invocation.getArguments()[0];
             builder.append("prettyFormData");
             return null;
         }).when(cut).appendKeyValues(same(html), same(formData));
@@ -1623,13 +1689,13 @@ public class PostmanServiceTest {
     }
 
     @Test
-    public void appendRequestBody_should_append_url_encoded() {
+    public void appendRequestBody_should_append_url_encoded() throws IOException {
         // GIVEN
-        StringBuilder html = new StringBuilder();
+        StringWriter html = new StringWriter();
         final KeyValue[] urlEncoded = new KeyValue[0];
         Body body = new Body().withMode("urlencoded").withUrlEncoded(urlEncoded);
         doAnswer(invocation -> {
-            StringBuilder builder = (StringBuilder) invocation.getArguments()[0];
+            Writer builder = (Writer) invocation.getArguments()[0];
             builder.append("prettyUrlEncoded");
             return null;
         }).when(cut).appendKeyValues(same(html), same(urlEncoded));
@@ -1642,9 +1708,9 @@ public class PostmanServiceTest {
     }
 
     @Test
-    public void appendRequestBody_should_append_pretty_raw() {
+    public void appendRequestBody_should_append_pretty_raw() throws IOException {
         // GIVEN
-        StringBuilder html = new StringBuilder();
+        StringWriter html = new StringWriter();
         Body body = new Body().withMode("raw").withRaw("<html>");
 
         // WHEN
@@ -1655,9 +1721,9 @@ public class PostmanServiceTest {
     }
 
     @Test
-    public void appendRequestBody_should_append_error_for_unsupported_file() {
+    public void appendRequestBody_should_append_error_for_unsupported_file() throws IOException {
         // GIVEN
-        StringBuilder html = new StringBuilder();
+        StringWriter html = new StringWriter();
         Body body = new Body().withMode("file");
 
         // WHEN
@@ -1669,9 +1735,9 @@ public class PostmanServiceTest {
     }
 
     @Test
-    public void appendRequestBody_should_append_error_for_unknown_mode() {
+    public void appendRequestBody_should_append_error_for_unknown_mode() throws IOException {
         // GIVEN
-        StringBuilder html = new StringBuilder();
+        StringWriter html = new StringWriter();
         Body body = new Body().withMode("unknown");
 
         // WHEN
@@ -1683,9 +1749,9 @@ public class PostmanServiceTest {
     }
 
     @Test
-    public void appendResponseBody_should_append_nothing_when_null_stream_file() {
+    public void appendResponseBody_should_append_nothing_when_null_stream_body() throws IOException {
         // GIVEN
-        StringBuilder html = new StringBuilder();
+        StringWriter html = new StringWriter();
 
         // WHEN
         cut.appendResponseBody(html, new Stream(), "any");
@@ -1695,60 +1761,121 @@ public class PostmanServiceTest {
     }
 
     @Test
-    public void appendResponseBody_should_append_pretty_file_content() throws IOException {
+    public void appendResponseBody_should_append_escaped_and_indented_application_json() throws IOException {
         // GIVEN
-        File tempFile = File.createTempFile("ara_temp_unit_test_file_", ".bin");
-        tempFile.deleteOnExit();
+        StringWriter html = new StringWriter();
+        Stream stream = new Stream().withBody(ResponseBodyBuffer.inMemory(JSON_RAW.getBytes(StandardCharsets.UTF_8)));
 
-        try {
-            StringBuilder html = new StringBuilder();
-            FileUtils.writeStringToFile(tempFile, "content", StandardCharsets.UTF_8);
-            Stream stream = new Stream().withTempFile(tempFile);
-            doReturn("<p>pretty</p>").when(cut).prettyPrint(eq("content"), eq("application/json"));
+        // WHEN
+        cut.appendResponseBody(html, stream, "application/json");
 
+        // THEN
+        assertThat(html.toString()).isEqualTo("<pre>" + cut.escapeHtml(JSON_INDENTED) + "</pre>\n");
+    }
+
+    @Test
+    public void appendResponseBody_should_indent_application_json_with_charset() throws IOException {
+        // GIVEN
+        StringWriter html = new StringWriter();
+        Stream stream = new Stream().withBody(ResponseBodyBuffer.inMemory(JSON_RAW.getBytes(StandardCharsets.UTF_8)));
+
+        // WHEN
+        cut.appendResponseBody(html, stream, "application/json; charset=iso-8859-1");
+
+        // THEN
+        assertThat(html.toString()).isEqualTo("<pre>" + cut.escapeHtml(JSON_INDENTED) + "</pre>\n");
+    }
+
+    @Test
+    public void appendResponseBody_should_not_indent_other_mime_types() throws IOException {
+        // GIVEN
+        StringWriter html = new StringWriter();
+        Stream stream = new Stream().withBody(ResponseBodyBuffer.inMemory(JSON_RAW.getBytes(StandardCharsets.UTF_8)));
+
+        // WHEN
+        cut.appendResponseBody(html, stream, "other/mime-type");
+
+        // THEN
+        assertThat(html.toString()).isEqualTo("<pre>" + cut.escapeHtml(JSON_RAW) + "</pre>\n");
+        verify(cut, never()).writePrettyJson(any(), any());
+    }
+
+    @Test
+    public void appendResponseBody_should_not_indent_malformed_json() throws IOException {
+        // GIVEN
+        StringWriter html = new StringWriter();
+        Stream stream = new Stream().withBody(ResponseBodyBuffer.inMemory("[{malformed".getBytes(StandardCharsets.UTF_8)));
+
+        // WHEN
+        cut.appendResponseBody(html, stream, "application/json");
+
+        // THEN
+        assertThat(html.toString()).isEqualTo("<pre>[{malformed</pre>\n");
+    }
+
+    @Test
+    public void appendResponseBody_should_append_escaped_content_of_spilled_body() throws IOException {
+        // GIVEN
+        StringWriter html = new StringWriter();
+        Stream stream = new Stream().withBody(ResponseBodyBuffer.spilled("<p>content</p>".getBytes(StandardCharsets.UTF_8)));
+
+        try {
             // WHEN
-            cut.appendResponseBody(html, stream, "application/json");
+            cut.appendResponseBody(html, stream, "text/html");
 
             // THEN
-            assertThat(html.toString()).isEqualTo("<pre>&lt;p&gt;pretty&lt;/p&gt;</pre>\n");
+            assertThat(html.toString()).isEqualTo("<pre>&lt;p&gt;content&lt;/p&gt;</pre>\n");
         } finally {
-            FileUtils.deleteQuietly(tempFile);
+            stream.getBody().close();
         }
     }
 
     @Test
-    public void appendResponseBody_should_append_error_message_when_file_read_error() {
+    public void appendResponseBody_should_append_error_message_when_body_read_error() throws IOException {
         // GIVEN
-        StringBuilder html = new StringBuilder();
-        Stream stream = new Stream().withTempFile(new File("nonexistent"));
+        StringWriter html = new StringWriter();
+        ResponseBodyBuffer body = ResponseBodyBuffer.inMemory(new byte[0]);
+        body.close();
+        Stream stream = new Stream().withBody(body);
 
         // WHEN
         cut.appendResponseBody(html, stream, "any");
 
         // THEN
         assertThat(html.toString()).startsWith("<pre>Error in ARA while reading the content of the response received by Newman:\n" +
-                "java.io.FileNotFoundException: File");
+                "java.io.IOException: The response body has already been released");
         assertThat(html.toString()).endsWith("</pre>\n");
     }
 
     @Test
-    public void prettyPrint_should_indent_application_json() {
-        assertThat(cut.prettyPrint(JSON_RAW, "application/json")).isEqualTo(JSON_INDENTED);
-    }
+    public void writePrettyJson_should_indent_json_without_closing_the_output() throws IOException {
+        // GIVEN
+        StringWriter output = new StringWriter();
+        output.write("before ");
 
-    @Test
-    public void prettyPrint_should_indent_application_json_with_charset() {
-        assertThat(cut.prettyPrint(JSON_RAW, "application/json; charset=iso-8859-1")).isEqualTo(JSON_INDENTED);
-    }
+        // WHEN
+        cut.writePrettyJson(new StringReader(JSON_RAW), output);
+        output.write(" after");
 
-    @Test
-    public void prettyPrint_should_not_indent_other_mime_types() {
-        assertThat(cut.prettyPrint(JSON_RAW, "other/mime-type")).isEqualTo(JSON_RAW);
+        // THEN
+        assertThat(output.toString()).isEqualTo("before " + JSON_INDENTED + " after");
     }
 
     @Test
-    public void prettyPrint_should_not_indent_malformed_json() {
-        assertThat(cut.prettyPrint("{malformed", "application/json")).isEqualTo("{malformed");
+    public void writeHttpLogHtml_should_write_the_html_as_utf8() throws IOException {
+        // GIVEN
+        NewmanScenario newmanScenario = new NewmanScenario();
+        doAnswer(invocation -> {
+            invocation.<Writer>getArgument(0).write("<p>\u00e9</p>");
+            return null;
+        }).when(cut).appendHttpLogHtml(any(Writer.class), same(newmanScenario));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // WHEN
+        cut.writeHttpLogHtml(newmanScenario, output);
+
+        // THEN
+        assertThat(output.toString("UTF-8")).isEqualTo("<p>\u00e9</p>");
     }
 
     @Test
@@ -0,0 +1,74 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.scenario.postman.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+import org.junit.jupiter.api.Test;
+
+public class HtmlEscapingWriterTest {
+
+    @Test
+    public void write_should_escape_characters() throws IOException {
+        // GIVEN
+        StringWriter out = new StringWriter();
+
+        // WHEN
+        try (Writer cut = new HtmlEscapingWriter(out)) {
+            cut.write("<p class=\"any\">&amp;");
+        }
+
+        // THEN
+        assertThat(out.toString()).isEqualTo("&lt;p class=&quot;any&quot;&gt;&amp;amp;");
+    }
+
+    @Test
+    public void write_should_keep_surrogate_pairs_split_between_two_writes() throws IOException {
+        // GIVEN
+        StringWriter out = new StringWriter();
+
+        // WHEN
+        try (Writer cut = new HtmlEscapingWriter(out)) {
+            cut.write("<\uD83D");
+            cut.write("\uDE00>");
+        }
+
+        // THEN
+        assertThat(out.toString()).isEqualTo("&lt;\uD83D\uDE00&gt;");
+    }
+
+    @Test
+    public void close_should_remove_a_trailing_unpaired_surrogate_and_not_close_the_underlying_writer() throws IOException {
+        // GIVEN
+        StringWriter out = new StringWriter();
+
+        // WHEN
+        try (Writer cut = new HtmlEscapingWriter(out)) {
+            cut.write("a\uD83D");
+        }
+        out.write("b");
+
+        // THEN
+        assertThat(out.toString()).isEqualTo("ab");
+    }
+
+}
@@ -18,8 +18,11 @@
 package com.decathlon.ara.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -34,12 +37,17 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.AsyncTaskExecutor;
 
 import com.decathlon.ara.ci.bean.Build;
 import com.decathlon.ara.ci.bean.CycleDef;
@@ -50,8 +58,10 @@ import com.decathlon.ara.ci.service.QualityService;
 import com.decathlon.ara.ci.util.JsonParserConsumer;
 import com.decathlon.ara.domain.Country;
 import com.decathlon.ara.domain.CycleDefinition;
+import com.decathlon.ara.domain.ExecutedScenario;
 import com.decathlon.ara.domain.Execution;
 import com.decathlon.ara.domain.ExecutionCompletionRequest;
+import com.decathlon.ara.domain.Run;
 import com.decathlon.ara.domain.Source;
 import com.decathlon.ara.domain.Type;
 import com.decathlon.ara.domain.enumeration.ExecutionAcceptance;
@@ -63,7 +73,10 @@ import com.decathlon.ara.repository.CountryRepository;
 import com.decathlon.ara.repository.ExecutionCompletionRequestRepository;
 import com.decathlon.ara.repository.ExecutionRepository;
 import com.decathlon.ara.repository.ProjectRepository;
+import com.decathlon.ara.repository.SeverityRepository;
 import com.decathlon.ara.repository.TypeRepository;
+import com.decathlon.ara.scenario.common.indexer.IndexingContext;
+import com.decathlon.ara.scenario.common.indexer.ScenariosIndexer;
 import com.decathlon.ara.scenario.common.strategy.ScenariosIndexerStrategy;
 import com.decathlon.ara.service.support.Settings;
 import com.fasterxml.jackson.core.JsonParser;
@@ -115,6 +128,18 @@ public class ExecutionFilesProcessorServiceTest {
     @Mock
     private FileProcessorService fileProcessorService;
 
+    @Mock
+    private AsyncTaskExecutor runIndexingExecutor;
+
+    @Mock
+    private RunFingerprintService runFingerprintService;
+
+    @Mock
+    private TechnologySettingService technologySettingService;
+
+    @Mock
+    private SeverityRepository severityRepository;
+
     @InjectMocks
     private ExecutionFilesProcessorService cut;
 
@@ -128,7 +153,7 @@ public class ExecutionFilesProcessorServiceTest {
         Optional<Execution> execution = cut.getExecution(null);
         assertThat(execution).isEmpty();
         verify(executionCompletionRequestRepository, never()).delete(any(ExecutionCompletionRequest.class));
-        verify(qualityService, never()).computeQuality(any(Execution.class));
+        verify(qualityService, never()).computeQuality(any(Execution.class), anyList());
         verify(scenariosIndexerStrategy, never()).getScenariosIndexer(any(Technology.class));
     }
 
@@ -144,7 +169,7 @@ public class ExecutionFilesProcessorServiceTest {
         Optional<Execution> execution = cut.getExecution(plannedIndexation);
         assertThat(execution).isEmpty();
         verify(executionCompletionRequestRepository, never()).delete(any(ExecutionCompletionRequest.class));
-        verify(qualityService, never()).computeQuality(any(Execution.class));
+        verify(qualityService, never()).computeQuality(any(Execution.class), anyList());
         verify(scenariosIndexerStrategy, never()).getScenariosIndexer(any(Technology.class));
     }
 
@@ -162,7 +187,7 @@ public class ExecutionFilesProcessorServiceTest {
         Optional<Execution> execution = cut.getExecution(plannedIndexation);
         assertThat(execution).isEmpty();
         verify(executionCompletionRequestRepository, never()).delete(any(ExecutionCompletionRequest.class));
-        verify(qualityService, never()).computeQuality(any(Execution.class));
+        verify(qualityService, never()).computeQuality(any(Execution.class), anyList());
         verify(scenariosIndexerStrategy, never()).getScenariosIndexer(any(Technology.class));
     }
 
@@ -185,7 +210,7 @@ public class ExecutionFilesProcessorServiceTest {
         Optional<Execution> execution = cut.getExecution(plannedIndexation);
         assertThat(execution).isEmpty();
         verify(executionCompletionRequestRepository, never()).delete(any(ExecutionCompletionRequest.class));
-        verify(qualityService, never()).computeQuality(any(Execution.class));
+        verify(qualityService, never()).computeQuality(any(Execution.class), anyList());
         verify(scenariosIndexerStrategy, never()).getScenariosIndexer(any(Technology.class));
     }
 
@@ -216,7 +241,7 @@ public class ExecutionFilesProcessorServiceTest {
         Optional<Execution> execution = cut.getExecution(plannedIndexation);
         assertThat(execution).isEmpty();
         verify(executionCompletionRequestRepository, never()).delete(any(ExecutionCompletionRequest.class));
-        verify(qualityService, never()).computeQuality(any(Execution.class));
+        verify(qualityService, never()).computeQuality(any(Execution.class), anyList());
         verify(scenariosIndexerStrategy, never()).getScenariosIndexer(any(Technology.class));
     }
 
@@ -250,7 +275,7 @@ public class ExecutionFilesProcessorServiceTest {
         Optional<Execution> execution = cut.getExecution(plannedIndexation);
         assertThat(execution).isEmpty();
         verify(executionCompletionRequestRepository, never()).delete(any(ExecutionCompletionRequest.class));
-        verify(qualityService, never()).computeQuality(any(Execution.class));
+        verify(qualityService, never()).computeQuality(any(Execution.class), anyList());
         verify(scenariosIndexerStrategy, never()).getScenariosIndexer(any(Technology.class));
     }
 
@@ -315,7 +340,7 @@ public class ExecutionFilesProcessorServiceTest {
         assertThat(execution.get().getRuns()).isEmpty();
         assertThat(execution.get().getCountryDeployments()).isEmpty();
         verify(executionCompletionRequestRepository, never()).delete(any(ExecutionCompletionRequest.class));
-        verify(qualityService, never()).computeQuality(any(Execution.class));
+        verify(qualityService, never()).computeQuality(any(Execution.class), anyList());
         verify(scenariosIndexerStrategy, never()).getScenariosIndexer(any(Technology.class));
     }
 
@@ -382,7 +407,7 @@ public class ExecutionFilesProcessorServiceTest {
         assertThat(execution.get().getRuns()).isEmpty();
         assertThat(execution.get().getCountryDeployments()).isEmpty();
         verify(executionCompletionRequestRepository).delete(executionCompletionRequest);
-        verify(qualityService, never()).computeQuality(any(Execution.class));
+        verify(qualityService, never()).computeQuality(any(Execution.class), anyList());
         verify(scenariosIndexerStrategy, never()).getScenariosIndexer(any(Technology.class));
     }
 
@@ -459,7 +484,7 @@ public class ExecutionFilesProcessorServiceTest {
         assertThat(execution.get().getRuns()).isEmpty();
         assertThat(execution.get().getCountryDeployments()).isEmpty();
         verify(executionCompletionRequestRepository, never()).delete(any(ExecutionCompletionRequest.class));
-        verify(qualityService).computeQuality(execution.get());
+        verify(qualityService).computeQuality(eq(execution.get()), anyList());
         verify(scenariosIndexerStrategy, never()).getScenariosIndexer(any(Technology.class));
     }
 
@@ -771,7 +796,7 @@ public class ExecutionFilesProcessorServiceTest {
                         )
                 );
         verify(executionCompletionRequestRepository, never()).delete(any(ExecutionCompletionRequest.class));
-        verify(qualityService).computeQuality(execution.get());
+        verify(qualityService).computeQuality(eq(execution.get()), anyList());
         verify(scenariosIndexerStrategy, times(2)).getScenariosIndexer(Technology.CUCUMBER);
         verify(scenariosIndexerStrategy).getScenariosIndexer(Technology.POSTMAN);
     }
@@ -991,7 +1016,7 @@ public class ExecutionFilesProcessorServiceTest {
                         )
                 );
         verify(executionCompletionRequestRepository, never()).delete(any(ExecutionCompletionRequest.class));
-        verify(qualityService).computeQuality(execution.get());
+        verify(qualityService).computeQuality(eq(execution.get()), anyList());
         verify(scenariosIndexerStrategy, never()).getScenariosIndexer(Technology.CUCUMBER);
         verify(scenariosIndexerStrategy).getScenariosIndexer(Technology.POSTMAN);
     }
@@ -1220,7 +1245,7 @@ public class ExecutionFilesProcessorServiceTest {
                         )
                 );
         verify(executionCompletionRequestRepository, never()).delete(any(ExecutionCompletionRequest.class));
-        verify(qualityService).computeQuality(execution.get());
+        verify(qualityService).computeQuality(eq(execution.get()), anyList());
         verify(scenariosIndexerStrategy, never()).getScenariosIndexer(Technology.CUCUMBER);
         verify(scenariosIndexerStrategy).getScenariosIndexer(Technology.POSTMAN);
     }
@@ -1504,7 +1529,7 @@ public class ExecutionFilesProcessorServiceTest {
                         )
                 );
         verify(executionCompletionRequestRepository, never()).delete(any(ExecutionCompletionRequest.class));
-        verify(qualityService).computeQuality(execution.get());
+        verify(qualityService).computeQuality(eq(execution.get()), anyList());
         verify(scenariosIndexerStrategy).getScenariosIndexer(Technology.CUCUMBER);
         verify(scenariosIndexerStrategy).getScenariosIndexer(Technology.POSTMAN);
     }
@@ -1803,9 +1828,123 @@ public class ExecutionFilesProcessorServiceTest {
                         )
                 );
         verify(executionCompletionRequestRepository, never()).delete(any(ExecutionCompletionRequest.class));
-        verify(qualityService).computeQuality(execution.get());
+        verify(qualityService).computeQuality(eq(execution.get()), anyList());
         verify(scenariosIndexerStrategy).getScenariosIndexer(Technology.CUCUMBER);
         verify(scenariosIndexerStrategy).getScenariosIndexer(Technology.POSTMAN);
     }
 
+    @Test
+    public void getExecution_returnExecutionWithScenariosOfAllRuns_whenRunsAreIndexedInParallel() {
+        // Given
+        ExecutorService threadPool = Executors.newFixedThreadPool(2);
+        try {
+            PlannedIndexation plannedIndexation = mock(PlannedIndexation.class);
+            File apiFolder = mock(File.class);
+            File desktopFolder = mock(File.class);
+            ScenariosIndexer postmanIndexer = mock(ScenariosIndexer.class);
+            ScenariosIndexer cucumberIndexer = mock(ScenariosIndexer.class);
+
+            mockExecutionOfOneCountryAndTwoTypes(plannedIndexation, apiFolder, desktopFolder, threadPool);
+            when(scenariosIndexerStrategy.getScenariosIndexer(Technology.POSTMAN)).thenReturn(Optional.of(postmanIndexer));
+            when(scenariosIndexerStrategy.getScenariosIndexer(Technology.CUCUMBER)).thenReturn(Optional.of(cucumberIndexer));
+            when(postmanIndexer.getExecutedScenarios(eq(apiFolder), any(Run.class), any(IndexingContext.class)))
+                    .thenReturn(Arrays.asList(new ExecutedScenario().withName("Api scenario")));
+            when(cucumberIndexer.getExecutedScenarios(eq(desktopFolder), any(Run.class), any(IndexingContext.class)))
+                    .thenReturn(Arrays.asList(
+                            new ExecutedScenario().withName("Desktop scenario 2"),
+                            new ExecutedScenario().withName("Desktop scenario 1")));
+
+            // When
+            Optional<Execution> execution = cut.getExecution(plannedIndexation);
+
+            // Then
+            assertThat(execution).isNotEmpty();
+            assertThat(execution.get().getRuns())
+                    .extracting(
+                            run -> run.getType().getCode(),
+                            run -> run.getExecutedScenarios().stream().map(ExecutedScenario::getName).collect(Collectors.toList()))
+                    .containsOnly(
+                            tuple("api", Arrays.asList("Api scenario")),
+                            tuple("desktop", Arrays.asList("Desktop scenario 1", "Desktop scenario 2")));
+            verify(runIndexingExecutor, times(2)).submit(any(Callable.class));
+        } finally {
+            threadPool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void getExecution_throwFailureOfTheRun_whenOneOfTheRunsIndexedInParallelFails() {
+        // Given
+        ExecutorService threadPool = Executors.newFixedThreadPool(2);
+        try {
+            PlannedIndexation plannedIndexation = mock(PlannedIndexation.class);
+            File apiFolder = mock(File.class);
+            File desktopFolder = mock(File.class);
+            ScenariosIndexer postmanIndexer = mock(ScenariosIndexer.class);
+            ScenariosIndexer cucumberIndexer = mock(ScenariosIndexer.class);
+            IllegalStateException failure = new IllegalStateException("Unreadable report");
+
+            mockExecutionOfOneCountryAndTwoTypes(plannedIndexation, apiFolder, desktopFolder, threadPool);
+            when(scenariosIndexerStrategy.getScenariosIndexer(Technology.POSTMAN)).thenReturn(Optional.of(postmanIndexer));
+            when(scenariosIndexerStrategy.getScenariosIndexer(Technology.CUCUMBER)).thenReturn(Optional.of(cucumberIndexer));
+            when(postmanIndexer.getExecutedScenarios(eq(apiFolder), any(Run.class), any(IndexingContext.class)))
+                    .thenReturn(Arrays.asList(new ExecutedScenario().withName("Api scenario")));
+            when(cucumberIndexer.getExecutedScenarios(eq(desktopFolder), any(Run.class), any(IndexingContext.class)))
+                    .thenThrow(failure);
+
+            // When
+            Throwable thrown = catchThrowable(() -> cut.getExecution(plannedIndexation));
+
+            // Then
+            assertThat(thrown).isSameAs(failure);
+            verify(qualityService, never()).computeQuality(any(Execution.class), anyList());
+        } finally {
+            threadPool.shutdownNow();
+        }
+    }
+
+    /**
+     * Mock an execution folder with a "fr" country folder, itself containing an "api" (Postman) and a "desktop"
+     * (Cucumber) run folder, whose runs are indexed on the given thread pool.
+     */
+    private void mockExecutionOfOneCountryAndTwoTypes(PlannedIndexation plannedIndexation, File apiFolder, File desktopFolder, ExecutorService threadPool) {
+        File executionFolder = mock(File.class);
+        File frFolder = mock(File.class);
+        CycleDefinition cycleDefinition = mock(CycleDefinition.class);
+        PlatformRule platformRule = new PlatformRule()
+                .withEnabled(true)
+                .withCountry("fr")
+                .withTestTypes("api,desktop");
+        Map<String, List<PlatformRule>> platformRules = new HashMap<>();
+        platformRules.put("integration", Arrays.asList(platformRule));
+        CycleDef cycleDef = new CycleDef().withPlatformsRules(platformRules);
+
+        when(plannedIndexation.getExecutionFolder()).thenReturn(executionFolder);
+        when(plannedIndexation.getCycleDefinition()).thenReturn(cycleDefinition);
+        when(cycleDefinition.getProjectId()).thenReturn(1L);
+        when(settingService.get(1L, Settings.EXECUTION_INDEXER_FILE_BUILD_INFORMATION_PATH)).thenReturn(BUILD_INFORMATION_FILE_NAME);
+        when(settingService.get(1L, Settings.EXECUTION_INDEXER_FILE_CYCLE_DEFINITION_PATH)).thenReturn(CYCLE_DEFINITION_FILE_NAME);
+        when(fileProcessorService.getMappedObjectFromFile(executionFolder, BUILD_INFORMATION_FILE_NAME, Build.class)).thenReturn(Optional.of(new Build()));
+        when(fileProcessorService.getMappedObjectFromFile(executionFolder, CYCLE_DEFINITION_FILE_NAME, CycleDef.class)).thenReturn(Optional.of(cycleDef));
+        when(countryRepository.findAllByProjectIdOrderByCode(1L)).thenReturn(Arrays.asList(new Country().withCode("fr")));
+        when(typeRepository.findAllByProjectIdOrderByCode(1L)).thenReturn(Arrays.asList(
+                new Type().withCode("api").withSource(new Source().withTechnology(Technology.POSTMAN)),
+                new Type().withCode("desktop").withSource(new Source().withTechnology(Technology.CUCUMBER))));
+
+        when(executionFolder.listFiles()).thenReturn(new File[] { frFolder });
+        when(frFolder.isDirectory()).thenReturn(true);
+        when(frFolder.getName()).thenReturn("fr");
+        when(frFolder.listFiles()).thenReturn(new File[] { apiFolder, desktopFolder });
+        when(apiFolder.isDirectory()).thenReturn(true);
+        when(apiFolder.getName()).thenReturn("api");
+        when(desktopFolder.isDirectory()).thenReturn(true);
+        when(desktopFolder.getName()).thenReturn("desktop");
+        when(fileProcessorService.getMappedObjectFromFile(frFolder, BUILD_INFORMATION_FILE_NAME, Build.class)).thenReturn(Optional.empty());
+        when(fileProcessorService.getMappedObjectFromFile(apiFolder, BUILD_INFORMATION_FILE_NAME, Build.class)).thenReturn(Optional.empty());
+        when(fileProcessorService.getMappedObjectFromFile(desktopFolder, BUILD_INFORMATION_FILE_NAME, Build.class)).thenReturn(Optional.empty());
+
+        when(runIndexingExecutor.submit(any(Callable.class)))
+                .thenAnswer(invocation -> threadPool.submit((Callable<?>) invocation.getArgument(0)));
+    }
+
 }
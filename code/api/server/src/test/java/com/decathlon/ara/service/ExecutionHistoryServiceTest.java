@@ -18,8 +18,12 @@
 package com.decathlon.ara.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -171,4 +175,31 @@ public class ExecutionHistoryServiceTest {
         assertThat(qualitiesPerSeverity.get("medium").getHandled()).isEqualTo(1);
     }
 
+    @Test
+    public void getExecutedScenarioHandlingCountsFor_should_count_scenarios_of_all_executions_with_one_query() {
+        // GIVEN
+        List<Long> executionIds = Arrays.asList(Long.valueOf(1), Long.valueOf(2), Long.valueOf(3));
+        Map<Long, List<ExecutedScenarioWithErrorAndProblemJoin>> joins = new HashMap<>();
+        joins.put(Long.valueOf(1), Arrays.asList(
+                new ExecutedScenarioWithErrorAndProblemJoin(11, 10, "medium", "Passed", 0, 0),
+                new ExecutedScenarioWithErrorAndProblemJoin(12, 10, "medium", "Unhandled", 1, 0),
+                new ExecutedScenarioWithErrorAndProblemJoin(13, 10, "medium", "Handled and unhandled", 1, 1)));
+        joins.put(Long.valueOf(2), Collections.singletonList(
+                new ExecutedScenarioWithErrorAndProblemJoin(21, 20, "medium", "Handled", 0, 1)));
+        when(executedScenarioRepository.findAllErrorAndProblemCountsByExecutionIds(executionIds)).thenReturn(joins);
+
+        // WHEN
+        Map<Long, ExecutedScenarioHandlingCountsDTO> counts = cut.getExecutedScenarioHandlingCountsFor(executionIds);
+
+        // THEN
+        assertThat(counts).hasSize(3);
+        assertThat(counts.get(Long.valueOf(1)).getPassed()).isEqualTo(1);
+        assertThat(counts.get(Long.valueOf(1)).getUnhandled()).isEqualTo(1);
+        assertThat(counts.get(Long.valueOf(1)).getHandled()).isEqualTo(1);
+        assertThat(counts.get(Long.valueOf(2)).getHandled()).isEqualTo(1);
+        assertThat(counts.get(Long.valueOf(2)).getTotal()).isEqualTo(1);
+        assertThat(counts.get(Long.valueOf(3)).getTotal()).isZero();
+        verify(executedScenarioRepository, times(1)).findAllErrorAndProblemCountsByExecutionIds(executionIds);
+    }
+
 }
@@ -0,0 +1,200 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import com.decathlon.ara.configuration.AraConfiguration;
+import com.decathlon.ara.domain.ExecutionIndexingJob;
+import com.decathlon.ara.domain.Project;
+import com.decathlon.ara.domain.enumeration.ExecutionIndexingJobStatus;
+import com.decathlon.ara.repository.ExecutionIndexingJobRepository;
+import com.decathlon.ara.repository.ProjectRepository;
+import com.decathlon.ara.service.exception.NotFoundException;
+import com.decathlon.ara.service.mapper.ExecutionIndexingJobMapper;
+
+@ExtendWith(MockitoExtension.class)
+public class ExecutionIndexingJobServiceTest {
+
+    @Mock
+    private ExecutionIndexingJobRepository executionIndexingJobRepository;
+
+    @Mock
+    private ExecutionIndexingJobMapper executionIndexingJobMapper;
+
+    @Mock
+    private ExecutionService executionService;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private AraConfiguration araConfiguration;
+
+    @Mock
+    private AsyncTaskExecutor indexingJobExecutor;
+
+    @InjectMocks
+    private ExecutionIndexingJobService cut;
+
+    @Test
+    public void dispatch_ShouldClaimJobsOfThisNode_UntilAllWorkersAreBusy() {
+        // GIVEN
+        when(araConfiguration.getIndexingJobWorkerCount()).thenReturn(2);
+        when(araConfiguration.getIndexingJobMaxConcurrencyPerProject()).thenReturn(1);
+        when(araConfiguration.getIndexingJobNodeName()).thenReturn("node-1");
+        ExecutionIndexingJob job1 = job(1, 10, "day");
+        ExecutionIndexingJob job2 = job(2, 20, "day");
+        ExecutionIndexingJob job3 = job(3, 30, "day");
+        when(executionIndexingJobRepository.findAllByNodeAndStatusOrderById("node-1", ExecutionIndexingJobStatus.PENDING))
+                .thenReturn(Arrays.asList(job1, job2, job3));
+        when(executionIndexingJobRepository.claim(any(ExecutionIndexingJob.class), eq("node-1"), eq(1), any(Date.class))).thenReturn(true);
+
+        // WHEN
+        cut.dispatch();
+
+        // THEN
+        verify(executionIndexingJobRepository).claim(same(job1), eq("node-1"), eq(1), any(Date.class));
+        verify(executionIndexingJobRepository).claim(same(job2), eq("node-1"), eq(1), any(Date.class));
+        verify(executionIndexingJobRepository, never()).claim(same(job3), any(), anyInt(), any());
+        verify(indexingJobExecutor, times(2)).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void dispatch_ShouldNotRunJob_WhenClaimIsRefused() {
+        // GIVEN
+        when(araConfiguration.getIndexingJobWorkerCount()).thenReturn(2);
+        when(araConfiguration.getIndexingJobMaxConcurrencyPerProject()).thenReturn(1);
+        when(araConfiguration.getIndexingJobNodeName()).thenReturn("node-1");
+        when(executionIndexingJobRepository.findAllByNodeAndStatusOrderById("node-1", ExecutionIndexingJobStatus.PENDING))
+                .thenReturn(Arrays.asList(job(1, 10, "day"), job(2, 10, "night")));
+        when(executionIndexingJobRepository.claim(any(ExecutionIndexingJob.class), eq("node-1"), eq(1), any(Date.class))).thenReturn(false, true);
+
+        // WHEN
+        cut.dispatch();
+
+        // THEN
+        verify(executionIndexingJobRepository, times(2)).claim(any(ExecutionIndexingJob.class), eq("node-1"), eq(1), any(Date.class));
+        verify(indexingJobExecutor, times(1)).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void poll_ShouldRenewLeasesOfRunningJobs_AndRequeueAbandonedOnes() {
+        // GIVEN
+        when(araConfiguration.getIndexingJobWorkerCount()).thenReturn(2);
+        when(araConfiguration.getIndexingJobMaxConcurrencyPerProject()).thenReturn(1);
+        when(araConfiguration.getIndexingJobNodeName()).thenReturn("node-1");
+        when(araConfiguration.getIndexingJobTimeoutInMinutes()).thenReturn(10);
+        when(executionIndexingJobRepository.findAllByNodeAndStatusOrderById("node-1", ExecutionIndexingJobStatus.PENDING))
+                .thenReturn(Arrays.asList(job(1, 10, "day")), Collections.emptyList());
+        when(executionIndexingJobRepository.claim(any(ExecutionIndexingJob.class), eq("node-1"), eq(1), any(Date.class))).thenReturn(true);
+        cut.dispatch(); // Job 1 is now running (the mocked executor never ends it)
+        long before = System.currentTimeMillis();
+
+        // WHEN
+        cut.poll();
+
+        // THEN
+        verify(executionIndexingJobRepository).renewLeases(eq(Arrays.asList(Long.valueOf(1))), any(Date.class));
+        ArgumentCaptor<Date> abandonedBefore = ArgumentCaptor.forClass(Date.class);
+        verify(executionIndexingJobRepository).requeueRunningJobsWithHeartbeatBefore(abandonedBefore.capture());
+        assertThat(abandonedBefore.getValue().getTime()).isLessThanOrEqualTo(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(10));
+        assertThat(abandonedBefore.getValue().getTime()).isGreaterThanOrEqualTo(before - TimeUnit.MINUTES.toMillis(10));
+    }
+
+    @Test
+    public void dispatch_ShouldFailTheJobBeforeDeletingItsZip_WhenIndexingThrowsAnError() throws IOException {
+        // GIVEN
+        File zip = File.createTempFile("ara-job-", ".zip");
+        ExecutionIndexingJob job = job(1, 10, "day").withZipPath(zip.getAbsolutePath());
+        when(araConfiguration.getIndexingJobWorkerCount()).thenReturn(1);
+        when(araConfiguration.getIndexingJobMaxConcurrencyPerProject()).thenReturn(1);
+        when(araConfiguration.getIndexingJobNodeName()).thenReturn("node-1");
+        when(executionIndexingJobRepository.findAllByNodeAndStatusOrderById("node-1", ExecutionIndexingJobStatus.PENDING))
+                .thenReturn(Arrays.asList(job));
+        when(executionIndexingJobRepository.claim(same(job), eq("node-1"), eq(1), any(Date.class))).thenReturn(true);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(indexingJobExecutor).execute(any(Runnable.class));
+        Project project = new Project();
+        project.setCode("p");
+        when(projectRepository.findById(Long.valueOf(10))).thenReturn(Optional.of(project));
+        doThrow(new OutOfMemoryError("Java heap space"))
+                .when(executionService).indexStoredExecutionReport(10, "p", "develop", "day", zip);
+        when(executionIndexingJobRepository.findById(Long.valueOf(1))).thenReturn(Optional.of(job));
+
+        // WHEN
+        assertThrows(OutOfMemoryError.class, () -> cut.dispatch());
+
+        // THEN
+        ArgumentCaptor<ExecutionIndexingJob> savedJob = ArgumentCaptor.forClass(ExecutionIndexingJob.class);
+        verify(executionIndexingJobRepository).save(savedJob.capture());
+        assertThat(savedJob.getValue().getStatus()).isEqualTo(ExecutionIndexingJobStatus.FAILED);
+        assertThat(savedJob.getValue().getErrorMessage()).isEqualTo("java.lang.OutOfMemoryError: Java heap space");
+        assertThat(zip).doesNotExist();
+    }
+
+    @Test
+    public void findOne_ShouldThrowNotFoundException_WhenJobIsNotInProject() {
+        // GIVEN
+        when(executionIndexingJobRepository.findByProjectIdAndId(1, 42)).thenReturn(Optional.empty());
+
+        // WHEN / THEN
+        NotFoundException exception = assertThrows(NotFoundException.class, () -> cut.findOne(1, 42));
+        assertThat(exception.getResourceName()).isEqualTo("execution");
+    }
+
+    private static ExecutionIndexingJob job(long id, long projectId, String cycle) {
+        ExecutionIndexingJob job = new ExecutionIndexingJob();
+        job.setId(Long.valueOf(id));
+        job.setProjectId(projectId);
+        job.setBranch("develop");
+        job.setCycle(cycle);
+        job.setStatus(ExecutionIndexingJobStatus.PENDING);
+        return job;
+    }
+
+}
@@ -18,26 +18,36 @@
 package com.decathlon.ara.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.junit.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
-import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -45,20 +55,27 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mock.web.MockMultipartFile;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.data.domain.PageRequest;
 
 import com.decathlon.ara.ci.bean.PlannedIndexation;
 import com.decathlon.ara.ci.service.ExecutionIndexerService;
 import com.decathlon.ara.domain.CycleDefinition;
+import com.decathlon.ara.domain.ExecutedScenario;
 import com.decathlon.ara.domain.Execution;
 import com.decathlon.ara.domain.ExecutionCompletionRequest;
 import com.decathlon.ara.domain.enumeration.JobStatus;
 import com.decathlon.ara.domain.enumeration.QualityStatus;
+import com.decathlon.ara.domain.filter.ExecutedScenarioFilter;
+import com.decathlon.ara.domain.projection.MatchingExecutedScenario;
 import com.decathlon.ara.repository.CycleDefinitionRepository;
+import com.decathlon.ara.repository.ExecutedScenarioRepository;
 import com.decathlon.ara.repository.ExecutionCompletionRequestRepository;
 import com.decathlon.ara.repository.ExecutionRepository;
 import com.decathlon.ara.repository.FunctionalityRepository;
+import com.decathlon.ara.service.dto.execution.ExecutionCriteriaDTO;
+import com.decathlon.ara.service.dto.execution.ExecutionWithCountryDeploymentsAndRunsAndExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO;
+import com.decathlon.ara.service.dto.run.RunWithExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO;
+import com.decathlon.ara.service.exception.NotFoundException;
 import com.decathlon.ara.service.mapper.ExecutionMapper;
 import com.decathlon.ara.service.mapper.ExecutionWithHandlingCountsMapper;
 import com.decathlon.ara.service.support.Settings;
@@ -76,6 +93,9 @@ public class ExecutionServiceTest {
     @Mock
     private FunctionalityRepository functionalityRepository;
 
+    @Mock
+    private ExecutedScenarioRepository executedScenarioRepository;
+
     @Mock
     private ExecutionMapper executionMapper;
 
@@ -110,6 +130,53 @@ public class ExecutionServiceTest {
     @InjectMocks
     private ExecutionService cut;
 
+    @Test
+    public void findOneWithRuns_should_load_only_the_page_of_scenarios_matching_the_team_of_each_run() throws NotFoundException {
+        // GIVEN
+        long projectId = 1;
+        long executionId = 2;
+        Execution execution = new Execution();
+        when(executionRepository.findByProjectIdAndId(projectId, executionId)).thenReturn(execution);
+        when(functionalityRepository.getFunctionalityTeamIds(projectId)).thenReturn(Collections.singletonMap(Long.valueOf(10), Long.valueOf(100)));
+        ExecutionCriteriaDTO criteria = new ExecutionCriteriaDTO();
+        criteria.setWithSucceed(true);
+        criteria.setTeam(Long.valueOf(100));
+        ArgumentCaptor<ExecutedScenarioFilter> filter = ArgumentCaptor.forClass(ExecutedScenarioFilter.class);
+        when(executedScenarioRepository.findMatchingExecutedScenarios(filter.capture())).thenReturn(Arrays.asList(
+                new MatchingExecutedScenario(1, 11, "Functionality 10: Team scenario"),
+                new MatchingExecutedScenario(2, 11, "Functionality 10: Second team scenario"),
+                new MatchingExecutedScenario(3, 11, "No team"),
+                new MatchingExecutedScenario(4, 12, "Blamed on the team"),
+                new MatchingExecutedScenario(5, 12, "Another team")));
+        when(executedScenarioRepository.findIdsWithProblemsBlamedOnTeam(executionId, 100)).thenReturn(Collections.singleton(Long.valueOf(4)));
+        ExecutedScenario scenario1 = new ExecutedScenario().withId(Long.valueOf(1)).withRunId(Long.valueOf(11));
+        ExecutedScenario scenario4 = new ExecutedScenario().withId(Long.valueOf(4)).withRunId(Long.valueOf(12));
+        when(executedScenarioRepository.findAllById(new HashSet<>(Arrays.asList(Long.valueOf(1), Long.valueOf(4)))))
+                .thenReturn(Arrays.asList(scenario1, scenario4));
+        Map<Long, List<ExecutedScenario>> expectedScenariosPerRun = new HashMap<>();
+        expectedScenariosPerRun.put(Long.valueOf(11), Collections.singletonList(scenario1));
+        expectedScenariosPerRun.put(Long.valueOf(12), Collections.singletonList(scenario4));
+        RunWithExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO run11 = new RunWithExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO();
+        run11.setId(Long.valueOf(11));
+        run11.setExecutedScenarios(new ArrayList<>());
+        RunWithExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO run12 = new RunWithExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO();
+        run12.setId(Long.valueOf(12));
+        run12.setExecutedScenarios(new ArrayList<>());
+        ExecutionWithCountryDeploymentsAndRunsAndExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO dto = new ExecutionWithCountryDeploymentsAndRunsAndExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO();
+        dto.setRuns(Arrays.asList(run11, run12));
+        when(executionTransformer.toFullyDetailledDto(execution, expectedScenariosPerRun)).thenReturn(dto);
+
+        // WHEN
+        ExecutionWithCountryDeploymentsAndRunsAndExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO result = cut.findOneWithRuns(projectId, executionId, criteria, PageRequest.of(0, 1));
+
+        // THEN
+        assertThat(result).isSameAs(dto);
+        assertThat(filter.getValue().getExecutionId()).isEqualTo(executionId);
+        assertThat(filter.getValue().isWithSucceed()).isTrue();
+        assertThat(run11.getMatchingExecutedScenarioCount()).isEqualTo(2);
+        assertThat(run12.getMatchingExecutedScenarioCount()).isEqualTo(1);
+    }
+
     @Test
     public void requestCompletion_should_register_request_when_execution_not_crawled_yet() {
         // GIVEN
@@ -377,77 +444,93 @@ public class ExecutionServiceTest {
     }
 
     @Test
-    public void uploadExecutionReport_should_call_the_indexer() throws IOException {
+    public void indexStoredExecutionReport_should_throw_IllegalArgumentException_if_cycle_doesnt_exist() throws IOException {
         // Given
         long projectId = 23L;
-        String projectCode = "prj";
-        String branch = "master";
-        String cycle = "day";
-        MultipartFile zip = new MockMultipartFile("zip", "test.zip", "application/zip", new byte[0]);
-        CycleDefinition cycleDefinition = new CycleDefinition(1L, projectId, branch, cycle, 1);
-        File executionPath = new File("/opt/executions/123");
-        PlannedIndexation plannedIndexation = new PlannedIndexation().withCycleDefinition(cycleDefinition).withExecutionFolder(executionPath);
-        List<File> unzipMock = Collections.singletonList(executionPath);
-        doReturn(unzipMock).when(cut).unzipExecutions(any(), any(), any());
-        doReturn("/opt/data/{{project}}/{{branch}}/{{cycle}}").when(settingService).get(projectId, Settings.EXECUTION_INDEXER_FILE_EXECUTION_BASE_PATH);
-        doReturn(Optional.of(cycleDefinition)).when(cycleDefinitionRepository).findByProjectIdAndBranchAndName(projectId, branch, cycle);
-        doNothing().when(executionIndexerService).indexExecution(any());
+        File zip = new File("/opt/ara/queued/unknown-cycle.zip");
+        doReturn(Optional.empty()).when(cycleDefinitionRepository).findByProjectIdAndBranchAndName(projectId, "master", "day");
         // When
-        cut.uploadExecutionReport(projectId, projectCode, branch, cycle, zip);
+        assertThrows(IllegalArgumentException.class, () -> cut.indexStoredExecutionReport(projectId, "prj", "master", "day", zip));
         // Then
-        verify(executionIndexerService).indexExecution(plannedIndexation);
+        verify(archiveService, never()).unzip(any(InputStream.class), any());
+        verify(executionIndexerService, never()).indexExecution(any());
     }
 
     @Test
-    public void uploadExecutionReport_should_throw_IllegalArgumentException_if_cycle_doesnt_exists() throws IOException {
+    public void indexStoredExecutionReport_should_index_from_the_archive_without_extracting_it_when_deleting_files_after_indexing() throws IOException {
         // Given
         long projectId = 23L;
-        String projectCode = "prj";
-        String branch = "master";
-        String cycle = "day";
-        MultipartFile zip = new MockMultipartFile("zip", "test.zip", "application/zip", new byte[0]);
-        doReturn(Optional.empty()).when(cycleDefinitionRepository).findByProjectIdAndBranchAndName(projectId, branch, cycle);
-        // When
-        assertThrows(IllegalArgumentException.class, () -> cut.uploadExecutionReport(projectId, projectCode, branch, cycle, zip));
+        File directory = Files.createTempDirectory("ara-indexStoredExecutionReport-").toFile();
+        try {
+            File zip = zip(directory, "123/", "123/buildInformation.json");
+            CycleDefinition cycleDefinition = mockFileIndexer(projectId, directory, true);
+            // When
+            cut.indexStoredExecutionReport(projectId, "prj", "master", "day", zip);
+            // Then
+            ArgumentCaptor<PlannedIndexation> plannedIndexation = ArgumentCaptor.forClass(PlannedIndexation.class);
+            verify(executionIndexerService).indexExecution(plannedIndexation.capture());
+            assertThat(plannedIndexation.getValue().getCycleDefinition()).isSameAs(cycleDefinition);
+            assertThat(plannedIndexation.getValue().getExecutionFolder()).isEqualTo(new File(directory, "prj/master/day/incoming/123"));
+            assertThat(StringUtils.removeEnd(String.valueOf(plannedIndexation.getValue().getExecutionArchiveFolder().getFileName()), "/")).isEqualTo("123");
+            verify(archiveService, never()).unzip(any(InputStream.class), any());
+            assertThat(new File(directory, "prj/master/day/incoming")).doesNotExist();
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
     }
 
     @Test
-    public void unzipExecutions_should_call_unzip_and_return_result() throws IOException {
-        // GIVEN
-        File target = new File(System.getProperty("java.io.tmpdir"),"ara-unzipExecutions-" +
-                new Date().getTime());
-        target.mkdir(); // Will log in warning level due to the fact that cut will try to recreate it.
-        new File(target, "tmp").createNewFile(); // To make the directory not empty.
-        MultipartFile file = new MockMultipartFile("zip", "test.zip", "application/zip", new byte[0]);
-        doNothing().when(archiveService).unzip(file, target);
-        List<File> executions = new ArrayList<>();
-        executions.add(new File(target, "execution1"));
-        doReturn(executions).when(cut).retrieveAllExecutionDirectories(target, "buildInformation.json");
+    public void indexStoredExecutionReport_should_extract_to_incoming_when_keeping_files_after_indexing() throws IOException {
+        // Given
+        long projectId = 23L;
+        File directory = Files.createTempDirectory("ara-indexStoredExecutionReport-").toFile();
         try {
-            // WHEN
-            List<File> files = this.cut.unzipExecutions(target, file, "buildInformation.json");
-            // THEN
-            verify(archiveService).unzip(file, target);
-            assertThat(files).hasSize(1);
-            assertThat(files.get(0)).isEqualTo(new File(target, "execution1"));
+            File zip = zip(directory, "123/", "123/buildInformation.json");
+            mockFileIndexer(projectId, directory, false);
+            File incoming = new File(directory, "prj/master/day/incoming");
+            doAnswer(invocation -> {
+                File buildInformation = new File(incoming, "123/buildInformation.json");
+                buildInformation.getParentFile().mkdirs();
+                return Boolean.valueOf(buildInformation.createNewFile());
+            }).when(archiveService).unzip(any(InputStream.class), eq(incoming));
+            // When
+            cut.indexStoredExecutionReport(projectId, "prj", "master", "day", zip);
+            // Then
+            ArgumentCaptor<PlannedIndexation> plannedIndexation = ArgumentCaptor.forClass(PlannedIndexation.class);
+            verify(executionIndexerService).indexExecution(plannedIndexation.capture());
+            assertThat(plannedIndexation.getValue().getExecutionFolder()).isEqualTo(new File(incoming, "123"));
+            assertThat(plannedIndexation.getValue().getExecutionArchiveFolder()).isNull();
+            assertThat(new File(incoming, "123/buildInformation.json")).exists();
         } finally {
-            FileUtils.deleteQuietly(target);
+            FileUtils.deleteQuietly(directory);
         }
     }
 
     @Test
-    public void unzipExecutions_should_propagate_ioexception_from_archiveservice() throws IOException {
-        // GIVEN
-        File target = new File(System.getProperty("java.io.tmpdir"),"ara-unzipExecutions-" +
-                new Date().getTime());
-        MultipartFile file = new MockMultipartFile("zip", "test.zip", "application/zip", new byte[0]);
-        doThrow(new IOException("Unable to write")).when(archiveService).unzip(file, target);
+    public void indexStoredExecutionReport_should_only_index_the_numbered_folders_having_build_information_in_the_zip() throws IOException {
+        // Given
+        long projectId = 23L;
+        File directory = Files.createTempDirectory("ara-indexStoredExecutionReport-").toFile();
         try {
-            // WHEN
-            assertThrows(IOException.class, () -> this.cut.unzipExecutions(target, file, "buildInformation.json"));
-            // Then is made by the annotation.
+            File zip = zip(directory,
+                    "123/", "123/buildInformation.json",
+                    "124/", "124/other.json",
+                    "abc/", "abc/buildInformation.json",
+                    "125/", "125/buildInformation.json",
+                    "buildInformation.json");
+            mockFileIndexer(projectId, directory, true);
+            // When
+            cut.indexStoredExecutionReport(projectId, "prj", "master", "day", zip);
+            // Then
+            ArgumentCaptor<PlannedIndexation> plannedIndexation = ArgumentCaptor.forClass(PlannedIndexation.class);
+            verify(executionIndexerService, times(2)).indexExecution(plannedIndexation.capture());
+            assertThat(plannedIndexation.getAllValues())
+                    .extracting(PlannedIndexation::getExecutionFolder)
+                    .containsExactlyInAnyOrder(
+                            new File(directory, "prj/master/day/incoming/123"),
+                            new File(directory, "prj/master/day/incoming/125"));
         } finally {
-            FileUtils.deleteQuietly(target);
+            FileUtils.deleteQuietly(directory);
         }
     }
 
@@ -587,4 +670,27 @@ public class ExecutionServiceTest {
             FileUtils.deleteQuietly(directory);
         }
     }
+
+    private CycleDefinition mockFileIndexer(long projectId, File directory, boolean deleteAfterIndexing) {
+        CycleDefinition cycleDefinition = new CycleDefinition(1L, projectId, "master", "day", 1);
+        doReturn(Optional.of(cycleDefinition)).when(cycleDefinitionRepository).findByProjectIdAndBranchAndName(projectId, "master", "day");
+        doReturn(directory.getAbsolutePath() + "/{{project}}/{{branch}}/{{cycle}}")
+                .when(settingService).get(projectId, Settings.EXECUTION_INDEXER_FILE_EXECUTION_BASE_PATH);
+        doReturn("buildInformation.json").when(settingService).get(projectId, Settings.EXECUTION_INDEXER_FILE_BUILD_INFORMATION_PATH);
+        doReturn(Boolean.valueOf(deleteAfterIndexing))
+                .when(settingService).getBoolean(projectId, Settings.EXECUTION_INDEXER_FILE_DELETE_AFTER_INDEXING_AS_DONE);
+        return cycleDefinition;
+    }
+
+    private static File zip(File directory, String... entryNames) throws IOException {
+        File zip = new File(directory, "executions.zip");
+        try (ZipOutputStream output = new ZipOutputStream(new FileOutputStream(zip))) {
+            for (String entryName : entryNames) {
+                output.putNextEntry(new ZipEntry(entryName));
+                output.closeEntry();
+            }
+        }
+        return zip;
+    }
+
 }
@@ -0,0 +1,109 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class FileProcessorServiceTest {
+
+    private final FileProcessorService cut = new FileProcessorService(new ObjectMapper());
+
+    private Path tempDirectory;
+
+    private FileSystem zip;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        tempDirectory = Files.createTempDirectory("ara_temp_unit_test_directory_");
+        Path zipFile = tempDirectory.resolve("execution.zip");
+        try (OutputStream output = Files.newOutputStream(zipFile); ZipOutputStream zipOutput = new ZipOutputStream(output)) {
+            zipOutput.putNextEntry(new ZipEntry("1234/buildInformation.json"));
+            zipOutput.write("{\"url\":\"http://build/\"}".getBytes(StandardCharsets.UTF_8));
+            zipOutput.putNextEntry(new ZipEntry("1234/fr/api/steps.json"));
+            zipOutput.write("[\"step 1\",\"step 2\"]".getBytes(StandardCharsets.UTF_8));
+        }
+        zip = FileSystems.newFileSystem(zipFile, getClass().getClassLoader());
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        zip.close();
+        FileUtils.deleteQuietly(tempDirectory.toFile());
+    }
+
+    @Test
+    public void getMappedObjectFromPath_should_read_the_file_straight_from_the_zip() {
+        // GIVEN
+        Path executionFolder = zip.getPath("/1234");
+
+        // WHEN
+        @SuppressWarnings("unchecked")
+        Optional<Map<String, String>> build = cut.getMappedObjectFromPath(executionFolder, "/buildInformation.json", Map.class).map(map -> (Map<String, String>) map);
+
+        // THEN
+        assertThat(build).isPresent();
+        assertThat(build.get()).containsEntry("url", "http://build/");
+    }
+
+    @Test
+    public void getMappedObjectListFromPath_should_read_the_list_from_a_zip_sub_folder() {
+        // GIVEN
+        Path executionFolder = zip.getPath("/1234");
+
+        // WHEN
+        List<String> steps = cut.getMappedObjectListFromPath(executionFolder, "fr/api/steps.json", String.class);
+
+        // THEN
+        assertThat(steps).containsExactly("step 1", "step 2");
+    }
+
+    @Test
+    public void getMatchingDirectoryPath_and_getMatchingSimplePath_should_check_the_entry_type() {
+        // GIVEN
+        Path executionFolder = zip.getPath("/1234");
+
+        // WHEN / THEN
+        assertThat(cut.getMatchingDirectoryPath(executionFolder, "fr/api")).isPresent();
+        assertThat(cut.getMatchingSimplePath(executionFolder, "fr/api")).isNotPresent();
+        assertThat(cut.getMatchingSimplePath(executionFolder, "fr/api/steps.json")).isPresent();
+        assertThat(cut.getMatchingDirectoryPath(executionFolder, "fr/api/steps.json")).isNotPresent();
+        assertThat(cut.getMatchingSimplePath(executionFolder, "unknown.json")).isNotPresent();
+        assertThat(cut.getMatchingSimplePath(executionFolder, "")).isNotPresent();
+    }
+
+}
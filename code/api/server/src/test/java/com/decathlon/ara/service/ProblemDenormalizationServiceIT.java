@@ -0,0 +1,104 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.Arrays;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestExecutionListeners;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.support.DependencyInjectionTestExecutionListener;
+import org.springframework.test.context.transaction.TransactionalTestExecutionListener;
+
+import com.decathlon.ara.domain.MaterializedProblemAggregate;
+import com.decathlon.ara.repository.MaterializedProblemAggregateRepository;
+import com.decathlon.ara.repository.ProblemRepository;
+import com.github.springtestdbunit.DbUnitTestExecutionListener;
+import com.github.springtestdbunit.annotation.DatabaseSetup;
+
+@SpringBootTest
+@TestExecutionListeners({
+    TransactionalTestExecutionListener.class,
+    DependencyInjectionTestExecutionListener.class,
+    DbUnitTestExecutionListener.class
+})
+@TestPropertySource(
+		locations = "classpath:application-db-h2.properties")
+@Transactional
+public class ProblemDenormalizationServiceIT {
+
+    @Autowired
+    private ProblemDenormalizationService cut;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProblemRepository problemRepository;
+
+    @Autowired
+    private MaterializedProblemAggregateRepository materializedProblemAggregateRepository;
+
+    @Test
+    @DatabaseSetup({ "/dbunit/ProblemDenormalizationServiceIT.xml" })
+    public void updateAggregates_should_insert_missing_aggregates_update_outdated_ones_and_empty_the_ones_without_occurrence() {
+        // WHEN
+        cut.updateAggregates(problemRepository.findAllById(Arrays.asList(Long.valueOf(1), Long.valueOf(2), Long.valueOf(3))));
+        entityManager.flush();
+        entityManager.clear();
+
+        // THEN
+        assertThat(materializedProblemAggregateRepository.findAll(Sort.by("problemId")))
+                .extracting(
+                        MaterializedProblemAggregate::getProblemId,
+                        MaterializedProblemAggregate::getPatternCount,
+                        MaterializedProblemAggregate::getErrorCount,
+                        MaterializedProblemAggregate::getScenarioCount,
+                        MaterializedProblemAggregate::getFirstScenarioName,
+                        MaterializedProblemAggregate::getBranchCount,
+                        MaterializedProblemAggregate::getFirstBranch,
+                        MaterializedProblemAggregate::getReleaseCount,
+                        MaterializedProblemAggregate::getFirstRelease,
+                        MaterializedProblemAggregate::getVersionCount,
+                        MaterializedProblemAggregate::getFirstVersion,
+                        MaterializedProblemAggregate::getCountryCount,
+                        MaterializedProblemAggregate::getFirstCountryCode,
+                        MaterializedProblemAggregate::getTypeCount,
+                        MaterializedProblemAggregate::getFirstTypeCode,
+                        MaterializedProblemAggregate::getPlatformCount,
+                        MaterializedProblemAggregate::getFirstPlatform)
+                .containsExactly(
+                        // Error 2111 is matched by both patterns, but counted once
+                        tuple(Long.valueOf(1), Long.valueOf(2), Long.valueOf(3), Long.valueOf(2), "Scenario A", Long.valueOf(2), "develop",
+                                Long.valueOf(2), "1711", Long.valueOf(2), "1711.1", Long.valueOf(2), "be", Long.valueOf(1), "api", Long.valueOf(1), "euin"),
+                        tuple(Long.valueOf(2), Long.valueOf(1), Long.valueOf(1), Long.valueOf(1), "Scenario B", Long.valueOf(1), "develop",
+                                Long.valueOf(1), "1711", Long.valueOf(1), "1711.1", Long.valueOf(1), "fr", Long.valueOf(1), "api", Long.valueOf(1), "euin"),
+                        tuple(Long.valueOf(3), Long.valueOf(0), Long.valueOf(0), Long.valueOf(0), null, Long.valueOf(0), null,
+                                Long.valueOf(0), null, Long.valueOf(0), null, Long.valueOf(0), null, Long.valueOf(0), null, Long.valueOf(0), null));
+    }
+
+}
@@ -0,0 +1,153 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.decathlon.ara.domain.MaterializedProblemAggregate;
+import com.decathlon.ara.domain.Problem;
+import com.decathlon.ara.domain.projection.FirstAndLastProblemOccurrence;
+import com.decathlon.ara.repository.MaterializedProblemAggregateRepository;
+import com.decathlon.ara.repository.ProblemPatternRepository;
+import com.decathlon.ara.repository.ProblemRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class ProblemDenormalizationServiceTest {
+
+    @Mock
+    private ProblemRepository problemRepository;
+
+    @Mock
+    private ProblemPatternRepository problemPatternRepository;
+
+    @Mock
+    private MaterializedProblemAggregateRepository materializedProblemAggregateRepository;
+
+    @Captor
+    private ArgumentCaptor<List<MaterializedProblemAggregate>> aggregatesCaptor;
+
+    @InjectMocks
+    private ProblemDenormalizationService cut;
+
+    @Test
+    public void updateAggregates_should_store_computed_aggregates_and_empty_ones_for_problems_without_occurrence() {
+        // GIVEN
+        Problem problemWithOccurrences = new Problem().withId(Long.valueOf(1));
+        Problem problemWithoutOccurrence = new Problem().withId(Long.valueOf(2));
+        MaterializedProblemAggregate computedAggregate = MaterializedProblemAggregate.empty(Long.valueOf(1))
+                .withErrorCount(3)
+                .withFirstCountryCode("fr");
+        when(problemRepository.computeProblemAggregates(anyCollection()))
+                .thenReturn(Collections.singletonList(computedAggregate));
+
+        // WHEN
+        cut.updateAggregates(Arrays.asList(problemWithOccurrences, problemWithoutOccurrence));
+
+        // THEN
+        verify(problemRepository).computeProblemAggregates(new LinkedHashSet<>(Arrays.asList(Long.valueOf(1), Long.valueOf(2))));
+        verify(materializedProblemAggregateRepository).saveAll(aggregatesCaptor.capture());
+        assertThat(aggregatesCaptor.getValue()).containsExactly(
+                computedAggregate,
+                MaterializedProblemAggregate.empty(Long.valueOf(2)));
+    }
+
+    @Test
+    public void updateAggregates_should_do_nothing_without_problem() {
+        // WHEN
+        cut.updateAggregates(Collections.emptyList());
+
+        // THEN
+        verify(problemRepository, never()).computeProblemAggregates(anyCollection());
+        verify(materializedProblemAggregateRepository, never()).saveAll(anyIterable());
+    }
+
+
+    @Test
+    public void updateFirstAndLastSeenDateTimes_should_assign_occurrence_dates_to_their_problem() {
+        // GIVEN
+        Problem problemWithOccurrences = new Problem().withId(Long.valueOf(1));
+        Problem problemWithoutOccurrence = new Problem().withId(Long.valueOf(2))
+                .withFirstSeenDateTime(new Date(1))
+                .withLastSeenDateTime(new Date(2));
+        List<Problem> problems = Arrays.asList(problemWithOccurrences, problemWithoutOccurrence);
+        when(problemRepository.findFirstAndLastProblemOccurrences(problems)).thenReturn(Collections.singletonList(
+                new FirstAndLastProblemOccurrence(Long.valueOf(1), new Date(10), new Date(20))));
+
+        // WHEN
+        cut.updateFirstAndLastSeenDateTimes(problems);
+
+        // THEN
+        assertThat(problemWithOccurrences.getFirstSeenDateTime()).isEqualTo(new Date(10));
+        assertThat(problemWithOccurrences.getLastSeenDateTime()).isEqualTo(new Date(20));
+        assertThat(problemWithoutOccurrence.getFirstSeenDateTime()).isNull();
+        assertThat(problemWithoutOccurrence.getLastSeenDateTime()).isNull();
+    }
+
+    @Test
+    public void updateDenormalizedFieldsOfIdRange_should_update_dates_and_aggregates_of_the_range_at_once() {
+        // GIVEN
+        when(problemRepository.findIdsByProjectIdAndIdRange(42, 10, 20))
+                .thenReturn(Arrays.asList(Long.valueOf(11), Long.valueOf(15)));
+        when(problemRepository.computeProblemAggregates(anyCollection())).thenReturn(Collections.emptyList());
+
+        // WHEN
+        int recomputedCount = cut.updateDenormalizedFieldsOfIdRange(42, 10, 20);
+
+        // THEN
+        assertThat(recomputedCount).isEqualTo(2);
+        verify(problemRepository).updateFirstAndLastSeenDateTimes(42, 10, 20);
+        verify(materializedProblemAggregateRepository).saveAll(aggregatesCaptor.capture());
+        assertThat(aggregatesCaptor.getValue()).containsExactly(
+                MaterializedProblemAggregate.empty(Long.valueOf(11)),
+                MaterializedProblemAggregate.empty(Long.valueOf(15)));
+    }
+
+    @Test
+    public void updateDenormalizedFieldsOfIdRange_should_do_nothing_when_range_has_no_problem() {
+        // GIVEN
+        when(problemRepository.findIdsByProjectIdAndIdRange(42, 10, 20)).thenReturn(Collections.emptyList());
+
+        // WHEN
+        int recomputedCount = cut.updateDenormalizedFieldsOfIdRange(42, 10, 20);
+
+        // THEN
+        assertThat(recomputedCount).isZero();
+        verify(problemRepository, never()).updateFirstAndLastSeenDateTimes(anyLong(), anyLong(), anyLong());
+    }
+
+}
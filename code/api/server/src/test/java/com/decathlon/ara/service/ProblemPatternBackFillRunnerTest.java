@@ -0,0 +1,162 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.Optional;
+
+import org.apache.commons.lang3.Range;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.decathlon.ara.configuration.AraConfiguration;
+import com.decathlon.ara.domain.ProblemPatternBackFill;
+import com.decathlon.ara.domain.enumeration.PatternBackFillStatus;
+import com.decathlon.ara.repository.ErrorRepository;
+import com.decathlon.ara.repository.ProblemPatternBackFillRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class ProblemPatternBackFillRunnerTest {
+
+    @Mock
+    private ErrorRepository errorRepository;
+
+    @Mock
+    private ProblemPatternBackFillRepository problemPatternBackFillRepository;
+
+    @Mock
+    private ProblemDenormalizationService problemDenormalizationService;
+
+    @Mock
+    private AraConfiguration araConfiguration;
+
+    @InjectMocks
+    private ProblemPatternBackFillRunner cut;
+
+    @Test
+    public void run_ShouldAssignPatternChunkByChunk_WhenStartedForTheFirstTime() {
+        // GIVEN
+        ProblemPatternBackFill backFill = backFill();
+        when(araConfiguration.getPatternBackFillChunkSize()).thenReturn(10);
+        when(errorRepository.findIdRangeByProjectId(1)).thenReturn(Optional.of(Range.between(Long.valueOf(5), Long.valueOf(29))));
+        when(problemPatternBackFillRepository.startScan(eq(7L), eq("w"), eq(Long.valueOf(5)), eq(Long.valueOf(29)), any(Date.class))).thenReturn(1);
+        when(errorRepository.assignPatternToErrors(1, 42, 5, 15)).thenReturn(2L);
+        when(errorRepository.assignPatternToErrors(1, 42, 15, 25)).thenReturn(0L);
+        when(errorRepository.assignPatternToErrors(1, 42, 25, 30)).thenReturn(1L);
+        when(problemPatternBackFillRepository.advance(eq(7L), eq("w"), anyLong(), anyLong(), any(Date.class))).thenReturn(1);
+
+        // WHEN
+        cut.run(backFill, "w");
+
+        // THEN
+        verify(problemPatternBackFillRepository).advance(eq(7L), eq("w"), eq(14L), eq(2L), any(Date.class));
+        verify(problemPatternBackFillRepository).advance(eq(7L), eq("w"), eq(24L), eq(2L), any(Date.class));
+        verify(problemPatternBackFillRepository).advance(eq(7L), eq("w"), eq(29L), eq(3L), any(Date.class));
+        verify(problemDenormalizationService).updateDenormalizedFieldsOfPattern(42);
+        verify(problemPatternBackFillRepository).finish(eq(7L), eq("w"), eq(PatternBackFillStatus.DONE), any(Date.class));
+    }
+
+    @Test
+    public void run_ShouldResumeFromTheLastCommittedErrorId_WhenAlreadyStartedByADeadWorker() {
+        // GIVEN
+        ProblemPatternBackFill backFill = backFill()
+                .withMinErrorId(Long.valueOf(5))
+                .withMaxErrorId(Long.valueOf(29))
+                .withLastErrorId(Long.valueOf(14))
+                .withAssignedErrorCount(2);
+        when(araConfiguration.getPatternBackFillChunkSize()).thenReturn(10);
+        when(errorRepository.assignPatternToErrors(1, 42, 15, 25)).thenReturn(1L);
+        when(errorRepository.assignPatternToErrors(1, 42, 25, 30)).thenReturn(0L);
+        when(problemPatternBackFillRepository.advance(eq(7L), eq("w"), anyLong(), anyLong(), any(Date.class))).thenReturn(1);
+
+        // WHEN
+        cut.run(backFill, "w");
+
+        // THEN
+        verify(errorRepository, never()).findIdRangeByProjectId(anyLong());
+        verify(errorRepository, never()).assignPatternToErrors(1, 42, 5, 15);
+        verify(problemPatternBackFillRepository).advance(eq(7L), eq("w"), eq(29L), eq(3L), any(Date.class));
+        verify(problemPatternBackFillRepository).finish(eq(7L), eq("w"), eq(PatternBackFillStatus.DONE), any(Date.class));
+    }
+
+    @Test
+    public void run_ShouldStop_WhenTheBackFillWasReplacedOrRemoved() {
+        // GIVEN
+        ProblemPatternBackFill backFill = backFill();
+        when(araConfiguration.getPatternBackFillChunkSize()).thenReturn(10);
+        when(errorRepository.findIdRangeByProjectId(1)).thenReturn(Optional.of(Range.between(Long.valueOf(1), Long.valueOf(100))));
+        when(problemPatternBackFillRepository.startScan(eq(7L), eq("w"), eq(Long.valueOf(1)), eq(Long.valueOf(100)), any(Date.class))).thenReturn(1);
+        when(problemPatternBackFillRepository.advance(eq(7L), eq("w"), eq(10L), eq(0L), any(Date.class))).thenReturn(0);
+
+        // WHEN
+        cut.run(backFill, "w");
+
+        // THEN
+        verify(errorRepository, never()).assignPatternToErrors(1, 42, 11, 21);
+        verify(problemDenormalizationService, never()).updateDenormalizedFieldsOfPattern(anyLong());
+        verify(problemPatternBackFillRepository, never()).finish(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    public void run_ShouldOnlyUpdateTheProblem_WhenTheProjectHasNoError() {
+        // GIVEN
+        when(errorRepository.findIdRangeByProjectId(1)).thenReturn(Optional.empty());
+
+        // WHEN
+        cut.run(backFill(), "w");
+
+        // THEN
+        verify(errorRepository, never()).assignPatternToErrors(anyLong(), anyLong(), anyLong(), anyLong());
+        verify(problemDenormalizationService).updateDenormalizedFieldsOfPattern(42);
+        verify(problemPatternBackFillRepository).finish(eq(7L), eq("w"), eq(PatternBackFillStatus.DONE), any(Date.class));
+    }
+
+    @Test
+    public void run_ShouldFailTheBackFill_WhenAChunkCannotBeAssigned() {
+        // GIVEN
+        when(araConfiguration.getPatternBackFillChunkSize()).thenReturn(10);
+        when(errorRepository.findIdRangeByProjectId(1)).thenReturn(Optional.of(Range.between(Long.valueOf(1), Long.valueOf(100))));
+        when(problemPatternBackFillRepository.startScan(eq(7L), eq("w"), eq(Long.valueOf(1)), eq(Long.valueOf(100)), any(Date.class))).thenReturn(1);
+        when(errorRepository.assignPatternToErrors(1, 42, 1, 11)).thenThrow(new IllegalStateException("test"));
+
+        // WHEN
+        cut.run(backFill(), "w");
+
+        // THEN
+        verify(problemPatternBackFillRepository).finish(eq(7L), eq("w"), eq(PatternBackFillStatus.FAILED), any(Date.class));
+    }
+
+    private static ProblemPatternBackFill backFill() {
+        return new ProblemPatternBackFill()
+                .withId(Long.valueOf(7))
+                .withProjectId(1)
+                .withProblemPatternId(42)
+                .withStatus(PatternBackFillStatus.RUNNING);
+    }
+
+}
@@ -0,0 +1,183 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import com.decathlon.ara.configuration.AraConfiguration;
+import com.decathlon.ara.domain.ProblemPatternBackFill;
+import com.decathlon.ara.domain.enumeration.PatternBackFillStatus;
+import com.decathlon.ara.repository.ProblemPatternBackFillRepository;
+import com.decathlon.ara.repository.custom.util.TransactionAppenderUtil;
+import com.decathlon.ara.service.dto.problempattern.PatternBackFillDTO;
+import com.decathlon.ara.service.exception.NotFoundException;
+
+@ExtendWith(MockitoExtension.class)
+public class ProblemPatternBackFillServiceTest {
+
+    @Mock
+    private ProblemPatternBackFillRepository problemPatternBackFillRepository;
+
+    @Mock
+    private ProblemPatternBackFillRunner problemPatternBackFillRunner;
+
+    @Mock
+    private TransactionAppenderUtil transactionAppenderUtil;
+
+    @Mock
+    private AraConfiguration araConfiguration;
+
+    @Mock
+    private AsyncTaskExecutor patternBackFillExecutor;
+
+    @InjectMocks
+    private ProblemPatternBackFillService cut;
+
+    @Test
+    public void schedule_ShouldReplaceThePreviousBackFillOfThePattern_AndDispatchOnceCommitted() {
+        // GIVEN
+        when(problemPatternBackFillRepository.save(any(ProblemPatternBackFill.class)))
+                .thenAnswer(invocation -> ((ProblemPatternBackFill) invocation.getArgument(0)).withId(Long.valueOf(7)));
+
+        // WHEN
+        PatternBackFillDTO backFill = cut.schedule(1, 42);
+
+        // THEN
+        verify(problemPatternBackFillRepository).deleteByProblemPatternId(42);
+        ArgumentCaptor<ProblemPatternBackFill> savedBackFill = ArgumentCaptor.forClass(ProblemPatternBackFill.class);
+        verify(problemPatternBackFillRepository).save(savedBackFill.capture());
+        assertThat(savedBackFill.getValue().getProjectId()).isEqualTo(1);
+        assertThat(savedBackFill.getValue().getProblemPatternId()).isEqualTo(42);
+        assertThat(savedBackFill.getValue().getStatus()).isEqualTo(PatternBackFillStatus.PENDING);
+        verify(transactionAppenderUtil).doAfterCommit(any(Runnable.class));
+        assertThat(backFill).isEqualTo(new PatternBackFillDTO(Long.valueOf(42), PatternBackFillStatus.PENDING, 0, 0));
+    }
+
+    @Test
+    public void dispatch_ShouldClaimPendingBackFills_UntilAllWorkersAreBusy() {
+        // GIVEN
+        when(araConfiguration.getPatternBackFillWorkerCount()).thenReturn(1);
+        when(problemPatternBackFillRepository.findAllByStatusOrderById(PatternBackFillStatus.PENDING))
+                .thenReturn(Arrays.asList(backFill(1), backFill(2)));
+        when(problemPatternBackFillRepository.claim(eq(1L), anyString(), any(Date.class))).thenReturn(1);
+
+        // WHEN
+        cut.dispatch();
+
+        // THEN
+        verify(problemPatternBackFillRepository, never()).claim(eq(2L), anyString(), any(Date.class));
+        verify(patternBackFillExecutor, times(1)).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void dispatch_ShouldNotRunBackFill_WhenClaimIsRefused() {
+        // GIVEN
+        when(araConfiguration.getPatternBackFillWorkerCount()).thenReturn(1);
+        when(problemPatternBackFillRepository.findAllByStatusOrderById(PatternBackFillStatus.PENDING))
+                .thenReturn(Arrays.asList(backFill(1), backFill(2)));
+        when(problemPatternBackFillRepository.claim(anyLong(), anyString(), any(Date.class))).thenReturn(0, 1);
+
+        // WHEN
+        cut.dispatch();
+
+        // THEN
+        verify(problemPatternBackFillRepository).claim(eq(2L), anyString(), any(Date.class));
+        verify(patternBackFillExecutor, times(1)).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void poll_ShouldRenewLeasesOfRunningBackFills_AndRequeueAbandonedOnes() {
+        // GIVEN
+        when(araConfiguration.getPatternBackFillWorkerCount()).thenReturn(2);
+        when(araConfiguration.getPatternBackFillTimeoutInMinutes()).thenReturn(10);
+        when(problemPatternBackFillRepository.findAllByStatusOrderById(PatternBackFillStatus.PENDING))
+                .thenReturn(Arrays.asList(backFill(1)), Collections.emptyList());
+        when(problemPatternBackFillRepository.claim(eq(1L), anyString(), any(Date.class))).thenReturn(1);
+        cut.dispatch(); // Back-fill 1 is now running (the mocked executor never ends it)
+        long before = System.currentTimeMillis();
+
+        // WHEN
+        cut.poll();
+
+        // THEN
+        verify(problemPatternBackFillRepository).renewLeases(eq(Arrays.asList(Long.valueOf(1))), anyString(), any(Date.class));
+        ArgumentCaptor<Date> abandonedBefore = ArgumentCaptor.forClass(Date.class);
+        verify(problemPatternBackFillRepository).requeueRunningBackFillsWithHeartbeatBefore(abandonedBefore.capture());
+        assertThat(abandonedBefore.getValue().getTime()).isLessThanOrEqualTo(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(10));
+        assertThat(abandonedBefore.getValue().getTime()).isGreaterThanOrEqualTo(before - TimeUnit.MINUTES.toMillis(10));
+    }
+
+    @Test
+    public void findOne_ShouldReturnTheProgressOfTheStoredBackFill_WhateverTheNodeRunningIt() throws NotFoundException {
+        // GIVEN
+        when(problemPatternBackFillRepository.findByProjectIdAndProblemPatternId(1, 42)).thenReturn(Optional.of(backFill(7)
+                .withStatus(PatternBackFillStatus.RUNNING)
+                .withMinErrorId(Long.valueOf(101))
+                .withMaxErrorId(Long.valueOf(300))
+                .withLastErrorId(Long.valueOf(150))
+                .withAssignedErrorCount(12)));
+
+        // WHEN
+        PatternBackFillDTO backFill = cut.findOne(1, 42);
+
+        // THEN
+        assertThat(backFill).isEqualTo(new PatternBackFillDTO(Long.valueOf(42), PatternBackFillStatus.RUNNING, 25, 12));
+    }
+
+    @Test
+    public void findOne_ShouldThrowNotFoundException_WhenNoBackFillWasScheduledForThePattern() {
+        // GIVEN
+        when(problemPatternBackFillRepository.findByProjectIdAndProblemPatternId(1, 42)).thenReturn(Optional.empty());
+
+        // WHEN / THEN
+        NotFoundException exception = assertThrows(NotFoundException.class, () -> cut.findOne(1, 42));
+        assertThat(exception.getResourceName()).isEqualTo("problem-pattern");
+    }
+
+    private static ProblemPatternBackFill backFill(long id) {
+        return new ProblemPatternBackFill()
+                .withId(Long.valueOf(id))
+                .withProjectId(1)
+                .withProblemPatternId(42)
+                .withStatus(PatternBackFillStatus.PENDING);
+    }
+
+}
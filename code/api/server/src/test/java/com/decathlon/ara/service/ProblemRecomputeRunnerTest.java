@@ -0,0 +1,66 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.service;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class ProblemRecomputeRunnerTest {
+
+    @Mock
+    private ProblemService problemService;
+
+    @InjectMocks
+    private ProblemRecomputeRunner cut;
+
+    @Test
+    public void recomputeAllProjects_ShouldRecomputeProblemsOfAllProjects() {
+        // GIVEN
+        when(problemService.recomputeFirstAndLastSeenDateTimes()).thenReturn(Long.valueOf(42));
+
+        // WHEN
+        cut.recomputeAllProjects();
+
+        // THEN
+        verify(problemService).recomputeFirstAndLastSeenDateTimes();
+    }
+
+    @Test
+    public void recomputeAllProjects_ShouldAllowANewRecomputation_WhenThePreviousOneFailed() {
+        // GIVEN
+        when(problemService.recomputeFirstAndLastSeenDateTimes())
+                .thenThrow(new IllegalStateException("Database unavailable"))
+                .thenReturn(Long.valueOf(42));
+
+        // WHEN
+        cut.recomputeAllProjects();
+        cut.recomputeAllProjects();
+
+        // THEN
+        verify(problemService, times(2)).recomputeFirstAndLastSeenDateTimes();
+    }
+
+}
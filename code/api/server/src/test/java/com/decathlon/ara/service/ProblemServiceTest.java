@@ -22,13 +22,16 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -37,30 +40,49 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.apache.commons.lang3.Range;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
 import com.decathlon.ara.Entities;
 import com.decathlon.ara.Messages;
 import com.decathlon.ara.ci.service.DateService;
 import com.decathlon.ara.ci.util.FetchException;
+import com.decathlon.ara.configuration.AraConfiguration;
 import com.decathlon.ara.defect.DefectAdapter;
 import com.decathlon.ara.defect.bean.Defect;
+import com.decathlon.ara.domain.CycleDefinition;
 import com.decathlon.ara.domain.Error;
+import com.decathlon.ara.domain.MaterializedProblemAggregate;
 import com.decathlon.ara.domain.Problem;
 import com.decathlon.ara.domain.ProblemPattern;
+import com.decathlon.ara.domain.Project;
 import com.decathlon.ara.domain.enumeration.DefectExistence;
 import com.decathlon.ara.domain.enumeration.ProblemStatus;
+import com.decathlon.ara.domain.filter.ProblemFilter;
+import com.decathlon.ara.domain.projection.LatestCycleExecution;
+import com.decathlon.ara.domain.projection.ProblemAggregate;
+import com.decathlon.ara.repository.CountryRepository;
 import com.decathlon.ara.repository.CycleDefinitionRepository;
 import com.decathlon.ara.repository.ErrorRepository;
 import com.decathlon.ara.repository.ExecutionRepository;
+import com.decathlon.ara.repository.MaterializedProblemAggregateRepository;
 import com.decathlon.ara.repository.ProblemPatternRepository;
 import com.decathlon.ara.repository.ProblemRepository;
+import com.decathlon.ara.repository.ProjectRepository;
 import com.decathlon.ara.repository.RootCauseRepository;
+import com.decathlon.ara.repository.TypeRepository;
 import com.decathlon.ara.repository.custom.util.JpaCacheManager;
+import com.decathlon.ara.repository.custom.util.ProblemPatternIndexCache;
 import com.decathlon.ara.repository.custom.util.TransactionAppenderUtil;
 import com.decathlon.ara.service.dto.error.ErrorWithExecutedScenarioAndRunAndExecutionDTO;
+import com.decathlon.ara.service.dto.problem.ProblemAggregateDTO;
 import com.decathlon.ara.service.dto.problem.ProblemDTO;
+import com.decathlon.ara.service.dto.problem.ProblemFilterDTO;
+import com.decathlon.ara.service.dto.problem.ProblemWithAggregateDTO;
+import com.decathlon.ara.service.dto.stability.CycleStabilityDTO;
+import com.decathlon.ara.service.dto.stability.ExecutionStabilityDTO;
 import com.decathlon.ara.service.exception.BadRequestException;
 import com.decathlon.ara.service.exception.NotFoundException;
 import com.decathlon.ara.service.mapper.ErrorWithExecutedScenarioAndRunAndExecutionMapper;
@@ -95,9 +117,24 @@ public class ProblemServiceTest {
     @Mock
     private RootCauseRepository rootCauseRepository;
 
+    @Mock
+    private MaterializedProblemAggregateRepository materializedProblemAggregateRepository;
+
+    @Mock
+    private CountryRepository countryRepository;
+
+    @Mock
+    private TypeRepository typeRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
     @Mock
     private ProblemPatternService problemPatternService;
 
+    @Mock
+    private ProblemPatternBackFillService problemPatternBackFillService;
+
     @Mock
     private ProblemDenormalizationService problemDenormalizationService;
 
@@ -149,9 +186,15 @@ public class ProblemServiceTest {
     @Mock
     private JpaCacheManager jpaCacheManager;
 
+    @Mock
+    private ProblemPatternIndexCache problemPatternIndexCache;
+
     @Mock
     private TransactionAppenderUtil transactionService;
 
+    @Mock
+    private AraConfiguration araConfiguration;
+
     @InjectMocks
     private ProblemService cut;
 
@@ -392,4 +435,97 @@ public class ProblemServiceTest {
         assertThat(errors).isEqualTo(convertedErrorPage);
     }
 
+
+    @Test
+    public void findMatchingProblems_should_compute_stabilities_of_all_cycles_with_constant_queries() {
+        // GIVEN
+        Problem problem = new Problem().withId(Long.valueOf(1));
+        ProblemWithAggregateDTO problemDto = new ProblemWithAggregateDTO();
+        problemDto.setId(Long.valueOf(1));
+        CycleDefinition dayCycle = new CycleDefinition().withId(Long.valueOf(21)).withBranch("develop").withName("day");
+        CycleDefinition nightCycle = new CycleDefinition().withId(Long.valueOf(22)).withBranch("develop").withName("night");
+        Date olderDate = new Date(1000);
+        Date newerDate = new Date(2000);
+        when(problemFilterMapper.toEntity(any())).thenReturn(new ProblemFilter());
+        when(problemRepository.findMatchingProblems(any(ProblemFilter.class), any()))
+                .thenReturn(new PageImpl<>(Collections.singletonList(problem)));
+        when(problemWithAggregateMapper.toDto(problem)).thenReturn(problemDto);
+        when(materializedProblemAggregateRepository.findAllByProblemIdIn(Collections.singletonList(Long.valueOf(1))))
+                .thenReturn(Collections.singletonList(MaterializedProblemAggregate.empty(Long.valueOf(1))));
+        when(problemAggregateMapper.toDto(any(ProblemAggregate.class))).thenReturn(new ProblemAggregateDTO());
+        when(cycleDefinitionRepository.findAllByProjectIdOrderByBranchPositionAscBranchAscNameAsc(42))
+                .thenReturn(Arrays.asList(dayCycle, nightCycle));
+        when(executionRepository.findLatestExecutionsOfCycles(Arrays.asList(Long.valueOf(21), Long.valueOf(22)), 10))
+                .thenReturn(Arrays.asList(
+                        new LatestCycleExecution(Long.valueOf(21), Long.valueOf(11), olderDate),
+                        new LatestCycleExecution(Long.valueOf(21), Long.valueOf(12), newerDate)));
+        when(problemRepository.findProblemIdsToExecutionIdsAssociations(Collections.singletonList(Long.valueOf(1)),
+                Arrays.asList(Long.valueOf(12), Long.valueOf(11))))
+                .thenReturn(Collections.singletonMap(Long.valueOf(1), Collections.singletonList(Long.valueOf(11))));
+
+        // WHEN
+        Page<ProblemWithAggregateDTO> page = cut.findMatchingProblems(42, new ProblemFilterDTO(), null);
+
+        // THEN
+        List<CycleStabilityDTO> stabilities = page.getContent().get(0).getAggregate().getCycleStabilities();
+        assertThat(stabilities).extracting(CycleStabilityDTO::getCycleName).containsExactly("day", "night");
+        List<ExecutionStabilityDTO> dayStabilities = stabilities.get(0).getExecutionStabilities();
+        assertThat(dayStabilities).hasSize(10);
+        assertThat(dayStabilities.subList(0, 8)).extracting(ExecutionStabilityDTO::getStatus).containsOnly("-");
+        assertThat(dayStabilities.get(8)).isEqualTo(new ExecutionStabilityDTO(Long.valueOf(11), olderDate, "E"));
+        assertThat(dayStabilities.get(9)).isEqualTo(new ExecutionStabilityDTO(Long.valueOf(12), newerDate, "O"));
+        assertThat(stabilities.get(1).getExecutionStabilities())
+                .extracting(ExecutionStabilityDTO::getStatus).containsOnly("-");
+    }
+
+
+    @Test
+    public void recomputeFirstAndLastSeenDateTimes_should_recompute_problems_by_ranges_of_ids() {
+        // GIVEN
+        when(problemRepository.findIdRangeByProjectId(42))
+                .thenReturn(Optional.of(Range.between(Long.valueOf(5), Long.valueOf(29))));
+        when(araConfiguration.getProblemRecomputeChunkSize()).thenReturn(10);
+        when(problemDenormalizationService.updateDenormalizedFieldsOfIdRange(42, 5, 15)).thenReturn(10);
+        when(problemDenormalizationService.updateDenormalizedFieldsOfIdRange(42, 15, 25)).thenReturn(0);
+        when(problemDenormalizationService.updateDenormalizedFieldsOfIdRange(42, 25, 35)).thenReturn(3);
+
+        // WHEN
+        long recomputedCount = cut.recomputeFirstAndLastSeenDateTimes(42);
+
+        // THEN
+        assertThat(recomputedCount).isEqualTo(13);
+    }
+
+    @Test
+    public void recomputeFirstAndLastSeenDateTimes_should_do_nothing_when_project_has_no_problem() {
+        // GIVEN
+        when(problemRepository.findIdRangeByProjectId(42)).thenReturn(Optional.empty());
+
+        // WHEN
+        long recomputedCount = cut.recomputeFirstAndLastSeenDateTimes(42);
+
+        // THEN
+        assertThat(recomputedCount).isZero();
+        verify(problemDenormalizationService, never()).updateDenormalizedFieldsOfIdRange(anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    public void recomputeFirstAndLastSeenDateTimes_should_recompute_all_projects() {
+        // GIVEN
+        when(projectRepository.findAllByOrderByName()).thenReturn(Arrays.asList(
+                new Project().withId(Long.valueOf(1)),
+                new Project().withId(Long.valueOf(2))));
+        when(problemRepository.findIdRangeByProjectId(1)).thenReturn(Optional.empty());
+        when(problemRepository.findIdRangeByProjectId(2))
+                .thenReturn(Optional.of(Range.between(Long.valueOf(7), Long.valueOf(7))));
+        when(araConfiguration.getProblemRecomputeChunkSize()).thenReturn(10);
+        when(problemDenormalizationService.updateDenormalizedFieldsOfIdRange(2, 7, 17)).thenReturn(1);
+
+        // WHEN
+        long recomputedCount = cut.recomputeFirstAndLastSeenDateTimes();
+
+        // THEN
+        assertThat(recomputedCount).isEqualTo(1);
+    }
+
 }
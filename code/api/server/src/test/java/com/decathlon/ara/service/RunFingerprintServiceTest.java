@@ -0,0 +1,137 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class RunFingerprintServiceTest {
+
+    private final RunFingerprintService cut = new RunFingerprintService();
+
+    private Path tempDirectory;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        tempDirectory = Files.createTempDirectory("ara_temp_unit_test_directory_");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        FileUtils.deleteQuietly(tempDirectory.toFile());
+    }
+
+    @Test
+    public void getFingerprint_should_not_change_when_only_modification_dates_change() throws IOException {
+        // GIVEN
+        Path runFolder = createRunFolder("run", "[{\"id\":\"feature\"}]");
+        String fingerprint = cut.getFingerprint(runFolder);
+        Files.setLastModifiedTime(runFolder.resolve("report.json"), FileTime.fromMillis(0));
+
+        // WHEN
+        String newFingerprint = cut.getFingerprint(runFolder);
+
+        // THEN
+        assertThat(fingerprint).hasSize(64);
+        assertThat(newFingerprint).isEqualTo(fingerprint);
+    }
+
+    @Test
+    public void getFingerprint_should_change_when_a_report_changes() throws IOException {
+        // GIVEN
+        Path runFolder = createRunFolder("run", "[{\"id\":\"feature\"}]");
+        String fingerprint = cut.getFingerprint(runFolder);
+        Files.write(runFolder.resolve("report.json"), "[{\"id\":\"other\"}]".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(runFolder.resolve("report.json"), FileTime.fromMillis(42));
+
+        // WHEN
+        String newFingerprint = cut.getFingerprint(runFolder);
+
+        // THEN
+        assertThat(newFingerprint).isNotEqualTo(fingerprint);
+    }
+
+    @Test
+    public void getFingerprint_should_be_the_same_on_disk_and_in_a_zip() throws IOException {
+        // GIVEN
+        Path runFolder = createRunFolder("run", "[{\"id\":\"feature\"}]");
+        Path zipFile = tempDirectory.resolve("execution.zip");
+        try (OutputStream output = Files.newOutputStream(zipFile); ZipOutputStream zipOutput = new ZipOutputStream(output)) {
+            zipOutput.putNextEntry(new ZipEntry("run/report.json"));
+            zipOutput.write("[{\"id\":\"feature\"}]".getBytes(StandardCharsets.UTF_8));
+            zipOutput.putNextEntry(new ZipEntry("run/sub/buildInformation.json"));
+            zipOutput.write("{}".getBytes(StandardCharsets.UTF_8));
+        }
+
+        try (FileSystem zip = FileSystems.newFileSystem(zipFile, getClass().getClassLoader())) {
+            // WHEN
+            String zipFingerprint = cut.getFingerprint(zip.getPath("/run"));
+
+            // THEN
+            assertThat(zipFingerprint).isEqualTo(cut.getFingerprint(runFolder));
+        }
+    }
+
+    @Test
+    public void getFingerprint_should_return_null_when_the_folder_does_not_exist() {
+        assertThat(cut.getFingerprint(tempDirectory.resolve("unknown"))).isNull();
+        assertThat(cut.getFingerprint(null)).isNull();
+    }
+
+    @Test
+    public void getRunFingerprint_should_change_with_the_indexing_settings_only() {
+        // GIVEN
+        String folderFingerprint = "0123456789abcdef";
+
+        // WHEN
+        String runFingerprint = cut.getRunFingerprint(folderFingerprint, "{reportPath=/report.json}");
+
+        // THEN
+        assertThat(runFingerprint)
+                .hasSize(64)
+                .isNotEqualTo(folderFingerprint)
+                .isEqualTo(cut.getRunFingerprint(folderFingerprint, "{reportPath=/report.json}"))
+                .isNotEqualTo(cut.getRunFingerprint(folderFingerprint, "{reportPath=/other.json}"))
+                .isNotEqualTo(cut.getRunFingerprint("fedcba9876543210", "{reportPath=/report.json}"));
+        assertThat(cut.getRunFingerprint(null, "{reportPath=/report.json}")).isNull();
+    }
+
+    private Path createRunFolder(String name, String report) throws IOException {
+        Path runFolder = Files.createDirectories(tempDirectory.resolve(name));
+        Files.write(runFolder.resolve("report.json"), report.getBytes(StandardCharsets.UTF_8));
+        Files.createDirectories(runFolder.resolve("sub"));
+        Files.write(runFolder.resolve("sub").resolve("buildInformation.json"), "{}".getBytes(StandardCharsets.UTF_8));
+        return runFolder;
+    }
+
+}
@@ -22,14 +22,18 @@ import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
@@ -40,8 +44,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.decathlon.ara.domain.TechnologySetting;
+import com.decathlon.ara.domain.TechnologySettingVersion;
 import com.decathlon.ara.domain.enumeration.Technology;
 import com.decathlon.ara.repository.TechnologySettingRepository;
+import com.decathlon.ara.repository.TechnologySettingVersionRepository;
+import com.decathlon.ara.repository.custom.util.TransactionAppenderUtil;
 import com.decathlon.ara.scenario.cucumber.settings.CucumberSettings;
 import com.decathlon.ara.scenario.postman.settings.PostmanSettings;
 import com.decathlon.ara.service.dto.setting.SettingDTO;
@@ -59,6 +66,12 @@ public class TechnologySettingServiceTest {
     @Mock
     private SettingService settingService;
 
+    @Mock
+    private TechnologySettingVersionRepository technologySettingVersionRepository;
+
+    @Mock
+    private TransactionAppenderUtil transactionAppenderUtil;
+
     @InjectMocks
     private TechnologySettingService technologySettingService;
 
@@ -75,10 +88,13 @@ public class TechnologySettingServiceTest {
         when(technologySettingRepository.findByProjectId(projectId)).thenReturn(
                 Arrays.asList(technologySetting1, technologySetting2, technologySetting3)
         );
+        when(technologySetting1.getTechnology()).thenReturn(Technology.CUCUMBER);
         when(technologySetting1.getCode()).thenReturn(CucumberSettings.REPORT_PATH.getCode());
         when(technologySetting1.getValue()).thenReturn("/new/cucumber/path");
+        when(technologySetting2.getTechnology()).thenReturn(Technology.POSTMAN);
         when(technologySetting2.getCode()).thenReturn(PostmanSettings.REPORTS_PATH.getCode());
         when(technologySetting2.getValue()).thenReturn("/updated/newmann/value");
+        when(technologySetting3.getTechnology()).thenReturn(Technology.CUCUMBER);
         when(technologySetting3.getCode()).thenReturn("unknown-code");
 
         // Then
@@ -171,11 +187,14 @@ public class TechnologySettingServiceTest {
         // Given
         Long projectId = 1L;
 
-        TechnologySetting savedSetting = mock(TechnologySetting.class);
+        TechnologySetting savedSetting = new TechnologySetting()
+                .withProjectId(projectId)
+                .withCode(CucumberSettings.REPORT_PATH.getCode())
+                .withTechnology(Technology.CUCUMBER)
+                .withValue("/new/cucumber/path");
 
         // When
-        when(technologySettingRepository.findByProjectIdAndCodeAndTechnology(projectId, CucumberSettings.REPORT_PATH.getCode(), Technology.CUCUMBER)).thenReturn(Optional.of(savedSetting));
-        when(savedSetting.getValue()).thenReturn("/new/cucumber/path");
+        when(technologySettingRepository.findByProjectId(projectId)).thenReturn(Arrays.asList(savedSetting));
 
         // Then
         Optional<String> value = technologySettingService.getSettingValue(projectId, CucumberSettings.REPORT_PATH);
@@ -188,10 +207,8 @@ public class TechnologySettingServiceTest {
         // Given
         Long projectId = 1L;
 
-        TechnologySetting savedSetting = mock(TechnologySetting.class);
-
         // When
-        when(technologySettingRepository.findByProjectIdAndCodeAndTechnology(projectId, CucumberSettings.REPORT_PATH.getCode(), Technology.CUCUMBER)).thenReturn(Optional.empty());
+        when(technologySettingRepository.findByProjectId(projectId)).thenReturn(Collections.emptyList());
 
         // Then
         Optional<String> value = technologySettingService.getSettingValue(projectId, CucumberSettings.REPORT_PATH);
@@ -199,6 +216,29 @@ public class TechnologySettingServiceTest {
         assertThat(value).hasValue(CucumberSettings.REPORT_PATH.getDefaultValue());
     }
 
+    @Test
+    public void getAllValues_returnSavedValuesOrElseDefaultValues() {
+        // Given
+        Long projectId = 1L;
+
+        TechnologySetting savedSetting = new TechnologySetting()
+                .withProjectId(projectId)
+                .withCode(CucumberSettings.REPORT_PATH.getCode())
+                .withTechnology(Technology.CUCUMBER)
+                .withValue("/new/cucumber/path");
+
+        // When
+        when(technologySettingRepository.findByProjectId(projectId)).thenReturn(Arrays.asList(savedSetting));
+
+        // Then
+        Map<Technology, Map<String, String>> values = technologySettingService.getAllValues(projectId);
+        assertThat(values.get(Technology.CUCUMBER))
+                .containsEntry(CucumberSettings.REPORT_PATH.getCode(), "/new/cucumber/path")
+                .containsEntry(CucumberSettings.STEP_DEFINITIONS_PATH.getCode(), CucumberSettings.STEP_DEFINITIONS_PATH.getDefaultValue());
+        assertThat(values.get(Technology.POSTMAN))
+                .containsEntry(PostmanSettings.REPORTS_PATH.getCode(), PostmanSettings.REPORTS_PATH.getDefaultValue());
+    }
+
     @Test
     public void update_throwNotFoundException_whenCodeIsUnknown() throws BadRequestException {
         // Given
@@ -335,5 +375,95 @@ public class TechnologySettingServiceTest {
         verify(technologySettingRepository).save(savedSetting);
         verify(savedSetting).setValue(newValue);
     }
-}
 
+    @Test
+    public void getSettingValue_loadSettingsOnlyOnce_whenCalledSeveralTimes() {
+        // Given
+        Long projectId = 1L;
+
+        // When
+        when(technologySettingRepository.findByProjectId(projectId)).thenReturn(Collections.emptyList());
+
+        // Then
+        technologySettingService.getSettingValue(projectId, CucumberSettings.REPORT_PATH);
+        technologySettingService.getSettingValue(projectId, CucumberSettings.STEP_DEFINITIONS_PATH);
+        technologySettingService.getAllGroups(projectId);
+        verify(technologySettingRepository, times(1)).findByProjectId(projectId);
+    }
+
+    @Test
+    public void update_updateCachedValue_whenCacheIsUpToDate() throws BadRequestException {
+        // Given
+        Long projectId = 1L;
+
+        // When
+        when(technologySettingRepository.findByProjectId(projectId)).thenReturn(Collections.emptyList());
+        when(technologySettingVersionRepository.findVersion(projectId)).thenReturn(Optional.of(Long.valueOf(2)), Optional.of(Long.valueOf(3)));
+        when(technologySettingRepository.findByProjectIdAndCodeAndTechnology(projectId, CucumberSettings.REPORT_PATH.getCode(), Technology.CUCUMBER)).thenReturn(Optional.empty());
+        when(technologySettingVersionRepository.incrementVersion(projectId)).thenReturn(1);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(transactionAppenderUtil).doAfterCommit(any(Runnable.class));
+
+        // Then
+        technologySettingService.getSettingValue(projectId, CucumberSettings.REPORT_PATH);
+        technologySettingService.update(projectId, CucumberSettings.REPORT_PATH.getCode(), Technology.CUCUMBER, "/new/report.json");
+        assertThat(technologySettingService.getSettingValue(projectId, CucumberSettings.REPORT_PATH)).hasValue("/new/report.json");
+        verify(technologySettingRepository, times(1)).findByProjectId(projectId);
+        verify(technologySettingVersionRepository, never()).save(any(TechnologySettingVersion.class));
+    }
+
+    @Test
+    public void update_keepCachedValue_whenTransactionIsNotCommitted() throws BadRequestException {
+        // Given
+        Long projectId = 1L;
+
+        // When
+        when(technologySettingRepository.findByProjectId(projectId)).thenReturn(Collections.emptyList());
+        when(technologySettingVersionRepository.findVersion(projectId)).thenReturn(Optional.of(Long.valueOf(2)), Optional.of(Long.valueOf(3)));
+        when(technologySettingRepository.findByProjectIdAndCodeAndTechnology(projectId, CucumberSettings.REPORT_PATH.getCode(), Technology.CUCUMBER)).thenReturn(Optional.empty());
+        when(technologySettingVersionRepository.incrementVersion(projectId)).thenReturn(1);
+
+        // Then
+        technologySettingService.getSettingValue(projectId, CucumberSettings.REPORT_PATH);
+        technologySettingService.update(projectId, CucumberSettings.REPORT_PATH.getCode(), Technology.CUCUMBER, "/new/report.json");
+        assertThat(technologySettingService.getSettingValue(projectId, CucumberSettings.REPORT_PATH)).hasValue("/report.json");
+        verify(transactionAppenderUtil).doAfterCommit(any(Runnable.class));
+    }
+
+    @Test
+    public void update_createVersion_whenProjectHasNoVersionYet() throws BadRequestException {
+        // Given
+        Long projectId = 1L;
+
+        // When
+        when(technologySettingRepository.findByProjectIdAndCodeAndTechnology(projectId, CucumberSettings.REPORT_PATH.getCode(), Technology.CUCUMBER)).thenReturn(Optional.empty());
+        when(technologySettingVersionRepository.incrementVersion(projectId)).thenReturn(0);
+
+        // Then
+        technologySettingService.update(projectId, CucumberSettings.REPORT_PATH.getCode(), Technology.CUCUMBER, "/new/report.json");
+        verify(technologySettingVersionRepository).save(new TechnologySettingVersion(projectId, 1));
+    }
+
+    @Test
+    public void evictOutdatedProjects_reloadSettings_whenChangedByAnotherInstance() {
+        // Given
+        Long projectId = 1L;
+        Long otherProjectId = 2L;
+
+        // When
+        when(technologySettingRepository.findByProjectId(projectId)).thenReturn(Collections.emptyList());
+        when(technologySettingRepository.findByProjectId(otherProjectId)).thenReturn(Collections.emptyList());
+        when(technologySettingVersionRepository.findAll()).thenReturn(Arrays.asList(new TechnologySettingVersion(projectId, 1)));
+
+        // Then
+        technologySettingService.getSettingValue(projectId, CucumberSettings.REPORT_PATH);
+        technologySettingService.getSettingValue(otherProjectId, CucumberSettings.REPORT_PATH);
+        technologySettingService.evictOutdatedProjects();
+        technologySettingService.getSettingValue(projectId, CucumberSettings.REPORT_PATH);
+        technologySettingService.getSettingValue(otherProjectId, CucumberSettings.REPORT_PATH);
+        verify(technologySettingRepository, times(2)).findByProjectId(projectId);
+        verify(technologySettingRepository, times(1)).findByProjectId(otherProjectId);
+    }
+}
@@ -68,7 +68,7 @@ public class RunTransformerTest {
         Date start = new Date();
         Run value = new Run(1L, 12L, null, country, type, "comment", "platform",
                 "jobUrl", "jobLink", JobStatus.DONE, "FR", start, 1000L,
-                100L, "tags", true, Collections.emptySet());
+                100L, "tags", true, null, Collections.emptySet());
         Mockito.doReturn(new CountryDTO()).when(countryTransformer).toDto(country);
         Mockito.doReturn(new TypeWithSourceDTO()).when(typeTransformer).toDtoWithSource(type);
         // When
@@ -96,7 +96,7 @@ public class RunTransformerTest {
         Set<ExecutedScenario> scenarios = Sets.newSet(new ExecutedScenario(), new ExecutedScenario());
         Run value = new Run(1L, 12L, null, country, type, "comment", "platform",
                 "jobUrl", "jobLink", JobStatus.DONE, "FR", start, 1000L,
-                100L, "tags", true, scenarios);
+                100L, "tags", true, null, scenarios);
         Mockito.doReturn(new CountryDTO()).when(countryTransformer).toDto(country);
         Mockito.doReturn(new TypeWithSourceDTO()).when(typeTransformer).toDtoWithSource(type);
         Mockito.doReturn(new ArrayList<>()).when(executedScenarioTransformer).toFullyDetailledDtos(scenarios);
@@ -59,6 +59,7 @@ import com.decathlon.ara.domain.enumeration.JobStatus;
 import com.decathlon.ara.service.dto.error.ErrorDTO;
 import com.decathlon.ara.service.dto.executedscenario.ExecutedScenarioWithTeamIdsAndErrorsAndProblemsDTO;
 import com.decathlon.ara.service.dto.execution.ExecutionDTO;
+import com.decathlon.ara.service.dto.execution.ExecutionIndexingJobDTO;
 import com.decathlon.ara.service.dto.execution.ExecutionWithCountryDeploymentsAndRunsAndExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO;
 import com.decathlon.ara.service.dto.execution.ExecutionWithHandlingCountsDTO;
 import com.decathlon.ara.service.dto.run.RunDTO;
@@ -324,9 +325,9 @@ public class ExecutionResourceIT {
         PlannedIndexation plannedIndexation = new PlannedIndexation().withCycleDefinition(cycle).withExecutionFolder(incomingPath);
         try {
             // When
-            ResponseEntity<Void> responseEntity = cut.upload(projectCode, branchName, cycleName, file);
+            ResponseEntity<ExecutionIndexingJobDTO> responseEntity = cut.upload(projectCode, branchName, cycleName, file);
             // Then
-            Assertions.assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
+            Assertions.assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
             Mockito.verify(executionIndexerService, Mockito.timeout(1000)).indexExecution(plannedIndexation);
         } finally {
             if (':' == incomingPath.getAbsolutePath().charAt(1)) { // Windows like path